@@ -140,6 +140,7 @@ export function TableDataDialog({
               {/* Pagination info */}
               <div className="flex items-center justify-between text-xs theme-text-secondary">
                 <span>
+                  {data.totalCountApproximate && '~'}
                   {t(I18N_KEYS.EXPLORER.TOTAL_RECORDS, { count: data.totalCount })}
                   {data.totalPages > 0 && ` (${data.totalPages} ${t(I18N_KEYS.EXPLORER.PAGES)})`}
                 </span>
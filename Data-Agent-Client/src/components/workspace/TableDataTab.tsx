@@ -721,7 +721,7 @@ export function TableDataTab({ tabId, metadata }: TableDataTabProps) {
             </select>
           </span>
           <span>
-            {startRow}-{endRow} / {data.totalCount}
+            {startRow}-{endRow} / {data.totalCountApproximate && '~'}{data.totalCount}
           </span>
           <Button variant="ghost" size="sm" onClick={handleFirstPage} disabled={currentPage <= 1} className="h-6 w-6 p-0" title={t(I18N_KEYS.EXPLORER.FIRST_PAGE)}>
             <ChevronsLeft className="w-4 h-4" />
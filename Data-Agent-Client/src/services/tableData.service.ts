@@ -5,6 +5,8 @@ export interface TableDataResponse {
   headers: string[];
   rows: unknown[][];
   totalCount: number;
+  /** True when totalCount is an estimate from database statistics */
+  totalCountApproximate?: boolean;
   currentPage: number;
   pageSize: number;
   totalPages: number;
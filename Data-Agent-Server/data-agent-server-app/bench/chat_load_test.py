@@ -0,0 +1,187 @@
+#!/usr/bin/env python3
+"""
+End-to-end chat load test against /api/chat/stream.
+
+Drives N concurrent conversations, each sending a number of turns one after another, and reports
+p50/p90/p99 time-to-first-token (first TEXT block), turn latency (request sent -> done block) and,
+with --server-pid, server CPU and heap sampled while the test runs. Meant to run against a server
+started with the `stub` profile (see bench/README.md), but works against any instance.
+
+Standard library only:
+  python3 bench/chat_load_test.py --conversations 50 --turns 3 --server-pid $(pgrep -f data-agent-server-app)
+"""
+
+import argparse
+import json
+import os
+import statistics
+import subprocess
+import threading
+import time
+import urllib.error
+import urllib.request
+
+
+def post_json(url, payload, token=None, timeout=30):
+    request = urllib.request.Request(url, data=json.dumps(payload).encode(), method="POST",
+                                     headers={"Content-Type": "application/json"})
+    if token:
+        request.add_header("Authorization", "Bearer " + token)
+    with urllib.request.urlopen(request, timeout=timeout) as response:
+        return json.loads(response.read().decode())
+
+
+def login(base_url, email, password):
+    try:
+        post_json(base_url + "/api/auth/register",
+                  {"email": email, "password": password, "username": email.split("@")[0]})
+    except urllib.error.HTTPError:
+        pass  # already registered
+    body = post_json(base_url + "/api/auth/login", {"email": email, "password": password})
+    return body["data"]["accessToken"]
+
+
+def run_turn(base_url, token, message, conversation_id, timeout):
+    """Returns (ttft_seconds or None, turn_seconds, conversation_id, error or None)."""
+    payload = {"message": message}
+    if conversation_id is not None:
+        payload["conversationId"] = conversation_id
+    request = urllib.request.Request(base_url + "/api/chat/stream", data=json.dumps(payload).encode(),
+                                     method="POST",
+                                     headers={"Content-Type": "application/json",
+                                              "Accept": "text/event-stream",
+                                              "Authorization": "Bearer " + token})
+    start = time.perf_counter()
+    ttft = None
+    try:
+        with urllib.request.urlopen(request, timeout=timeout) as response:
+            for raw in response:
+                line = raw.decode("utf-8", "replace").strip()
+                if not line.startswith("data:"):
+                    continue
+                block = json.loads(line[5:])
+                conversation_id = block.get("conversationId") or conversation_id
+                if ttft is None and block.get("type") == "TEXT":
+                    ttft = time.perf_counter() - start
+                if block.get("done"):
+                    return ttft, time.perf_counter() - start, conversation_id, None
+        return ttft, time.perf_counter() - start, conversation_id, "stream ended without done block"
+    except Exception as e:  # noqa: BLE001 - any failure counts as a failed turn
+        return ttft, time.perf_counter() - start, conversation_id, str(e)
+
+
+class ServerSampler(threading.Thread):
+    """Samples process CPU from /proc and heap usage from jstat every interval seconds."""
+
+    def __init__(self, pid, interval):
+        super().__init__(daemon=True)
+        self.pid = pid
+        self.interval = interval
+        self.cpu = []
+        self.heap_mb = []
+        self.stopped = threading.Event()
+        self.ticks = os.sysconf("SC_CLK_TCK")
+
+    def process_ticks(self):
+        with open(f"/proc/{self.pid}/stat") as stat:
+            fields = stat.read().rsplit(")", 1)[1].split()
+        return int(fields[11]) + int(fields[12])  # utime + stime
+
+    def heap_used_mb(self):
+        try:
+            out = subprocess.run(["jstat", "-gc", str(self.pid)], capture_output=True, text=True,
+                                 timeout=5).stdout.split("\n")
+            header, values = out[0].split(), out[1].split()
+            used = sum(float(values[header.index(col)]) for col in ("S0U", "S1U", "EU", "OU"))
+            return used / 1024
+        except Exception:  # noqa: BLE001 - jstat missing or not attachable
+            return None
+
+    def run(self):
+        last_ticks, last_time = self.process_ticks(), time.monotonic()
+        while not self.stopped.wait(self.interval):
+            ticks, now = self.process_ticks(), time.monotonic()
+            self.cpu.append(100.0 * (ticks - last_ticks) / self.ticks / (now - last_time))
+            last_ticks, last_time = ticks, now
+            heap = self.heap_used_mb()
+            if heap is not None:
+                self.heap_mb.append(heap)
+
+
+def percentile(values, p):
+    if not values:
+        return float("nan")
+    ordered = sorted(values)
+    return ordered[min(len(ordered) - 1, int(round(p / 100.0 * (len(ordered) - 1))))]
+
+
+def report(name, values, unit_scale=1000.0, unit="ms"):
+    if not values:
+        print(f"  {name:<18} no samples")
+        return
+    print(f"  {name:<18} p50={percentile(values, 50) * unit_scale:8.1f}{unit}  "
+          f"p90={percentile(values, 90) * unit_scale:8.1f}{unit}  "
+          f"p99={percentile(values, 99) * unit_scale:8.1f}{unit}  "
+          f"max={max(values) * unit_scale:8.1f}{unit}  n={len(values)}")
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--base-url", default="http://localhost:8081")
+    parser.add_argument("--conversations", type=int, default=20, help="concurrent conversations")
+    parser.add_argument("--turns", type=int, default=3, help="sequential turns per conversation")
+    parser.add_argument("--message", default="How many orders did we get last month?")
+    parser.add_argument("--email", default="loadtest@example.com")
+    parser.add_argument("--password", default="LoadTest2026")
+    parser.add_argument("--timeout", type=float, default=120.0, help="per-turn timeout in seconds")
+    parser.add_argument("--server-pid", type=int, help="sample CPU/heap of this server process")
+    parser.add_argument("--sample-interval", type=float, default=1.0)
+    args = parser.parse_args()
+
+    token = login(args.base_url, args.email, args.password)
+    sampler = ServerSampler(args.server_pid, args.sample_interval) if args.server_pid else None
+    if sampler:
+        sampler.start()
+
+    lock = threading.Lock()
+    ttfts, turns, errors = [], [], []
+
+    def conversation(index):
+        conversation_id = None
+        for turn in range(args.turns):
+            ttft, elapsed, conversation_id, error = run_turn(
+                args.base_url, token, f"[{index}/{turn}] {args.message}", conversation_id, args.timeout)
+            with lock:
+                if error:
+                    errors.append(error)
+                else:
+                    turns.append(elapsed)
+                    if ttft is not None:
+                        ttfts.append(ttft)
+
+    started = time.perf_counter()
+    workers = [threading.Thread(target=conversation, args=(i,)) for i in range(args.conversations)]
+    for worker in workers:
+        worker.start()
+    for worker in workers:
+        worker.join()
+    wall = time.perf_counter() - started
+    if sampler:
+        sampler.stopped.set()
+        sampler.join()
+
+    print(f"conversations={args.conversations} turns/conversation={args.turns} wall={wall:.1f}s "
+          f"throughput={len(turns) / wall:.2f} turns/s errors={len(errors)}")
+    report("time-to-first-token", ttfts)
+    report("turn latency", turns)
+    if sampler and sampler.cpu:
+        print(f"  server cpu         avg={statistics.mean(sampler.cpu):6.1f}%  max={max(sampler.cpu):6.1f}% "
+              f"(100% = one core)")
+    if sampler and sampler.heap_mb:
+        print(f"  server heap used   avg={statistics.mean(sampler.heap_mb):8.1f}MB  max={max(sampler.heap_mb):8.1f}MB")
+    for error in sorted(set(errors))[:5]:
+        print(f"  error: {error}")
+
+
+if __name__ == "__main__":
+    main()
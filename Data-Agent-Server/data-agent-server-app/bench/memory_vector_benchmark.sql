@@ -0,0 +1,118 @@
+-- ===============================================
+-- Benchmark: memory vector search at 1M memories
+-- ===============================================
+-- Usage (against a scratch database, NOT production):
+--   psql -d data_agent_bench -v users=2000 -v total=1000000 -v ef_search=100 -f bench/memory_vector_benchmark.sql
+--
+-- Loads :total random 1024-d memories spread over :users users, builds the same indexes as
+-- V5__ai_memory_embedding_index.sql, then for a sample of queries compares the indexed top-6
+-- (exactly the query issued by AiMemoryMapper.searchByEmbedding) against an exact sequential
+-- scan. Reports recall@6 and p50/p95/p99 latency for both plans.
+
+\set ON_ERROR_STOP on
+\timing off
+
+CREATE EXTENSION IF NOT EXISTS vector;
+
+DROP TABLE IF EXISTS bench_memory_embedding;
+CREATE TABLE bench_memory_embedding (
+    embedding_id  UUID PRIMARY KEY,
+    embedding     vector(1024),
+    text          TEXT NULL,
+    metadata      JSONB NULL,
+    user_id       BIGINT GENERATED ALWAYS AS ((metadata ->> 'userId')::BIGINT) STORED,
+    status        SMALLINT GENERATED ALWAYS AS ((metadata ->> 'status')::SMALLINT) STORED
+);
+
+CREATE OR REPLACE FUNCTION bench_random_vector(dim INT) RETURNS vector AS $$
+    SELECT array_agg(random()::REAL - 0.5)::vector FROM generate_series(1, dim);
+$$ LANGUAGE SQL VOLATILE;
+
+INSERT INTO bench_memory_embedding (embedding_id, embedding, text, metadata)
+SELECT gen_random_uuid(),
+       bench_random_vector(1024),
+       'memory ' || g,
+       jsonb_build_object(
+               'memoryId', g,
+               'userId', 1 + (g % :users),
+               'status', CASE WHEN g % 10 = 0 THEN 1 ELSE 0 END,
+               'memoryType', 'KNOWLEDGE_POINT',
+               'conversationId', g / 20)
+FROM generate_series(1, :total) AS g;
+
+CREATE INDEX idx_bench_memory_user_status ON bench_memory_embedding (user_id, status);
+CREATE INDEX idx_bench_memory_hnsw ON bench_memory_embedding
+    USING hnsw (embedding vector_cosine_ops) WITH (m = 16, ef_construction = 64);
+ANALYZE bench_memory_embedding;
+
+DROP TABLE IF EXISTS bench_query;
+CREATE TABLE bench_query AS
+SELECT q AS query_id, 1 + (q * 7919 % :users) AS user_id, bench_random_vector(1024) AS query_vector
+FROM generate_series(1, 200) AS q;
+
+CREATE OR REPLACE FUNCTION bench_search(p_user BIGINT, p_vector vector, p_exact BOOLEAN)
+    RETURNS TABLE (memory_id BIGINT, elapsed_ms DOUBLE PRECISION) AS $$
+DECLARE
+    started TIMESTAMPTZ;
+    ids BIGINT[];
+BEGIN
+    IF p_exact THEN
+        SET LOCAL enable_indexscan = off;
+        SET LOCAL enable_bitmapscan = off;
+    END IF;
+    started := clock_timestamp();
+    SELECT array_agg(id) INTO ids FROM (
+        SELECT (e.metadata ->> 'memoryId')::BIGINT AS id
+        FROM bench_memory_embedding e
+        WHERE e.user_id = p_user AND e.status = 0
+        ORDER BY e.embedding <=> p_vector
+        LIMIT 6) t;
+    elapsed_ms := extract(EPOCH FROM clock_timestamp() - started) * 1000;
+    RESET enable_indexscan;
+    RESET enable_bitmapscan;
+    FOR memory_id IN SELECT unnest(ids) LOOP
+        RETURN NEXT;
+    END LOOP;
+    IF ids IS NULL THEN
+        memory_id := NULL;
+        RETURN NEXT;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+SET hnsw.ef_search = :ef_search;
+
+DROP TABLE IF EXISTS bench_result;
+CREATE TABLE bench_result AS
+SELECT q.query_id, 'indexed' AS plan, r.memory_id, r.elapsed_ms
+FROM bench_query q, LATERAL bench_search(q.user_id, q.query_vector, FALSE) r
+UNION ALL
+SELECT q.query_id, 'exact' AS plan, r.memory_id, r.elapsed_ms
+FROM bench_query q, LATERAL bench_search(q.user_id, q.query_vector, TRUE) r;
+
+\echo '== recall@6 (indexed vs exact) =='
+SELECT round(avg(hit)::NUMERIC, 4) AS recall_at_6
+FROM (
+    SELECT x.query_id, count(i.memory_id)::DOUBLE PRECISION / greatest(count(x.memory_id), 1) AS hit
+    FROM bench_result x
+    LEFT JOIN bench_result i
+           ON i.query_id = x.query_id AND i.plan = 'indexed' AND i.memory_id = x.memory_id
+    WHERE x.plan = 'exact' AND x.memory_id IS NOT NULL
+    GROUP BY x.query_id) per_query;
+
+\echo '== latency (ms) =='
+SELECT plan,
+       round(percentile_cont(0.50) WITHIN GROUP (ORDER BY elapsed_ms)::NUMERIC, 2) AS p50,
+       round(percentile_cont(0.95) WITHIN GROUP (ORDER BY elapsed_ms)::NUMERIC, 2) AS p95,
+       round(percentile_cont(0.99) WITHIN GROUP (ORDER BY elapsed_ms)::NUMERIC, 2) AS p99
+FROM (SELECT DISTINCT query_id, plan, elapsed_ms FROM bench_result) per_query
+GROUP BY plan
+ORDER BY plan;
+
+\echo '== plan chosen for one query =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT (e.metadata ->> 'memoryId')::BIGINT
+FROM bench_memory_embedding e, bench_query q
+WHERE q.query_id = 1 AND e.user_id = q.user_id AND e.status = 0
+ORDER BY e.embedding <=> q.query_vector
+LIMIT 6;
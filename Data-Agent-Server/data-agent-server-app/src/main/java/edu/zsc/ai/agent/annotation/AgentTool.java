@@ -17,4 +17,10 @@ import org.springframework.stereotype.Component;
 @Documented
 @Component
 public @interface AgentTool {
+
+    /**
+     * True if every tool method of the bean is read-only and independent of the other calls in the
+     * same model response, so several calls may run concurrently.
+     */
+    boolean parallelSafe() default false;
 }
@@ -0,0 +1,50 @@
+package edu.zsc.ai.agent.cancel;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cancellation tokens of in-flight chat turns, keyed by conversation id, so a stop request
+ * arriving on another HTTP request can reach the running turn.
+ */
+@Slf4j
+@Component
+public class ChatCancellationRegistry {
+
+    private final Map<Long, ChatCancellationToken> tokensByConversation = new ConcurrentHashMap<>();
+
+    public void register(Long conversationId, ChatCancellationToken token) {
+        if (Objects.isNull(conversationId) || Objects.isNull(token)) {
+            return;
+        }
+        tokensByConversation.put(conversationId, token);
+    }
+
+    /**
+     * Removes the mapping only if it still points at {@code token}, so a newer turn is not unregistered.
+     */
+    public void unregister(Long conversationId, ChatCancellationToken token) {
+        if (Objects.isNull(conversationId) || Objects.isNull(token)) {
+            return;
+        }
+        tokensByConversation.remove(conversationId, token);
+    }
+
+    /**
+     * @return true if a running turn was found and cancelled
+     */
+    public boolean cancel(Long conversationId) {
+        ChatCancellationToken token = Objects.isNull(conversationId) ? null : tokensByConversation.get(conversationId);
+        if (Objects.isNull(token)) {
+            return false;
+        }
+        log.info("Cancelling chat turn for conversation {}", conversationId);
+        token.cancel();
+        return true;
+    }
+}
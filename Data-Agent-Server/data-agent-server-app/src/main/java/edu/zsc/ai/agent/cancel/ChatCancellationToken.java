@@ -0,0 +1,65 @@
+package edu.zsc.ai.agent.cancel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cancellation signal for one chat turn. Created per request in ChatController and cancelled on client
+ * disconnect or an explicit stop; running work (model stream, JDBC statements) registers hooks that
+ * fire once on cancel.
+ */
+@Slf4j
+public class ChatCancellationToken {
+
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+    private final AtomicLong hookSequence = new AtomicLong();
+    private final Map<Long, Runnable> hooks = new ConcurrentHashMap<>();
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Registers a hook to run on cancel; runs it immediately if already cancelled.
+     * Close the returned registration once the guarded work is done.
+     */
+    public Registration onCancel(Runnable hook) {
+        long id = hookSequence.incrementAndGet();
+        hooks.put(id, hook);
+        if (cancelled.get() && hooks.remove(id) != null) {
+            runQuietly(hook);
+        }
+        return () -> hooks.remove(id);
+    }
+
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        for (Long id : hooks.keySet()) {
+            Runnable hook = hooks.remove(id);
+            if (hook != null) {
+                runQuietly(hook);
+            }
+        }
+    }
+
+    private static void runQuietly(Runnable hook) {
+        try {
+            hook.run();
+        } catch (Exception e) {
+            log.warn("Chat cancellation hook failed: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
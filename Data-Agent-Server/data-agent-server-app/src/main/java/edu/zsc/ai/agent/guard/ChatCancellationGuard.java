@@ -0,0 +1,29 @@
+package edu.zsc.ai.agent.guard;
+
+import dev.langchain4j.invocation.InvocationParameters;
+import edu.zsc.ai.agent.cancel.ChatCancellationToken;
+import edu.zsc.ai.common.constant.RequestContextConstant;
+
+/**
+ * Guard utility that stops tools from starting work after the chat turn was cancelled.
+ */
+public final class ChatCancellationGuard {
+
+    private ChatCancellationGuard() {
+    }
+
+    public static ChatCancellationToken token(InvocationParameters parameters) {
+        return parameters.get(RequestContextConstant.CANCELLATION_TOKEN);
+    }
+
+    /**
+     * Throws IllegalStateException if the user stopped the turn or the client disconnected.
+     * Call at the top of any tool method that does database or model work.
+     */
+    public static void assertNotCancelled(InvocationParameters parameters) {
+        ChatCancellationToken token = token(parameters);
+        if (token != null && token.isCancelled()) {
+            throw new IllegalStateException("The chat was stopped by the user — do not call any more tools.");
+        }
+    }
+}
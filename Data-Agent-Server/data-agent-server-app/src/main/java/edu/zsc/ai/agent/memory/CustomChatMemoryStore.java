@@ -17,6 +17,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
@@ -26,6 +28,12 @@ public class CustomChatMemoryStore implements ChatMemoryStore {
     private final AiMessageService aiMessageService;
     private final AiConversationService aiConversationService;
 
+    /**
+     * Id of the last AI message stored per conversation, until taken by {@link #takeLastAiMessageId};
+     * the chat service takes it when the response completes and again whenever the stream ends.
+     */
+    private final Map<Long, Long> lastAiMessageIds = new ConcurrentHashMap<>();
+
     @Override
     public List<ChatMessage> getMessages(Object memoryId) {
         if (memoryId == null) {
@@ -89,6 +97,23 @@ public class CustomChatMemoryStore implements ChatMemoryStore {
         }
 
         aiMessageService.saveBatchMessages(toSave);
+        for (int i = toSave.size() - 1; i >= 0; i--) {
+            StoredChatMessage saved = toSave.get(i);
+            if (ChatMessageType.AI.name().equals(saved.getRole())) {
+                if (saved.getId() != null) {
+                    lastAiMessageIds.put(idInfo.conversationId(), saved.getId());
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns and forgets the id of the last AI message stored for the conversation. LangChain4j stores a
+     * response's AI message before reporting the response complete, so at completion this is its id.
+     */
+    public Long takeLastAiMessageId(Long conversationId) {
+        return conversationId == null ? null : lastAiMessageIds.remove(conversationId);
     }
 
     @Override
@@ -105,6 +130,7 @@ public class CustomChatMemoryStore implements ChatMemoryStore {
 
         aiConversationService.checkAccess(idInfo.userId(), idInfo.conversationId);
 
+        lastAiMessageIds.remove(idInfo.conversationId());
         int deletedCount = aiMessageService.removeByConversationId(idInfo.conversationId);
         log.debug("Deleted {} messages for conversation {}", deletedCount, idInfo.conversationId);
     }
@@ -0,0 +1,85 @@
+package edu.zsc.ai.agent.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import edu.zsc.ai.domain.mapper.ai.AiMemoryMapper;
+import edu.zsc.ai.domain.service.ai.model.MemoryAccessHit;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers memory recall hits in memory and flushes them as batched UPDATEs, so the chat path
+ * never writes to ai_memory per recalled row. Hits still buffered when the process dies are lost,
+ * which only under-counts usage.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemoryAccessTracker {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final AiMemoryMapper aiMemoryMapper;
+
+    private final ConcurrentHashMap<Long, MemoryAccessHit> pending = new ConcurrentHashMap<>();
+
+    public void record(Collection<Long> memoryIds) {
+        if (CollectionUtils.isEmpty(memoryIds)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Long memoryId : memoryIds) {
+            if (Objects.isNull(memoryId)) {
+                continue;
+            }
+            pending.merge(memoryId,
+                    MemoryAccessHit.builder().memoryId(memoryId).hits(1).lastAccessedAt(now).build(),
+                    (current, hit) -> MemoryAccessHit.builder()
+                            .memoryId(memoryId)
+                            .hits(current.getHits() + hit.getHits())
+                            .lastAccessedAt(hit.getLastAccessedAt())
+                            .build());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${memory.access.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<MemoryAccessHit> drained = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, MemoryAccessHit> entry : pending.entrySet()) {
+            // remove(key, value) only succeeds if no concurrent merge replaced the entry; otherwise it is
+            // picked up by the next flush.
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.add(entry.getValue());
+            }
+        }
+
+        for (int from = 0; from < drained.size(); from += FLUSH_BATCH_SIZE) {
+            List<MemoryAccessHit> batch = drained.subList(from, Math.min(from + FLUSH_BATCH_SIZE, drained.size()));
+            try {
+                aiMemoryMapper.batchIncrementAccess(batch);
+            } catch (Exception e) {
+                log.warn("Failed to flush {} memory access hits: {}", batch.size(), e.getMessage());
+            }
+        }
+        log.debug("Flushed access hits for {} memories", drained.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,128 @@
+package edu.zsc.ai.agent.routing;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import edu.zsc.ai.common.enums.ai.AgentModeEnum;
+import edu.zsc.ai.config.ai.ModelRoutingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chooses the streaming model an agent is built with and records every routed step.
+ *
+ * <p>Steps are timed by {@code chat.model.route} and their tokens counted by
+ * {@code chat.model.route.tokens}, tagged with route (fast / premium), model and outcome:
+ * direct (premium step), accepted (fast step kept), escalated (fast step discarded, or the premium
+ * step that redid it) or error.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ModelRoutingProperties.class)
+public class ModelRouter {
+
+    static final String ROUTE_FAST = "fast";
+    static final String ROUTE_PREMIUM = "premium";
+
+    static final String OUTCOME_DIRECT = "direct";
+    static final String OUTCOME_ACCEPTED = "accepted";
+    static final String OUTCOME_ESCALATED = "escalated";
+    static final String OUTCOME_ERROR = "error";
+
+    private final ModelRoutingProperties properties;
+    private final Map<String, StreamingChatModel> modelsByName;
+    private final MeterRegistry meterRegistry;
+
+    public ModelRouter(ModelRoutingProperties properties, Map<String, StreamingChatModel> modelsByName,
+                       MeterRegistry meterRegistry, List<Object> agentTools) {
+        this.properties = properties;
+        this.modelsByName = modelsByName;
+        this.meterRegistry = meterRegistry;
+        if (properties.isEnabled()) {
+            validateFastTools(properties.getFastTools(), agentTools);
+        }
+    }
+
+    /**
+     * A misspelt or removed tool name would silently send its follow-up steps to the premium model.
+     */
+    private static void validateFastTools(List<String> fastTools, List<Object> agentTools) {
+        Set<String> toolNames = new HashSet<>();
+        for (Object bean : agentTools) {
+            for (Method method : AopUtils.getTargetClass(bean).getDeclaredMethods()) {
+                Tool tool = method.getAnnotation(Tool.class);
+                if (tool != null) {
+                    toolNames.add(StringUtils.defaultIfBlank(tool.name(), method.getName()));
+                }
+            }
+        }
+        List<String> unknown = fastTools.stream().filter(name -> !toolNames.contains(name)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalStateException("agent.routing.fast-tools lists tools that are not registered: "
+                    + unknown + "; registered tools: " + new TreeSet<>(toolNames));
+        }
+    }
+
+    /**
+     * @param modelName the model selected for the turn
+     * @param model     its streaming model
+     * @param mode      agent mode; plan mode is never routed
+     * @return {@code model} itself, or a {@link RoutingStreamingChatModel} over it and the fast model
+     */
+    public StreamingChatModel route(String modelName, StreamingChatModel model, AgentModeEnum mode) {
+        StreamingChatModel fast = modelsByName.get(properties.getFastModel());
+        if (!properties.isEnabled() || mode == AgentModeEnum.PLAN || Objects.isNull(fast)
+                || properties.getFastModel().equals(modelName)) {
+            return model;
+        }
+        log.info("Routing discovery steps of model={} to {}", modelName, properties.getFastModel());
+        return new RoutingStreamingChatModel(modelName, model, properties.getFastModel(), fast,
+                Set.copyOf(properties.getFastTools()), this);
+    }
+
+    void record(String route, String modelName, String outcome, long startNanos, ChatResponse response) {
+        Timer.builder("chat.model.route")
+                .tag("route", route)
+                .tag("model", modelName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+        TokenUsage usage = Objects.isNull(response) ? null : response.tokenUsage();
+        if (Objects.isNull(usage)) {
+            return;
+        }
+        countTokens(route, modelName, outcome, "input", usage.inputTokenCount());
+        countTokens(route, modelName, outcome, "output", usage.outputTokenCount());
+    }
+
+    private void countTokens(String route, String modelName, String outcome, String type, Integer tokens) {
+        if (Objects.isNull(tokens) || tokens <= 0) {
+            return;
+        }
+        Counter.builder("chat.model.route.tokens")
+                .tag("route", route)
+                .tag("model", modelName)
+                .tag("outcome", outcome)
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment(tokens);
+    }
+}
@@ -0,0 +1,60 @@
+package edu.zsc.ai.agent.routing;
+
+import dev.langchain4j.model.chat.response.ChatResponseMetadata;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * Metadata of a step answered through {@link RoutingStreamingChatModel}. {@link #modelName()} is the
+ * configured name of the model that served the step; a step redone by the premium model also carries the
+ * model and usage of the fast attempt that was discarded, which never reaches LangChain4j otherwise.
+ *
+ * <p>LangChain4j copies the last step's metadata through {@link #toBuilder()} when it sums up the turn,
+ * so this type survives into the complete response.
+ */
+public class RoutedResponseMetadata extends ChatResponseMetadata {
+
+    private final String discardedModelName;
+    private final TokenUsage discardedTokenUsage;
+
+    private RoutedResponseMetadata(Builder builder) {
+        super(builder);
+        this.discardedModelName = builder.discardedModelName;
+        this.discardedTokenUsage = builder.discardedTokenUsage;
+    }
+
+    /** Fast model whose attempt at this step was discarded; null when none was. */
+    public String discardedModelName() {
+        return discardedModelName;
+    }
+
+    /** Usage of the discarded attempt; null when none was made or the attempt failed. */
+    public TokenUsage discardedTokenUsage() {
+        return discardedTokenUsage;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return ((Builder) toBuilder(builder())).discarded(discardedModelName, discardedTokenUsage);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder extends ChatResponseMetadata.Builder<Builder> {
+
+        private String discardedModelName;
+        private TokenUsage discardedTokenUsage;
+
+        public Builder discarded(String modelName, TokenUsage tokenUsage) {
+            this.discardedModelName = modelName;
+            this.discardedTokenUsage = tokenUsage;
+            return this;
+        }
+
+        @Override
+        public RoutedResponseMetadata build() {
+            return new RoutedResponseMetadata(this);
+        }
+    }
+}
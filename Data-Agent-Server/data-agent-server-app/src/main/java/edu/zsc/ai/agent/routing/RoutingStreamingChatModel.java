@@ -0,0 +1,327 @@
+package edu.zsc.ai.agent.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.ChatResponseMetadata;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.PartialThinking;
+import dev.langchain4j.model.chat.response.PartialThinkingContext;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCallContext;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.chat.response.StreamingHandle;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streaming model of one agent that sends each ReAct step either to the selected (premium) model or
+ * to a fast one, see {@link edu.zsc.ai.config.ai.ModelRoutingProperties}.
+ *
+ * <p>A fast step is buffered rather than streamed: only once its complete response is known to call
+ * fast tools only are the buffered callbacks replayed to the caller. As soon as the fast model starts
+ * a final answer or names any other tool, its stream is cancelled and dropped and the same request goes
+ * to the premium model, streaming live, so the client never sees the discarded attempt. Every step is reported to {@link ModelRouter} with its route, latency and tokens,
+ * and its response carries {@link RoutedResponseMetadata} naming the model that served it, so usage is
+ * booked to that model.
+ */
+@Slf4j
+public class RoutingStreamingChatModel implements StreamingChatModel {
+
+    private final String premiumName;
+    private final StreamingChatModel premium;
+    private final String fastName;
+    private final StreamingChatModel fast;
+    private final Set<String> fastTools;
+    private final ModelRouter router;
+
+    RoutingStreamingChatModel(String premiumName, StreamingChatModel premium,
+                              String fastName, StreamingChatModel fast,
+                              Set<String> fastTools, ModelRouter router) {
+        this.premiumName = premiumName;
+        this.premium = premium;
+        this.fastName = fastName;
+        this.fast = fast;
+        this.fastTools = fastTools;
+        this.router = router;
+    }
+
+    @Override
+    public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+        if (followsFastToolsOnly(request.messages())) {
+            fast.chat(request, new FastStepHandler(request, handler));
+        } else {
+            premium.chat(request, new PremiumStepHandler(handler, ModelRouter.OUTCOME_DIRECT, null));
+        }
+    }
+
+    /**
+     * True if the request ends in tool results, all from fast tools, i.e. a follow-up step of a
+     * discovery sequence rather than the first step of the turn or the step after SQL ran.
+     */
+    private boolean followsFastToolsOnly(List<ChatMessage> messages) {
+        boolean anyResult = false;
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (!(messages.get(i) instanceof ToolExecutionResultMessage result)) {
+                break;
+            }
+            if (!fastTools.contains(result.toolName())) {
+                return false;
+            }
+            anyResult = true;
+        }
+        return anyResult;
+    }
+
+    /**
+     * @return why the fast response must be redone by the premium model, or null to accept it
+     */
+    private String escalationReason(ChatResponse response) {
+        AiMessage message = response.aiMessage();
+        if (message == null || !message.hasToolExecutionRequests()) {
+            return "final answer";
+        }
+        for (ToolExecutionRequest toolRequest : message.toolExecutionRequests()) {
+            if (!fastTools.contains(toolRequest.name())) {
+                return "tool " + toolRequest.name();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@code response} with metadata naming the model that served it and the fast attempt it replaced.
+     */
+    private static ChatResponse routed(ChatResponse response, String servedBy, ChatResponse discarded,
+                                       String discardedBy) {
+        ChatResponseMetadata metadata = response.metadata();
+        RoutedResponseMetadata.Builder routed = RoutedResponseMetadata.builder()
+                .id(metadata.id())
+                .modelName(servedBy)
+                .tokenUsage(metadata.tokenUsage())
+                .finishReason(metadata.finishReason());
+        if (Objects.nonNull(discardedBy)) {
+            routed.discarded(discardedBy, Objects.isNull(discarded) ? null : discarded.tokenUsage());
+        }
+        return ChatResponse.builder().aiMessage(response.aiMessage()).metadata(routed.build()).build();
+    }
+
+    /**
+     * Passes every callback through and reports the step when it ends.
+     */
+    private final class PremiumStepHandler implements StreamingChatResponseHandler {
+
+        private final StreamingChatResponseHandler delegate;
+        private final String outcome;
+        private final long startNanos = System.nanoTime();
+        /** The fast attempt this step redoes, when escalated; null if the fast model failed or was not tried */
+        private final ChatResponse discarded;
+
+        private PremiumStepHandler(StreamingChatResponseHandler delegate, String outcome, ChatResponse discarded) {
+            this.delegate = delegate;
+            this.outcome = outcome;
+            this.discarded = discarded;
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            delegate.onPartialResponse(partialResponse);
+        }
+
+        @Override
+        public void onPartialResponse(PartialResponse partialResponse, PartialResponseContext context) {
+            delegate.onPartialResponse(partialResponse, context);
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking) {
+            delegate.onPartialThinking(partialThinking);
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking, PartialThinkingContext context) {
+            delegate.onPartialThinking(partialThinking, context);
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall) {
+            delegate.onPartialToolCall(partialToolCall);
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall, PartialToolCallContext context) {
+            delegate.onPartialToolCall(partialToolCall, context);
+        }
+
+        @Override
+        public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+            delegate.onCompleteToolCall(completeToolCall);
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse response) {
+            router.record(ModelRouter.ROUTE_PREMIUM, premiumName, outcome, startNanos, response);
+            delegate.onCompleteResponse(routed(response, premiumName, discarded,
+                    ModelRouter.OUTCOME_ESCALATED.equals(outcome) ? fastName : null));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            router.record(ModelRouter.ROUTE_PREMIUM, premiumName, ModelRouter.OUTCOME_ERROR, startNanos, null);
+            delegate.onError(error);
+        }
+    }
+
+    /**
+     * Holds back every callback until the response is known to call fast tools only, then replays them.
+     * The step escalates to the premium model as soon as the fast model starts answering or names a tool
+     * that is not a fast tool, cancelling the fast stream when the provider passes a streaming handle;
+     * otherwise the rest of the fast stream is ignored.
+     */
+    private final class FastStepHandler implements StreamingChatResponseHandler {
+
+        private final ChatRequest request;
+        private final StreamingChatResponseHandler delegate;
+        private final long startNanos = System.nanoTime();
+        private final List<Consumer<StreamingChatResponseHandler>> buffered = new ArrayList<>();
+        private final AtomicBoolean escalated = new AtomicBoolean();
+
+        private FastStepHandler(ChatRequest request, StreamingChatResponseHandler delegate) {
+            this.request = request;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            if (isAnswer(partialResponse)) {
+                escalate("final answer", null, null);
+                return;
+            }
+            buffer(handler -> handler.onPartialResponse(partialResponse));
+        }
+
+        @Override
+        public void onPartialResponse(PartialResponse partialResponse, PartialResponseContext context) {
+            if (isAnswer(partialResponse.text())) {
+                escalate("final answer", null, context.streamingHandle());
+                return;
+            }
+            buffer(handler -> handler.onPartialResponse(partialResponse, context));
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking) {
+            buffer(handler -> handler.onPartialThinking(partialThinking));
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking, PartialThinkingContext context) {
+            buffer(handler -> handler.onPartialThinking(partialThinking, context));
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall) {
+            if (isPremiumTool(partialToolCall.name())) {
+                escalate("tool " + partialToolCall.name(), null, null);
+                return;
+            }
+            buffer(handler -> handler.onPartialToolCall(partialToolCall));
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall, PartialToolCallContext context) {
+            if (isPremiumTool(partialToolCall.name())) {
+                escalate("tool " + partialToolCall.name(), null, context.streamingHandle());
+                return;
+            }
+            buffer(handler -> handler.onPartialToolCall(partialToolCall, context));
+        }
+
+        @Override
+        public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+            String toolName = completeToolCall.toolExecutionRequest().name();
+            if (isPremiumTool(toolName)) {
+                escalate("tool " + toolName, null, null);
+                return;
+            }
+            buffer(handler -> handler.onCompleteToolCall(completeToolCall));
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse response) {
+            if (escalated.get()) {
+                return;
+            }
+            String reason = escalationReason(response);
+            if (reason != null) {
+                escalate(reason, response, null);
+                return;
+            }
+            router.record(ModelRouter.ROUTE_FAST, fastName, ModelRouter.OUTCOME_ACCEPTED, startNanos, response);
+            List<Consumer<StreamingChatResponseHandler>> callbacks;
+            synchronized (this) {
+                callbacks = new ArrayList<>(buffered);
+                buffered.clear();
+            }
+            callbacks.forEach(callback -> callback.accept(delegate));
+            delegate.onCompleteResponse(routed(response, fastName, null, null));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (escalated.get()) {
+                return;
+            }
+            log.debug("Fast model step failed: {}", error.getMessage());
+            escalate("error", null, null);
+        }
+
+        private boolean isAnswer(String text) {
+            return Objects.nonNull(text) && !text.isBlank();
+        }
+
+        /**
+         * Only the first chunk of a streamed tool call carries its name.
+         */
+        private boolean isPremiumTool(String toolName) {
+            return Objects.nonNull(toolName) && !fastTools.contains(toolName);
+        }
+
+        private synchronized void buffer(Consumer<StreamingChatResponseHandler> callback) {
+            if (!escalated.get()) {
+                buffered.add(callback);
+            }
+        }
+
+        /**
+         * @param discarded the complete fast response, or null when the step escalates before it ends
+         * @param handle    stops the fast stream; null if the fast model already ended or passed no handle
+         */
+        private void escalate(String reason, ChatResponse discarded, StreamingHandle handle) {
+            if (!escalated.compareAndSet(false, true)) {
+                return;
+            }
+            if (Objects.nonNull(handle)) {
+                handle.cancel();
+            }
+            log.debug("Escalating step from {} to {}: {}", fastName, premiumName, reason);
+            router.record(ModelRouter.ROUTE_FAST, fastName, ModelRouter.OUTCOME_ESCALATED, startNanos, discarded);
+            synchronized (this) {
+                buffered.clear();
+            }
+            premium.chat(request, new PremiumStepHandler(delegate, ModelRouter.OUTCOME_ESCALATED, discarded));
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package edu.zsc.ai.agent.stream;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import edu.zsc.ai.common.constant.ChatErrorConstants;
+import edu.zsc.ai.common.enums.ai.MessageBlockEnum;
+import edu.zsc.ai.config.ai.ChatStreamProperties;
+import edu.zsc.ai.domain.model.dto.response.agent.ChatResponseBlock;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Streaming stage between a TokenStream's callbacks and the SSE response of one agent invocation.
+ *
+ * <p>Adjacent TEXT / THOUGHT fragments, and partial TOOL_CALL chunks of the same call id, are merged
+ * and flushed when the coalesce window elapses, the merged block reaches {@code coalesceMaxChars},
+ * or a block of another kind arrives. Other blocks flush immediately, preserving order.
+ *
+ * <p>Overflow policy: the sink holds at most {@code bufferSize} blocks. While it is full, blocks wait
+ * here (still merging) and are retried on the next window; if the waiting backlog exceeds
+ * {@code maxPendingBlocks} or {@code maxPendingChars}, the stream fails with
+ * {@link ChatErrorConstants#STREAM_BUFFER_OVERFLOW} instead of growing without bound.
+ *
+ * <p>All methods are called from model callback threads and the flush timer, so they are synchronized.
+ */
+@Slf4j
+public class ChatBlockCoalescer {
+
+    private final ChatStreamProperties properties;
+    private final Sinks.Many<ChatResponseBlock> sink;
+    private final Scheduler scheduler;
+
+    private final Deque<PendingBlock> pending = new ArrayDeque<>();
+    private int pendingChars;
+    private Disposable flushTimer;
+    private boolean completeRequested;
+    private boolean closed;
+
+    public ChatBlockCoalescer(ChatStreamProperties properties) {
+        this.properties = properties;
+        this.scheduler = Schedulers.parallel();
+        this.sink = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<ChatResponseBlock>get(Math.max(1, properties.getBufferSize())).get());
+    }
+
+    public Flux<ChatResponseBlock> asFlux() {
+        return sink.asFlux().doFinally(signal -> close());
+    }
+
+    public synchronized void text(String fragment) {
+        append(MessageBlockEnum.TEXT, null, null, fragment);
+    }
+
+    public synchronized void thought(String fragment) {
+        append(MessageBlockEnum.THOUGHT, null, null, fragment);
+    }
+
+    /**
+     * Partial tool-call chunk; chunks of the same call id are concatenated, which the client does anyway.
+     */
+    public synchronized void partialToolCall(String id, String toolName, String partialArguments) {
+        if (Objects.isNull(id)) {
+            emit(ChatResponseBlock.toolCall(null, toolName, partialArguments, true));
+            return;
+        }
+        append(MessageBlockEnum.TOOL_CALL, id, toolName, partialArguments);
+    }
+
+    /**
+     * Any non-mergeable block (complete tool call, tool result, done block): flushes what is merged so far.
+     */
+    public synchronized void emit(ChatResponseBlock block) {
+        if (closed) {
+            return;
+        }
+        pending.addLast(PendingBlock.of(block));
+        drain(false);
+    }
+
+    public synchronized void complete() {
+        if (closed) {
+            return;
+        }
+        completeRequested = true;
+        drain(true);
+    }
+
+    public synchronized void error(Throwable error) {
+        if (closed) {
+            return;
+        }
+        drain(true);
+        terminate(error);
+    }
+
+    private void append(MessageBlockEnum type, String toolCallId, String toolName, String fragment) {
+        if (closed || Objects.isNull(fragment)) {
+            return;
+        }
+        PendingBlock tail = pending.peekLast();
+        if (Objects.nonNull(tail) && tail.canMerge(type, toolCallId)) {
+            tail.content.append(fragment);
+        } else {
+            pending.addLast(PendingBlock.mergeable(type, toolCallId, toolName, fragment));
+        }
+        pendingChars += fragment.length();
+
+        if (pending.peekLast().content.length() >= properties.getCoalesceMaxChars()) {
+            drain(false);
+        } else {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Pushes pending blocks into the sink in order. The last mergeable block stays open for merging
+     * until the window elapses or it is full, unless {@code force} is set.
+     */
+    private void drain(boolean force) {
+        while (!closed && !pending.isEmpty()) {
+            PendingBlock head = pending.peekFirst();
+            if (pending.size() == 1 && head.isOpen(properties) && !force) {
+                scheduleFlush();
+                return;
+            }
+            Sinks.EmitResult result = sink.tryEmitNext(head.toBlock());
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                enforceBacklogLimit();
+                scheduleFlush();
+                return;
+            }
+            if (result.isFailure()) {
+                // Subscriber cancelled or sink already terminated: nothing left to deliver.
+                log.debug("Chat stream sink rejected block: {}", result);
+                close();
+                return;
+            }
+            pending.pollFirst();
+            pendingChars -= head.content.length();
+        }
+        if (!closed && pending.isEmpty() && completeRequested) {
+            sink.tryEmitComplete();
+            close();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (Objects.nonNull(flushTimer) || closed) {
+            return;
+        }
+        flushTimer = scheduler.schedule(this::onFlushTimer,
+                Math.max(1, properties.getCoalesceWindowMs()), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void onFlushTimer() {
+        flushTimer = null;
+        drain(true);
+    }
+
+    private void enforceBacklogLimit() {
+        if (pending.size() > properties.getMaxPendingBlocks() || pendingChars > properties.getMaxPendingChars()) {
+            log.warn("Chat stream backlog overflow: blocks={}, chars={}", pending.size(), pendingChars);
+            terminate(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    ChatErrorConstants.STREAM_BUFFER_OVERFLOW));
+        }
+    }
+
+    private void terminate(Throwable error) {
+        sink.tryEmitError(error);
+        close();
+    }
+
+    private synchronized void close() {
+        closed = true;
+        pending.clear();
+        pendingChars = 0;
+        if (Objects.nonNull(flushTimer)) {
+            flushTimer.dispose();
+            flushTimer = null;
+        }
+    }
+
+    private static final class PendingBlock {
+
+        private final MessageBlockEnum type;
+        private final String toolCallId;
+        private final String toolName;
+        private final StringBuilder content;
+        private final ChatResponseBlock block;
+
+        private PendingBlock(MessageBlockEnum type, String toolCallId, String toolName,
+                             StringBuilder content, ChatResponseBlock block) {
+            this.type = type;
+            this.toolCallId = toolCallId;
+            this.toolName = toolName;
+            this.content = content;
+            this.block = block;
+        }
+
+        static PendingBlock mergeable(MessageBlockEnum type, String toolCallId, String toolName, String fragment) {
+            return new PendingBlock(type, toolCallId, toolName, new StringBuilder(fragment), null);
+        }
+
+        static PendingBlock of(ChatResponseBlock block) {
+            return new PendingBlock(null, null, null, new StringBuilder(), block);
+        }
+
+        boolean canMerge(MessageBlockEnum otherType, String otherToolCallId) {
+            return Objects.isNull(block) && type == otherType && Objects.equals(toolCallId, otherToolCallId);
+        }
+
+        boolean isOpen(ChatStreamProperties properties) {
+            return Objects.isNull(block) && content.length() < properties.getCoalesceMaxChars();
+        }
+
+        ChatResponseBlock toBlock() {
+            if (Objects.nonNull(block)) {
+                return block;
+            }
+            return switch (type) {
+                case TEXT -> ChatResponseBlock.text(content.toString());
+                case THOUGHT -> ChatResponseBlock.thought(content.toString());
+                default -> ChatResponseBlock.toolCall(toolCallId, toolName, content.toString(), true);
+            };
+        }
+    }
+}
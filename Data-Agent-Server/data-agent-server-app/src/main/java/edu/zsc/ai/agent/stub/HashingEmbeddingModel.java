@@ -0,0 +1,55 @@
+package edu.zsc.ai.agent.stub;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+/**
+ * Offline embedding model for load tests: hashes character trigrams into a normalized vector of the
+ * configured dimension. Identical texts get identical vectors and similar texts similar ones, which is
+ * enough to exercise memory search and dedup without a provider.
+ */
+public class HashingEmbeddingModel implements EmbeddingModel {
+
+    private final int dimension;
+
+    public HashingEmbeddingModel(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        return Response.from(textSegments.stream().map(segment -> embedText(segment.text())).toList());
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    private Embedding embedText(String text) {
+        float[] vector = new float[dimension];
+        byte[] bytes = text.toLowerCase().getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i + 2 < bytes.length; i++) {
+            int hash = ((bytes[i] * 31) + bytes[i + 1]) * 31 + bytes[i + 2];
+            vector[Math.floorMod(hash, dimension)] += 1f;
+        }
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            vector[0] = 1f;
+            return Embedding.from(vector);
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < dimension; i++) {
+            vector[i] *= scale;
+        }
+        return Embedding.from(vector);
+    }
+}
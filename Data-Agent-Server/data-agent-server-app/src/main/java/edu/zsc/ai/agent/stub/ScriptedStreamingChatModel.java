@@ -0,0 +1,196 @@
+package edu.zsc.ai.agent.stub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCallContext;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.chat.response.StreamingHandle;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.TokenUsage;
+import edu.zsc.ai.config.ai.StubModelProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Offline streaming model that replays a fixed script, for load tests without a model provider.
+ *
+ * <p>For each user turn it first emits the configured tool calls, one per model response (so the real
+ * tools run between steps), then streams an answer of {@code answerTokens} tokens. Every chunk is
+ * delayed by {@code tokenLatencyMs} (the first by {@code firstTokenLatencyMs}) on a shared scheduler,
+ * so streaming costs no thread per conversation. Token usage is reported as a chars/4 estimate of the
+ * prompt plus the emitted chunk count, and the stream stops when its {@link StreamingHandle} is cancelled.
+ */
+@Slf4j
+public class ScriptedStreamingChatModel implements StreamingChatModel {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newScheduledThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+                Thread thread = new Thread(runnable, "stub-model-stream");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final int ARGUMENT_CHUNK_CHARS = 16;
+
+    private final String modelName;
+    private final StubModelProperties properties;
+
+    public ScriptedStreamingChatModel(String modelName, StubModelProperties properties) {
+        this.modelName = modelName;
+        this.properties = properties;
+    }
+
+    @Override
+    public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+        int step = completedToolSteps(request.messages());
+        List<StubModelProperties.ToolCall> script = properties.getToolCalls();
+        int inputTokens = estimateTokens(request.messages());
+
+        ScriptedResponse scripted = step < script.size()
+                ? toolCallStream(script.get(step), inputTokens)
+                : answerStream(inputTokens);
+        SCHEDULER.schedule(() -> scripted.next(handler),
+                Math.max(0, properties.getFirstTokenLatencyMs()), TimeUnit.MILLISECONDS);
+    }
+
+    private ScriptedResponse toolCallStream(StubModelProperties.ToolCall toolCall, int inputTokens) {
+        String id = "stub_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        String arguments = toolCall.getArguments();
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < arguments.length(); i += ARGUMENT_CHUNK_CHARS) {
+            chunks.add(arguments.substring(i, Math.min(arguments.length(), i + ARGUMENT_CHUNK_CHARS)));
+        }
+        ToolExecutionRequest request = ToolExecutionRequest.builder()
+                .id(id)
+                .name(toolCall.getName())
+                .arguments(arguments)
+                .build();
+        ChatResponse response = ChatResponse.builder()
+                .aiMessage(AiMessage.from(List.of(request)))
+                .tokenUsage(new TokenUsage(inputTokens, chunks.size()))
+                .finishReason(FinishReason.TOOL_EXECUTION)
+                .modelName(modelName)
+                .build();
+        return new ScriptedResponse(chunks, response, new CompleteToolCall(0, request),
+                (handler, chunk, handle) -> handler.onPartialToolCall(
+                        PartialToolCall.builder()
+                                .index(0)
+                                .id(id)
+                                .name(toolCall.getName())
+                                .partialArguments(chunk)
+                                .build(),
+                        new PartialToolCallContext(handle)));
+    }
+
+    private ScriptedResponse answerStream(int inputTokens) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, properties.getAnswerTokens()); i++) {
+            chunks.add(i == 0 ? "Stub" : " token" + i);
+        }
+        ChatResponse response = ChatResponse.builder()
+                .aiMessage(AiMessage.from(String.join("", chunks)))
+                .tokenUsage(new TokenUsage(inputTokens, chunks.size()))
+                .finishReason(FinishReason.STOP)
+                .modelName(modelName)
+                .build();
+        return new ScriptedResponse(chunks, response, null, (handler, chunk, handle) ->
+                handler.onPartialResponse(new PartialResponse(chunk), new PartialResponseContext(handle)));
+    }
+
+    /**
+     * Tool-call responses the model already produced since the last user message.
+     */
+    private static int completedToolSteps(List<ChatMessage> messages) {
+        int steps = 0;
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            ChatMessage message = messages.get(i);
+            if (message instanceof UserMessage) {
+                break;
+            }
+            if (message instanceof AiMessage aiMessage && aiMessage.hasToolExecutionRequests()) {
+                steps++;
+            }
+        }
+        return steps;
+    }
+
+    private static int estimateTokens(List<ChatMessage> messages) {
+        return messages.stream().mapToInt(message -> String.valueOf(message).length()).sum() / 4;
+    }
+
+    @FunctionalInterface
+    private interface ChunkEmitter {
+
+        void emit(StreamingChatResponseHandler handler, String chunk, StreamingHandle handle);
+    }
+
+    /**
+     * One scripted model response, emitted chunk by chunk on {@link #SCHEDULER}.
+     */
+    private final class ScriptedResponse implements StreamingHandle {
+
+        private final List<String> chunks;
+        private final ChatResponse response;
+        /** Reported before the response completes, as providers do; null for an answer. */
+        private final CompleteToolCall completeToolCall;
+        private final ChunkEmitter emitter;
+        private final AtomicInteger position = new AtomicInteger();
+        private volatile boolean cancelled;
+
+        private ScriptedResponse(List<String> chunks, ChatResponse response, CompleteToolCall completeToolCall,
+                                 ChunkEmitter emitter) {
+            this.chunks = chunks;
+            this.response = response;
+            this.completeToolCall = completeToolCall;
+            this.emitter = emitter;
+        }
+
+        private void next(StreamingChatResponseHandler handler) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                int index = position.getAndIncrement();
+                if (index < chunks.size()) {
+                    emitter.emit(handler, chunks.get(index), this);
+                    SCHEDULER.schedule(() -> next(handler),
+                            Math.max(0, properties.getTokenLatencyMs()), TimeUnit.MILLISECONDS);
+                } else {
+                    if (completeToolCall != null) {
+                        handler.onCompleteToolCall(completeToolCall);
+                    }
+                    handler.onCompleteResponse(response);
+                }
+            } catch (Exception e) {
+                log.warn("Stub model stream failed: {}", e.getMessage());
+                handler.onError(e);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package edu.zsc.ai.agent.tool;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.PartialThinking;
+import dev.langchain4j.model.chat.response.PartialThinkingContext;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCallContext;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import edu.zsc.ai.agent.annotation.AgentTool;
+import edu.zsc.ai.config.ai.AgentToolProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executor handed to LangChain4j for tool calls.
+ *
+ * <p>LangChain4j submits one task per tool call from {@code onCompleteToolCall}, while the model is
+ * still streaming, on the thread delivering the model's callbacks. The agent's model is wrapped by
+ * {@link #decorate}, so each submission carries the name of its tool: a call to a
+ * {@link AgentTool#parallelSafe()} bean goes to the bounded pool; any other call first waits for the
+ * pooled calls of the same model response, then runs inline on the calling thread, so it never overlaps
+ * another call of the response and later calls wait for it. Tasks submitted any other way run inline.
+ * LangChain4j keeps results in request order either way and reports each one as it completes.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(AgentToolProperties.class)
+public class ParallelToolExecutor implements Executor, DisposableBean {
+
+    /**
+     * Tool call being submitted by the current thread; only set while LangChain4j handles it.
+     */
+    private static final ThreadLocal<Submission> CURRENT_SUBMISSION = new ThreadLocal<>();
+
+    private final Set<String> parallelSafeTools;
+    private final ThreadPoolTaskExecutor pool;
+
+    public ParallelToolExecutor(List<Object> agentTools, AgentToolProperties properties) {
+        this.parallelSafeTools = collectParallelSafeTools(agentTools);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, properties.getParallelism()));
+        executor.setMaxPoolSize(Math.max(1, properties.getParallelism()));
+        executor.setQueueCapacity(Math.max(0, properties.getQueueCapacity()));
+        executor.setThreadNamePrefix("agent-tool-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        this.pool = executor;
+
+        log.info("Parallel-safe agent tools: {}", parallelSafeTools);
+    }
+
+    /**
+     * Wraps the model of an agent built with this executor, so each tool call it completes is
+     * dispatched by tool.
+     */
+    public StreamingChatModel decorate(StreamingChatModel model) {
+        return new DispatchingModel(model);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Submission submission = CURRENT_SUBMISSION.get();
+        if (submission == null) {
+            command.run();
+            return;
+        }
+        submission.response().dispatch(submission.toolName(), command);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    private static Set<String> collectParallelSafeTools(List<Object> agentTools) {
+        Set<String> names = new HashSet<>();
+        for (Object bean : agentTools) {
+            Class<?> type = AopUtils.getTargetClass(bean);
+            AgentTool agentTool = type.getAnnotation(AgentTool.class);
+            if (agentTool == null || !agentTool.parallelSafe()) {
+                continue;
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                Tool tool = method.getAnnotation(Tool.class);
+                if (tool != null) {
+                    names.add(StringUtils.defaultIfBlank(tool.name(), method.getName()));
+                }
+            }
+        }
+        return Set.copyOf(names);
+    }
+
+    private record Submission(String toolName, ResponseHandler response) {
+    }
+
+    private final class DispatchingModel implements StreamingChatModel {
+
+        private final StreamingChatModel delegate;
+
+        private DispatchingModel(StreamingChatModel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+            delegate.chat(request, new ResponseHandler(handler));
+        }
+    }
+
+    /**
+     * Handler of one model response; tracks the response's pooled tool calls.
+     */
+    private final class ResponseHandler implements StreamingChatResponseHandler {
+
+        private final StreamingChatResponseHandler delegate;
+        private final List<CompletableFuture<Void>> pooled = new ArrayList<>();
+
+        private ResponseHandler(StreamingChatResponseHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        private synchronized void dispatch(String toolName, Runnable command) {
+            if (parallelSafeTools.contains(toolName)) {
+                log.debug("Running tool call {} concurrently", toolName);
+                pooled.add(CompletableFuture.runAsync(command, pool));
+                return;
+            }
+            if (!pooled.isEmpty()) {
+                // Failures are reported by LangChain4j through the tasks' own futures
+                CompletableFuture.allOf(pooled.toArray(CompletableFuture[]::new)).handle((ignored, e) -> null).join();
+                pooled.clear();
+            }
+            command.run();
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            delegate.onPartialResponse(partialResponse);
+        }
+
+        @Override
+        public void onPartialResponse(PartialResponse partialResponse, PartialResponseContext context) {
+            delegate.onPartialResponse(partialResponse, context);
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking) {
+            delegate.onPartialThinking(partialThinking);
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking, PartialThinkingContext context) {
+            delegate.onPartialThinking(partialThinking, context);
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall) {
+            delegate.onPartialToolCall(partialToolCall);
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall, PartialToolCallContext context) {
+            delegate.onPartialToolCall(partialToolCall, context);
+        }
+
+        @Override
+        public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+            Submission previous = CURRENT_SUBMISSION.get();
+            CURRENT_SUBMISSION.set(new Submission(completeToolCall.toolExecutionRequest().name(), this));
+            try {
+                delegate.onCompleteToolCall(completeToolCall);
+            } finally {
+                if (previous == null) {
+                    CURRENT_SUBMISSION.remove();
+                } else {
+                    CURRENT_SUBMISSION.set(previous);
+                }
+            }
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse response) {
+            delegate.onCompleteResponse(response);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            delegate.onError(error);
+        }
+    }
+}
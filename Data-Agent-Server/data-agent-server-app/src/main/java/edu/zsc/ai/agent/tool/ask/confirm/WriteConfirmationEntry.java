@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 
 /**
  * An in-memory record tracking a single write-confirmation token.
- * Status transitions: PENDING → CONFIRMED → CONSUMED.
+ * Status transitions: PENDING → CONFIRMED → CONSUMED, applied atomically via {@link #transition}.
  * TTL is managed by Caffeine; no createdAt/expiresAt fields needed here.
  */
 @Data
@@ -21,7 +21,22 @@ public class WriteConfirmationEntry {
     private Long conversationId;
     private Long connectionId;
     private String sql;
+    /** {@link #sql} normalized once at creation, used for matching. */
+    private String normalizedSql;
     private String databaseName;
     private String schemaName;
-    private WriteConfirmationStatus status;
+    private volatile WriteConfirmationStatus status;
+
+    /**
+     * Move to {@code next} only if the current status is {@code expected}.
+     *
+     * @return true if this call performed the transition
+     */
+    public synchronized boolean transition(WriteConfirmationStatus expected, WriteConfirmationStatus next) {
+        if (status != expected) {
+            return false;
+        }
+        status = next;
+        return true;
+    }
 }
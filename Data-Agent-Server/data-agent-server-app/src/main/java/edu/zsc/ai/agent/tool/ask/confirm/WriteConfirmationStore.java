@@ -1,14 +1,20 @@
 package edu.zsc.ai.agent.tool.ask.confirm;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 import org.springframework.stereotype.Component;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,16 +26,28 @@ import lombok.extern.slf4j.Slf4j;
  * - userId + conversationId binding prevents cross-user and cross-session attacks.
  * - CONSUMED state prevents token replay.
  * - TTL is enforced by Caffeine expiry.
+ * - Status transitions are compare-and-set, so one CONFIRMED token is consumed at most once.
+ *
+ * Tokens are additionally indexed by (userId, conversationId); the index is pruned by a Caffeine
+ * removal listener, so lookups on the write path only touch the conversation's own tokens.
  */
 @Component
 @Slf4j
 public class WriteConfirmationStore {
 
     private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_SEMICOLONS = Pattern.compile(";+$");
+
+    private static final WriteConsumeResult ALREADY_CONSUMED = WriteConsumeResult.fail("ALREADY_CONSUMED",
+            "Confirmation token was already used. Call askUserConfirm again for a new confirmation.");
+
+    private final Map<SessionKey, Set<String>> tokensBySession = new ConcurrentHashMap<>();
 
     private final Cache<String, WriteConfirmationEntry> cache = Caffeine.newBuilder()
             .expireAfterWrite(TTL)
             .maximumSize(10_000)
+            .removalListener(this::onRemoval)
             .build();
 
     /**
@@ -44,10 +62,16 @@ public class WriteConfirmationStore {
                 .conversationId(conversationId)
                 .connectionId(connectionId)
                 .sql(sql)
+                .normalizedSql(normalizeSql(sql))
                 .databaseName(databaseName)
                 .schemaName(schemaName)
                 .status(WriteConfirmationStatus.PENDING)
                 .build();
+        tokensBySession.compute(new SessionKey(userId, conversationId), (key, tokens) -> {
+            Set<String> indexed = tokens != null ? tokens : ConcurrentHashMap.newKeySet();
+            indexed.add(token);
+            return indexed;
+        });
         cache.put(token, entry);
         log.info("[WriteConfirm] Created token={} userId={} conversationId={}", token, userId, conversationId);
         return entry;
@@ -61,11 +85,11 @@ public class WriteConfirmationStore {
      */
     public boolean confirm(String token, Long userId) {
         WriteConfirmationEntry entry = cache.getIfPresent(token);
-        if (entry == null || !entry.getUserId().equals(userId) || entry.getStatus() != WriteConfirmationStatus.PENDING) {
+        if (entry == null || !entry.getUserId().equals(userId)
+                || !entry.transition(WriteConfirmationStatus.PENDING, WriteConfirmationStatus.CONFIRMED)) {
             log.warn("[WriteConfirm] confirm failed: invalid token, ownership mismatch, or not PENDING. token={}", token);
             return false;
         }
-        entry.setStatus(WriteConfirmationStatus.CONFIRMED);
         log.info("[WriteConfirm] Confirmed token={}", token);
         return true;
     }
@@ -97,22 +121,33 @@ public class WriteConfirmationStore {
                                                      String databaseName, String schemaName, String sql) {
         String normalizedSql = normalizeSql(sql);
 
-        // Step 1: find all tokens for this user + conversation
-        List<WriteConfirmationEntry> sessionTokens = cache.asMap().values().stream()
-                .filter(e -> e.getUserId().equals(userId) && e.getConversationId().equals(conversationId))
-                .toList();
+        // Step 1: collect this user + conversation's live tokens from the index and classify them in one pass
+        Set<String> sessionTokens = tokensBySession.getOrDefault(new SessionKey(userId, conversationId), Set.of());
+        List<WriteConfirmationEntry> confirmedTokens = new ArrayList<>();
+        boolean hasAny = false;
+        boolean hasPending = false;
+        for (String token : sessionTokens) {
+            WriteConfirmationEntry entry = cache.getIfPresent(token);
+            if (entry == null) {
+                continue;
+            }
+            hasAny = true;
+            switch (entry.getStatus()) {
+                case CONFIRMED -> confirmedTokens.add(entry);
+                case PENDING -> hasPending = true;
+                default -> {
+                }
+            }
+        }
 
-        if (sessionTokens.isEmpty()) {
+        if (!hasAny) {
             log.warn("[WriteConfirm] consumeConfirmedBySql: no tokens at all for userId={} conversationId={}", userId, conversationId);
             return WriteConsumeResult.fail("NO_TOKEN",
                     "No confirmation token exists for this conversation. You must call askUserConfirm first.");
         }
 
         // Step 2: check token statuses
-        boolean hasConfirmed = sessionTokens.stream().anyMatch(e -> e.getStatus() == WriteConfirmationStatus.CONFIRMED);
-
-        if (!hasConfirmed) {
-            boolean hasPending = sessionTokens.stream().anyMatch(e -> e.getStatus() == WriteConfirmationStatus.PENDING);
+        if (confirmedTokens.isEmpty()) {
             if (hasPending) {
                 log.warn("[WriteConfirm] consumeConfirmedBySql: only PENDING tokens for userId={} conversationId={}", userId, conversationId);
                 return WriteConsumeResult.fail("NOT_CONFIRMED",
@@ -120,25 +155,27 @@ public class WriteConfirmationStore {
             }
             // all must be CONSUMED
             log.warn("[WriteConfirm] consumeConfirmedBySql: only CONSUMED tokens for userId={} conversationId={}", userId, conversationId);
-            return WriteConsumeResult.fail("ALREADY_CONSUMED",
-                    "Confirmation token was already used. Call askUserConfirm again for a new confirmation.");
+            return ALREADY_CONSUMED;
         }
 
-        // Step 3: among CONFIRMED tokens, try to find an exact match
-        List<WriteConfirmationEntry> confirmedTokens = sessionTokens.stream()
-                .filter(e -> e.getStatus() == WriteConfirmationStatus.CONFIRMED)
-                .toList();
-
+        // Step 3: among CONFIRMED tokens, try to find an exact match and claim it atomically
+        boolean lostRace = false;
         for (WriteConfirmationEntry entry : confirmedTokens) {
             if (Objects.equals(entry.getConnectionId(), connectionId)
                     && Objects.equals(entry.getDatabaseName(), databaseName)
                     && Objects.equals(entry.getSchemaName(), schemaName)
-                    && normalizeSql(entry.getSql()).equals(normalizedSql)) {
-                entry.setStatus(WriteConfirmationStatus.CONSUMED);
-                log.info("[WriteConfirm] Consumed by sql match: userId={} conversationId={}", userId, conversationId);
-                return WriteConsumeResult.ok();
+                    && entry.getNormalizedSql().equals(normalizedSql)) {
+                if (entry.transition(WriteConfirmationStatus.CONFIRMED, WriteConfirmationStatus.CONSUMED)) {
+                    log.info("[WriteConfirm] Consumed by sql match: userId={} conversationId={}", userId, conversationId);
+                    return WriteConsumeResult.ok();
+                }
+                lostRace = true;
             }
         }
+        if (lostRace) {
+            log.warn("[WriteConfirm] consumeConfirmedBySql: matching token consumed concurrently for userId={} conversationId={}", userId, conversationId);
+            return ALREADY_CONSUMED;
+        }
 
         // Step 4: no exact match — diagnose the mismatch using the first CONFIRMED token
         WriteConfirmationEntry closest = confirmedTokens.get(0);
@@ -175,6 +212,23 @@ public class WriteConfirmationStore {
      */
     private static String normalizeSql(String sql) {
         if (sql == null) return "";
-        return sql.strip().replaceAll("\\s+", " ").replaceAll(";+$", "");
+        String collapsed = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+        return TRAILING_SEMICOLONS.matcher(collapsed).replaceAll("");
+    }
+
+    /**
+     * Drops the token from the session index when Caffeine expires, evicts or invalidates it.
+     */
+    private void onRemoval(String token, WriteConfirmationEntry entry, RemovalCause cause) {
+        if (token == null || entry == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        tokensBySession.computeIfPresent(new SessionKey(entry.getUserId(), entry.getConversationId()), (key, tokens) -> {
+            tokens.remove(token);
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    private record SessionKey(Long userId, Long conversationId) {
     }
 }
@@ -0,0 +1,332 @@
+package edu.zsc.ai.agent.tool.budget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import edu.zsc.ai.agent.tool.model.AgentToolResult;
+import edu.zsc.ai.agent.tool.sql.model.AgentSqlColumn;
+import edu.zsc.ai.agent.tool.sql.model.AgentSqlColumnStats;
+import edu.zsc.ai.agent.tool.sql.model.AgentSqlResult;
+import edu.zsc.ai.agent.tool.sql.model.CatalogInfo;
+import edu.zsc.ai.agent.tool.sql.model.ConnectionOverview;
+import edu.zsc.ai.agent.tool.sql.model.ObjectDetail;
+import edu.zsc.ai.agent.tool.sql.model.ObjectSearchResponse;
+import edu.zsc.ai.common.enums.ai.ToolNameEnum;
+import edu.zsc.ai.config.ai.AgentToolProperties;
+import edu.zsc.ai.plugin.model.metadata.IndexMetadata;
+import edu.zsc.ai.util.JsonUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps tool results within a per-tool budget of serialized JSON characters before they reach the model.
+ *
+ * <p>SQL results: long string cells are cut, then rows are sampled to head + tail until the result fits,
+ * with per-column stats over all rows and an {@code elided} note saying exactly what was dropped.
+ * Discovery results: lists are cut and DDL keeps its head and tail; the note goes into the result message.
+ * Results already within budget are returned untouched.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(AgentToolProperties.class)
+public class ToolOutputBudget {
+
+    private static final String ELIDED_SUFFIX = " to fit the tool output budget";
+
+    private static final int EMPTY_ARRAY_CHARS = "[]".length();
+
+    private final AgentToolProperties.Budget properties;
+
+    public ToolOutputBudget(AgentToolProperties agentToolProperties) {
+        this.properties = agentToolProperties.getBudget();
+    }
+
+    public int budgetChars(ToolNameEnum tool) {
+        return properties.getPerTool().getOrDefault(tool.getToolName(), properties.getDefaultChars());
+    }
+
+    /**
+     * Fits a SQL result into the tool's budget, showing at most {@code maxRows} rows per result set.
+     * Multi-statement results share the budget evenly.
+     */
+    public AgentSqlResult fit(AgentSqlResult result, ToolNameEnum tool, int maxRows) {
+        return fit(result, tool, maxRows, 0);
+    }
+
+    /**
+     * Fits a page of a stored result, whose first row is row {@code offset} (zero-based) of the whole result,
+     * so the elided note names rows by their position in the whole result.
+     */
+    public AgentSqlResult fit(AgentSqlResult result, ToolNameEnum tool, int maxRows, int offset) {
+        if (!result.isSuccess()) {
+            return result;
+        }
+        int budget = budgetChars(tool);
+        if (CollectionUtils.isNotEmpty(result.getResults())) {
+            int share = Math.max(1, budget / result.getResults().size());
+            result.getResults().forEach(sub -> fitRows(sub, share, maxRows, 0));
+        } else {
+            fitRows(result, budget, maxRows, offset);
+        }
+        return result;
+    }
+
+    /**
+     * Fits a discovery tool result (overview, object search, object detail) into the tool's budget.
+     */
+    public AgentToolResult fit(AgentToolResult result, ToolNameEnum tool) {
+        int budget = budgetChars(tool);
+        if (!result.isSuccess() || Objects.isNull(result.getResult()) || sizeOf(result) <= budget) {
+            return result;
+        }
+        Object value = result.getResult();
+        String elided = null;
+        if (value instanceof ObjectSearchResponse response) {
+            elided = fitSearch(result, response, budget);
+        } else if (value instanceof ObjectDetail detail) {
+            elided = fitDetail(result, detail, budget);
+        } else if (value instanceof List<?> list && list.stream().allMatch(ConnectionOverview.class::isInstance)) {
+            elided = fitOverview(result, list.stream().map(ConnectionOverview.class::cast).toList(), budget);
+        }
+        if (Objects.nonNull(elided)) {
+            log.info("[Budget] {} result elided: {}", tool.getToolName(), elided);
+            result.setMessage(result.getMessage() + "; elided: " + elided + ELIDED_SUFFIX);
+        }
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // SQL results
+    // -------------------------------------------------------------------------
+
+    private void fitRows(AgentSqlResult result, int budget, int maxRows, int offset) {
+        List<List<Object>> rows = result.getRows();
+        if (CollectionUtils.isEmpty(rows) || (rows.size() <= maxRows && sizeOf(result) <= budget)) {
+            return;
+        }
+        int total = rows.size();
+        int[] cutCells = {0};
+        List<List<Object>> shown = rows.stream().map(row -> cutCells(row, cutCells)).toList();
+        ArraySize shownSize = new ArraySize(shown);
+
+        int keep = Math.min(Math.max(0, maxRows), total);
+        while (true) {
+            if (keep < total && Objects.isNull(result.getColumnStats())) {
+                result.setColumnStats(columnStats(result.getColumns(), rows));
+            }
+            result.setElided(describeRows(result, offset, total, keep, cutCells[0]));
+            // Only the rows change between rounds; they were serialized once for shownSize.
+            result.setRows(List.of());
+            int size = sizeOf(result) - EMPTY_ARRAY_CHARS + shownSize.sample(keep);
+            if (keep == 0 || size <= budget) {
+                break;
+            }
+            keep /= 2;
+        }
+        result.setRows(sample(shown, keep));
+        if (sizeOf(result) > budget && CollectionUtils.isNotEmpty(result.getColumnStats())) {
+            // Very wide result: even the stats alone do not fit.
+            List<AgentSqlColumnStats> stats = result.getColumnStats();
+            int keepStats = Math.max(1, stats.size() * budget / Math.max(1, sizeOf(result)));
+            result.setColumnStats(List.copyOf(stats.subList(0, Math.min(keepStats, stats.size()))));
+            result.setElided(result.getElided() + "; columnStats kept for the first " + keepStats
+                    + " of " + stats.size() + " columns");
+        }
+        log.info("[Budget] SQL result sampled: rows {} -> {}, cutCells={}", total, keep, cutCells[0]);
+    }
+
+    private List<Object> cutCells(List<Object> row, int[] cutCells) {
+        int max = Math.max(16, properties.getMaxCellChars());
+        List<Object> copy = null;
+        for (int i = 0; i < row.size(); i++) {
+            if (row.get(i) instanceof String s && s.length() > max) {
+                if (copy == null) {
+                    copy = new ArrayList<>(row);
+                }
+                copy.set(i, s.substring(0, max) + "…[+" + (s.length() - max) + " chars]");
+                cutCells[0]++;
+            }
+        }
+        return copy != null ? copy : row;
+    }
+
+    /**
+     * First ~3/4 of {@code keep} rows from the head, the rest from the tail.
+     */
+    private static List<List<Object>> sample(List<List<Object>> rows, int keep) {
+        if (keep >= rows.size()) {
+            return rows;
+        }
+        int tail = keep / 4;
+        int head = keep - tail;
+        List<List<Object>> sample = new ArrayList<>(keep);
+        sample.addAll(rows.subList(0, head));
+        sample.addAll(rows.subList(rows.size() - tail, rows.size()));
+        return sample;
+    }
+
+    private static List<AgentSqlColumnStats> columnStats(List<AgentSqlColumn> columns, List<List<Object>> rows) {
+        if (CollectionUtils.isEmpty(columns)) {
+            return List.of();
+        }
+        return IntStream.range(0, columns.size())
+                .mapToObj(i -> AgentSqlColumnStats.of(columns.get(i).name(), rows, i))
+                .toList();
+    }
+
+    private String describeRows(AgentSqlResult result, int offset, int total, int keep, int cutCells) {
+        List<String> parts = new ArrayList<>();
+        if (keep < total) {
+            int tail = keep / 4;
+            int head = keep - tail;
+            // Row numbers are positions in the whole result, which this page starts at offset into
+            parts.add(offset > 0
+                    ? String.format("rows %d-%d of this page (rows %d-%d) elided; rows holds the first %d and "
+                                    + "last %d of the page, columnStats cover all %d rows of the page",
+                            offset + head + 1, offset + total - tail, offset + 1, offset + total, head, tail, total)
+                    : String.format("rows %d-%d of %d elided; rows holds the first %d and last %d, "
+                            + "columnStats cover all %d", head + 1, total - tail, total, head, tail, total));
+        }
+        if (cutCells > 0) {
+            parts.add(cutCells + " values longer than " + properties.getMaxCellChars() + " chars cut");
+        }
+        if (parts.isEmpty()) {
+            return null;
+        }
+        String note = String.join("; ", parts);
+        return Objects.nonNull(result.getResultHandle())
+                ? note + "; page with readResultRows(\"" + result.getResultHandle() + "\", offset, limit)"
+                : note;
+    }
+
+    // -------------------------------------------------------------------------
+    // Discovery results
+    // -------------------------------------------------------------------------
+
+    private String fitSearch(AgentToolResult result, ObjectSearchResponse response, int budget) {
+        int total = response.results().size();
+        ArraySize matchesSize = new ArraySize(response.results());
+        result.setResult(new ObjectSearchResponse(List.of(), response.totalCount(), true));
+        int base = sizeOf(result) - EMPTY_ARRAY_CHARS;
+        int keep = total;
+        while (keep > 1 && base + matchesSize.head(keep) > budget) {
+            keep /= 2;
+        }
+        result.setResult(keep < total
+                ? new ObjectSearchResponse(List.copyOf(response.results().subList(0, keep)), response.totalCount(), true)
+                : response);
+        return keep < total
+                ? (total - keep) + " of " + total + " matches (narrow the pattern or pass connectionId/databaseName)"
+                : null;
+    }
+
+    private String fitDetail(AgentToolResult result, ObjectDetail detail, int budget) {
+        String ddl = detail.ddl();
+        List<IndexMetadata> indexes = detail.indexes();
+        List<String> parts = new ArrayList<>();
+        if (CollectionUtils.isNotEmpty(indexes)) {
+            ArraySize indexesSize = new ArraySize(indexes);
+            result.setResult(new ObjectDetail(ddl, detail.rowCount(), List.of()));
+            int base = sizeOf(result) - EMPTY_ARRAY_CHARS;
+            int keep = indexes.size();
+            while (keep > 0 && base + indexesSize.head(keep) > budget) {
+                keep /= 2;
+            }
+            result.setResult(new ObjectDetail(ddl, detail.rowCount(), List.copyOf(indexes.subList(0, keep))));
+            if (keep < indexes.size()) {
+                parts.add((indexes.size() - keep) + " of " + indexes.size() + " indexes");
+            }
+        }
+        int overflow = sizeOf(result) - budget;
+        if (overflow > 0 && Objects.nonNull(ddl) && !ddl.isEmpty()) {
+            // Escaping only makes DDL longer once serialized, so cutting raw chars frees at least as many;
+            // the extra 64 pay for the marker. A DDL shorter than that is dropped whole.
+            int cut = Math.min(ddl.length(), overflow + 64);
+            int head = (ddl.length() - cut) * 3 / 4;
+            int tailStart = head + cut;
+            String shortened = ddl.substring(0, head) + "\n-- … [" + cut + " chars elided] …\n" + ddl.substring(tailStart);
+            ObjectDetail current = (ObjectDetail) result.getResult();
+            result.setResult(new ObjectDetail(shortened, current.rowCount(), current.indexes()));
+            parts.add(cut < ddl.length() ? cut + " DDL chars from the middle" : "the whole DDL (" + cut + " chars)");
+        }
+        return parts.isEmpty() ? null : String.join(", ", parts);
+    }
+
+    private String fitOverview(AgentToolResult result, List<ConnectionOverview> overview, int budget) {
+        int schemaLists = 0;
+        List<ConnectionOverview> withoutSchemas = new ArrayList<>(overview.size());
+        for (ConnectionOverview connection : overview) {
+            List<CatalogInfo> catalogs = connection.catalogs() == null ? null : connection.catalogs().stream()
+                    .map(catalog -> new CatalogInfo(catalog.name(), List.of()))
+                    .toList();
+            if (connection.catalogs() != null) {
+                schemaLists += (int) connection.catalogs().stream()
+                        .filter(catalog -> CollectionUtils.isNotEmpty(catalog.schemas()))
+                        .count();
+            }
+            withoutSchemas.add(new ConnectionOverview(connection.id(), connection.name(), connection.dbType(), catalogs));
+        }
+        result.setResult(withoutSchemas);
+        String note = "schema lists of " + schemaLists + " catalogs (use searchObjects with connectionId/databaseName)";
+
+        ArraySize connectionsSize = new ArraySize(withoutSchemas);
+        result.setResult(List.of());
+        int base = sizeOf(result) - EMPTY_ARRAY_CHARS;
+        int keep = withoutSchemas.size();
+        while (keep > 1 && base + connectionsSize.head(keep) > budget) {
+            keep /= 2;
+        }
+        result.setResult(List.copyOf(withoutSchemas.subList(0, keep)));
+        return keep < withoutSchemas.size()
+                ? note + ", " + (withoutSchemas.size() - keep) + " of " + withoutSchemas.size() + " connections"
+                : note;
+    }
+
+    private static int sizeOf(Object value) {
+        return JsonUtil.object2json(value).length();
+    }
+
+    /**
+     * Serialized size of a JSON array holding some of {@code elements}; each element is serialized once,
+     * so sizing the shrinking samples of the trim loops stays linear.
+     */
+    private static final class ArraySize {
+
+        /** prefix[i] = serialized chars of the first i elements */
+        private final int[] prefix;
+
+        private ArraySize(List<?> elements) {
+            prefix = new int[elements.size() + 1];
+            for (int i = 0; i < elements.size(); i++) {
+                prefix[i + 1] = prefix[i] + sizeOf(elements.get(i));
+            }
+        }
+
+        /** The first {@code keep} elements. */
+        private int head(int keep) {
+            return of(keep, 0);
+        }
+
+        /** The elements {@link #sample} keeps. */
+        private int sample(int keep) {
+            int total = prefix.length - 1;
+            if (keep >= total) {
+                return of(total, 0);
+            }
+            int tail = keep / 4;
+            return of(keep - tail, tail);
+        }
+
+        private int of(int head, int tail) {
+            int total = prefix.length - 1;
+            int count = head + tail;
+            int chars = prefix[head] + prefix[total] - prefix[total - tail];
+            return EMPTY_ARRAY_CHARS + chars + Math.max(0, count - 1);
+        }
+    }
+}
@@ -5,8 +5,11 @@ import dev.langchain4j.agent.tool.P;
 import dev.langchain4j.agent.tool.Tool;
 import dev.langchain4j.invocation.InvocationParameters;
 import edu.zsc.ai.agent.guard.AgentModeGuard;
+import edu.zsc.ai.agent.guard.ChatCancellationGuard;
 import edu.zsc.ai.agent.annotation.AgentTool;
 import edu.zsc.ai.agent.tool.model.AgentToolResult;
+import edu.zsc.ai.agent.tool.sql.result.SqlResultStore;
+import edu.zsc.ai.agent.tool.sql.result.StoredSqlResult;
 import edu.zsc.ai.common.constant.RequestContextConstant;
 import edu.zsc.ai.common.enums.ai.ChartTypeEnum;
 import edu.zsc.ai.common.enums.ai.ToolNameEnum;
@@ -24,6 +27,8 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class ChartTool {
 
+    private final SqlResultStore sqlResultStore;
+
     @Tool({
             "The best way to deliver data answers — a focused, well-chosen chart communicates ",
             "insights far more effectively than raw tables. Users strongly prefer visual results ",
@@ -35,6 +40,10 @@ public class ChartTool {
             "Put your key insight in the description parameter — the chart IS the final answer, ",
             "do not repeat data or add commentary in text afterward.",
             "",
+            "Bind query data by passing the resultHandle from executeSelectSql: the server sets ",
+            "option.dataset from the stored rows (dimensions = column names), and series map columns ",
+            "via encode. Do not copy row values into optionJson when you have a handle.",
+            "",
             "IMPORTANT: Before your first renderChart call in this conversation, ",
             "call activateSkill('chart') to load ECharts templates and rules. ",
             "Skip if already loaded in this session."
@@ -42,12 +51,15 @@ public class ChartTool {
     public AgentToolResult renderChart(
             @P("Chart type: LINE/BAR/PIE/SCATTER/AREA") String chartType,
             @P("ECharts option JSON string. Must be a valid JSON object.") String optionJson,
+            @P(value = "resultHandle from executeSelectSql; its rows are bound as option.dataset", required = false)
+            String resultHandle,
             @P(value = "Optional explanation for users: chart meaning, key insight(s), and reading guide", required = false)
             String description,
             InvocationParameters parameters) {
-        log.info("[Tool] renderChart, chartType={}", chartType);
+        log.info("[Tool] renderChart, chartType={}, resultHandle={}", chartType, resultHandle);
         try {
             AgentModeGuard.assertNotPlanMode(parameters, ToolNameEnum.RENDER_CHART);
+            ChatCancellationGuard.assertNotCancelled(parameters);
             Long userId = parameters.get(RequestContextConstant.USER_ID);
             if (Objects.isNull(userId)) {
                 return AgentToolResult.noContext();
@@ -56,9 +68,20 @@ public class ChartTool {
             ChartTypeEnum normalizedType = ChartTypeEnum.fromValue(chartType);
             JsonNode optionNode = JsonUtil.readObjectNode(optionJson, "optionJson");
 
+            String option = optionJson;
+            if (StringUtils.isNotBlank(resultHandle)) {
+                Long conversationId = parameters.get(RequestContextConstant.CONVERSATION_ID);
+                StoredSqlResult stored = sqlResultStore.get(userId, conversationId, resultHandle).orElse(null);
+                if (Objects.isNull(stored)) {
+                    return AgentToolResult.fail("resultHandle '" + resultHandle + "' is unknown or expired. "
+                            + "Re-run executeSelectSql to get a fresh handle, then call renderChart again.");
+                }
+                option = bindDataset(optionJson, stored);
+            }
+
             Map<String, Object> result = new LinkedHashMap<>();
             result.put("chartType", normalizedType.name());
-            result.put("option", optionJson);
+            result.put("option", option);
             if (StringUtils.isNotBlank(description)) {
                 result.put("description", description.trim());
             }
@@ -76,4 +99,18 @@ public class ChartTool {
                     + ". Verify chartType is one of LINE/BAR/PIE/SCATTER/AREA and optionJson is valid ECharts JSON.");
         }
     }
+
+    /**
+     * Replaces option.dataset with the stored rows, so the rendered (and persisted) option carries the data
+     * without the model having produced it.
+     */
+    @SuppressWarnings("unchecked")
+    private String bindDataset(String optionJson, StoredSqlResult stored) {
+        Map<String, Object> option = JsonUtil.json2Object(optionJson, LinkedHashMap.class);
+        Map<String, Object> dataset = new LinkedHashMap<>();
+        dataset.put("dimensions", stored.columnNames());
+        dataset.put("source", stored.getRows());
+        option.put("dataset", dataset);
+        return JsonUtil.object2json(option);
+    }
 }
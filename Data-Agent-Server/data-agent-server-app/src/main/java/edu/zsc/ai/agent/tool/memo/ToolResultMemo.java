@@ -0,0 +1,127 @@
+package edu.zsc.ai.agent.tool.memo;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import dev.langchain4j.invocation.InvocationParameters;
+import edu.zsc.ai.agent.tool.model.AgentToolResult;
+import edu.zsc.ai.common.constant.RequestContextConstant;
+import edu.zsc.ai.common.enums.ai.ToolNameEnum;
+import edu.zsc.ai.config.ai.AgentToolProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conversation-scoped memo for read-only discovery tools, backed by Caffeine.
+ *
+ * <p>Keyed by userId + conversationId + tool name + arguments; only successful results are kept, for
+ * {@code ttlSeconds}. A successful write in the conversation ({@link #invalidate}) drops all of its
+ * entries, since DDL/DML may have changed what discovery would return. Callers always get a copy,
+ * marked as cached with elapsedMs 0, so the stored result is never mutated.
+ *
+ * <p>Keys are additionally indexed by (userId, conversationId), so invalidation only touches the
+ * conversation's own entries; the index is pruned by a Caffeine removal listener.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(AgentToolProperties.class)
+public class ToolResultMemo {
+
+    private static final String CACHED_SUFFIX = " (cached)";
+
+    private final AgentToolProperties.DiscoveryMemo properties;
+
+    private final Map<SessionKey, Set<MemoKey>> keysBySession = new ConcurrentHashMap<>();
+
+    private final Cache<MemoKey, AgentToolResult> cache;
+
+    public ToolResultMemo(AgentToolProperties agentToolProperties) {
+        this.properties = agentToolProperties.getDiscoveryMemo();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, properties.getTtlSeconds())))
+                .maximumSize(Math.max(1, properties.getMaxEntries()))
+                // Prune the index on the removing thread, before the key can be memoized again
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    /**
+     * Returns the memoized result for this call, or runs {@code loader} and memoizes it if it succeeded.
+     * Calls without user/conversation context are never memoized.
+     */
+    public AgentToolResult getOrLoad(InvocationParameters parameters, ToolNameEnum tool,
+                                     Supplier<AgentToolResult> loader, Object... arguments) {
+        Long userId = parameters.get(RequestContextConstant.USER_ID);
+        Long conversationId = parameters.get(RequestContextConstant.CONVERSATION_ID);
+        if (!properties.isEnabled() || Objects.isNull(userId) || Objects.isNull(conversationId)) {
+            return loader.get();
+        }
+
+        MemoKey key = new MemoKey(userId, conversationId, tool.getToolName(), Arrays.asList(arguments));
+        AgentToolResult cached = cache.getIfPresent(key);
+        if (Objects.nonNull(cached)) {
+            log.info("[Memo] {} served from cache, conversationId={}", tool.getToolName(), conversationId);
+            return copy(cached, cached.getMessage() + CACHED_SUFFIX, 0L);
+        }
+
+        AgentToolResult result = loader.get();
+        if (result.isSuccess()) {
+            keysBySession.computeIfAbsent(new SessionKey(userId, conversationId), session -> ConcurrentHashMap.newKeySet())
+                    .add(key);
+            cache.put(key, copy(result, result.getMessage(), result.getElapsedMs()));
+        }
+        return result;
+    }
+
+    /**
+     * Drops every memoized result of the conversation.
+     */
+    public void invalidate(Long userId, Long conversationId) {
+        Set<MemoKey> keys = keysBySession.remove(new SessionKey(userId, conversationId));
+        if (Objects.nonNull(keys)) {
+            cache.invalidateAll(keys);
+            log.info("[Memo] Invalidated discovery results for conversationId={}", conversationId);
+        }
+    }
+
+    /**
+     * Drops the key from the session index when Caffeine expires, evicts or invalidates it.
+     */
+    private void onRemoval(MemoKey key, AgentToolResult result, RemovalCause cause) {
+        if (Objects.isNull(key) || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        keysBySession.computeIfPresent(new SessionKey(key.userId(), key.conversationId()), (session, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static AgentToolResult copy(AgentToolResult result, String message, Long elapsedMs) {
+        return AgentToolResult.builder()
+                .success(result.isSuccess())
+                .message(message)
+                .result(result.getResult())
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private record MemoKey(Long userId, Long conversationId, String tool, List<Object> arguments) {
+    }
+
+    private record SessionKey(Long userId, Long conversationId) {
+    }
+}
@@ -9,16 +9,19 @@ import dev.langchain4j.agent.tool.P;
 import dev.langchain4j.agent.tool.Tool;
 import dev.langchain4j.invocation.InvocationParameters;
 import edu.zsc.ai.agent.annotation.AgentTool;
+import edu.zsc.ai.agent.guard.ChatCancellationGuard;
 import edu.zsc.ai.agent.tool.memory.model.AgentMemoryCandidateView;
 import edu.zsc.ai.agent.tool.memory.model.AgentMemoryView;
 import edu.zsc.ai.agent.tool.model.AgentToolResult;
 import edu.zsc.ai.common.constant.RequestContextConstant;
+import edu.zsc.ai.common.enums.ai.MemoryCandidateOutcomeEnum;
 import edu.zsc.ai.common.converter.ai.MemoryConverter;
 import edu.zsc.ai.config.ai.MemoryProperties;
 import edu.zsc.ai.domain.model.dto.response.ai.MemoryCandidateResponse;
 import edu.zsc.ai.domain.model.entity.ai.AiMemoryCandidate;
 import edu.zsc.ai.domain.service.ai.MemoryCandidateService;
 import edu.zsc.ai.domain.service.ai.MemoryService;
+import edu.zsc.ai.domain.service.ai.model.MemoryCandidateCreateResult;
 import edu.zsc.ai.domain.service.ai.model.MemorySearchResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -49,6 +52,7 @@ public class MemoryTool {
             @P(value = "Maximum number of results to return", required = false) Integer limit,
             InvocationParameters parameters) {
         try {
+            ChatCancellationGuard.assertNotCancelled(parameters);
             Long userId = parameters.get(RequestContextConstant.USER_ID);
             if (Objects.isNull(userId)) {
                 return AgentToolResult.noContext();
@@ -72,18 +76,18 @@ public class MemoryTool {
     }
 
     @Tool({
-            "Prevents duplicate knowledge and keeps your memory proposals organized — shows all ",
-            "pending candidates in this conversation so you know exactly what's already been ",
-            "captured before proposing new entries.",
+            "Shows all pending memory candidates in this conversation with their ids.",
             "",
-            "Check this before every createCandidateMemory call. Duplicate or conflicting ",
-            "candidates confuse users during review and erode trust in the memory system."
+            "Pending candidates are already included in the candidate context of each user message, ",
+            "and createCandidateMemory detects near-duplicates server-side, so you do not need to ",
+            "call this before proposing. Use it only when you need ids that are missing from context."
     })
     public AgentToolResult listCandidateMemories(
             @P(value = "Conversation id from current session context", required = false) Long conversationId,
             @P(value = "Maximum number of candidates to return", required = false) Integer limit,
             InvocationParameters parameters) {
         try {
+            ChatCancellationGuard.assertNotCancelled(parameters);
             Long userId = parameters.get(RequestContextConstant.USER_ID);
             Long contextConversationId = parameters.get(RequestContextConstant.CONVERSATION_ID);
             if (Objects.isNull(userId) || Objects.isNull(contextConversationId)) {
@@ -120,7 +124,9 @@ public class MemoryTool {
             "Propose candidates when you discover stable, confirmed knowledge: user preferences, ",
             "business rules, domain terminology, golden SQL patterns, workflow constraints. ",
             "The user reviews all candidates, so propose generously — quality filtering happens ",
-            "at review time."
+            "at review time. Near-duplicates are handled for you: a proposal matching an existing ",
+            "memory is rejected, and one matching a pending candidate is merged into it (outcome ",
+            "CREATED/MERGED/DUPLICATE_OF_MEMORY)."
     })
     public AgentToolResult createCandidateMemory(
             @P(value = "Conversation id from current session context", required = false) Long conversationId,
@@ -129,6 +135,7 @@ public class MemoryTool {
             @P(value = "Why this candidate should be saved", required = false) String reason,
             InvocationParameters parameters) {
         try {
+            ChatCancellationGuard.assertNotCancelled(parameters);
             Long userId = parameters.get(RequestContextConstant.USER_ID);
             Long contextConversationId = parameters.get(RequestContextConstant.CONVERSATION_ID);
             if (Objects.isNull(userId) || Objects.isNull(contextConversationId)) {
@@ -139,14 +146,21 @@ public class MemoryTool {
                         conversationId, contextConversationId);
             }
 
-            AiMemoryCandidate candidate = memoryCandidateService.createCandidate(
+            MemoryCandidateCreateResult created = memoryCandidateService.createCandidate(
                     userId,
                     contextConversationId,
                     candidateType,
                     candidateContent,
                     reason);
 
-            return AgentToolResult.success(AgentMemoryCandidateView.from(MemoryConverter.toCandidateResponse(candidate)));
+            Map<String, Object> result = new HashMap<>();
+            result.put("outcome", created.getOutcome().name());
+            if (created.getOutcome() == MemoryCandidateOutcomeEnum.DUPLICATE_OF_MEMORY) {
+                result.put("duplicateMemory", AgentMemoryView.from(created.getDuplicateMemory()));
+            } else {
+                result.put("candidate", AgentMemoryCandidateView.from(MemoryConverter.toCandidateResponse(created.getCandidate())));
+            }
+            return AgentToolResult.success(result);
         } catch (Exception e) {
             log.error("[Tool error] createCandidateMemory", e);
             return AgentToolResult.fail("Failed to create candidate memory (type=" + candidateType + "): " + e.getMessage()
@@ -166,6 +180,7 @@ public class MemoryTool {
             @P("Candidate id to delete") Long candidateId,
             InvocationParameters parameters) {
         try {
+            ChatCancellationGuard.assertNotCancelled(parameters);
             Long userId = parameters.get(RequestContextConstant.USER_ID);
             if (Objects.isNull(userId)) {
                 return AgentToolResult.noContext();
@@ -4,11 +4,15 @@ import dev.langchain4j.agent.tool.P;
 import dev.langchain4j.agent.tool.Tool;
 import dev.langchain4j.invocation.InvocationParameters;
 import edu.zsc.ai.agent.annotation.AgentTool;
+import edu.zsc.ai.agent.guard.ChatCancellationGuard;
+import edu.zsc.ai.agent.tool.budget.ToolOutputBudget;
+import edu.zsc.ai.agent.tool.memo.ToolResultMemo;
 import edu.zsc.ai.agent.tool.model.AgentToolResult;
 import edu.zsc.ai.agent.tool.sql.model.ConnectionOverview;
 import edu.zsc.ai.agent.tool.sql.model.ObjectDetail;
 import edu.zsc.ai.agent.tool.sql.model.ObjectSearchResponse;
 import edu.zsc.ai.common.constant.RequestContextConstant;
+import edu.zsc.ai.common.enums.ai.ToolNameEnum;
 import edu.zsc.ai.domain.service.db.DiscoveryService;
 import edu.zsc.ai.plugin.constant.DatabaseObjectTypeEnum;
 import lombok.RequiredArgsConstructor;
@@ -19,12 +23,14 @@ import org.apache.commons.lang3.StringUtils;
 import java.util.List;
 import java.util.Objects;
 
-@AgentTool
+@AgentTool(parallelSafe = true)
 @Slf4j
 @RequiredArgsConstructor
 public class DiscoveryTool {
 
     private final DiscoveryService discoveryService;
+    private final ToolOutputBudget toolOutputBudget;
+    private final ToolResultMemo toolResultMemo;
 
     @Tool({
             "Returns the complete environment overview: all connections with their databases (catalogs) ",
@@ -39,9 +45,10 @@ public class DiscoveryTool {
             "keep this in mind when choosing how broadly to search with subsequent calls."
     })
     public AgentToolResult getEnvironmentOverview(InvocationParameters parameters) {
-        return AgentToolResult.timed(() -> {
+        return AgentToolResult.timed(() -> toolResultMemo.getOrLoad(parameters, ToolNameEnum.GET_ENVIRONMENT_OVERVIEW, () -> {
             log.info("[Tool] getEnvironmentOverview");
             try {
+                ChatCancellationGuard.assertNotCancelled(parameters);
                 Long userId = parameters.get(RequestContextConstant.USER_ID);
                 if (Objects.isNull(userId)) {
                     return AgentToolResult.noContext();
@@ -52,13 +59,13 @@ public class DiscoveryTool {
                     return AgentToolResult.empty();
                 }
                 log.info("[Tool done] getEnvironmentOverview, connections={}", overview.size());
-                return AgentToolResult.success(overview);
+                return toolOutputBudget.fit(AgentToolResult.success(overview), ToolNameEnum.GET_ENVIRONMENT_OVERVIEW);
             } catch (Exception e) {
                 log.error("[Tool error] getEnvironmentOverview", e);
                 String errorMsg = StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName());
                 return AgentToolResult.fail("Failed to get environment overview: " + errorMsg);
             }
-        });
+        }));
     }
 
     @Tool({
@@ -81,10 +88,11 @@ public class DiscoveryTool {
             @P(value = "Filter to a specific database/catalog. Requires connectionId.", required = false) String databaseName,
             @P(value = "Filter to a specific schema. Requires connectionId + databaseName.", required = false) String schemaName,
             InvocationParameters parameters) {
-        return AgentToolResult.timed(() -> {
+        return AgentToolResult.timed(() -> toolResultMemo.getOrLoad(parameters, ToolNameEnum.SEARCH_OBJECTS, () -> {
             log.info("[Tool] searchObjects, pattern={}, type={}, connectionId={}, database={}, schema={}",
                     objectNamePattern, objectType, connectionId, databaseName, schemaName);
             try {
+                ChatCancellationGuard.assertNotCancelled(parameters);
                 Long userId = parameters.get(RequestContextConstant.USER_ID);
                 if (Objects.isNull(userId)) {
                     return AgentToolResult.noContext();
@@ -112,13 +120,13 @@ public class DiscoveryTool {
 
                 log.info("[Tool done] searchObjects, resultCount={}, truncated={}",
                         response.totalCount(), response.truncated());
-                return AgentToolResult.success(response);
+                return toolOutputBudget.fit(AgentToolResult.success(response), ToolNameEnum.SEARCH_OBJECTS);
             } catch (Exception e) {
                 log.error("[Tool error] searchObjects, pattern={}", objectNamePattern, e);
                 String errorMsg = StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName());
                 return AgentToolResult.fail("Failed to search objects with pattern '" + objectNamePattern + "': " + errorMsg);
             }
-        });
+        }, objectNamePattern, objectType, connectionId, databaseName, schemaName));
     }
 
     @Tool({
@@ -140,10 +148,11 @@ public class DiscoveryTool {
             @P("Database (catalog) name") String databaseName,
             @P(value = "Schema name; omit if not used", required = false) String schemaName,
             InvocationParameters parameters) {
-        return AgentToolResult.timed(() -> {
+        return AgentToolResult.timed(() -> toolResultMemo.getOrLoad(parameters, ToolNameEnum.GET_OBJECT_DETAIL, () -> {
             log.info("[Tool] getObjectDetail, type={}, name={}, connectionId={}, database={}, schema={}",
                     objectType, objectName, connectionId, databaseName, schemaName);
             try {
+                ChatCancellationGuard.assertNotCancelled(parameters);
                 Long userId = parameters.get(RequestContextConstant.USER_ID);
                 if (Objects.isNull(userId)) {
                     return AgentToolResult.noContext();
@@ -158,7 +167,7 @@ public class DiscoveryTool {
 
                 log.info("[Tool done] getObjectDetail, type={}, name={}, ddlLength={}",
                         normalizedType, objectName, StringUtils.length(detail.ddl()));
-                return AgentToolResult.success(detail);
+                return toolOutputBudget.fit(AgentToolResult.success(detail), ToolNameEnum.GET_OBJECT_DETAIL);
             } catch (Exception e) {
                 log.error("[Tool error] getObjectDetail, type={}, name={}", objectType, objectName, e);
                 String errorMsg = StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName());
@@ -166,6 +175,6 @@ public class DiscoveryTool {
                         + "' in connectionId=" + connectionId + ", database='" + databaseName + "', schema='" + schemaName
                         + "': " + errorMsg + ". Verify the object exists by calling searchObjects.");
             }
-        });
+        }, objectType, objectName, connectionId, databaseName, schemaName));
     }
 }
@@ -6,8 +6,14 @@ import dev.langchain4j.invocation.InvocationParameters;
 import edu.zsc.ai.agent.tool.ask.confirm.WriteConfirmationStore;
 import edu.zsc.ai.agent.tool.ask.confirm.WriteConsumeResult;
 import edu.zsc.ai.agent.guard.AgentModeGuard;
+import edu.zsc.ai.agent.guard.ChatCancellationGuard;
 import edu.zsc.ai.agent.annotation.AgentTool;
+import edu.zsc.ai.agent.tool.budget.ToolOutputBudget;
+import edu.zsc.ai.agent.tool.memo.ToolResultMemo;
+import edu.zsc.ai.agent.tool.sql.model.AgentSqlColumn;
 import edu.zsc.ai.agent.tool.sql.model.AgentSqlResult;
+import edu.zsc.ai.agent.tool.sql.result.SqlResultStore;
+import edu.zsc.ai.agent.tool.sql.result.StoredSqlResult;
 import edu.zsc.ai.common.constant.RequestContextConstant;
 import edu.zsc.ai.common.enums.ai.ToolNameEnum;
 import edu.zsc.ai.domain.model.dto.request.db.AgentExecuteSqlRequest;
@@ -18,7 +24,9 @@ import edu.zsc.ai.plugin.capability.SqlValidator;
 import edu.zsc.ai.plugin.manager.DefaultPluginManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
 
+import java.util.List;
 import java.util.Objects;
 
 
@@ -29,6 +37,9 @@ public class ExecuteSqlTool {
 
     private final SqlExecutionService sqlExecutionService;
     private final WriteConfirmationStore writeConfirmationStore;
+    private final SqlResultStore sqlResultStore;
+    private final ToolOutputBudget toolOutputBudget;
+    private final ToolResultMemo toolResultMemo;
 
     @Tool({
         "The payoff of all your preparation — executes read-only SQL and delivers results ",
@@ -38,7 +49,11 @@ public class ExecuteSqlTool {
         "For maximum accuracy: call thinking first, resolve the data source via getConnections ",
         "and getCatalogNames, then verify every referenced table with getObjectDdl. SQL built ",
         "on verified DDL almost never fails. For large tables (>10000 rows), always include ",
-        "WHERE/LIMIT — full-table scans frustrate users and waste resources."
+        "WHERE/LIMIT — full-table scans frustrate users and waste resources.",
+        "",
+        "Rows are kept on the server: the result carries a resultHandle, rowCount, a preview of ",
+        "the first rows and columnStats. To chart it, pass resultHandle to renderChart instead of ",
+        "copying values; use readResultRows only when you must see rows beyond the preview."
     })
     public AgentSqlResult executeSelectSql(
             @P("Connection id from current session context") Long connectionId,
@@ -52,6 +67,7 @@ public class ExecuteSqlTool {
                 Objects.nonNull(sql) ? sql.length() : 0);
         try {
             AgentModeGuard.assertNotPlanMode(parameters, ToolNameEnum.EXECUTE_SELECT_SQL);
+            ChatCancellationGuard.assertNotCancelled(parameters);
             if (!isReadOnlySql(sql, connectionId)) {
                 return AgentSqlResult.fail("Only read-only statements (SELECT, WITH, SHOW, EXPLAIN) are allowed in executeSelectSql. "
                         + "For INSERT/UPDATE/DELETE/DDL, use executeNonSelectSql instead (requires askUserConfirm first).");
@@ -67,10 +83,16 @@ public class ExecuteSqlTool {
                     .schemaName(schemaName)
                     .sql(sql)
                     .userId(userId)
+                    .cancellationToken(ChatCancellationGuard.token(parameters))
                     .build();
             ExecuteSqlResponse response = sqlExecutionService.executeSql(request);
             log.info("{} executeSelectSql", "[Tool done]");
-            return AgentSqlResult.from(response);
+            Long conversationId = parameters.get(RequestContextConstant.CONVERSATION_ID);
+            AgentSqlResult result = attachHandle(AgentSqlResult.from(response), userId, conversationId);
+            int maxRows = Objects.nonNull(conversationId)
+                    ? sqlResultStore.properties().getPreviewRows()
+                    : Integer.MAX_VALUE;
+            return toolOutputBudget.fit(result, ToolNameEnum.EXECUTE_SELECT_SQL, maxRows);
         } catch (Exception e) {
             log.error("{} executeSelectSql", "[Tool error]", e);
             return AgentSqlResult.fail("executeSelectSql failed for connectionId=" + connectionId
@@ -100,6 +122,7 @@ public class ExecuteSqlTool {
                 Objects.nonNull(sql) ? sql.length() : 0);
         try {
             AgentModeGuard.assertNotPlanMode(parameters, ToolNameEnum.EXECUTE_NON_SELECT_SQL);
+            ChatCancellationGuard.assertNotCancelled(parameters);
             Long userId = parameters.get(RequestContextConstant.USER_ID);
             Long conversationId = parameters.get(RequestContextConstant.CONVERSATION_ID);
             if (Objects.isNull(userId) || Objects.isNull(conversationId)) {
@@ -121,10 +144,16 @@ public class ExecuteSqlTool {
                     .schemaName(schemaName)
                     .sql(sql)
                     .userId(userId)
+                    .cancellationToken(ChatCancellationGuard.token(parameters))
                     .build();
             ExecuteSqlResponse response = sqlExecutionService.executeSql(request);
             log.info("{} executeNonSelectSql", "[Tool done]");
-            return AgentSqlResult.from(response);
+            if (response.isSuccess()) {
+                // Writes may change tables, row counts or indexes that discovery results were memoized for.
+                toolResultMemo.invalidate(userId, conversationId);
+            }
+            return toolOutputBudget.fit(AgentSqlResult.from(response), ToolNameEnum.EXECUTE_NON_SELECT_SQL,
+                    Integer.MAX_VALUE);
         } catch (Exception e) {
             log.error("{} executeNonSelectSql", "[Tool error]", e);
             return AgentSqlResult.fail("executeNonSelectSql failed for connectionId=" + connectionId
@@ -132,6 +161,70 @@ public class ExecuteSqlTool {
         }
     }
 
+    @Tool({
+        "Reads a page of rows from a result previously returned by executeSelectSql, by its ",
+        "resultHandle. Only needed when the preview and columnStats are not enough to answer; ",
+        "for charts pass the handle to renderChart instead."
+    })
+    public AgentSqlResult readResultRows(
+            @P("resultHandle returned by executeSelectSql") String resultHandle,
+            @P(value = "Zero-based row offset, default 0", required = false) Integer offset,
+            @P(value = "Rows to return, default and maximum 200", required = false) Integer limit,
+            InvocationParameters parameters) {
+        log.info("{} readResultRows, resultHandle={}, offset={}, limit={}", "[Tool]", resultHandle, offset, limit);
+        try {
+            ChatCancellationGuard.assertNotCancelled(parameters);
+            Long userId = parameters.get(RequestContextConstant.USER_ID);
+            Long conversationId = parameters.get(RequestContextConstant.CONVERSATION_ID);
+            StoredSqlResult stored = sqlResultStore.get(userId, conversationId, resultHandle).orElse(null);
+            if (Objects.isNull(stored)) {
+                return AgentSqlResult.fail("resultHandle '" + resultHandle + "' is unknown or expired. "
+                        + "Re-run executeSelectSql to get a fresh handle.");
+            }
+            int maxPageRows = sqlResultStore.properties().getMaxPageRows();
+            int from = Math.min(Math.max(0, Objects.requireNonNullElse(offset, 0)), stored.rowCount());
+            int size = Math.min(Math.max(1, Objects.requireNonNullElse(limit, maxPageRows)), maxPageRows);
+            int to = Math.min(stored.rowCount(), from + size);
+            log.info("{} readResultRows, rows={}", "[Tool done]", to - from);
+            AgentSqlResult page = AgentSqlResult.builder()
+                    .success(true)
+                    .type("RESULT_SET")
+                    .columns(stored.getColumns())
+                    .rows(stored.getRows().subList(from, to))
+                    .truncated(stored.getTruncated())
+                    .resultHandle(stored.getHandle())
+                    .rowCount(stored.rowCount())
+                    .build();
+            return toolOutputBudget.fit(page, ToolNameEnum.READ_RESULT_ROWS, size, from);
+        } catch (Exception e) {
+            log.error("{} readResultRows", "[Tool error]", e);
+            return AgentSqlResult.fail("readResultRows failed for resultHandle='" + resultHandle + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stores result-set rows in {@link SqlResultStore} and records the handle on the result; the model-facing
+     * rows are cut down to a preview afterwards by {@link ToolOutputBudget}. Applied per statement for
+     * multi-statement SQL.
+     */
+    private AgentSqlResult attachHandle(AgentSqlResult result, Long userId, Long conversationId) {
+        if (!result.isSuccess() || Objects.isNull(conversationId)) {
+            return result;
+        }
+        if (CollectionUtils.isNotEmpty(result.getResults())) {
+            result.getResults().forEach(sub -> attachHandle(sub, userId, conversationId));
+            return result;
+        }
+        List<AgentSqlColumn> columns = result.getColumns();
+        List<List<Object>> rows = result.getRows();
+        if (CollectionUtils.isEmpty(columns) || CollectionUtils.isEmpty(rows)) {
+            return result;
+        }
+        result.setResultHandle(sqlResultStore.put(userId, conversationId, columns, rows, result.getTruncated()));
+        result.setRowCount(rows.size());
+        return result;
+    }
+
     private boolean isReadOnlySql(String sql, Long connectionId) {
         if (Objects.isNull(sql) || sql.isBlank()) return false;
         String pluginId = ConnectionManager.getAnyActiveConnection(connectionId)
@@ -0,0 +1,97 @@
+package edu.zsc.ai.agent.tool.sql.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Compact per-column summary of rows the model does not see in full.
+ *
+ * <p>min/max are numeric for numeric columns and otherwise the natural order of the values (strings
+ * cut to {@value #MAX_VALUE_CHARS} chars); avg is numeric-only. The distinct count is exact up to
+ * {@value #SKETCH_SIZE} values and a K-minimum-values estimate beyond ({@code distinctEstimated = true}).
+ */
+public record AgentSqlColumnStats(String name, int nulls, long distinct, Boolean distinctEstimated,
+                                  Object min, Object max, Double avg) {
+
+    private static final int SKETCH_SIZE = 256;
+    private static final int MAX_VALUE_CHARS = 64;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static AgentSqlColumnStats of(String name, List<List<Object>> rows, int index) {
+        int nulls = 0;
+        int nonNull = 0;
+        int numbers = 0;
+        double numericMin = Double.POSITIVE_INFINITY;
+        double numericMax = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        Comparable min = null;
+        Comparable max = null;
+        boolean comparable = true;
+        TreeSet<Long> sketch = new TreeSet<>();
+
+        for (List<Object> row : rows) {
+            Object value = index < row.size() ? row.get(index) : null;
+            if (Objects.isNull(value)) {
+                nulls++;
+                continue;
+            }
+            nonNull++;
+            addToSketch(sketch, value);
+            if (value instanceof Number number) {
+                double d = number.doubleValue();
+                numbers++;
+                numericMin = Math.min(numericMin, d);
+                numericMax = Math.max(numericMax, d);
+                sum += d;
+            } else if (comparable && value instanceof Comparable c && (min == null || min.getClass() == c.getClass())) {
+                min = min == null || c.compareTo(min) < 0 ? c : min;
+                max = max == null || c.compareTo(max) > 0 ? c : max;
+            } else {
+                comparable = false;
+            }
+        }
+
+        boolean estimated = sketch.size() >= SKETCH_SIZE;
+        long distinct = estimated
+                ? Math.round((SKETCH_SIZE - 1) / toUnit(sketch.last()))
+                : sketch.size();
+        if (nonNull > 0 && numbers == nonNull) {
+            return new AgentSqlColumnStats(name, nulls, distinct, estimated ? Boolean.TRUE : null,
+                    numericMin, numericMax, sum / numbers);
+        }
+        boolean ordered = comparable && numbers == 0 && min != null;
+        return new AgentSqlColumnStats(name, nulls, distinct, estimated ? Boolean.TRUE : null,
+                ordered ? shorten(min) : null, ordered ? shorten(max) : null, null);
+    }
+
+    /**
+     * Keeps the {@value #SKETCH_SIZE} smallest value hashes; equal values collapse into one entry.
+     */
+    private static void addToSketch(TreeSet<Long> sketch, Object value) {
+        long hash = mix(value.hashCode());
+        if (sketch.size() < SKETCH_SIZE) {
+            sketch.add(hash);
+        } else if (hash < sketch.last() && sketch.add(hash)) {
+            sketch.pollLast();
+        }
+    }
+
+    private static long mix(long h) {
+        // SplitMix64 finalizer, then drop the sign so hashes order uniformly over [0, 2^63)
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return (h ^ (h >>> 31)) >>> 1;
+    }
+
+    private static double toUnit(long hash) {
+        return Math.max(hash, 1L) / (double) Long.MAX_VALUE;
+    }
+
+    private static Object shorten(Object value) {
+        if (value instanceof String s && s.length() > MAX_VALUE_CHARS) {
+            return s.substring(0, MAX_VALUE_CHARS) + "…";
+        }
+        return value;
+    }
+}
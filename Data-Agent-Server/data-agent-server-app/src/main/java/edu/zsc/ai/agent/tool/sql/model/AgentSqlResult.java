@@ -44,6 +44,21 @@ public class AgentSqlResult {
     /** Populated only for multi-statement SQL */
     private List<AgentSqlResult> results;
 
+    /**
+     * Handle of the full rows kept server-side; when set, {@link #rows} is only a preview.
+     * Pass it to renderChart / readResultRows instead of copying rows.
+     */
+    private String resultHandle;
+
+    /** Total rows behind {@link #resultHandle} */
+    private Integer rowCount;
+
+    /** Per-column summary over all rows, set whenever {@link #rows} does not hold every row */
+    private List<AgentSqlColumnStats> columnStats;
+
+    /** What was left out of this result to fit the tool output budget; null when nothing was */
+    private String elided;
+
     // -------------------------------------------------------------------------
     // Factory
     // -------------------------------------------------------------------------
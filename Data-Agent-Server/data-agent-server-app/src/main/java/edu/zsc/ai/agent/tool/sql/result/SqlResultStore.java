@@ -0,0 +1,123 @@
+package edu.zsc.ai.agent.tool.sql.result;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import edu.zsc.ai.agent.tool.sql.model.AgentSqlColumn;
+import edu.zsc.ai.config.ai.AgentToolProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory store for query results referenced by handle, backed by Caffeine.
+ *
+ * <p>executeSelectSql keeps the full rows here and only returns a handle, a preview and column stats
+ * to the model; renderChart and readResultRows resolve the handle and bind rows server-side, so rows
+ * are not copied through model output.
+ *
+ * <p>Bounds: entries expire {@code ttlMinutes} after last access, the whole store is capped at
+ * {@code maxCells} (rows x columns), and each conversation keeps at most
+ * {@code maxHandlesPerConversation} handles, oldest evicted first. Lookups are bound to the
+ * userId + conversationId that created the handle.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(AgentToolProperties.class)
+public class SqlResultStore {
+
+    private static final String HANDLE_PREFIX = "rs_";
+
+    private final AgentToolProperties.ResultStore properties;
+
+    private final Map<SessionKey, Deque<String>> handlesBySession = new ConcurrentHashMap<>();
+
+    private final Cache<String, StoredSqlResult> cache;
+
+    public SqlResultStore(AgentToolProperties agentToolProperties) {
+        this.properties = agentToolProperties.getResultStore();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(Math.max(1, properties.getTtlMinutes())))
+                .maximumWeight(Math.max(1, properties.getMaxCells()))
+                .<String, StoredSqlResult>weigher((handle, result) ->
+                        Math.max(1, result.rowCount() * Math.max(1, result.getColumns().size())))
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    public AgentToolProperties.ResultStore properties() {
+        return properties;
+    }
+
+    /**
+     * Store a result set and return its handle.
+     */
+    public String put(Long userId, Long conversationId, List<AgentSqlColumn> columns,
+                      List<List<Object>> rows, Boolean truncated) {
+        String handle = HANDLE_PREFIX + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        StoredSqlResult result = StoredSqlResult.builder()
+                .handle(handle)
+                .userId(userId)
+                .conversationId(conversationId)
+                .columns(List.copyOf(columns))
+                .rows(List.copyOf(rows))
+                .truncated(truncated)
+                .build();
+
+        List<String> evicted = new ArrayList<>();
+        handlesBySession.compute(new SessionKey(userId, conversationId), (key, handles) -> {
+            Deque<String> indexed = handles != null ? handles : new ArrayDeque<>();
+            indexed.addLast(handle);
+            while (indexed.size() > Math.max(1, properties.getMaxHandlesPerConversation())) {
+                evicted.add(indexed.pollFirst());
+            }
+            return indexed;
+        });
+        cache.put(handle, result);
+        cache.invalidateAll(evicted);
+        log.debug("[SqlResult] Stored handle={} rows={} conversationId={}", handle, rows.size(), conversationId);
+        return handle;
+    }
+
+    /**
+     * Resolve a handle for the given user and conversation; empty if unknown, expired or not owned.
+     */
+    public Optional<StoredSqlResult> get(Long userId, Long conversationId, String handle) {
+        if (Objects.isNull(handle)) {
+            return Optional.empty();
+        }
+        StoredSqlResult result = cache.getIfPresent(handle.trim());
+        if (result == null || !Objects.equals(result.getUserId(), userId)
+                || !Objects.equals(result.getConversationId(), conversationId)) {
+            return Optional.empty();
+        }
+        return Optional.of(result);
+    }
+
+    private void onRemoval(String handle, StoredSqlResult result, RemovalCause cause) {
+        if (handle == null || result == null) {
+            return;
+        }
+        handlesBySession.computeIfPresent(new SessionKey(result.getUserId(), result.getConversationId()),
+                (key, handles) -> {
+                    handles.remove(handle);
+                    return handles.isEmpty() ? null : handles;
+                });
+    }
+
+    private record SessionKey(Long userId, Long conversationId) {
+    }
+}
@@ -0,0 +1,31 @@
+package edu.zsc.ai.agent.tool.sql.result;
+
+import java.util.List;
+
+import edu.zsc.ai.agent.tool.sql.model.AgentSqlColumn;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Full rows of one executeSelectSql result, kept server-side under {@link #handle}.
+ * Bound to the user and conversation that produced it; TTL and size are managed by {@link SqlResultStore}.
+ */
+@Data
+@Builder
+public class StoredSqlResult {
+
+    private String handle;
+    private Long userId;
+    private Long conversationId;
+    private List<AgentSqlColumn> columns;
+    private List<List<Object>> rows;
+    private Boolean truncated;
+
+    public int rowCount() {
+        return rows.size();
+    }
+
+    public List<String> columnNames() {
+        return columns.stream().map(AgentSqlColumn::name).toList();
+    }
+}
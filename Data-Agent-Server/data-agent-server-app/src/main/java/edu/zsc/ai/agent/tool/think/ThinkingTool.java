@@ -15,7 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-@AgentTool
+@AgentTool(parallelSafe = true)
 @Slf4j
 public class ThinkingTool {
 
@@ -0,0 +1,36 @@
+package edu.zsc.ai.agent.trace;
+
+/**
+ * Binds the trace of the running chat turn to the current thread, so calls made underneath a tool
+ * (database services, chat memory store) can attach their spans without threading it through.
+ */
+public final class ChatTraceContext {
+
+    private static final ThreadLocal<ChatTurnTrace> CURRENT = new ThreadLocal<>();
+
+    private ChatTraceContext() {
+    }
+
+    public static ChatTurnTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds {@code trace} to the current thread.
+     *
+     * @return the previously bound trace, to pass to {@link #restore}
+     */
+    public static ChatTurnTrace bind(ChatTurnTrace trace) {
+        ChatTurnTrace previous = CURRENT.get();
+        if (trace == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(trace);
+        }
+        return previous;
+    }
+
+    public static void restore(ChatTurnTrace previous) {
+        bind(previous);
+    }
+}
@@ -0,0 +1,203 @@
+package edu.zsc.ai.agent.trace;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import edu.zsc.ai.common.enums.ai.TraceSpanKindEnum;
+import edu.zsc.ai.config.ai.ChatTraceProperties;
+import edu.zsc.ai.domain.model.entity.ai.AiChatTrace;
+import edu.zsc.ai.domain.service.ai.AiChatTraceService;
+import edu.zsc.ai.util.JsonUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records chat turn timelines.
+ *
+ * <p>Every span feeds the {@code chat.span} timer (tags: kind, name, outcome) and every turn the
+ * {@code chat.turn} timer (tags: model, outcome). Finished timelines are queued and written to
+ * ai_chat_trace in batches by {@link #flush()}, so the SSE stream never waits on the insert.
+ * Turns slower than {@code chat.trace.slow-turn-ms} are also logged with a per-kind breakdown.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ChatTraceProperties.class)
+public class ChatTracer {
+
+    public static final String OUTCOME_OK = "ok";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_CANCELLED = "cancelled";
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ERROR_CHARS = 300;
+
+    private final ChatTraceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AiChatTraceService aiChatTraceService;
+
+    private final Queue<AiChatTrace> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public ChatTracer(ChatTraceProperties properties, MeterRegistry meterRegistry,
+                      AiChatTraceService aiChatTraceService) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.aiChatTraceService = aiChatTraceService;
+    }
+
+    /**
+     * @return the new turn's trace, or null when tracing is disabled (all other methods accept null)
+     */
+    public ChatTurnTrace startTurn(Long userId, Long conversationId, String modelName) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        return new ChatTurnTrace(userId, conversationId, modelName, Math.max(1, properties.getMaxSpansPerTurn()));
+    }
+
+    /**
+     * Records a span that started at {@code startNanos} ({@link System#nanoTime()}) and ends now.
+     *
+     * @param error      failure summary (see {@link #describe}), or null on success
+     * @param attributes small, non-sensitive details (counts, ids); may be null
+     */
+    public void span(ChatTurnTrace trace, TraceSpanKindEnum kind, String name, long startNanos,
+                     String error, Map<String, Object> attributes) {
+        if (Objects.isNull(trace)) {
+            return;
+        }
+        long durationNanos = System.nanoTime() - startNanos;
+        Timer.builder("chat.span")
+                .tag("kind", kind.name().toLowerCase(Locale.ROOT))
+                .tag("name", StringUtils.defaultString(name))
+                .tag("outcome", Objects.isNull(error) ? OUTCOME_OK : OUTCOME_ERROR)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        trace.add(TraceSpan.builder()
+                .kind(kind)
+                .name(name)
+                .startMs(trace.offsetMs(startNanos))
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .error(StringUtils.abbreviate(error, MAX_ERROR_CHARS))
+                .attributes(Objects.isNull(attributes) || attributes.isEmpty() ? null : attributes)
+                .build());
+    }
+
+    /**
+     * Ends the turn: records the turn timer and queues the timeline for persistence. Later calls for
+     * the same turn are ignored.
+     */
+    public void finishTurn(ChatTurnTrace trace, String outcome) {
+        if (Objects.isNull(trace) || !trace.markFinished()) {
+            return;
+        }
+        long durationMs = trace.elapsedMs();
+        Timer.builder("chat.turn")
+                .tag("model", StringUtils.defaultString(trace.getModelName()))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+
+        List<TraceSpan> timeline = trace.timeline();
+        if (durationMs >= properties.getSlowTurnMs()) {
+            log.warn("Slow chat turn: conversation={}, model={}, outcome={}, duration={}ms, breakdown=[{}]",
+                    trace.getConversationId(), trace.getModelName(), outcome, durationMs, breakdown(timeline));
+        }
+
+        if (pendingCount.incrementAndGet() > properties.getMaxPendingTurns()) {
+            pendingCount.decrementAndGet();
+            log.warn("Chat trace queue full, dropping timeline of conversation {}", trace.getConversationId());
+            return;
+        }
+        pending.add(AiChatTrace.builder()
+                .conversationId(trace.getConversationId())
+                .userId(trace.getUserId())
+                .modelName(trace.getModelName())
+                .status(outcome)
+                .durationMs(durationMs)
+                .spanCount(trace.getSpanCount().get())
+                .droppedSpans(trace.getDroppedSpans().get())
+                .spans(JsonUtil.object2json(timeline))
+                .startedAt(trace.getStartedAt())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${chat.trace.flush-interval-ms:2000}")
+    public void flush() {
+        List<AiChatTrace> batch = new ArrayList<>(BATCH_SIZE);
+        AiChatTrace next;
+        while ((next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(next);
+            if (batch.size() == BATCH_SIZE) {
+                save(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            save(batch);
+        }
+    }
+
+    @Scheduled(cron = "${chat.trace.purge-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        if (properties.getRetentionDays() <= 0) {
+            return;
+        }
+        int deleted = aiChatTraceService.purgeStartedBefore(
+                LocalDateTime.now().minusDays(properties.getRetentionDays()));
+        if (deleted > 0) {
+            log.info("Purged {} chat traces older than {} days", deleted, properties.getRetentionDays());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void save(List<AiChatTrace> batch) {
+        try {
+            aiChatTraceService.saveBatch(batch);
+        } catch (Exception e) {
+            // Timelines are diagnostics; losing a batch must not affect chat.
+            log.warn("Failed to persist {} chat traces", batch.size(), e);
+        }
+    }
+
+    private static String breakdown(List<TraceSpan> timeline) {
+        Map<TraceSpanKindEnum, long[]> totals = new EnumMap<>(TraceSpanKindEnum.class);
+        for (TraceSpan span : timeline) {
+            long[] total = totals.computeIfAbsent(span.getKind(), kind -> new long[2]);
+            total[0] += span.getDurationMs();
+            total[1]++;
+        }
+        return totals.entrySet().stream()
+                .map(entry -> entry.getKey().name().toLowerCase(Locale.ROOT) + "="
+                        + entry.getValue()[0] + "ms/" + entry.getValue()[1])
+                .collect(Collectors.joining(", "));
+    }
+
+    public static String describe(Throwable error) {
+        return error.getClass().getSimpleName()
+                + (StringUtils.isBlank(error.getMessage()) ? "" : ": " + error.getMessage());
+    }
+}
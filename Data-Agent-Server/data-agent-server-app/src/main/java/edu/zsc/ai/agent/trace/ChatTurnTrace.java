@@ -0,0 +1,72 @@
+package edu.zsc.ai.agent.trace;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+
+/**
+ * Spans of one chat turn (user message up to the done block, including a chained plan-mode stream).
+ * Spans are added from model callback threads and tool threads concurrently.
+ */
+@Getter
+public class ChatTurnTrace {
+
+    private final Long userId;
+    private final Long conversationId;
+    private final String modelName;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final int maxSpans;
+
+    private final Queue<TraceSpan> spans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger spanCount = new AtomicInteger();
+    private final AtomicInteger droppedSpans = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    ChatTurnTrace(Long userId, Long conversationId, String modelName, int maxSpans) {
+        this.userId = userId;
+        this.conversationId = conversationId;
+        this.modelName = modelName;
+        this.maxSpans = maxSpans;
+    }
+
+    void add(TraceSpan span) {
+        if (spanCount.incrementAndGet() > maxSpans) {
+            droppedSpans.incrementAndGet();
+            return;
+        }
+        spans.add(span);
+    }
+
+    /**
+     * @return true for the first caller only, so a turn is finished once
+     */
+    boolean markFinished() {
+        return finished.compareAndSet(false, true);
+    }
+
+    long offsetMs(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos - startNanos);
+    }
+
+    long elapsedMs() {
+        return offsetMs(System.nanoTime());
+    }
+
+    /**
+     * Spans ordered by start offset.
+     */
+    List<TraceSpan> timeline() {
+        List<TraceSpan> ordered = new ArrayList<>(spans);
+        ordered.sort(Comparator.comparingLong(TraceSpan::getStartMs));
+        return ordered;
+    }
+}
@@ -0,0 +1,36 @@
+package edu.zsc.ai.agent.trace;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import edu.zsc.ai.common.enums.ai.TraceSpanKindEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One timed step of a chat turn. Offsets are relative to the start of the turn.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TraceSpan {
+
+    private TraceSpanKindEnum kind;
+
+    /** Model name, tool name or service method, e.g. "DiscoveryService.searchObjects". */
+    private String name;
+
+    private Long startMs;
+
+    private Long durationMs;
+
+    /** Error summary; null when the step succeeded. */
+    private String error;
+
+    private Map<String, Object> attributes;
+}
@@ -0,0 +1,65 @@
+package edu.zsc.ai.agent.trace;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.service.tool.ToolExecutionResult;
+import dev.langchain4j.service.tool.ToolExecutor;
+import dev.langchain4j.service.tool.ToolService;
+import edu.zsc.ai.common.constant.RequestContextConstant;
+
+/**
+ * Runs a tool with the trace of its chat turn bound to the executing thread, so database and chat memory
+ * calls made underneath attach their spans to the turn.
+ *
+ * <p>The trace travels in the invocation parameters under {@link RequestContextConstant#CHAT_TRACE}. Tools
+ * run on the model's callback thread or on a pooled thread, both shared with other turns, so the thread's
+ * previous binding is restored once the tool returns.
+ */
+public class TracingToolExecutor implements ToolExecutor {
+
+    private final ToolExecutor delegate;
+
+    public TracingToolExecutor(ToolExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Tool executors of the {@code @Tool} methods of {@code tools}, each wrapped in a TracingToolExecutor.
+     */
+    public static Map<ToolSpecification, ToolExecutor> of(ToolService toolService, Collection<Object> tools) {
+        toolService.tools(tools);
+        Map<ToolSpecification, ToolExecutor> executors = new LinkedHashMap<>();
+        for (ToolSpecification specification : toolService.toolSpecifications()) {
+            executors.put(specification,
+                    new TracingToolExecutor(toolService.toolExecutors().get(specification.name())));
+        }
+        return executors;
+    }
+
+    @Override
+    public String execute(ToolExecutionRequest request, Object memoryId) {
+        return delegate.execute(request, memoryId);
+    }
+
+    @Override
+    public ToolExecutionResult executeWithContext(ToolExecutionRequest request, InvocationContext context) {
+        ChatTurnTrace trace = Objects.isNull(context) || Objects.isNull(context.invocationParameters())
+                ? null
+                : context.invocationParameters().get(RequestContextConstant.CHAT_TRACE);
+        if (Objects.isNull(trace)) {
+            return delegate.executeWithContext(request, context);
+        }
+        ChatTurnTrace previous = ChatTraceContext.bind(trace);
+        try {
+            return delegate.executeWithContext(request, context);
+        } finally {
+            ChatTraceContext.restore(previous);
+        }
+    }
+}
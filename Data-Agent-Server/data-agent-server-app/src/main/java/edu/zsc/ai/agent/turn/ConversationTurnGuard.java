@@ -0,0 +1,163 @@
+package edu.zsc.ai.agent.turn;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import edu.zsc.ai.common.constant.ChatErrorConstants;
+import edu.zsc.ai.config.ai.ChatTurnProperties;
+import edu.zsc.ai.domain.model.dto.response.agent.ChatResponseBlock;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * In-memory lease that lets at most one chat turn run per conversation.
+ *
+ * <p>Two turns of the same conversation would both load the chat memory and then race in
+ * {@code CustomChatMemoryStore.updateMessages}, which rewrites the whole history. While a turn holds
+ * the lease, a request for the same conversation:
+ * <ul>
+ *   <li>with the same turn key (same user, model, mode and message) attaches to the running stream
+ *       as another subscriber and receives it from the start, or from the latest {@code replayBlocks}
+ *       blocks when it attaches later;</li>
+ *   <li>otherwise waits for the running turn to finish (at most {@code maxQueued} waiters, for at most
+ *       {@code queueTimeoutSeconds}), or is rejected with 409 under the REJECT policy.</li>
+ * </ul>
+ * The running stream is shared with reference counting: the turn is cancelled only when its last
+ * subscriber leaves. The lease is released when the turn's stream terminates or is cancelled.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ChatTurnProperties.class)
+public class ConversationTurnGuard {
+
+    private final ChatTurnProperties properties;
+    private final Map<Long, ActiveTurn> activeTurns = new ConcurrentHashMap<>();
+
+    public ConversationTurnGuard(ChatTurnProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Runs the turn built by {@code turn} once the conversation is free.
+     *
+     * @param conversationId conversation of the turn; null (new conversation) is never contended
+     * @param turnKey        identifies a repeat of the same request, e.g. user, model and message
+     * @param turn           starts the turn; invoked later on a bounded-elastic thread when queued
+     */
+    public Flux<ChatResponseBlock> run(Long conversationId, String turnKey, Supplier<Flux<ChatResponseBlock>> turn) {
+        if (Objects.isNull(conversationId)) {
+            return turn.get();
+        }
+
+        ActiveTurn candidate = new ActiveTurn(turnKey);
+        candidate.stream = shareable(conversationId, candidate);
+        ActiveTurn existing = activeTurns.putIfAbsent(conversationId, candidate);
+        if (Objects.nonNull(existing) && existing.isExpired(properties)) {
+            log.warn("Replacing abandoned chat turn lease for conversation {}", conversationId);
+            release(conversationId, existing);
+            existing = activeTurns.putIfAbsent(conversationId, candidate);
+        }
+        if (Objects.isNull(existing)) {
+            return start(conversationId, candidate, turn);
+        }
+
+        if (properties.isAttachDuplicates() && existing.isRunning() && Objects.equals(existing.turnKey, turnKey)) {
+            log.info("Duplicate chat request for conversation {}, attaching to the running turn", conversationId);
+            return existing.stream;
+        }
+        if (properties.getBusyPolicy() == ChatTurnProperties.BusyPolicy.REJECT
+                || existing.waiters.incrementAndGet() > properties.getMaxQueued()) {
+            if (properties.getBusyPolicy() != ChatTurnProperties.BusyPolicy.REJECT) {
+                existing.waiters.decrementAndGet();
+            }
+            log.info("Rejecting chat request for busy conversation {}", conversationId);
+            return Flux.error(new ResponseStatusException(HttpStatus.CONFLICT, ChatErrorConstants.CONVERSATION_BUSY));
+        }
+
+        log.info("Conversation {} is busy, queueing chat request", conversationId);
+        ActiveTurn awaited = existing;
+        return awaited.done.asMono()
+                .timeout(Duration.ofSeconds(properties.getQueueTimeoutSeconds()))
+                .onErrorMap(TimeoutException.class, e -> new ResponseStatusException(
+                        HttpStatus.CONFLICT, ChatErrorConstants.CONVERSATION_QUEUE_TIMEOUT, e))
+                .doFinally(signal -> awaited.waiters.decrementAndGet())
+                // The previous turn releases its lease on its own model-callback thread, before its
+                // completion reaches its client: start the queued turn elsewhere
+                .publishOn(Schedulers.boundedElastic())
+                .thenMany(Flux.defer(() -> run(conversationId, turnKey, turn)));
+    }
+
+    private Flux<ChatResponseBlock> start(Long conversationId, ActiveTurn active, Supplier<Flux<ChatResponseBlock>> turn) {
+        try {
+            active.source.tryEmitValue(turn.get());
+        } catch (RuntimeException e) {
+            active.source.tryEmitError(e);
+            release(conversationId, active);
+            throw e;
+        }
+        return active.stream;
+    }
+
+    /**
+     * The turn's stream as handed to every request of the turn. It exists before the turn has been
+     * built (memory preload runs in between), so a duplicate arriving meanwhile can already attach.
+     * The lease is released before the terminal signal reaches subscribers, so a follow-up request sent
+     * right after the done block already finds the conversation free.
+     *
+     * <p>Only the latest {@code replayBlocks} blocks are kept for late subscribers. The shared stream
+     * requests from the turn only what its slowest subscriber has room for, so a stalled client still
+     * fills the ChatBlockCoalescer backlog and fails the turn instead of growing a replay cache.
+     */
+    private Flux<ChatResponseBlock> shareable(Long conversationId, ActiveTurn active) {
+        return active.source.asMono()
+                .flatMapMany(Function.identity())
+                .doOnTerminate(() -> release(conversationId, active))
+                .doOnCancel(() -> release(conversationId, active))
+                .replay(Math.max(1, properties.getReplayBlocks()))
+                .refCount();
+    }
+
+    private void release(Long conversationId, ActiveTurn active) {
+        if (active.running.compareAndSet(true, false)) {
+            activeTurns.remove(conversationId, active);
+            active.done.tryEmitEmpty();
+        }
+    }
+
+    private static final class ActiveTurn {
+
+        private final String turnKey;
+        private final long startedAtNanos = System.nanoTime();
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final AtomicInteger waiters = new AtomicInteger();
+        private final Sinks.Empty<Void> done = Sinks.empty();
+        private final Sinks.One<Flux<ChatResponseBlock>> source = Sinks.one();
+        private Flux<ChatResponseBlock> stream;
+
+        private ActiveTurn(String turnKey) {
+            this.turnKey = turnKey;
+        }
+
+        boolean isRunning() {
+            return running.get();
+        }
+
+        boolean isExpired(ChatTurnProperties properties) {
+            return System.nanoTime() - startedAtNanos > Duration.ofMinutes(properties.getLeaseTimeoutMinutes()).toNanos();
+        }
+    }
+}
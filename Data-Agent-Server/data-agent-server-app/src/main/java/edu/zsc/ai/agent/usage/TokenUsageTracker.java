@@ -0,0 +1,158 @@
+package edu.zsc.ai.agent.usage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import dev.langchain4j.model.output.TokenUsage;
+import edu.zsc.ai.domain.mapper.ai.AiConversationMapper;
+import edu.zsc.ai.domain.mapper.ai.AiMessageMapper;
+import edu.zsc.ai.domain.mapper.ai.AiModelUsageMapper;
+import edu.zsc.ai.domain.model.entity.ai.AiModelUsage;
+import edu.zsc.ai.domain.service.ai.model.MessageTokenCountUpdate;
+import edu.zsc.ai.domain.service.ai.model.TokenCountUpdate;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers token usage reported at the end of each model response and writes it in batches, so the
+ * stream completion path never touches the database.
+ *
+ * <p>Per conversation only the latest counts are kept (the conversation total and the output tokens of
+ * the AI message that ended the response are overwritten, not summed, as before). The message is addressed
+ * by its id, taken when the response completed, so a later message of the conversation is never updated
+ * in its place. Per (user, model, day) the usage of every model step is summed into ai_model_usage, booked
+ * to the model that served the step (see {@link TurnUsage}). Usage still buffered when the process dies is lost.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenUsageTracker {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final AiConversationMapper aiConversationMapper;
+    private final AiMessageMapper aiMessageMapper;
+    private final AiModelUsageMapper aiModelUsageMapper;
+
+    private final ConcurrentHashMap<Long, TokenCountUpdate> conversationTotals = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, MessageTokenCountUpdate> lastMessageOutputs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ModelUsageKey, AiModelUsage> modelUsage = new ConcurrentHashMap<>();
+
+    /**
+     * Books the usage of one agent stream step by step, to the models that served the steps.
+     *
+     * @param modelName model of the agent, for steps that were not routed
+     */
+    public TurnUsage turn(Long userId, String modelName) {
+        return new TurnUsage(this, userId, modelName);
+    }
+
+    /**
+     * Records the usage of a whole response as the conversation's latest counts.
+     *
+     * @param messageId id of the stored AI message the usage belongs to; null when it is not known
+     */
+    public void recordConversation(Long conversationId, Long messageId, TokenUsage usage) {
+        if (Objects.isNull(conversationId) || Objects.isNull(usage)) {
+            return;
+        }
+        int input = Objects.requireNonNullElse(usage.inputTokenCount(), 0);
+        int output = Objects.requireNonNullElse(usage.outputTokenCount(), 0);
+        int total = Objects.requireNonNullElse(usage.totalTokenCount(), input + output);
+
+        if (total > 0) {
+            conversationTotals.put(conversationId, new TokenCountUpdate(conversationId, total));
+        }
+        if (output > 0 && Objects.nonNull(messageId)) {
+            lastMessageOutputs.put(conversationId, new MessageTokenCountUpdate(messageId, output));
+        }
+    }
+
+    /**
+     * Adds one model request of {@code modelName} to the user's daily usage.
+     */
+    public void recordModel(Long userId, String modelName, TokenUsage usage) {
+        if (Objects.isNull(usage)) {
+            return;
+        }
+        int input = Objects.requireNonNullElse(usage.inputTokenCount(), 0);
+        int output = Objects.requireNonNullElse(usage.outputTokenCount(), 0);
+        int total = Objects.requireNonNullElse(usage.totalTokenCount(), input + output);
+
+        if (Objects.nonNull(userId) && Objects.nonNull(modelName) && total > 0) {
+            ModelUsageKey key = new ModelUsageKey(userId, modelName, LocalDate.now());
+            modelUsage.merge(key,
+                    AiModelUsage.builder()
+                            .userId(userId)
+                            .modelName(modelName)
+                            .usageDate(key.usageDate())
+                            .requestCount(1)
+                            .inputTokens((long) input)
+                            .outputTokens((long) output)
+                            .totalTokens((long) total)
+                            .build(),
+                    (current, delta) -> AiModelUsage.builder()
+                            .userId(userId)
+                            .modelName(modelName)
+                            .usageDate(key.usageDate())
+                            .requestCount(current.getRequestCount() + delta.getRequestCount())
+                            .inputTokens(current.getInputTokens() + delta.getInputTokens())
+                            .outputTokens(current.getOutputTokens() + delta.getOutputTokens())
+                            .totalTokens(current.getTotalTokens() + delta.getTotalTokens())
+                            .build());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.usage.flush-interval-ms:2000}")
+    public void flush() {
+        write("conversation token counts", drain(conversationTotals), aiConversationMapper::batchUpdateTokenCount);
+        write("message token counts", drain(lastMessageOutputs), aiMessageMapper::batchUpdateMessageTokenCount);
+        write("model usage rows", drain(modelUsage), aiModelUsageMapper::batchUpsert);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static <K, V> List<V> drain(ConcurrentHashMap<K, V> pending) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<V> drained = new ArrayList<>(pending.size());
+        for (Map.Entry<K, V> entry : pending.entrySet()) {
+            // remove(key, value) only succeeds if no concurrent record replaced the entry; otherwise it is
+            // picked up by the next flush.
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.add(entry.getValue());
+            }
+        }
+        return drained;
+    }
+
+    private static <V> void write(String what, List<V> drained, Consumer<List<V>> writer) {
+        for (int from = 0; from < drained.size(); from += FLUSH_BATCH_SIZE) {
+            List<V> batch = drained.subList(from, Math.min(from + FLUSH_BATCH_SIZE, drained.size()));
+            try {
+                writer.accept(batch);
+            } catch (Exception e) {
+                log.warn("Failed to flush {} {}: {}", batch.size(), what, e.getMessage());
+            }
+        }
+        if (!drained.isEmpty()) {
+            log.debug("Flushed {} {}", drained.size(), what);
+        }
+    }
+
+    private record ModelUsageKey(Long userId, String modelName, LocalDate usageDate) {
+    }
+}
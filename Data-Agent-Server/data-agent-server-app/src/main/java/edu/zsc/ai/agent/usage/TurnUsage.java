@@ -0,0 +1,76 @@
+package edu.zsc.ai.agent.usage;
+
+import java.util.Objects;
+
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import edu.zsc.ai.agent.routing.RoutedResponseMetadata;
+
+/**
+ * Books the model usage of one agent stream step by step, each to the model that served the step.
+ *
+ * <p>LangChain4j reports every tool-calling step as an intermediate response, then completes with the
+ * last step's metadata but the usage summed over the stream; the last step's own usage is that sum minus
+ * the steps already booked. Routed steps name their model in {@link RoutedResponseMetadata}, including a
+ * discarded fast attempt; any other step is booked to the agent's model.
+ */
+public class TurnUsage {
+
+    private final TokenUsageTracker tracker;
+    private final Long userId;
+    private final String modelName;
+
+    private int bookedInput;
+    private int bookedOutput;
+    private int bookedTotal;
+
+    TurnUsage(TokenUsageTracker tracker, Long userId, String modelName) {
+        this.tracker = tracker;
+        this.userId = userId;
+        this.modelName = modelName;
+    }
+
+    /**
+     * Books a tool-calling step.
+     */
+    public synchronized void step(ChatResponse response) {
+        TokenUsage usage = response.tokenUsage();
+        book(response, usage);
+        if (Objects.nonNull(usage)) {
+            bookedInput += count(usage.inputTokenCount());
+            bookedOutput += count(usage.outputTokenCount());
+            bookedTotal += total(usage);
+        }
+    }
+
+    /**
+     * Books the last step, given the complete response of the stream.
+     */
+    public synchronized void complete(ChatResponse response) {
+        TokenUsage usage = response.tokenUsage();
+        book(response, Objects.isNull(usage) ? null : new TokenUsage(
+                Math.max(0, count(usage.inputTokenCount()) - bookedInput),
+                Math.max(0, count(usage.outputTokenCount()) - bookedOutput),
+                Math.max(0, total(usage) - bookedTotal)));
+    }
+
+    private void book(ChatResponse response, TokenUsage usage) {
+        if (response.metadata() instanceof RoutedResponseMetadata routed) {
+            tracker.recordModel(userId, routed.modelName(), usage);
+            if (Objects.nonNull(routed.discardedModelName())) {
+                tracker.recordModel(userId, routed.discardedModelName(), routed.discardedTokenUsage());
+            }
+        } else {
+            tracker.recordModel(userId, modelName, usage);
+        }
+    }
+
+    private static int count(Integer tokens) {
+        return Objects.requireNonNullElse(tokens, 0);
+    }
+
+    private static int total(TokenUsage usage) {
+        return Objects.requireNonNullElse(usage.totalTokenCount(),
+                count(usage.inputTokenCount()) + count(usage.outputTokenCount()));
+    }
+}
@@ -1,7 +1,10 @@
 package edu.zsc.ai.api.controller.ai;
 
+import cn.dev33.satoken.stp.StpUtil;
+import edu.zsc.ai.agent.cancel.ChatCancellationToken;
 import edu.zsc.ai.aspect.annotation.EnableRequestContext;
 import edu.zsc.ai.domain.model.dto.response.agent.ChatResponseBlock;
+import edu.zsc.ai.domain.model.dto.response.base.ApiResponse;
 import edu.zsc.ai.domain.service.agent.ChatService;
 import edu.zsc.ai.api.model.request.ChatRequest;
 import jakarta.validation.Valid;
@@ -9,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,6 +36,16 @@ public class ChatController {
     public Flux<ChatResponseBlock> chat(@Valid @RequestBody ChatRequest request) {
         log.info("Chat request received: model={}, language={}, message={}, conversationId={}, connectionId={}",
                 request.getModel(), request.getLanguage(), request.getMessage(), request.getConversationId(), request.getConnectionId());
-        return chatService.chat(request);
+        // Cancelled when the last client of the turn drops the SSE connection, or on /stop
+        ChatCancellationToken cancellationToken = new ChatCancellationToken();
+        return chatService.chat(request, cancellationToken);
+    }
+
+    @PostMapping("/{conversationId}/stop")
+    public ApiResponse<Boolean> stop(@PathVariable("conversationId") Long conversationId) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        boolean stopped = chatService.stop(userId, conversationId);
+        log.info("Chat stop requested: conversationId={}, stopped={}", conversationId, stopped);
+        return ApiResponse.success(stopped);
     }
 }
@@ -6,9 +6,11 @@ import edu.zsc.ai.domain.model.dto.request.base.PageRequest;
 import edu.zsc.ai.domain.model.dto.request.ai.ConversationUpdateRequest;
 import edu.zsc.ai.domain.model.dto.response.base.ApiResponse;
 import edu.zsc.ai.domain.model.dto.response.base.PageResponse;
+import edu.zsc.ai.domain.model.dto.response.ai.ChatTraceResponse;
 import edu.zsc.ai.domain.model.dto.response.ai.ConversationMessageResponse;
 import edu.zsc.ai.domain.model.dto.response.ai.ConversationResponse;
 import edu.zsc.ai.domain.model.entity.ai.AiConversation;
+import edu.zsc.ai.domain.service.ai.AiChatTraceService;
 import edu.zsc.ai.domain.service.ai.AiConversationService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
@@ -33,6 +35,7 @@ import java.util.List;
 public class ConversationController {
 
     private final AiConversationService aiConversationService;
+    private final AiChatTraceService aiChatTraceService;
 
     @GetMapping
     public ApiResponse<PageResponse<ConversationResponse>> list(
@@ -65,6 +68,16 @@ public class ConversationController {
         return ApiResponse.success(messages);
     }
 
+    /**
+     * Span timelines of the latest turns, newest first.
+     */
+    @GetMapping("/{id}/trace")
+    public ApiResponse<List<ChatTraceResponse>> getTrace(
+            @PathVariable @NotNull Long id,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) Integer limit) {
+        return ApiResponse.success(aiChatTraceService.listRecentForCurrentUser(id, limit));
+    }
+
     @PostMapping("/{id}")
     public ApiResponse<ConversationResponse> update(
             @PathVariable @NotNull Long id,
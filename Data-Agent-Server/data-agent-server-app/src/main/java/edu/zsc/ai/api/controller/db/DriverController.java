@@ -4,6 +4,7 @@ import edu.zsc.ai.domain.model.dto.request.db.DownloadDriverRequest;
 import edu.zsc.ai.domain.model.dto.response.base.ApiResponse;
 import edu.zsc.ai.domain.model.dto.response.db.AvailableDriverResponse;
 import edu.zsc.ai.domain.model.dto.response.db.DownloadDriverResponse;
+import edu.zsc.ai.domain.model.dto.response.db.DriverDownloadProgressResponse;
 import edu.zsc.ai.domain.model.dto.response.db.InstalledDriverResponse;
 import edu.zsc.ai.domain.service.db.DriverService;
 import edu.zsc.ai.util.DriverFileUtil;
@@ -64,7 +65,7 @@ public class DriverController {
     }
     
     /**
-     * Download a driver from Maven Central.
+     * Download a driver from the configured repositories (local Maven repository, mirror, remote).
      *
      * @param request download request (databaseType, optional version)
      * @return download response with driver path
@@ -93,6 +94,18 @@ public class DriverController {
         return ApiResponse.success(response);
     }
     
+    /**
+     * List running and recently finished driver downloads with their progress.
+     * Poll this while a download request is in flight; concurrent requests for the same driver share
+     * one download.
+     *
+     * @return download progress list, newest first
+     */
+    @GetMapping("/downloads")
+    public ApiResponse<List<DriverDownloadProgressResponse>> listDownloads() {
+        return ApiResponse.success(driverService.listDownloads());
+    }
+    
     /**
      * Delete a locally installed driver.
      *
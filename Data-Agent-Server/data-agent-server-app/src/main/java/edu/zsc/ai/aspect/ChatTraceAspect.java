@@ -0,0 +1,57 @@
+package edu.zsc.ai.aspect;
+
+import edu.zsc.ai.agent.trace.ChatTraceContext;
+import edu.zsc.ai.agent.trace.ChatTracer;
+import edu.zsc.ai.agent.trace.ChatTurnTrace;
+import edu.zsc.ai.common.enums.ai.TraceSpanKindEnum;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Chat Trace Aspect
+ * Times database service calls (which drive the plugin providers and command executors) and chat
+ * memory store access while a chat turn trace is bound to the thread; other calls pass through.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ChatTraceAspect {
+
+    private final ChatTracer chatTracer;
+
+    @Around("execution(public * edu.zsc.ai.domain.service.db.impl.*ServiceImpl.*(..))")
+    public Object traceDatabaseCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, TraceSpanKindEnum.DB);
+    }
+
+    @Around("execution(public * edu.zsc.ai.agent.memory.CustomChatMemoryStore.*Messages(..))")
+    public Object traceChatMemoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, TraceSpanKindEnum.CHAT_MEMORY);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, TraceSpanKindEnum kind) throws Throwable {
+        ChatTurnTrace trace = ChatTraceContext.current();
+        if (Objects.isNull(trace)) {
+            return joinPoint.proceed();
+        }
+        String name = StringUtils.removeEnd(joinPoint.getSignature().getDeclaringType().getSimpleName(), "Impl")
+                + "." + joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            chatTracer.span(trace, kind, name, start,
+                    Objects.isNull(failure) ? null : ChatTracer.describe(failure), null);
+        }
+    }
+}
@@ -20,4 +20,14 @@ public final class ChatErrorConstants {
     /** Prefix for no matching askUserQuestion tool result: message = prefix + toolCallId */
     public static final String NO_MATCHING_ASK_USER_TOOL_RESULT_PREFIX =
             "No matching askUserQuestion tool result for id: ";
+
+    /** Stream aborted because the client stopped reading and the bounded stream buffer overflowed. */
+    public static final String STREAM_BUFFER_OVERFLOW = "Chat stream aborted: client is not consuming events fast enough";
+
+    /** Another turn is running for the conversation and the request could not be queued. */
+    public static final String CONVERSATION_BUSY = "A response is already being generated for this conversation";
+
+    /** A queued request gave up waiting for the running turn of its conversation. */
+    public static final String CONVERSATION_QUEUE_TIMEOUT =
+            "Timed out waiting for the previous response in this conversation to finish";
 }
@@ -14,4 +14,8 @@ public final class RequestContextConstant {
     public static final String DATABASE_NAME = "databaseName";
     public static final String SCHEMA_NAME = "schemaName";
     public static final String AGENT_MODE = "agentMode";
+    /** {@link edu.zsc.ai.agent.cancel.ChatCancellationToken} of the current chat turn. */
+    public static final String CANCELLATION_TOKEN = "cancellationToken";
+    /** {@link edu.zsc.ai.agent.trace.ChatTurnTrace} of the current chat turn; absent when the turn is not traced. */
+    public static final String CHAT_TRACE = "chatTrace";
 }
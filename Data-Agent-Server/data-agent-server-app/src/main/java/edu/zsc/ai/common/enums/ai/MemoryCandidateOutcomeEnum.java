@@ -0,0 +1,16 @@
+package edu.zsc.ai.common.enums.ai;
+
+/**
+ * What happened to a proposed memory candidate after near-duplicate detection.
+ */
+public enum MemoryCandidateOutcomeEnum {
+
+    /** Stored as a new pending candidate. */
+    CREATED,
+
+    /** Folded into a near-duplicate pending candidate of the same conversation. */
+    MERGED,
+
+    /** Not stored: an active memory already says the same thing. */
+    DUPLICATE_OF_MEMORY
+}
@@ -18,12 +18,16 @@ public enum ToolNameEnum {
     // ── SQL execution ──
     EXECUTE_SELECT_SQL("executeSelectSql"),
     EXECUTE_NON_SELECT_SQL("executeNonSelectSql"),
+    READ_RESULT_ROWS("readResultRows"),
 
     // ── User interaction ──
     ASK_USER_QUESTION("askUserQuestion"),
     ASK_USER_CONFIRM("askUserConfirm"),
 
     // ── Database objects ──
+    GET_ENVIRONMENT_OVERVIEW("getEnvironmentOverview"),
+    SEARCH_OBJECTS("searchObjects"),
+    GET_OBJECT_DETAIL("getObjectDetail"),
     GET_CONNECTIONS("getConnections"),
     GET_CATALOG_NAMES("getCatalogNames"),
     GET_OBJECT_NAMES("getObjectNames"),
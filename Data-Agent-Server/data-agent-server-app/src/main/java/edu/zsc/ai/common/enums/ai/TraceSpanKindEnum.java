@@ -0,0 +1,17 @@
+package edu.zsc.ai.common.enums.ai;
+
+/**
+ * Kind of work a span of a chat turn trace measures.
+ */
+public enum TraceSpanKindEnum {
+    /** Long-term memory and candidate preload before the model is called. */
+    MEMORY,
+    /** One model response, from request (or last tool result) to the final chunk. */
+    LLM,
+    /** One agent tool call. */
+    TOOL,
+    /** A database service call, i.e. plugin provider or command executor work. */
+    DB,
+    /** Chat memory store reads and writes. */
+    CHAT_MEMORY
+}
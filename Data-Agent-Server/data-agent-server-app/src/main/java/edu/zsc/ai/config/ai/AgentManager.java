@@ -1,10 +1,16 @@
 package edu.zsc.ai.config.ai;
 
+import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.service.AiServices;
+import dev.langchain4j.service.tool.ToolExecutor;
+import dev.langchain4j.service.tool.ToolService;
 import edu.zsc.ai.agent.ReActAgent;
 import edu.zsc.ai.agent.ReActAgentProvider;
+import edu.zsc.ai.agent.routing.ModelRouter;
+import edu.zsc.ai.agent.tool.ParallelToolExecutor;
+import edu.zsc.ai.agent.trace.TracingToolExecutor;
 import edu.zsc.ai.common.enums.ai.AgentModeEnum;
 import edu.zsc.ai.common.enums.ai.PromptLanguageEnum;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +21,9 @@ import org.springframework.context.annotation.Primary;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Configuration
 @Slf4j
@@ -26,6 +34,8 @@ public class AgentManager {
     private final AgentToolConfig agentToolConfig;
     private final Map<String, StreamingChatModel> modelsByName;
     private final List<Object> agentTools;
+    private final ParallelToolExecutor parallelToolExecutor;
+    private final ModelRouter modelRouter;
 
     private final Map<String, ReActAgent> dynamicAgentCache = new ConcurrentHashMap<>();
 
@@ -45,7 +55,7 @@ public class AgentManager {
                 log.info("Create ReActAgent dynamically: model={}, language={}, mode={}",
                         modelName, promptLanguage.getCode(), mode.getCode());
                 String systemPrompt = PromptConfig.getSystemPrompt(promptLanguage);
-                return buildAgent(model, mode, systemPrompt);
+                return buildAgent(modelRouter.route(modelName, model, mode), mode, systemPrompt);
             });
         };
     }
@@ -54,12 +64,20 @@ public class AgentManager {
                                    AgentModeEnum mode,
                                    String systemPrompt) {
         List<Object> tools = agentToolConfig.filterTools(agentTools, mode);
+        // Tools bind the turn's trace while they run (see TracingToolExecutor)
+        ToolService toolService = new ToolService();
+        Map<ToolSpecification, ToolExecutor> toolExecutors = TracingToolExecutor.of(toolService, tools);
+        Set<String> immediateTools = toolExecutors.keySet().stream()
+                .map(ToolSpecification::name)
+                .filter(toolService::isImmediateTool)
+                .collect(Collectors.toSet());
 
         return AiServices.builder(ReActAgent.class)
-                .streamingChatModel(model)
+                .streamingChatModel(parallelToolExecutor.decorate(model))
                 .systemMessage(systemPrompt)
                 .chatMemoryProvider(chatMemoryProvider)
-                .tools(tools)
+                .tools(toolExecutors, immediateTools)
+                .executeToolsConcurrently(parallelToolExecutor)
                 .build();
     }
 }
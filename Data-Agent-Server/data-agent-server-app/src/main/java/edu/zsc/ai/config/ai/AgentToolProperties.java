@@ -0,0 +1,74 @@
+package edu.zsc.ai.config.ai;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "agent.tool")
+public class AgentToolProperties {
+
+    /** Threads running parallel-safe tool calls of one model response concurrently (shared by all chats). */
+    private int parallelism = 4;
+
+    /** Queued parallel tool calls; beyond this the calling thread runs the call itself. */
+    private int queueCapacity = 64;
+
+    private ResultStore resultStore = new ResultStore();
+
+    private Budget budget = new Budget();
+
+    private DiscoveryMemo discoveryMemo = new DiscoveryMemo();
+
+    /**
+     * Server-side query results referenced by handle (see SqlResultStore).
+     */
+    @Data
+    public static class ResultStore {
+
+        private long ttlMinutes = 30;
+
+        /** Upper bound on stored cells (rows x columns) across all conversations. */
+        private long maxCells = 2_000_000;
+
+        private int maxHandlesPerConversation = 10;
+
+        /** Rows returned inline to the model alongside the handle. */
+        private int previewRows = 20;
+
+        /** Maximum rows per readResultRows page. */
+        private int maxPageRows = 200;
+    }
+
+    /**
+     * Upper bound on the serialized size of a tool result handed back to the model (see ToolOutputBudget).
+     */
+    @Data
+    public static class Budget {
+
+        /** Budget in JSON characters for tools without an entry in {@link #perTool}. */
+        private int defaultChars = 12_000;
+
+        /** Per-tool budgets keyed by tool name, e.g. executeSelectSql. */
+        private Map<String, Integer> perTool = new HashMap<>();
+
+        /** Longer string cell values are cut before rows are sampled. */
+        private int maxCellChars = 500;
+    }
+
+    /**
+     * Per-conversation memo of read-only discovery tool results (see ToolResultMemo).
+     */
+    @Data
+    public static class DiscoveryMemo {
+
+        private boolean enabled = true;
+
+        private long ttlSeconds = 120;
+
+        private long maxEntries = 5_000;
+    }
+}
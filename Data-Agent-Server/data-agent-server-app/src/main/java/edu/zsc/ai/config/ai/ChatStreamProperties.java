@@ -0,0 +1,27 @@
+package edu.zsc.ai.config.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * SSE streaming of chat responses: fragment coalescing and per-stream buffer bounds.
+ */
+@Data
+@ConfigurationProperties(prefix = "chat.stream")
+public class ChatStreamProperties {
+
+    /** Adjacent text/thought/tool-argument fragments are merged for at most this long before flushing. */
+    private long coalesceWindowMs = 50;
+
+    /** A merged block is flushed as soon as it reaches this many characters. */
+    private int coalesceMaxChars = 2048;
+
+    /** Blocks buffered in the sink for a slow subscriber. */
+    private int bufferSize = 256;
+
+    /** Blocks held back while the sink buffer is full; exceeding it (or maxPendingChars) fails the stream. */
+    private int maxPendingBlocks = 1024;
+
+    private int maxPendingChars = 1_000_000;
+}
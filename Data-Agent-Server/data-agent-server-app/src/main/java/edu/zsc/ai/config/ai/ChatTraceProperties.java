@@ -0,0 +1,31 @@
+package edu.zsc.ai.config.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Per-turn tracing of chat requests: model, tool, database and chat memory spans.
+ */
+@Data
+@ConfigurationProperties(prefix = "chat.trace")
+public class ChatTraceProperties {
+
+    private boolean enabled = true;
+
+    /** Spans kept per turn; further spans still feed the timers but are only counted in the timeline. */
+    private int maxSpansPerTurn = 500;
+
+    /** Turns taking at least this long are logged with a per-kind breakdown. */
+    private long slowTurnMs = 20_000;
+
+    private long flushIntervalMs = 2_000;
+
+    /** Finished turns waiting to be persisted; beyond this, new timelines are dropped. */
+    private int maxPendingTurns = 10_000;
+
+    /** Persisted timelines older than this many days are purged; 0 disables. */
+    private int retentionDays = 14;
+
+    private String purgeCron = "0 45 3 * * *";
+}
@@ -0,0 +1,38 @@
+package edu.zsc.ai.config.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * At most one chat turn runs per conversation; what happens to a request arriving meanwhile.
+ */
+@Data
+@ConfigurationProperties(prefix = "chat.turn")
+public class ChatTurnProperties {
+
+    /** A repeat of the running turn's message (double-click, client retry) attaches to its stream. */
+    private boolean attachDuplicates = true;
+
+    /**
+     * Latest blocks of the running turn replayed to a duplicate that attaches late; the shared stream is
+     * paced by its slowest subscriber beyond this, so the chat stream backlog limits keep applying.
+     */
+    private int replayBlocks = 256;
+
+    /** Any other request for a busy conversation is queued behind the running turn, or rejected. */
+    private BusyPolicy busyPolicy = BusyPolicy.QUEUE;
+
+    /** Requests allowed to wait per conversation; beyond this they are rejected. */
+    private int maxQueued = 1;
+
+    private long queueTimeoutSeconds = 120;
+
+    /** A turn still holding its conversation after this long is assumed abandoned and replaced. */
+    private long leaseTimeoutMinutes = 15;
+
+    public enum BusyPolicy {
+        QUEUE,
+        REJECT
+    }
+}
@@ -1,6 +1,10 @@
 package edu.zsc.ai.config.ai;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collections;
+import java.util.List;
 
 import javax.sql.DataSource;
 
@@ -13,29 +17,74 @@ import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.pgvector.DefaultMetadataStorageConfig;
 import dev.langchain4j.store.embedding.pgvector.MetadataStorageMode;
 import dev.langchain4j.store.embedding.pgvector.PgVectorEmbeddingStore;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Configuration
 @EnableConfigurationProperties(MemoryProperties.class)
 public class EmbeddingStoreConfig {
 
     private static final String EMBEDDING_TABLE = "ai_memory_embedding";
-    private static final int INDEX_LIST_SIZE = 100;
+
+    /**
+     * Index created by older builds via {@code useIndex(true)}; superseded by the HNSW index below.
+     */
+    private static final String LEGACY_IVFFLAT_INDEX = EMBEDDING_TABLE + "_ivfflat_index";
+
+    private static final String HNSW_INDEX = "idx_ai_memory_embedding_hnsw";
 
     @Bean
     public EmbeddingStore<TextSegment> memoryEmbeddingStore(DataSource dataSource,
                                                             MemoryProperties props) {
-        return PgVectorEmbeddingStore.datasourceBuilder()
+        EmbeddingStore<TextSegment> store = PgVectorEmbeddingStore.datasourceBuilder()
                 .datasource(dataSource)
                 .table(EMBEDDING_TABLE)
                 .dimension(props.getEmbedding().getDimension())
                 .createTable(true)
-                .useIndex(true)
-                .indexListSize(INDEX_LIST_SIZE)
+                .useIndex(false)
                 .metadataStorageConfig(DefaultMetadataStorageConfig.builder()
                         .storageMode(MetadataStorageMode.COMBINED_JSONB)
                         .columnDefinitions(Collections.singletonList("metadata JSONB NULL"))
                         .indexes(Collections.emptyList())
                         .build())
                 .build();
+
+        if (props.getIndex().isAutoCreate()) {
+            ensureMemoryIndexes(dataSource, props.getIndex());
+        }
+        return store;
+    }
+
+    /**
+     * Promotes the filter keys out of the JSONB metadata into generated columns (existing rows are
+     * back-filled by PostgreSQL when the column is added), indexes them and the memory id that status
+     * updates look rows up by, and replaces the IVFFlat index with HNSW. Every statement is idempotent; see {@code db/V5__ai_memory_embedding_index.sql}
+     * for the equivalent offline migration.
+     */
+    private void ensureMemoryIndexes(DataSource dataSource, MemoryProperties.Index index) {
+        List<String> ddl = List.of(
+                "ALTER TABLE " + EMBEDDING_TABLE + " ADD COLUMN IF NOT EXISTS user_id BIGINT "
+                        + "GENERATED ALWAYS AS ((metadata ->> 'userId')::BIGINT) STORED",
+                "ALTER TABLE " + EMBEDDING_TABLE + " ADD COLUMN IF NOT EXISTS status SMALLINT "
+                        + "GENERATED ALWAYS AS ((metadata ->> 'status')::SMALLINT) STORED",
+                "CREATE INDEX IF NOT EXISTS idx_ai_memory_embedding_user_status ON "
+                        + EMBEDDING_TABLE + " (user_id, status)",
+                "CREATE INDEX IF NOT EXISTS idx_ai_memory_embedding_memory_id ON "
+                        + EMBEDDING_TABLE + " (((metadata ->> 'memoryId')::BIGINT))",
+                "DROP INDEX IF EXISTS " + LEGACY_IVFFLAT_INDEX,
+                String.format("CREATE INDEX IF NOT EXISTS %s ON %s USING hnsw (embedding vector_cosine_ops) "
+                        + "WITH (m = %d, ef_construction = %d)",
+                        HNSW_INDEX, EMBEDDING_TABLE, index.getM(), index.getEfConstruction()));
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+            log.info("Memory vector indexes ready: table={}, hnsw m={}, ef_construction={}, ef_search={}",
+                    EMBEDDING_TABLE, index.getM(), index.getEfConstruction(), index.getEfSearch());
+        } catch (SQLException e) {
+            log.warn("Failed to ensure memory vector indexes on {}: {}", EMBEDDING_TABLE, e.getMessage());
+        }
     }
 }
@@ -14,12 +14,36 @@ public class MemoryProperties {
 
     private Retrieval retrieval = new Retrieval();
 
+    private Index index = new Index();
+
+    private Ranking ranking = new Ranking();
+
+    private Access access = new Access();
+
+    private Dedup dedup = new Dedup();
+
     @Data
     public static class Embedding {
 
         private int dimension = 1024;
     }
 
+    /**
+     * HNSW index tuning for ai_memory_embedding.
+     * m / efConstruction only apply when the index is (re)built; efSearch is applied per connection.
+     */
+    @Data
+    public static class Index {
+
+        private boolean autoCreate = true;
+
+        private int m = 16;
+
+        private int efConstruction = 64;
+
+        private int efSearch = 100;
+    }
+
     @Data
     public static class Retrieval {
 
@@ -29,4 +53,51 @@ public class MemoryProperties {
 
         private double minScore = 0.72;
     }
+
+    /**
+     * Blends vector similarity with recall usage and recency when ordering search results.
+     */
+    @Data
+    public static class Ranking {
+
+        private double similarityWeight = 0.8;
+
+        private double usageWeight = 0.1;
+
+        private double recencyWeight = 0.1;
+
+        /** Access count at which the usage signal saturates at 1.0. */
+        private int usageSaturation = 20;
+
+        /** Days after which the recency signal halves. */
+        private double recencyHalfLifeDays = 30;
+
+        /** Over-fetch factor so usage and recency re-rank more candidates; all of them pass the similarity cut. */
+        private int overFetchFactor = 3;
+    }
+
+    @Data
+    public static class Access {
+
+        private long flushIntervalMs = 10_000;
+
+        /** ACTIVE memories not recalled (or created) within this many days are archived; 0 disables. */
+        private int archiveAfterDays = 90;
+
+        private String archiveCron = "0 30 3 * * *";
+
+        private int archiveBatchSize = 500;
+    }
+
+    /**
+     * Near-duplicate detection for memory candidates, on the same relevance scale as retrieval
+     * ((1 + cosine) / 2, so 0.95 means cosine similarity 0.9).
+     */
+    @Data
+    public static class Dedup {
+
+        private boolean enabled = true;
+
+        private double duplicateScore = 0.95;
+    }
 }
@@ -0,0 +1,31 @@
+package edu.zsc.ai.config.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Routes individual ReAct steps of an agent-mode turn to a cheaper model.
+ *
+ * <p>A step whose input ends in results of {@code fastTools} only (discovery, thinking, todo, memory
+ * reads) is sent to {@code fastModel}. Its answer is accepted only if it again calls {@code fastTools};
+ * a final answer, a SQL/chart/plan tool call or an error is discarded and the step re-runs on the model
+ * the user selected. The first step of a turn and plan mode always use the selected model.
+ */
+@Data
+@ConfigurationProperties(prefix = "agent.routing")
+public class ModelRoutingProperties {
+
+    private boolean enabled = true;
+
+    /** Model for routed steps; turns that already use it are not routed. */
+    private String fastModel = "qwen-plus";
+
+    /** {@code @Tool} names of registered agent tools; checked against them at startup. */
+    private List<String> fastTools = new ArrayList<>(List.of(
+            "getEnvironmentOverview", "searchObjects", "getObjectDetail",
+            "thinking", "todoWrite", "searchMemories", "listCandidateMemories", "activateSkill"));
+}
@@ -7,10 +7,12 @@ import edu.zsc.ai.common.enums.ai.ModelEnum;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 import java.util.Map;
 
 @Configuration
+@Profile("!stub")
 @RequiredArgsConstructor
 @EnableConfigurationProperties(QwenProperties.class)
 public class QwenModelConfig implements ChatModelProvider {
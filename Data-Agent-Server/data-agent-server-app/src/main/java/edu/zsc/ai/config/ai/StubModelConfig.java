@@ -0,0 +1,51 @@
+package edu.zsc.ai.config.ai;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import edu.zsc.ai.agent.stub.HashingEmbeddingModel;
+import edu.zsc.ai.agent.stub.ScriptedStreamingChatModel;
+import edu.zsc.ai.common.enums.ai.ModelEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replaces the DashScope models with offline stubs under the {@code stub} profile, so chat, tools and
+ * memory can be load-tested without a provider. Every {@link ModelEnum} name maps to the scripted model,
+ * so clients need no changes.
+ */
+@Slf4j
+@Configuration
+@Profile("stub")
+@RequiredArgsConstructor
+@EnableConfigurationProperties({StubModelProperties.class, MemoryProperties.class})
+public class StubModelConfig implements ChatModelProvider {
+
+    private final StubModelProperties stubModelProperties;
+    private final MemoryProperties memoryProperties;
+
+    @Override
+    public Map<String, StreamingChatModel> streamingChatModels() {
+        log.warn("Stub profile active: chat models replay scripted responses ({} tool calls per turn)",
+                stubModelProperties.getToolCalls().size());
+        Map<String, StreamingChatModel> models = new LinkedHashMap<>();
+        Arrays.stream(ModelEnum.values()).forEach(model -> models.put(model.getModelName(),
+                new ScriptedStreamingChatModel(model.getModelName(), stubModelProperties)));
+        return models;
+    }
+
+    @Bean
+    @Primary
+    public EmbeddingModel stubEmbeddingModel() {
+        return new HashingEmbeddingModel(memoryProperties.getEmbedding().getDimension());
+    }
+}
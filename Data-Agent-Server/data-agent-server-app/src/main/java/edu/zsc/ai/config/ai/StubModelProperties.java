@@ -0,0 +1,35 @@
+package edu.zsc.ai.config.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Script for the offline stub model, active only under the {@code stub} profile (see StubModelConfig).
+ */
+@Data
+@ConfigurationProperties(prefix = "stub.model")
+public class StubModelProperties {
+
+    private long firstTokenLatencyMs = 300;
+
+    private long tokenLatencyMs = 20;
+
+    /** Chunks in the final answer of each turn. */
+    private int answerTokens = 80;
+
+    /** Tool calls emitted, one per model response, before the answer of each turn. */
+    private List<ToolCall> toolCalls = new ArrayList<>();
+
+    @Data
+    public static class ToolCall {
+
+        private String name;
+
+        /** Tool arguments as a JSON object. */
+        private String arguments = "{}";
+    }
+}
@@ -0,0 +1,42 @@
+package edu.zsc.ai.config.db;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Where JDBC driver JARs are acquired from. Sources are tried in order: the local Maven repository,
+ * the mirror, then the remote repository; air-gapped nodes set a mirror and disable the remote.
+ */
+@Data
+@ConfigurationProperties(prefix = "driver")
+public class DriverProperties {
+
+    /**
+     * Base directory drivers are stored in; blank uses ~/.data-agent/drivers. The generic JDBC plugin only
+     * loads JARs from its "Generic JDBC" subdirectory, so set -Ddata-agent.generic-jdbc.driver-dir along with it.
+     */
+    private String storageDir;
+
+    /** Try ~/.m2/repository (or -Dmaven.repo.local) first. */
+    private boolean useLocalMaven = true;
+
+    /** Directory or file: URL of a mirror in Maven layout; blank for none. */
+    private String mirror;
+
+    /** Remote Maven repository URL; blank uses Maven Central. */
+    private String remoteUrl;
+
+    private boolean remoteEnabled = true;
+
+    /** Reject a source that publishes no SHA-256 / SHA-1 file for the driver JAR. */
+    private boolean requireChecksum = false;
+
+    /** How long cached available-version lists are served before the repository is asked again. */
+    private long metadataCacheTtlMinutes = 360;
+
+    /** Unload a driver JAR that has had no open connection for this long, freeing its classes; 0 keeps drivers loaded. */
+    private long idleUnloadMinutes = 30;
+
+    private long idleCheckIntervalMs = 60000;
+}
@@ -0,0 +1,11 @@
+package edu.zsc.ai.domain.mapper.ai;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+import edu.zsc.ai.domain.model.entity.ai.AiChatTrace;
+
+@Mapper
+public interface AiChatTraceMapper extends BaseMapper<AiChatTrace> {
+}
@@ -2,8 +2,17 @@ package edu.zsc.ai.domain.mapper.ai;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import edu.zsc.ai.domain.model.entity.ai.AiConversation;
+import edu.zsc.ai.domain.service.ai.model.TokenCountUpdate;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface AiConversationMapper extends BaseMapper<AiConversation> {
+
+    /**
+     * Sets token_count of each listed conversation, one statement per batch.
+     */
+    int batchUpdateTokenCount(@Param("updates") List<TokenCountUpdate> updates);
 }
@@ -1,11 +1,38 @@
 package edu.zsc.ai.domain.mapper.ai;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 
 import edu.zsc.ai.domain.model.entity.ai.AiMemory;
+import edu.zsc.ai.domain.service.ai.model.MemoryAccessHit;
+import edu.zsc.ai.domain.service.ai.model.MemorySearchResult;
 
 @Mapper
 public interface AiMemoryMapper extends BaseMapper<AiMemory> {
+
+    /**
+     * Nearest-neighbour search over ai_memory_embedding, filtered on the promoted user_id/status columns.
+     * Score uses the same relevance scale as LangChain4j: (2 - cosineDistance) / 2.
+     *
+     * @param queryVector pgvector literal, e.g. "[0.1, 0.2, ...]"
+     */
+    List<MemorySearchResult> searchByEmbedding(@Param("userId") Long userId,
+                                               @Param("status") int status,
+                                               @Param("queryVector") String queryVector,
+                                               @Param("minScore") double minScore,
+                                               @Param("limit") int limit);
+
+    /**
+     * Adds buffered recall hits to access_count and advances last_accessed_at, one statement per batch.
+     */
+    int batchIncrementAccess(@Param("hits") List<MemoryAccessHit> hits);
+
+    /**
+     * Rewrites metadata.status of the given memories' embeddings; the generated status column follows.
+     */
+    int updateEmbeddingStatus(@Param("memoryIds") List<Long> memoryIds, @Param("status") int status);
 }
@@ -2,8 +2,17 @@ package edu.zsc.ai.domain.mapper.ai;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import edu.zsc.ai.domain.model.entity.ai.StoredChatMessage;
+import edu.zsc.ai.domain.service.ai.model.MessageTokenCountUpdate;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface AiMessageMapper extends BaseMapper<StoredChatMessage> {
+
+    /**
+     * Sets token_count on each listed message; messages no longer stored are skipped.
+     */
+    int batchUpdateMessageTokenCount(@Param("updates") List<MessageTokenCountUpdate> updates);
 }
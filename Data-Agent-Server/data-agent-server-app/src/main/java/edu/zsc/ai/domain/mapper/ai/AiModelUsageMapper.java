@@ -0,0 +1,20 @@
+package edu.zsc.ai.domain.mapper.ai;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+import edu.zsc.ai.domain.model.entity.ai.AiModelUsage;
+
+@Mapper
+public interface AiModelUsageMapper extends BaseMapper<AiModelUsage> {
+
+    /**
+     * Adds the given daily usage deltas, inserting rows for new (user, model, day) keys.
+     * Keys must be unique within one call.
+     */
+    int batchUpsert(@Param("usages") List<AiModelUsage> usages);
+}
@@ -1,5 +1,8 @@
 package edu.zsc.ai.domain.model.dto.request.db;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import edu.zsc.ai.agent.cancel.ChatCancellationToken;
 import edu.zsc.ai.api.model.request.BaseRequest;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -26,4 +29,10 @@ public class AgentExecuteSqlRequest extends BaseRequest {
 
     @NotNull(message = "User id cannot be null")
     private Long userId;
+
+    /**
+     * Cancellation token of the chat turn; when cancelled, the running statement is cancelled.
+     */
+    @JsonIgnore
+    private ChatCancellationToken cancellationToken;
 }
@@ -0,0 +1,39 @@
+package edu.zsc.ai.domain.model.dto.response.ai;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import edu.zsc.ai.agent.trace.TraceSpan;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Timeline of one chat turn.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatTraceResponse {
+
+    private Long id;
+
+    private String modelName;
+
+    private String status;
+
+    private Long durationMs;
+
+    private Integer spanCount;
+
+    private Integer droppedSpans;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime startedAt;
+
+    private List<TraceSpan> spans;
+}
@@ -0,0 +1,57 @@
+package edu.zsc.ai.domain.model.dto.response.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response DTO for the progress of a running or recently finished driver download.
+ *
+ * @author Data-Agent
+ * @since 0.0.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverDownloadProgressResponse {
+
+    /**
+     * Driver file name (e.g., "mysql-connector-j-8.0.33.jar")
+     */
+    private String fileName;
+
+    /**
+     * Maven coordinates (groupId:artifactId:version)
+     */
+    private String mavenCoordinates;
+
+    /**
+     * Repository source currently tried: local, mirror or remote
+     */
+    private String source;
+
+    /**
+     * DOWNLOADING, VERIFYING, COMPLETED or FAILED
+     */
+    private String state;
+
+    private long bytesDownloaded;
+
+    /**
+     * Total size in bytes, -1 while unknown
+     */
+    private long totalBytes;
+
+    /**
+     * Failure reason, if failed
+     */
+    private String error;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+}
@@ -31,6 +31,11 @@ public class TableDataResponse {
      */
     private Long totalCount;
 
+    /**
+     * Whether totalCount is an estimate from database statistics rather than an exact count
+     */
+    private boolean totalCountApproximate;
+
     /**
      * Current page number
      */
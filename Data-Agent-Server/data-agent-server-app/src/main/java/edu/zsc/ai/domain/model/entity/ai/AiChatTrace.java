@@ -0,0 +1,44 @@
+package edu.zsc.ai.domain.model.entity.ai;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@TableName("ai_chat_trace")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiChatTrace {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private Long conversationId;
+
+    private Long userId;
+
+    private String modelName;
+
+    /** ok, error or cancelled */
+    private String status;
+
+    private Long durationMs;
+
+    private Integer spanCount;
+
+    private Integer droppedSpans;
+
+    /** JSON array of spans ordered by start offset */
+    private String spans;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime createdAt;
+}
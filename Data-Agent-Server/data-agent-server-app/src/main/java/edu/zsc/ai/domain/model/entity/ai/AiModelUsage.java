@@ -0,0 +1,41 @@
+package edu.zsc.ai.domain.model.entity.ai;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@TableName("ai_model_usage")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiModelUsage {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private Long userId;
+
+    private String modelName;
+
+    private LocalDate usageDate;
+
+    private Integer requestCount;
+
+    private Long inputTokens;
+
+    private Long outputTokens;
+
+    private Long totalTokens;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -83,6 +83,16 @@ public class DbConnection {
      */
     private String properties;
 
+    /**
+     * Plugin that last opened this connection, tried first on the next open; cleared when settings change
+     */
+    private String resolvedPluginId;
+
+    /**
+     * Database server version reported when the plugin was resolved
+     */
+    private String serverVersion;
+
     /**
      * Creation time
      */
@@ -1,9 +1,24 @@
 package edu.zsc.ai.domain.service.agent;
 
+import edu.zsc.ai.agent.cancel.ChatCancellationToken;
 import edu.zsc.ai.domain.model.dto.response.agent.ChatResponseBlock;
 import edu.zsc.ai.api.model.request.ChatRequest;
 import reactor.core.publisher.Flux;
 
 public interface ChatService {
-    Flux<ChatResponseBlock> chat(ChatRequest request);
+
+    /**
+     * Streams one chat turn. Cancelling {@code cancellationToken} aborts the model stream, stops
+     * further tool calls and cancels running SQL; it is cancelled when the last subscriber of the
+     * turn cancels. At most one turn runs per conversation: a repeated request joins the running
+     * turn's stream, another one waits for it or fails with 409 (see chat.turn.*).
+     */
+    Flux<ChatResponseBlock> chat(ChatRequest request, ChatCancellationToken cancellationToken);
+
+    /**
+     * Stops the running turn of a conversation owned by the user.
+     *
+     * @return true if a running turn was found
+     */
+    boolean stop(Long userId, Long conversationId);
 }
@@ -2,14 +2,28 @@ package edu.zsc.ai.domain.service.agent.impl;
 
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import dev.langchain4j.invocation.InvocationParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingHandle;
 import dev.langchain4j.service.TokenStream;
 import edu.zsc.ai.agent.ReActAgent;
 import edu.zsc.ai.agent.ReActAgentProvider;
+import edu.zsc.ai.agent.cancel.ChatCancellationRegistry;
+import edu.zsc.ai.agent.cancel.ChatCancellationToken;
+import edu.zsc.ai.agent.memory.CustomChatMemoryStore;
 import edu.zsc.ai.agent.memory.MemoryUtil;
+import edu.zsc.ai.agent.stream.ChatBlockCoalescer;
+import edu.zsc.ai.agent.trace.ChatTraceContext;
+import edu.zsc.ai.agent.trace.ChatTracer;
+import edu.zsc.ai.agent.trace.ChatTurnTrace;
+import edu.zsc.ai.agent.turn.ConversationTurnGuard;
+import edu.zsc.ai.agent.usage.TokenUsageTracker;
+import edu.zsc.ai.agent.usage.TurnUsage;
 import edu.zsc.ai.common.constant.ChatErrorConstants;
+import edu.zsc.ai.common.constant.RequestContextConstant;
 import edu.zsc.ai.common.enums.ai.AgentModeEnum;
 import edu.zsc.ai.common.enums.ai.ModelEnum;
 import edu.zsc.ai.common.enums.ai.ToolNameEnum;
+import edu.zsc.ai.common.enums.ai.TraceSpanKindEnum;
 import edu.zsc.ai.context.RequestContext;
 import edu.zsc.ai.context.RequestContextInfo;
 import edu.zsc.ai.domain.model.dto.response.agent.ChatResponseBlock;
@@ -17,11 +31,11 @@ import edu.zsc.ai.domain.model.entity.ai.AiConversation;
 import edu.zsc.ai.domain.model.entity.ai.AiMemoryCandidate;
 import edu.zsc.ai.domain.service.agent.ChatService;
 import edu.zsc.ai.domain.service.ai.AiConversationService;
-import edu.zsc.ai.domain.service.ai.AiMessageService;
 import edu.zsc.ai.domain.service.ai.MemoryCandidateService;
 import edu.zsc.ai.domain.service.ai.MemoryService;
 import edu.zsc.ai.domain.service.ai.model.MemorySearchResult;
 import edu.zsc.ai.api.model.request.ChatRequest;
+import edu.zsc.ai.config.ai.ChatStreamProperties;
 import edu.zsc.ai.config.ai.MemoryProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -30,45 +44,66 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SignalType;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
-@EnableConfigurationProperties(MemoryProperties.class)
+@EnableConfigurationProperties({MemoryProperties.class, ChatStreamProperties.class})
 public class ChatServiceImpl implements ChatService {
 
     private static final String DEFAULT_MODEL = ModelEnum.QWEN3_MAX.getModelName();
 
     private final ReActAgentProvider reActAgentProvider;
     private final AiConversationService aiConversationService;
-    private final AiMessageService aiMessageService;
     private final MemoryService memoryService;
     private final MemoryCandidateService memoryCandidateService;
     private final MemoryProperties memoryProperties;
+    private final ChatStreamProperties chatStreamProperties;
+    private final ChatCancellationRegistry chatCancellationRegistry;
+    private final TokenUsageTracker tokenUsageTracker;
+    private final CustomChatMemoryStore chatMemoryStore;
+    private final ChatTracer chatTracer;
+    private final ConversationTurnGuard conversationTurnGuard;
 
     public ChatServiceImpl(
             ReActAgentProvider reActAgentProvider,
             AiConversationService aiConversationService,
-            AiMessageService aiMessageService,
             MemoryService memoryService,
             MemoryCandidateService memoryCandidateService,
-            MemoryProperties memoryProperties) {
+            MemoryProperties memoryProperties,
+            ChatStreamProperties chatStreamProperties,
+            ChatCancellationRegistry chatCancellationRegistry,
+            TokenUsageTracker tokenUsageTracker,
+            CustomChatMemoryStore chatMemoryStore,
+            ChatTracer chatTracer,
+            ConversationTurnGuard conversationTurnGuard) {
         this.reActAgentProvider = reActAgentProvider;
         this.aiConversationService = aiConversationService;
-        this.aiMessageService = aiMessageService;
         this.memoryService = memoryService;
         this.memoryCandidateService = memoryCandidateService;
         this.memoryProperties = memoryProperties;
+        this.chatStreamProperties = chatStreamProperties;
+        this.chatCancellationRegistry = chatCancellationRegistry;
+        this.tokenUsageTracker = tokenUsageTracker;
+        this.chatMemoryStore = chatMemoryStore;
+        this.chatTracer = chatTracer;
+        this.conversationTurnGuard = conversationTurnGuard;
     }
 
     @Override
-    public Flux<ChatResponseBlock> chat(ChatRequest request) {
+    public Flux<ChatResponseBlock> chat(ChatRequest request, ChatCancellationToken cancellationToken) {
         String modelName = validateAndResolveModel(request.getModel());
 
         AgentModeEnum agentMode = AgentModeEnum.fromRequest(request.getAgentType());
@@ -77,39 +112,62 @@ public class ChatServiceImpl implements ChatService {
             RequestContext.get().setAgentMode(agentMode.getCode());
         }
 
-        ReActAgent agent = reActAgentProvider.getAgent(modelName, request.getLanguage(), agentMode.getCode());
-
+        Long userId = RequestContext.getUserId();
         if (Objects.isNull(request.getConversationId())) {
-            Long userId = RequestContext.getUserId();
             AiConversation conversation = aiConversationService.createConversation(userId, request.getMessage());
             request.setConversationId(conversation.getId());
             RequestContext.updateConversationId(conversation.getId());
             log.info("Created new conversation: id={}", conversation.getId());
+        } else {
+            aiConversationService.checkAccess(userId, request.getConversationId());
         }
 
+        // Capture RequestContext snapshot for use in deferred Flux (may run on different thread)
+        RequestContextInfo contextSnapshot = RequestContext.hasContext()
+                ? RequestContext.get()
+                : null;
+
+        // One turn per conversation at a time: a repeated request attaches to the running turn,
+        // any other waits for it (or is rejected); a queued turn starts later on another thread.
+        String turnKey = userId + "\n" + modelName + "\n" + agentMode.getCode() + "\n"
+                + StringUtils.strip(request.getMessage());
+        return conversationTurnGuard.run(request.getConversationId(), turnKey,
+                () -> withRequestContext(contextSnapshot,
+                        () -> runTurn(request, modelName, agentMode, cancellationToken, contextSnapshot)));
+    }
+
+    /**
+     * Starts one turn: memory preload, then the agent stream, chained with a Plan mode stream when
+     * enterPlanMode was called.
+     */
+    private Flux<ChatResponseBlock> runTurn(ChatRequest request, String modelName, AgentModeEnum agentMode,
+                                            ChatCancellationToken cancellationToken,
+                                            RequestContextInfo contextSnapshot) {
+        ReActAgent agent = reActAgentProvider.getAgent(modelName, request.getLanguage(), agentMode.getCode());
+
         String memoryId = RequestContext.getUserId() + ":" + request.getConversationId();
-        InvocationParameters parameters = InvocationParameters.from(RequestContext.toMap());
+        Long conversationId = request.getConversationId();
+        ChatTurnTrace trace = chatTracer.startTurn(RequestContext.getUserId(), conversationId, modelName);
+        InvocationParameters parameters = invocationParameters(cancellationToken, trace);
+
+        long memoryStart = System.nanoTime();
         String enrichedMessage = buildMessageWithMemoryContext(
                 RequestContext.getUserId(),
                 request.getConversationId(),
                 request.getMessage());
-        Long conversationId = request.getConversationId();
-
-        // Capture RequestContext snapshot for use in deferred Flux (may run on different thread)
-        RequestContextInfo contextSnapshot = RequestContext.hasContext()
-                ? RequestContext.get()
-                : null;
+        chatTracer.span(trace, TraceSpanKindEnum.MEMORY, "preload", memoryStart, null, null);
+        chatCancellationRegistry.register(conversationId, cancellationToken);
 
         AtomicBoolean enterPlanTriggered = new AtomicBoolean(false);
 
         // First stream: current agent mode (emitDoneBlock=false, defer block handles it)
         Flux<ChatResponseBlock> agentFlux = streamAgent(
-                agent, memoryId, enrichedMessage, parameters,
-                conversationId, enterPlanTriggered, false);
+                agent, modelName, memoryId, enrichedMessage, parameters,
+                conversationId, enterPlanTriggered, false, cancellationToken, trace);
 
         // Chain second stream: only when enterPlanMode was triggered
         return agentFlux.concatWith(Flux.defer(() -> {
-            if (!enterPlanTriggered.get()) {
+            if (!enterPlanTriggered.get() || cancellationToken.isCancelled()) {
                 // enterPlanMode not triggered — emit the doneBlock normally
                 return Flux.just(ChatResponseBlock.doneBlock());
             }
@@ -124,52 +182,131 @@ public class ChatServiceImpl implements ChatService {
 
             ReActAgent planAgent = reActAgentProvider.getAgent(
                     modelName, request.getLanguage(), AgentModeEnum.PLAN.getCode());
-            InvocationParameters planParams = InvocationParameters.from(RequestContext.toMap());
+            InvocationParameters planParams = invocationParameters(cancellationToken, trace);
             String continuation = "Continue analyzing the user's request and create a structured execution plan.";
 
-            return streamAgent(planAgent, memoryId, continuation, planParams,
-                    conversationId, new AtomicBoolean(false), true);
+            return streamAgent(planAgent, modelName, memoryId, continuation, planParams,
+                    conversationId, new AtomicBoolean(false), true, cancellationToken, trace);
         })).map(block -> {
             if (Objects.nonNull(block) && Objects.isNull(block.getConversationId())) {
                 block.setConversationId(conversationId);
             }
             return block;
+        }).doOnCancel(() -> {
+            // Only reached when the last client of the turn went away (see ConversationTurnGuard).
+            log.info("Chat stream cancelled by client: conversationId={}", conversationId);
+            cancellationToken.cancel();
+        }).doFinally(signal -> {
+            chatCancellationRegistry.unregister(conversationId, cancellationToken);
+            chatTracer.finishTurn(trace, turnOutcome(signal, cancellationToken));
         });
     }
 
+    @Override
+    public boolean stop(Long userId, Long conversationId) {
+        aiConversationService.checkAccess(userId, conversationId);
+        return chatCancellationRegistry.cancel(conversationId);
+    }
+
+    /**
+     * Runs {@code action} with {@code snapshot} as the RequestContext, restoring the thread's own context after.
+     */
+    private static <T> T withRequestContext(RequestContextInfo snapshot, Supplier<T> action) {
+        RequestContextInfo previous = RequestContext.hasContext() ? RequestContext.get() : null;
+        if (Objects.isNull(snapshot) || previous == snapshot) {
+            return action.get();
+        }
+        RequestContext.set(snapshot);
+        try {
+            return action.get();
+        } finally {
+            if (Objects.nonNull(previous)) {
+                RequestContext.set(previous);
+            } else {
+                RequestContext.clear();
+            }
+        }
+    }
+
+    private InvocationParameters invocationParameters(ChatCancellationToken cancellationToken, ChatTurnTrace trace) {
+        Map<String, Object> context = RequestContext.toMap();
+        context.put(RequestContextConstant.CANCELLATION_TOKEN, cancellationToken);
+        if (Objects.nonNull(trace)) {
+            // Bound around each tool call by TracingToolExecutor
+            context.put(RequestContextConstant.CHAT_TRACE, trace);
+        }
+        return InvocationParameters.from(context);
+    }
+
     /**
      * Streams a single agent invocation into a Flux of ChatResponseBlocks.
+     * Fragments go through a {@link ChatBlockCoalescer}, which merges adjacent text/thought/tool-argument
+     * chunks and bounds what is buffered for a slow client.
      *
      * @param agent               the agent to invoke
+     * @param modelName           model behind the agent, for usage accounting
      * @param memoryId            chat memory identifier
      * @param message             the user message (or continuation prompt)
      * @param parameters          invocation parameters (RequestContext snapshot)
      * @param conversationId      conversation ID for token tracking
      * @param enterPlanTriggered  set to true if enterPlanMode tool is executed
      * @param emitDoneBlock       whether to emit doneBlock on completion
+     * @param cancellationToken   aborts the model stream when cancelled
+     * @param trace               trace of the turn, receiving LLM and tool spans; may be null
      */
     private Flux<ChatResponseBlock> streamAgent(
-            ReActAgent agent, String memoryId, String message,
+            ReActAgent agent, String modelName, String memoryId, String message,
             InvocationParameters parameters, Long conversationId,
-            AtomicBoolean enterPlanTriggered, boolean emitDoneBlock) {
+            AtomicBoolean enterPlanTriggered, boolean emitDoneBlock,
+            ChatCancellationToken cancellationToken, ChatTurnTrace trace) {
 
-        Sinks.Many<ChatResponseBlock> sink = Sinks.many().unicast().onBackpressureBuffer();
+        ChatBlockCoalescer coalescer = new ChatBlockCoalescer(chatStreamProperties);
+        // Each model step is booked to the model that served it (routed steps may use the fast model)
+        TurnUsage turnUsage = tokenUsageTracker.turn(parameters.get(RequestContextConstant.USER_ID), modelName);
         TokenStream tokenStream = agent.chat(memoryId, message, parameters);
         Set<String> streamedToolCallIds = new HashSet<>();
 
-        tokenStream.onPartialResponse(content -> {
+        // One LLM span per model response: from the request (or the last tool result fed back) to the
+        // final chunk. Tool spans are keyed by call id between beforeToolExecution and onToolExecuted.
+        AtomicLong llmStart = new AtomicLong(System.nanoTime());
+        AtomicLong firstTokenAt = new AtomicLong();
+        Map<String, Long> toolStarts = new ConcurrentHashMap<>();
+
+        // The model stream can only be aborted through the handle passed to streaming callbacks;
+        // remember it so the cancel hook (or the next callback after cancel) can stop the stream.
+        AtomicReference<StreamingHandle> streamingHandle = new AtomicReference<>();
+        ChatCancellationToken.Registration cancelRegistration = cancellationToken.onCancel(() -> {
+            StreamingHandle handle = streamingHandle.get();
+            if (Objects.nonNull(handle)) {
+                handle.cancel();
+            }
+            log.info("Chat stream cancelled for conversation {}", conversationId);
+            coalescer.complete();
+        });
+
+        tokenStream.onPartialResponseWithContext((partial, context) -> {
+            if (abortIfCancelled(cancellationToken, context.streamingHandle(), streamingHandle)) {
+                return;
+            }
+            firstTokenAt.compareAndSet(0, System.nanoTime());
+            String content = partial.text();
             if (StringUtils.isNotBlank(content)) {
-                sink.tryEmitNext(ChatResponseBlock.text(content));
+                coalescer.text(content);
             }
         });
 
         tokenStream.onPartialThinking(partial -> {
-            if (StringUtils.isNotBlank(partial.text())) {
-                sink.tryEmitNext(ChatResponseBlock.thought(partial.text()));
+            firstTokenAt.compareAndSet(0, System.nanoTime());
+            if (!cancellationToken.isCancelled() && StringUtils.isNotBlank(partial.text())) {
+                coalescer.thought(partial.text());
             }
         });
 
         tokenStream.onPartialToolCallWithContext((partialToolCall, context) -> {
+            if (abortIfCancelled(cancellationToken, context.streamingHandle(), streamingHandle)) {
+                return;
+            }
+            firstTokenAt.compareAndSet(0, System.nanoTime());
             log.debug("Partial tool call: index={}, id={}, name={}, partialArgs='{}'",
                     partialToolCall.index(), partialToolCall.id(), partialToolCall.name(),
                     partialToolCall.partialArguments());
@@ -178,15 +315,15 @@ public class ChatServiceImpl implements ChatService {
                 streamedToolCallIds.add(partialToolCall.id());
             }
 
-            sink.tryEmitNext(ChatResponseBlock.toolCall(
+            coalescer.partialToolCall(
                     partialToolCall.id(),
                     partialToolCall.name(),
-                    partialToolCall.partialArguments(),
-                    true
-            ));
+                    partialToolCall.partialArguments());
         });
 
         tokenStream.onIntermediateResponse(response -> {
+            recordLlmSpan(trace, modelName, llmStart, firstTokenAt, response, null);
+            turnUsage.step(response);
             if (response.aiMessage().hasToolExecutionRequests()) {
                 for (ToolExecutionRequest toolRequest : response.aiMessage().toolExecutionRequests()) {
                     if (streamedToolCallIds.contains(toolRequest.id())) {
@@ -198,7 +335,7 @@ public class ChatServiceImpl implements ChatService {
                     log.debug("Complete tool call (non-streaming provider): id={}, name={}",
                             toolRequest.id(), toolRequest.name());
 
-                    sink.tryEmitNext(ChatResponseBlock.toolCall(
+                    coalescer.emit(ChatResponseBlock.toolCall(
                             toolRequest.id(),
                             toolRequest.name(),
                             toolRequest.arguments(),
@@ -208,15 +345,26 @@ public class ChatServiceImpl implements ChatService {
             }
         });
 
+        tokenStream.beforeToolExecution(before ->
+                toolStarts.put(toolCallKey(before.request()), System.nanoTime()));
+
         tokenStream.onToolExecuted(toolExecution -> {
             ToolExecutionRequest req = toolExecution.request();
+            Long toolStart = toolStarts.remove(toolCallKey(req));
+            chatTracer.span(trace, TraceSpanKindEnum.TOOL, req.name(),
+                    Objects.nonNull(toolStart) ? toolStart : System.nanoTime(),
+                    toolExecution.hasFailed() ? "tool failed" : null,
+                    Objects.nonNull(req.id()) ? Map.of("callId", req.id()) : null);
+            // The next model request starts once the last tool result is in.
+            llmStart.set(System.nanoTime());
+            firstTokenAt.set(0);
 
             // Detect enterPlanMode tool execution
             if (ToolNameEnum.ENTER_PLAN_MODE.getToolName().equals(req.name())) {
                 enterPlanTriggered.set(true);
             }
 
-            sink.tryEmitNext(ChatResponseBlock.toolResult(
+            coalescer.emit(ChatResponseBlock.toolResult(
                     req.id(),
                     req.name(),
                     toolExecution.result(),
@@ -224,38 +372,105 @@ public class ChatServiceImpl implements ChatService {
         });
 
         tokenStream.onCompleteResponse(response -> {
-            // Extract and persist token usage
+            cancelRegistration.close();
+            recordLlmSpan(trace, modelName, llmStart, firstTokenAt, response, null);
+            Long aiMessageId = chatMemoryStore.takeLastAiMessageId(conversationId);
+            // Token usage is persisted asynchronously in batches; nothing here blocks the done block.
             if (Objects.nonNull(response.tokenUsage())) {
-                Integer outputTokens = response.tokenUsage().outputTokenCount();
-                Integer totalTokens = response.tokenUsage().totalTokenCount();
-
-                if (Objects.nonNull(totalTokens) && totalTokens > 0) {
-                    log.info("Chat completed for conversation {}: {} total tokens (output: {})",
-                            conversationId, totalTokens, outputTokens);
-
-                    if (Objects.nonNull(outputTokens) && outputTokens > 0) {
-                        aiMessageService.updateLastAiMessageTokenCount(conversationId, outputTokens);
-                    }
-
-                    aiConversationService.updateTokenCount(conversationId, totalTokens);
-                } else {
-                    log.debug("No token usage available for conversation {}", conversationId);
-                }
+                log.info("Chat completed for conversation {}: {} total tokens (output: {})",
+                        conversationId, response.tokenUsage().totalTokenCount(),
+                        response.tokenUsage().outputTokenCount());
+                turnUsage.complete(response);
+                tokenUsageTracker.recordConversation(conversationId, aiMessageId, response.tokenUsage());
+            } else {
+                log.debug("No token usage available for conversation {}", conversationId);
             }
 
             if (emitDoneBlock) {
-                sink.tryEmitNext(ChatResponseBlock.doneBlock());
+                coalescer.emit(ChatResponseBlock.doneBlock());
             }
-            sink.tryEmitComplete();
+            coalescer.complete();
         });
 
         tokenStream.onError(error -> {
+            cancelRegistration.close();
+            recordLlmSpan(trace, modelName, llmStart, firstTokenAt, null,
+                    cancellationToken.isCancelled() ? ChatTracer.OUTCOME_CANCELLED : ChatTracer.describe(error));
+            if (cancellationToken.isCancelled()) {
+                log.info("Chat stream for conversation {} ended after cancellation: {}", conversationId, error.getMessage());
+                coalescer.complete();
+                return;
+            }
             log.error("Error in chat stream", error);
-            sink.tryEmitError(error);
+            coalescer.error(error);
         });
 
-        tokenStream.start();
-        return sink.asFlux();
+        // Chat memory is loaded and the user message stored while starting: keep those spans in the turn.
+        llmStart.set(System.nanoTime());
+        ChatTurnTrace previousTrace = ChatTraceContext.bind(trace);
+        try {
+            tokenStream.start();
+        } finally {
+            ChatTraceContext.restore(previousTrace);
+        }
+        // A stream that errors or is cancelled never takes the id of the AI message it may have stored
+        return coalescer.asFlux()
+                .doFinally(signal -> chatMemoryStore.takeLastAiMessageId(conversationId));
+    }
+
+    private void recordLlmSpan(ChatTurnTrace trace, String modelName, AtomicLong llmStart,
+                               AtomicLong firstTokenAt, ChatResponse response, String error) {
+        if (Objects.isNull(trace)) {
+            return;
+        }
+        long start = llmStart.get();
+        Map<String, Object> attributes = new HashMap<>();
+        long firstToken = firstTokenAt.get();
+        if (firstToken != 0) {
+            attributes.put("firstTokenMs", (firstToken - start) / 1_000_000);
+        }
+        if (Objects.nonNull(response)) {
+            // The step may have been routed to another model than the one selected for the turn.
+            if (Objects.nonNull(response.modelName())) {
+                attributes.put("respondedBy", response.modelName());
+            }
+            if (response.aiMessage().hasToolExecutionRequests()) {
+                attributes.put("toolCalls", response.aiMessage().toolExecutionRequests().size());
+            }
+            if (Objects.nonNull(response.tokenUsage())) {
+                attributes.put("inputTokens", response.tokenUsage().inputTokenCount());
+                attributes.put("outputTokens", response.tokenUsage().outputTokenCount());
+            }
+        }
+        chatTracer.span(trace, TraceSpanKindEnum.LLM, modelName, start, error, attributes);
+    }
+
+    private static String toolCallKey(ToolExecutionRequest request) {
+        return Objects.nonNull(request.id()) ? request.id() : request.name();
+    }
+
+    private static String turnOutcome(SignalType signal, ChatCancellationToken cancellationToken) {
+        if (signal == SignalType.CANCEL || cancellationToken.isCancelled()) {
+            return ChatTracer.OUTCOME_CANCELLED;
+        }
+        return signal == SignalType.ON_ERROR ? ChatTracer.OUTCOME_ERROR : ChatTracer.OUTCOME_OK;
+    }
+
+    /**
+     * Records the current streaming handle and cancels it if the turn was cancelled in the meantime.
+     *
+     * @return true if the stream was aborted and the callback should be ignored
+     */
+    private static boolean abortIfCancelled(ChatCancellationToken cancellationToken, StreamingHandle handle,
+                                            AtomicReference<StreamingHandle> streamingHandle) {
+        streamingHandle.set(handle);
+        if (!cancellationToken.isCancelled()) {
+            return false;
+        }
+        if (!handle.isCancelled()) {
+            handle.cancel();
+        }
+        return true;
     }
 
     /**
@@ -0,0 +1,29 @@
+package edu.zsc.ai.domain.service.ai;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import edu.zsc.ai.domain.exception.BusinessException;
+import edu.zsc.ai.domain.model.dto.response.ai.ChatTraceResponse;
+import edu.zsc.ai.domain.model.entity.ai.AiChatTrace;
+
+public interface AiChatTraceService extends IService<AiChatTrace> {
+
+    /**
+     * Latest turn timelines of a conversation owned by the current user, newest first.
+     *
+     * @param conversationId conversation ID
+     * @param limit          maximum number of turns
+     * @throws BusinessException if access is denied
+     */
+    List<ChatTraceResponse> listRecentForCurrentUser(Long conversationId, int limit);
+
+    /**
+     * Deletes timelines of turns started before {@code cutoff}.
+     *
+     * @return number of deleted rows
+     */
+    int purgeStartedBefore(LocalDateTime cutoff);
+}
@@ -54,12 +54,4 @@ public interface AiConversationService extends IService<AiConversation> {
      * Returns history messages for the conversation. Verifies current user has access.
      */
     List<ConversationMessageResponse> getMessagesForCurrentUser(Long conversationId);
-
-    /**
-     * Updates the conversation's total token usage.
-     *
-     * @param conversationId conversation ID
-     * @param tokenCount     total token count to set
-     */
-    void updateTokenCount(Long conversationId, Integer tokenCount);
 }
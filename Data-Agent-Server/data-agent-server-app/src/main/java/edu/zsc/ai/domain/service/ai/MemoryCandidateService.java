@@ -6,18 +6,27 @@ import com.baomidou.mybatisplus.extension.service.IService;
 
 import edu.zsc.ai.domain.model.entity.ai.AiMemory;
 import edu.zsc.ai.domain.model.entity.ai.AiMemoryCandidate;
+import edu.zsc.ai.domain.service.ai.model.MemoryCandidateCreateResult;
 
 public interface MemoryCandidateService extends IService<AiMemoryCandidate> {
 
     List<AiMemoryCandidate> listCurrentConversationCandidates(Long userId, Long conversationId, int limit);
 
-    AiMemoryCandidate createCandidate(Long userId,
-                                      Long conversationId,
-                                      String candidateType,
-                                      String candidateContent,
-                                      String reason);
+    /**
+     * Stores a candidate unless it near-duplicates an active memory (rejected) or a pending
+     * candidate of the same conversation (merged into it).
+     */
+    MemoryCandidateCreateResult createCandidate(Long userId,
+                                                Long conversationId,
+                                                String candidateType,
+                                                String candidateContent,
+                                                String reason);
 
     boolean deleteCandidate(Long userId, Long candidateId);
 
+    /**
+     * Commits candidates as memories, skipping those that near-duplicate an active memory or an
+     * earlier candidate of the same batch. All given candidates leave the pending list.
+     */
     List<AiMemory> commitCandidates(Long userId, Long conversationId, List<Long> candidateIds);
 }
@@ -1,6 +1,7 @@
 package edu.zsc.ai.domain.service.ai;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.baomidou.mybatisplus.extension.service.IService;
 
@@ -13,6 +14,12 @@ public interface MemoryService extends IService<AiMemory> {
 
     List<MemorySearchResult> searchActiveMemories(Long userId, String queryText, int limit, double minScore);
 
+    /**
+     * Closest ACTIVE memory to a pre-computed embedding with score at least {@code minScore}.
+     * Used for duplicate checks, so it neither re-ranks nor counts as a recall.
+     */
+    Optional<MemorySearchResult> findNearestActiveMemory(Long userId, Embedding embedding, double minScore);
+
     AiMemory createFromCandidate(Long userId, Long conversationId, AiMemoryCandidate candidate);
 
     /**
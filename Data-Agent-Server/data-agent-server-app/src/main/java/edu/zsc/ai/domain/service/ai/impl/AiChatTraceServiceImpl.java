@@ -0,0 +1,70 @@
+package edu.zsc.ai.domain.service.ai.impl;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import edu.zsc.ai.agent.trace.TraceSpan;
+import edu.zsc.ai.domain.mapper.ai.AiChatTraceMapper;
+import edu.zsc.ai.domain.model.dto.response.ai.ChatTraceResponse;
+import edu.zsc.ai.domain.model.entity.ai.AiChatTrace;
+import edu.zsc.ai.domain.service.ai.AiChatTraceService;
+import edu.zsc.ai.domain.service.ai.AiConversationService;
+import edu.zsc.ai.util.JsonUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AiChatTraceServiceImpl extends ServiceImpl<AiChatTraceMapper, AiChatTrace>
+        implements AiChatTraceService {
+
+    private final AiConversationService aiConversationService;
+
+    @Override
+    public List<ChatTraceResponse> listRecentForCurrentUser(Long conversationId, int limit) {
+        aiConversationService.checkAccess(StpUtil.getLoginIdAsLong(), conversationId);
+        LambdaQueryWrapper<AiChatTrace> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(AiChatTrace::getConversationId, conversationId)
+                .orderByDesc(AiChatTrace::getStartedAt);
+        Page<AiChatTrace> page = new Page<>(1, Math.max(1, limit), false);
+        return page(page, wrapper).getRecords().stream()
+                .map(AiChatTraceServiceImpl::toResponse)
+                .toList();
+    }
+
+    @Override
+    public int purgeStartedBefore(LocalDateTime cutoff) {
+        LambdaQueryWrapper<AiChatTrace> wrapper = new LambdaQueryWrapper<>();
+        wrapper.lt(AiChatTrace::getStartedAt, cutoff);
+        return baseMapper.delete(wrapper);
+    }
+
+    private static ChatTraceResponse toResponse(AiChatTrace trace) {
+        List<TraceSpan> spans = List.of();
+        if (StringUtils.isNotBlank(trace.getSpans())) {
+            try {
+                spans = Arrays.asList(JsonUtil.json2Object(trace.getSpans(), TraceSpan[].class));
+            } catch (Exception e) {
+                log.warn("Failed to parse spans of chat trace {}", trace.getId(), e);
+            }
+        }
+        return ChatTraceResponse.builder()
+                .id(trace.getId())
+                .modelName(trace.getModelName())
+                .status(trace.getStatus())
+                .durationMs(trace.getDurationMs())
+                .spanCount(trace.getSpanCount())
+                .droppedSpans(trace.getDroppedSpans())
+                .startedAt(trace.getStartedAt())
+                .spans(spans)
+                .build();
+    }
+}
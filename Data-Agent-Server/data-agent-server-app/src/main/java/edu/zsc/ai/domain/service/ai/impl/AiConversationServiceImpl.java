@@ -128,22 +128,4 @@ public class AiConversationServiceImpl extends ServiceImpl<AiConversationMapper,
         }
         return result;
     }
-
-    @Override
-    public void updateTokenCount(Long conversationId, Integer tokenCount) {
-        if (conversationId == null || tokenCount == null || tokenCount <= 0) {
-            return;
-        }
-
-        // Update token_count
-        LambdaUpdateWrapper<AiConversation> wrapper = new LambdaUpdateWrapper<>();
-        wrapper.eq(AiConversation::getId, conversationId)
-                .set(AiConversation::getTokenCount, tokenCount)
-                .set(AiConversation::getUpdatedAt, LocalDateTime.now());
-
-        boolean updated = update(wrapper);
-        if (!updated) {
-            log.warn("Failed to update token count for conversation {}, conversation may not exist", conversationId);
-        }
-    }
 }
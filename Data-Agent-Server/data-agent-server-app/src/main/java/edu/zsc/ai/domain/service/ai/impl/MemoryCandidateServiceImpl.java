@@ -1,9 +1,11 @@
 package edu.zsc.ai.domain.service.ai.impl;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -13,10 +15,16 @@ import org.springframework.transaction.annotation.Transactional;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.CosineSimilarity;
+import dev.langchain4j.store.embedding.RelevanceScore;
+import edu.zsc.ai.common.enums.ai.MemoryCandidateOutcomeEnum;
 import edu.zsc.ai.common.enums.ai.MemoryTypeEnum;
+import edu.zsc.ai.config.ai.MemoryProperties;
 import edu.zsc.ai.domain.exception.BusinessException;
 import edu.zsc.ai.domain.mapper.ai.AiMemoryCandidateMapper;
 import edu.zsc.ai.domain.model.entity.ai.AiMemory;
@@ -24,6 +32,8 @@ import edu.zsc.ai.domain.model.entity.ai.AiMemoryCandidate;
 import edu.zsc.ai.domain.service.ai.AiConversationService;
 import edu.zsc.ai.domain.service.ai.MemoryCandidateService;
 import edu.zsc.ai.domain.service.ai.MemoryService;
+import edu.zsc.ai.domain.service.ai.model.MemoryCandidateCreateResult;
+import edu.zsc.ai.domain.service.ai.model.MemorySearchResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,15 +44,30 @@ public class MemoryCandidateServiceImpl extends ServiceImpl<AiMemoryCandidateMap
         implements MemoryCandidateService {
 
     private static final int MAX_LIST_LIMIT = 100;
+    private static final int EMBEDDING_CACHE_MAX_SIZE = 2_000;
+    private static final Duration EMBEDDING_CACHE_TTL = Duration.ofHours(1);
 
     private final AiConversationService aiConversationService;
     private final MemoryService memoryService;
     private final EmbeddingModel embeddingModel;
+    private final MemoryProperties memoryProperties;
+
+    /**
+     * Candidate id -> embedding of its current content, so duplicate checks and commit do not
+     * re-embed candidates created in this process.
+     */
+    private final Cache<Long, Embedding> candidateEmbeddings = Caffeine.newBuilder()
+            .expireAfterAccess(EMBEDDING_CACHE_TTL)
+            .maximumSize(EMBEDDING_CACHE_MAX_SIZE)
+            .build();
 
     @Override
     public List<AiMemoryCandidate> listCurrentConversationCandidates(Long userId, Long conversationId, int limit) {
         checkUserAndConversation(userId, conversationId);
+        return listPendingCandidates(userId, conversationId, limit);
+    }
 
+    private List<AiMemoryCandidate> listPendingCandidates(Long userId, Long conversationId, int limit) {
         int safeLimit = Math.max(1, Math.min(limit, MAX_LIST_LIMIT));
         LambdaQueryWrapper<AiMemoryCandidate> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(AiMemoryCandidate::getUserId, userId)
@@ -54,17 +79,48 @@ public class MemoryCandidateServiceImpl extends ServiceImpl<AiMemoryCandidateMap
     }
 
     @Override
-    public AiMemoryCandidate createCandidate(Long userId,
-                                             Long conversationId,
-                                             String candidateType,
-                                             String candidateContent,
-                                             String reason) {
+    public MemoryCandidateCreateResult createCandidate(Long userId,
+                                                       Long conversationId,
+                                                       String candidateType,
+                                                       String candidateContent,
+                                                       String reason) {
         checkUserAndConversation(userId, conversationId);
 
         MemoryTypeEnum type = MemoryTypeEnum.fromValue(candidateType);
         String content = StringUtils.trimToEmpty(candidateContent);
         BusinessException.assertFalse(content.isEmpty(), "Candidate content cannot be blank");
 
+        MemoryProperties.Dedup dedup = memoryProperties.getDedup();
+        Embedding embedding = null;
+        if (dedup.isEnabled()) {
+            embedding = embeddingModel.embed(content).content();
+
+            Optional<MemorySearchResult> duplicateMemory =
+                    memoryService.findNearestActiveMemory(userId, embedding, dedup.getDuplicateScore());
+            if (duplicateMemory.isPresent()) {
+                log.info("Rejected memory candidate duplicating memory {}: userId={}, score={}",
+                        duplicateMemory.get().getId(), userId, duplicateMemory.get().getScore());
+                return MemoryCandidateCreateResult.builder()
+                        .outcome(MemoryCandidateOutcomeEnum.DUPLICATE_OF_MEMORY)
+                        .duplicateMemory(duplicateMemory.get())
+                        .score(duplicateMemory.get().getScore())
+                        .build();
+            }
+
+            AiMemoryCandidate bestMatch = null;
+            double bestScore = 0d;
+            for (AiMemoryCandidate pending : listPendingCandidates(userId, conversationId, MAX_LIST_LIMIT)) {
+                double score = relevance(embedding, candidateEmbedding(pending));
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMatch = pending;
+                }
+            }
+            if (Objects.nonNull(bestMatch) && bestScore >= dedup.getDuplicateScore()) {
+                return mergeInto(bestMatch, type, content, reason, embedding, bestScore);
+            }
+        }
+
         LocalDateTime now = LocalDateTime.now();
         AiMemoryCandidate candidate = AiMemoryCandidate.builder()
                 .userId(userId)
@@ -77,7 +133,34 @@ public class MemoryCandidateServiceImpl extends ServiceImpl<AiMemoryCandidateMap
                 .build();
 
         save(candidate);
-        return candidate;
+        if (Objects.nonNull(embedding)) {
+            candidateEmbeddings.put(candidate.getId(), embedding);
+        }
+        return MemoryCandidateCreateResult.builder()
+                .outcome(MemoryCandidateOutcomeEnum.CREATED)
+                .candidate(candidate)
+                .build();
+    }
+
+    /**
+     * The newer proposal is usually the refined wording, so it replaces the pending candidate's
+     * content and type; the earlier reason is kept when the new one is blank.
+     */
+    private MemoryCandidateCreateResult mergeInto(AiMemoryCandidate existing, MemoryTypeEnum type, String content,
+                                                  String reason, Embedding embedding, double score) {
+        existing.setCandidateType(type.name());
+        existing.setCandidateContent(content);
+        existing.setReason(Objects.requireNonNullElse(StringUtils.trimToNull(reason), existing.getReason()));
+        existing.setUpdatedAt(LocalDateTime.now());
+        updateById(existing);
+        candidateEmbeddings.put(existing.getId(), embedding);
+
+        log.info("Merged memory candidate into pending candidate {}: score={}", existing.getId(), score);
+        return MemoryCandidateCreateResult.builder()
+                .outcome(MemoryCandidateOutcomeEnum.MERGED)
+                .candidate(existing)
+                .score(score)
+                .build();
     }
 
     @Override
@@ -92,6 +175,7 @@ public class MemoryCandidateServiceImpl extends ServiceImpl<AiMemoryCandidateMap
         }
 
         BusinessException.assertTrue(userId.equals(candidate.getUserId()), "error.forbidden");
+        candidateEmbeddings.invalidate(candidateId);
         return removeById(candidateId);
     }
 
@@ -113,25 +197,62 @@ public class MemoryCandidateServiceImpl extends ServiceImpl<AiMemoryCandidateMap
         // Pre-compute embeddings outside transaction to avoid long-held DB connections
         List<Embedding> embeddings = new ArrayList<>(candidates.size());
         for (AiMemoryCandidate candidate : candidates) {
-            String content = StringUtils.trimToEmpty(candidate.getCandidateContent());
-            embeddings.add(embeddingModel.embed(content).content());
+            embeddings.add(candidateEmbedding(candidate));
         }
 
-        return doCommitInTransaction(userId, conversationId, candidates, embeddings);
+        // Drop candidates that repeat an active memory or an earlier candidate of this batch; they are
+        // still removed from the pending list below.
+        MemoryProperties.Dedup dedup = memoryProperties.getDedup();
+        List<AiMemoryCandidate> accepted = new ArrayList<>(candidates.size());
+        List<Embedding> acceptedEmbeddings = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            Embedding embedding = embeddings.get(i);
+            if (dedup.isEnabled() && isDuplicate(userId, embedding, acceptedEmbeddings, dedup.getDuplicateScore())) {
+                log.info("Skipped committing duplicate memory candidate {}", candidates.get(i).getId());
+                continue;
+            }
+            accepted.add(candidates.get(i));
+            acceptedEmbeddings.add(embedding);
+        }
+
+        List<AiMemory> created = doCommitInTransaction(userId, conversationId, candidates, accepted, acceptedEmbeddings);
+        candidateEmbeddings.invalidateAll(candidateIds);
+        return created;
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public List<AiMemory> doCommitInTransaction(Long userId, Long conversationId,
-                                                 List<AiMemoryCandidate> candidates, List<Embedding> embeddings) {
-        List<AiMemory> created = new ArrayList<>(candidates.size());
-        for (int i = 0; i < candidates.size(); i++) {
+    public List<AiMemory> doCommitInTransaction(Long userId, Long conversationId, List<AiMemoryCandidate> candidates,
+                                                 List<AiMemoryCandidate> accepted, List<Embedding> embeddings) {
+        List<AiMemory> created = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
             created.add(memoryService.createFromCandidateWithEmbedding(
-                    userId, conversationId, candidates.get(i), embeddings.get(i)));
+                    userId, conversationId, accepted.get(i), embeddings.get(i)));
         }
         removeBatchByIds(candidates.stream().map(AiMemoryCandidate::getId).toList());
         return created;
     }
 
+    private boolean isDuplicate(Long userId, Embedding embedding, List<Embedding> accepted, double duplicateScore) {
+        for (Embedding other : accepted) {
+            if (relevance(embedding, other) >= duplicateScore) {
+                return true;
+            }
+        }
+        return memoryService.findNearestActiveMemory(userId, embedding, duplicateScore).isPresent();
+    }
+
+    private Embedding candidateEmbedding(AiMemoryCandidate candidate) {
+        return candidateEmbeddings.get(candidate.getId(),
+                id -> embeddingModel.embed(StringUtils.trimToEmpty(candidate.getCandidateContent())).content());
+    }
+
+    /**
+     * Same scale as pgvector memory search: (1 + cosine) / 2.
+     */
+    private static double relevance(Embedding a, Embedding b) {
+        return RelevanceScore.fromCosineSimilarity(CosineSimilarity.between(a, b));
+    }
+
     private void checkUserAndConversation(Long userId, Long conversationId) {
         BusinessException.assertNotNull(userId, "error.not.login");
         BusinessException.assertNotNull(conversationId, "Conversation id is required");
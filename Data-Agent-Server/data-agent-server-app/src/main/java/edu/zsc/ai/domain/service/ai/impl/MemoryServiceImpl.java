@@ -1,24 +1,29 @@
 package edu.zsc.ai.domain.service.ai.impl;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
-import dev.langchain4j.store.embedding.EmbeddingMatch;
-import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
-import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
-import dev.langchain4j.store.embedding.filter.MetadataFilterBuilder;
+import edu.zsc.ai.agent.memory.MemoryAccessTracker;
 import edu.zsc.ai.common.enums.ai.MemoryStatusEnum;
+import edu.zsc.ai.config.ai.MemoryProperties;
 import edu.zsc.ai.domain.exception.BusinessException;
 import edu.zsc.ai.domain.mapper.ai.AiMemoryMapper;
 import edu.zsc.ai.domain.model.entity.ai.AiMemory;
@@ -26,13 +31,17 @@ import edu.zsc.ai.domain.model.entity.ai.AiMemoryCandidate;
 import edu.zsc.ai.domain.service.ai.MemoryService;
 import edu.zsc.ai.domain.service.ai.model.MemorySearchResult;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MemoryServiceImpl extends ServiceImpl<AiMemoryMapper, AiMemory> implements MemoryService {
 
     private static final int MAX_SEARCH_LIMIT = 30;
     private static final int ACTIVE_MEMORY_STATUS = MemoryStatusEnum.ACTIVE.getCode();
+    private static final int ARCHIVED_MEMORY_STATUS = MemoryStatusEnum.ARCHIVED.getCode();
+    private static final double SECONDS_PER_DAY = 86_400d;
 
     private static final String METADATA_KEY_USER_ID = "userId";
     private static final String METADATA_KEY_STATUS = "status";
@@ -46,6 +55,8 @@ public class MemoryServiceImpl extends ServiceImpl<AiMemoryMapper, AiMemory> imp
 
     private final EmbeddingStore<TextSegment> memoryEmbeddingStore;
     private final EmbeddingModel embeddingModel;
+    private final MemoryProperties memoryProperties;
+    private final MemoryAccessTracker memoryAccessTracker;
 
     @Override
     public List<MemorySearchResult> searchActiveMemories(Long userId, String queryText, int limit, double minScore) {
@@ -54,21 +65,102 @@ public class MemoryServiceImpl extends ServiceImpl<AiMemoryMapper, AiMemory> imp
         }
         int safeLimit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
 
-        Embedding queryEmbedding = embeddingModel.embed(queryText).content();
+        MemoryProperties.Ranking ranking = memoryProperties.getRanking();
+        int fetchLimit = safeLimit * Math.max(1, ranking.getOverFetchFactor());
 
-        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
-                .queryEmbedding(queryEmbedding)
-                .maxResults(safeLimit)
-                .minScore(minScore)
-                .filter(MetadataFilterBuilder.metadataKey(METADATA_KEY_USER_ID).isEqualTo(userId)
-                        .and(MetadataFilterBuilder.metadataKey(METADATA_KEY_STATUS).isEqualTo(ACTIVE_MEMORY_STATUS)))
-                .build();
+        Embedding queryEmbedding = embeddingModel.embed(queryText).content();
 
-        EmbeddingSearchResult<TextSegment> searchResult = memoryEmbeddingStore.search(request);
+        // Filter on the promoted user_id/status columns so the planner can pick the per-user btree
+        // (exact scan) or the HNSW index instead of post-filtering JSONB over every user's vectors.
+        List<MemorySearchResult> candidates = baseMapper.searchByEmbedding(
+                userId, ACTIVE_MEMORY_STATUS, Arrays.toString(queryEmbedding.vector()), minScore, fetchLimit);
 
-        return searchResult.matches().stream()
-                .map(this::toMemorySearchResult)
+        LocalDateTime now = LocalDateTime.now();
+        List<MemorySearchResult> ranked = candidates.stream()
+                .sorted(Comparator.comparingDouble((MemorySearchResult r) -> rankScore(r, ranking, now)).reversed())
+                .limit(safeLimit)
                 .toList();
+
+        memoryAccessTracker.record(ranked.stream().map(MemorySearchResult::getId).toList());
+        return ranked;
+    }
+
+    @Override
+    public Optional<MemorySearchResult> findNearestActiveMemory(Long userId, Embedding embedding, double minScore) {
+        if (Objects.isNull(userId) || Objects.isNull(embedding) || Objects.isNull(embedding.vector())) {
+            return Optional.empty();
+        }
+        return baseMapper.searchByEmbedding(
+                        userId, ACTIVE_MEMORY_STATUS, Arrays.toString(embedding.vector()), minScore, 1)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Blends similarity with a saturating usage signal and an exponential recency decay.
+     * {@link MemorySearchResult#getScore()} itself stays the raw similarity.
+     */
+    private double rankScore(MemorySearchResult result, MemoryProperties.Ranking ranking, LocalDateTime now) {
+        double similarity = result.getScore();
+
+        int accessCount = Objects.requireNonNullElse(result.getAccessCount(), 0);
+        double usage = Math.min(1d, Math.log1p(accessCount) / Math.log1p(Math.max(1, ranking.getUsageSaturation())));
+
+        double recency = 0d;
+        if (Objects.nonNull(result.getLastAccessedAt()) && ranking.getRecencyHalfLifeDays() > 0) {
+            double ageDays = Math.max(0, Duration.between(result.getLastAccessedAt(), now).getSeconds()) / SECONDS_PER_DAY;
+            recency = Math.pow(0.5d, ageDays / ranking.getRecencyHalfLifeDays());
+        }
+
+        return ranking.getSimilarityWeight() * similarity
+                + ranking.getUsageWeight() * usage
+                + ranking.getRecencyWeight() * recency;
+    }
+
+    /**
+     * Archives ACTIVE memories that have not been recalled (or, if never recalled, created) within
+     * {@code memory.access.archive-after-days}. The embedding status is flipped first so a partial run
+     * only hides memories from search; the next run finishes the ai_memory rows.
+     */
+    @Scheduled(cron = "${memory.access.archive-cron:0 30 3 * * *}")
+    public void archiveStaleMemories() {
+        MemoryProperties.Access access = memoryProperties.getAccess();
+        if (!memoryProperties.isEnabled() || access.getArchiveAfterDays() <= 0) {
+            return;
+        }
+        memoryAccessTracker.flush();
+
+        LocalDateTime threshold = LocalDateTime.now().minusDays(access.getArchiveAfterDays());
+        int batchSize = Math.max(1, access.getArchiveBatchSize());
+        int archived = 0;
+        while (true) {
+            List<Long> staleIds = list(new LambdaQueryWrapper<AiMemory>()
+                    .select(AiMemory::getId)
+                    .eq(AiMemory::getStatus, ACTIVE_MEMORY_STATUS)
+                    .and(w -> w.lt(AiMemory::getLastAccessedAt, threshold)
+                            .or(o -> o.isNull(AiMemory::getLastAccessedAt).lt(AiMemory::getCreatedAt, threshold)))
+                    .orderByAsc(AiMemory::getId)
+                    .last("LIMIT " + batchSize))
+                    .stream()
+                    .map(AiMemory::getId)
+                    .toList();
+            if (staleIds.isEmpty()) {
+                break;
+            }
+
+            baseMapper.updateEmbeddingStatus(staleIds, ARCHIVED_MEMORY_STATUS);
+            update(new LambdaUpdateWrapper<AiMemory>()
+                    .in(AiMemory::getId, staleIds)
+                    .set(AiMemory::getStatus, ARCHIVED_MEMORY_STATUS)
+                    .set(AiMemory::getUpdatedAt, LocalDateTime.now()));
+            archived += staleIds.size();
+            if (staleIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} memories not accessed since {}", archived, threshold);
+        }
     }
 
     @Override
@@ -126,17 +218,4 @@ public class MemoryServiceImpl extends ServiceImpl<AiMemoryMapper, AiMemory> imp
 
         return memory;
     }
-
-    private MemorySearchResult toMemorySearchResult(EmbeddingMatch<TextSegment> match) {
-        TextSegment segment = match.embedded();
-        Metadata metadata = segment.metadata();
-
-        return MemorySearchResult.builder()
-                .id(metadata.getLong(METADATA_KEY_MEMORY_ID))
-                .memoryType(metadata.getString(METADATA_KEY_MEMORY_TYPE))
-                .content(segment.text())
-                .score(match.score())
-                .conversationId(metadata.getLong(METADATA_KEY_CONVERSATION_ID))
-                .build();
-    }
 }
@@ -0,0 +1,24 @@
+package edu.zsc.ai.domain.service.ai.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregated recall hits for one memory, accumulated in memory and flushed in a batch UPDATE.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemoryAccessHit {
+
+    private Long memoryId;
+
+    private Integer hits;
+
+    private LocalDateTime lastAccessedAt;
+}
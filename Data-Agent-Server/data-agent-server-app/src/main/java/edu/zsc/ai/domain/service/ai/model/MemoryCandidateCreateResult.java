@@ -0,0 +1,32 @@
+package edu.zsc.ai.domain.service.ai.model;
+
+import edu.zsc.ai.common.enums.ai.MemoryCandidateOutcomeEnum;
+import edu.zsc.ai.domain.model.entity.ai.AiMemoryCandidate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemoryCandidateCreateResult {
+
+    private MemoryCandidateOutcomeEnum outcome;
+
+    /**
+     * Created or merged candidate; null when the proposal duplicated an active memory.
+     */
+    private AiMemoryCandidate candidate;
+
+    /**
+     * Existing memory matched when outcome is DUPLICATE_OF_MEMORY.
+     */
+    private MemorySearchResult duplicateMemory;
+
+    /**
+     * Relevance score of the matched duplicate (same scale as memory search), 0 when created.
+     */
+    private double score;
+}
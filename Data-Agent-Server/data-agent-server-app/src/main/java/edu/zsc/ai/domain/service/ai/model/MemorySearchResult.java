@@ -1,5 +1,7 @@
 package edu.zsc.ai.domain.service.ai.model;
 
+import java.time.LocalDateTime;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,4 +22,11 @@ public class MemorySearchResult {
     private double score;
 
     private Long conversationId;
+
+    private Integer accessCount;
+
+    /**
+     * Last recall time, falling back to creation time for never-recalled memories.
+     */
+    private LocalDateTime lastAccessedAt;
 }
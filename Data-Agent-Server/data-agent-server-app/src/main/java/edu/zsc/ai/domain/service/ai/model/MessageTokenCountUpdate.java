@@ -0,0 +1,20 @@
+package edu.zsc.ai.domain.service.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Output token count of one stored AI message, applied in batches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageTokenCountUpdate {
+
+    private Long messageId;
+
+    private Integer tokenCount;
+}
@@ -0,0 +1,20 @@
+package edu.zsc.ai.domain.service.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest token count of a conversation, applied in batches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenCountUpdate {
+
+    private Long conversationId;
+
+    private Integer tokenCount;
+}
@@ -34,4 +34,14 @@ public interface DbConnectionService extends IService<DbConnection> {
     List<ConnectionResponse> getAllConnections(Long userId);
 
     void deleteConnection(Long id);
+
+    /**
+     * Remember the plugin that opened the connection and the server version it reported.
+     */
+    void saveResolvedPlugin(Long id, String pluginId, String serverVersion);
+
+    /**
+     * Forget the remembered plugin, so the next open detects it again.
+     */
+    void clearResolvedPlugin(Long id);
 }
\ No newline at end of file
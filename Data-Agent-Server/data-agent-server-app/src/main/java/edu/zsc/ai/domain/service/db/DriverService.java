@@ -1,6 +1,7 @@
 package edu.zsc.ai.domain.service.db;
 
 import edu.zsc.ai.domain.model.dto.response.db.AvailableDriverResponse;
+import edu.zsc.ai.domain.model.dto.response.db.DriverDownloadProgressResponse;
 import edu.zsc.ai.domain.model.dto.response.db.InstalledDriverResponse;
 
 import java.nio.file.Path;
@@ -45,5 +46,10 @@ public interface DriverService {
      * @param version driver version
      */
     void deleteDriver(String databaseType, String version);
+
+    /**
+     * Progress of running and recently finished driver downloads, newest first.
+     */
+    List<DriverDownloadProgressResponse> listDownloads();
 }
 
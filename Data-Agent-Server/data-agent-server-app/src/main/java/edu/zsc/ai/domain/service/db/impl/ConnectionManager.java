@@ -46,13 +46,21 @@ public class ConnectionManager {
     }
 
     /**
-     * Register a new active connection.
+     * Register a new active connection. If another caller registered the same catalog/schema first
+     * (e.g. parallel tool calls opening it concurrently), the new connection is closed and the existing
+     * one is kept.
      */
     public static void registerConnection(Long dbConnectionId, ActiveConnection activeConnection) {
         String innerKey = generateInnerKey(activeConnection.databaseName(), activeConnection.schemaName());
-        activeConnections.computeIfAbsent(dbConnectionId, k -> new ConcurrentHashMap<>())
-                .put(innerKey, activeConnection);
-        
+        ActiveConnection existing = activeConnections.computeIfAbsent(dbConnectionId, k -> new ConcurrentHashMap<>())
+                .putIfAbsent(innerKey, activeConnection);
+        if (existing != null) {
+            log.info("Connection already registered concurrently, closing duplicate: dbConnectionId={}, key={}",
+                    dbConnectionId, innerKey);
+            doClose(activeConnection);
+            return;
+        }
+
         log.info("Connection registered: dbConnectionId={}, key={}, dbType={}",
                 dbConnectionId, innerKey, activeConnection.dbType());
     }
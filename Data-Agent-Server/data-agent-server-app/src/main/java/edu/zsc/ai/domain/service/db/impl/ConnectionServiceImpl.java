@@ -17,19 +17,33 @@ import edu.zsc.ai.plugin.manager.TryFirstSuccess;
 import edu.zsc.ai.domain.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 
 import java.sql.Connection;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ConnectionServiceImpl implements ConnectionService {
 
+    /**
+     * Consecutive failures of the resolved plugin before it is detected again
+     */
+    private static final int MAX_RESOLVED_PLUGIN_FAILURES = 3;
+
     private final DbConnectionService dbConnectionService;
 
+    /**
+     * Consecutive failures of the resolved plugin per connection ID
+     */
+    private final Map<Long, Integer> resolvedPluginFailures = new ConcurrentHashMap<>();
+
     @Override
     public ConnectionTestResponse testConnection(ConnectRequest request) {
         long startTime = System.currentTimeMillis();
@@ -97,6 +111,12 @@ public class ConnectionServiceImpl implements ConnectionService {
             config.setSchema(schema);
         }
 
+        Connection remembered = connectWithResolvedPlugin(dbConnection, config);
+        if (remembered != null) {
+            registerConnection(dbConnection, remembered, dbConnection.getResolvedPluginId(), catalog, schema);
+            return Boolean.TRUE;
+        }
+
         List<ConnectionProvider> providers = DefaultPluginManager.getInstance()
                 .getConnectionProviderByDbType(dbConnection.getDbType());
         
@@ -105,18 +125,9 @@ public class ConnectionServiceImpl implements ConnectionService {
         
         BusinessException.assertNotNull(res, ResponseCode.PARAM_ERROR, ResponseMessageKey.CONNECTION_ACCESS_DENIED_MESSAGE);
 
-        ConnectionManager.ActiveConnection active = new ConnectionManager.ActiveConnection(
-                res.result(),
-                dbConnection.getUserId(),
-                connectionId,
-                dbConnection.getDbType(),
-                ((Plugin) res.candidate()).getPluginId(),
-                catalog,
-                schema,
-                LocalDateTime.now(),
-                LocalDateTime.now()
-        );
-        ConnectionManager.registerConnection(connectionId, active);
+        String pluginId = ((Plugin) res.candidate()).getPluginId();
+        rememberResolvedPlugin(dbConnection, res.candidate(), res.result(), pluginId);
+        registerConnection(dbConnection, res.result(), pluginId, catalog, schema);
 
         return Boolean.TRUE;
     }
@@ -127,4 +138,91 @@ public class ConnectionServiceImpl implements ConnectionService {
         dbConnectionService.getOwnedById(connectionId);
         ConnectionManager.closeAllConnections(connectionId);
     }
+
+    /**
+     * Open the connection with the plugin that opened it last time, skipping detection.
+     * The plugin is kept through up to {@link #MAX_RESOLVED_PLUGIN_FAILURES} consecutive failures
+     * (the server may just be down), after which it is forgotten and detection runs again.
+     *
+     * @return the connection, or null if no plugin is remembered or it has to be detected again
+     * @throws BusinessException if the remembered plugin failed but is still kept
+     */
+    private Connection connectWithResolvedPlugin(DbConnection dbConnection, ConnectionConfig config) {
+        String pluginId = dbConnection.getResolvedPluginId();
+        if (StringUtils.isBlank(pluginId)) {
+            return null;
+        }
+        Long connectionId = dbConnection.getId();
+
+        ConnectionProvider provider;
+        try {
+            provider = DefaultPluginManager.getInstance().getConnectionProviderByPluginId(pluginId);
+        } catch (RuntimeException e) {
+            log.info("Resolved plugin {} of connection {} is no longer available, detecting again", pluginId, connectionId);
+            forgetResolvedPlugin(connectionId);
+            return null;
+        }
+        if (!((Plugin) provider).getDbType().getCode().equalsIgnoreCase(dbConnection.getDbType())) {
+            forgetResolvedPlugin(connectionId);
+            return null;
+        }
+
+        try {
+            Connection connection = provider.connect(config);
+            resolvedPluginFailures.remove(connectionId);
+            return connection;
+        } catch (RuntimeException e) {
+            int failures = resolvedPluginFailures.merge(connectionId, 1, Integer::sum);
+            if (failures < MAX_RESOLVED_PLUGIN_FAILURES) {
+                log.warn("Resolved plugin {} failed to open connection {} ({} of {}): {}",
+                        pluginId, connectionId, failures, MAX_RESOLVED_PLUGIN_FAILURES, e.getMessage());
+                throw new BusinessException(ResponseCode.PARAM_ERROR, ResponseMessageKey.CONNECTION_ACCESS_DENIED_MESSAGE);
+            }
+            log.info("Resolved plugin {} failed {} times for connection {}, detecting again",
+                    pluginId, failures, connectionId);
+            forgetResolvedPlugin(connectionId);
+            return null;
+        }
+    }
+
+    private void rememberResolvedPlugin(DbConnection dbConnection, ConnectionProvider provider,
+                                        Connection connection, String pluginId) {
+        String serverVersion = null;
+        try {
+            serverVersion = provider.getDatabaseProductVersion(connection);
+        } catch (RuntimeException e) {
+            log.debug("Failed to read server version of connection {}: {}", dbConnection.getId(), e.getMessage());
+        }
+        resolvedPluginFailures.remove(dbConnection.getId());
+        if (pluginId.equals(dbConnection.getResolvedPluginId())
+                && Objects.equals(serverVersion, dbConnection.getServerVersion())) {
+            return;
+        }
+        try {
+            dbConnectionService.saveResolvedPlugin(dbConnection.getId(), pluginId, serverVersion);
+        } catch (RuntimeException e) {
+            log.warn("Failed to save resolved plugin of connection {}", dbConnection.getId(), e);
+        }
+    }
+
+    private void forgetResolvedPlugin(Long connectionId) {
+        resolvedPluginFailures.remove(connectionId);
+        dbConnectionService.clearResolvedPlugin(connectionId);
+    }
+
+    private void registerConnection(DbConnection dbConnection, Connection connection, String pluginId,
+                                    String catalog, String schema) {
+        ConnectionManager.ActiveConnection active = new ConnectionManager.ActiveConnection(
+                connection,
+                dbConnection.getUserId(),
+                dbConnection.getId(),
+                dbConnection.getDbType(),
+                pluginId,
+                catalog,
+                schema,
+                LocalDateTime.now(),
+                LocalDateTime.now()
+        );
+        ConnectionManager.registerConnection(dbConnection.getId(), active);
+    }
 }
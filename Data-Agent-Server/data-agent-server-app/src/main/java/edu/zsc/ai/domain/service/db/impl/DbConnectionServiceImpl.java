@@ -2,6 +2,7 @@ package edu.zsc.ai.domain.service.db.impl;
 
 import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import edu.zsc.ai.common.converter.db.ConnectionConverter;
@@ -20,6 +21,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
@@ -89,6 +91,7 @@ public class DbConnectionServiceImpl extends ServiceImpl<DbConnectionMapper, DbC
         long currentUserId = StpUtil.getLoginIdAsLong();
 
         DbConnection existingConnection = this.getOwnedById(connectionId);
+        List<Object> originalSettings = connectionSettings(existingConnection);
 
         DbConnection nameConflict = getByNameAndUserId(request.getName(), currentUserId);
         if (nameConflict != null && !nameConflict.getId().equals(connectionId)) {
@@ -104,6 +107,9 @@ public class DbConnectionServiceImpl extends ServiceImpl<DbConnectionMapper, DbC
         existingConnection.setProperties(JsonUtil.map2Json(request.getProperties()));
 
         this.updateById(existingConnection);
+        if (!originalSettings.equals(connectionSettings(existingConnection))) {
+            clearResolvedPlugin(connectionId);
+        }
         return ConnectionConverter.convertToResponse(existingConnection);
     }
 
@@ -139,4 +145,27 @@ public class DbConnectionServiceImpl extends ServiceImpl<DbConnectionMapper, DbC
         this.getOwnedById(connectionId);
         this.removeById(connectionId);
     }
+
+    @Override
+    public void saveResolvedPlugin(Long id, String pluginId, String serverVersion) {
+        LambdaUpdateWrapper<DbConnection> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(DbConnection::getId, id)
+                .set(DbConnection::getResolvedPluginId, pluginId)
+                .set(DbConnection::getServerVersion, serverVersion);
+        update(wrapper);
+    }
+
+    @Override
+    public void clearResolvedPlugin(Long id) {
+        saveResolvedPlugin(id, null, null);
+    }
+
+    /**
+     * Settings that decide which plugin can open the connection; a change invalidates the resolved plugin.
+     */
+    private static List<Object> connectionSettings(DbConnection connection) {
+        return Arrays.asList(connection.getDbType(), connection.getHost(), connection.getPort(),
+                connection.getDatabase(), connection.getUsername(), connection.getPassword(),
+                connection.getDriverJarPath(), connection.getProperties());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package edu.zsc.ai.domain.service.db.impl;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.time.Duration;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import edu.zsc.ai.config.db.DriverProperties;
+import edu.zsc.ai.plugin.driver.DriverLoader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Unloads driver JARs that no connection uses any more, so a server whose users install many driver
+ * versions does not keep every version's classes in Metaspace.
+ *
+ * <p>Publishes {@code driver.classloaders} (JARs loaded), {@code driver.connections.open} and
+ * {@code driver.classloaders.unloaded}; Metaspace and loaded classes are covered by the actuator's
+ * {@code jvm.memory.used{id="Metaspace"}} and {@code jvm.classes.loaded}.
+ */
+@Slf4j
+@Component
+public class DriverClassLoaderMonitor {
+
+    private static final String METASPACE_POOL = "Metaspace";
+
+    private final DriverProperties driverProperties;
+
+    public DriverClassLoaderMonitor(DriverProperties driverProperties, MeterRegistry meterRegistry) {
+        this.driverProperties = driverProperties;
+        Gauge.builder("driver.classloaders", DriverLoader::getLoadedJarCount)
+                .description("Driver JARs with a loaded class loader")
+                .register(meterRegistry);
+        Gauge.builder("driver.connections.open", DriverLoader::getOpenConnectionCount)
+                .description("Open connections of driver JARs, which keep them loaded")
+                .register(meterRegistry);
+        FunctionCounter.builder("driver.classloaders.unloaded", this, monitor -> DriverLoader.getUnloadedJarCount())
+                .description("Driver class loaders closed since startup")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${driver.idle-check-interval-ms:60000}")
+    public void unloadIdleDrivers() {
+        if (driverProperties.getIdleUnloadMinutes() <= 0) {
+            return;
+        }
+        int unloaded = DriverLoader.unloadIdleDrivers(Duration.ofMinutes(driverProperties.getIdleUnloadMinutes()));
+        if (unloaded == 0) {
+            return;
+        }
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        log.info("Unloaded {} idle driver JAR(s), {} still loaded; metaspace used={} KB, classes loaded={}",
+                unloaded, DriverLoader.getLoadedJarCount(), metaspaceUsedKb(), classLoading.getLoadedClassCount());
+    }
+
+    private static long metaspaceUsedKb() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (METASPACE_POOL.equals(pool.getName())) {
+                return pool.getUsage().getUsed() / 1024;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,9 +1,13 @@
 package edu.zsc.ai.domain.service.db.impl;
 
+import edu.zsc.ai.config.db.DriverProperties;
 import edu.zsc.ai.domain.exception.BusinessException;
 import edu.zsc.ai.domain.model.dto.response.db.AvailableDriverResponse;
+import edu.zsc.ai.domain.model.dto.response.db.DriverDownloadProgressResponse;
 import edu.zsc.ai.domain.model.dto.response.db.InstalledDriverResponse;
 import edu.zsc.ai.plugin.Plugin;
+import edu.zsc.ai.plugin.driver.DriverLoader;
+import edu.zsc.ai.plugin.driver.DriverRepositorySource;
 import edu.zsc.ai.plugin.driver.DriverStorageManager;
 import edu.zsc.ai.plugin.driver.MavenDriverDownloader;
 import edu.zsc.ai.plugin.driver.MavenMetadataClient;
@@ -14,10 +18,13 @@ import edu.zsc.ai.domain.service.db.DriverService;
 import edu.zsc.ai.util.DriverFileUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Service;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -33,8 +40,10 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@EnableConfigurationProperties(DriverProperties.class)
 public class DriverServiceImpl implements DriverService {
 
+    private final DriverProperties driverProperties;
 
     @Override
     public Path downloadDriver(String databaseType, String version) {
@@ -59,8 +68,9 @@ public class DriverServiceImpl implements DriverService {
         Path driverPath = MavenDriverDownloader.downloadDriver(
                 downloadCoordinates,
                 dbType,
-                null,  // Use default storage directory
-                null   // Use default Maven Central URL
+                driverProperties.getStorageDir(),
+                repositorySources(),
+                driverProperties.isRequireChecksum()
         );
 
         log.info("Successfully downloaded driver for database type {}: {}", databaseType, driverPath);
@@ -90,7 +100,8 @@ public class DriverServiceImpl implements DriverService {
         List<String> versions = MavenMetadataClient.queryVersions(
                 coords.getGroupId(),
                 coords.getArtifactId(),
-                null  // Use default Maven Central URL
+                driverProperties.getRemoteUrl(),
+                Duration.ofMinutes(driverProperties.getMetadataCacheTtlMinutes())
         );
 
         DbType dbType = plugin.getDbType();
@@ -111,7 +122,7 @@ public class DriverServiceImpl implements DriverService {
     @Override
     public List<InstalledDriverResponse> listInstalledDrivers(String databaseType) {
         List<InstalledDriverResponse> installedDrivers = new ArrayList<>();
-        Path baseDir = DriverStorageManager.getStorageDirectory(null, DbType.MYSQL).getParent();
+        Path baseDir = DriverStorageManager.getStorageDirectory(driverProperties.getStorageDir(), DbType.MYSQL).getParent();
 
         if (!Files.exists(baseDir) || !Files.isDirectory(baseDir)) {
             return installedDrivers;
@@ -127,6 +138,43 @@ public class DriverServiceImpl implements DriverService {
         return installedDrivers;
     }
 
+    @Override
+    public List<DriverDownloadProgressResponse> listDownloads() {
+        return MavenDriverDownloader.getDownloads().stream()
+                .map(progress -> DriverDownloadProgressResponse.builder()
+                        .fileName(progress.getFileName())
+                        .mavenCoordinates(progress.getCoordinates())
+                        .source(progress.getSource())
+                        .state(progress.getState().name())
+                        .bytesDownloaded(progress.getBytesDownloaded())
+                        .totalBytes(progress.getTotalBytes())
+                        .error(progress.getError())
+                        .startedAt(progress.getStartedAt())
+                        .finishedAt(progress.getFinishedAt())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Repository sources to acquire drivers from, in order: local Maven repository, mirror, remote.
+     */
+    private List<DriverRepositorySource> repositorySources() {
+        List<DriverRepositorySource> sources = new ArrayList<>();
+        if (driverProperties.isUseLocalMaven()) {
+            sources.add(DriverRepositorySource.localMaven());
+        }
+        if (StringUtils.isNotBlank(driverProperties.getMirror())) {
+            sources.add(DriverRepositorySource.mirror(driverProperties.getMirror()));
+        }
+        if (driverProperties.isRemoteEnabled()) {
+            sources.add(DriverRepositorySource.remote(driverProperties.getRemoteUrl()));
+        }
+        if (sources.isEmpty()) {
+            throw new BusinessException(400, "No driver repository source is configured");
+        }
+        return sources;
+    }
+
     /**
      * Get set of installed versions for a database type and artifact.
      *
@@ -161,7 +209,10 @@ public class DriverServiceImpl implements DriverService {
                     "Driver not found: " + databaseType + "/" + version);
         }
 
-        // Step 3: Delete file
+        // Step 3: Drop the loaded driver and close its class loader, which also releases the JAR file
+        DriverLoader.unloadDriver(targetDriver.getFilePath());
+
+        // Step 4: Delete file
         Path driverFilePath = Path.of(targetDriver.getFilePath());
         DriverStorageManager.deleteDriver(driverFilePath);
         log.info("Successfully deleted driver: {}", driverFilePath);
@@ -1,5 +1,6 @@
 package edu.zsc.ai.domain.service.db.impl;
 
+import edu.zsc.ai.agent.cancel.ChatCancellationToken;
 import edu.zsc.ai.common.converter.db.SqlExecutionConverter;
 import edu.zsc.ai.domain.model.dto.request.db.AgentExecuteSqlRequest;
 import edu.zsc.ai.domain.model.dto.response.db.ExecuteSqlResponse;
@@ -13,6 +14,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -44,7 +50,22 @@ public class SqlExecutionServiceImpl implements SqlExecutionService {
         pluginRequest.setSchema(schemaName);
         pluginRequest.setNeedTransaction(false);
 
-        SqlCommandResult result = executor.executeCommand(pluginRequest);
+        ChatCancellationToken cancellationToken = request.getCancellationToken();
+        AtomicReference<ChatCancellationToken.Registration> cancelRegistration = new AtomicReference<>();
+        if (Objects.nonNull(cancellationToken)) {
+            pluginRequest.setStatementListener(statement ->
+                    cancelRegistration.set(cancellationToken.onCancel(() -> cancelStatement(statement, connectionId))));
+        }
+
+        SqlCommandResult result;
+        try {
+            result = executor.executeCommand(pluginRequest);
+        } finally {
+            ChatCancellationToken.Registration registration = cancelRegistration.get();
+            if (Objects.nonNull(registration)) {
+                registration.close();
+            }
+        }
 
         ExecuteSqlResponse response = SqlExecutionConverter.toResponse(result);
         if (response != null) {
@@ -53,4 +74,13 @@ public class SqlExecutionServiceImpl implements SqlExecutionService {
         }
         return response;
     }
+
+    private static void cancelStatement(Statement statement, Long connectionId) {
+        try {
+            statement.cancel();
+            log.info("Cancelled running statement on connection {}", connectionId);
+        } catch (SQLException e) {
+            log.warn("Failed to cancel running statement on connection {}: {}", connectionId, e.getMessage());
+        }
+    }
 }
@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.OptionalLong;
 
 @Slf4j
 @Service
@@ -92,7 +93,11 @@ public class TableServiceImpl implements TableService {
 
         int offset = (currentPage - 1) * pageSize;
 
-        long totalCount = provider.getTableDataCount(active.connection(), catalog, schema, tableName);
+        // Paging tolerates an estimated total; countTableRows stays exact
+        OptionalLong estimate = provider.estimateTableDataCount(active.connection(), catalog, schema, tableName);
+        long totalCount = estimate.isPresent()
+                ? estimate.getAsLong()
+                : provider.getTableDataCount(active.connection(), catalog, schema, tableName);
 
         SqlCommandResult result = provider.getTableData(active.connection(), catalog, schema, tableName, offset, pageSize);
 
@@ -102,6 +107,7 @@ public class TableServiceImpl implements TableService {
                 .headers(result.getHeaders())
                 .rows(result.getRows())
                 .totalCount(totalCount)
+                .totalCountApproximate(estimate.isPresent())
                 .currentPage(currentPage)
                 .pageSize(pageSize)
                 .totalPages(totalPages)
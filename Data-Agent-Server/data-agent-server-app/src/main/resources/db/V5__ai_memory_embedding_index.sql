@@ -0,0 +1,41 @@
+-- ===============================================
+-- AI: Memory vector store indexes
+-- Table: ai_memory_embedding (created by PgVectorEmbeddingStore)
+-- ===============================================
+-- The application applies the same statements at startup when memory.index.auto-create=true.
+-- Run this script manually (off-peak) on large installations: building HNSW over existing rows
+-- can take minutes, and CONCURRENTLY avoids blocking writers while it does.
+
+CREATE EXTENSION IF NOT EXISTS vector;
+
+CREATE TABLE IF NOT EXISTS ai_memory_embedding (
+    embedding_id  UUID PRIMARY KEY,
+    embedding     vector(1024),
+    text          TEXT NULL,
+    metadata      JSONB NULL
+);
+
+-- Promote the filter keys out of metadata; PostgreSQL back-fills STORED columns for existing rows.
+ALTER TABLE ai_memory_embedding
+    ADD COLUMN IF NOT EXISTS user_id BIGINT GENERATED ALWAYS AS ((metadata ->> 'userId')::BIGINT) STORED;
+ALTER TABLE ai_memory_embedding
+    ADD COLUMN IF NOT EXISTS status SMALLINT GENERATED ALWAYS AS ((metadata ->> 'status')::SMALLINT) STORED;
+
+COMMENT ON COLUMN ai_memory_embedding.user_id IS 'Owner user id, generated from metadata.userId';
+COMMENT ON COLUMN ai_memory_embedding.status IS 'Memory lifecycle status, generated from metadata.status';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ai_memory_embedding_user_status
+    ON ai_memory_embedding (user_id, status);
+
+-- Archiving updates the status of a batch of memories by metadata.memoryId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ai_memory_embedding_memory_id
+    ON ai_memory_embedding (((metadata ->> 'memoryId')::BIGINT));
+
+-- Replace the IVFFlat index previously created by useIndex(true)
+DROP INDEX CONCURRENTLY IF EXISTS ai_memory_embedding_ivfflat_index;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ai_memory_embedding_hnsw
+    ON ai_memory_embedding USING hnsw (embedding vector_cosine_ops)
+    WITH (m = 16, ef_construction = 64);
+
+ANALYZE ai_memory_embedding;
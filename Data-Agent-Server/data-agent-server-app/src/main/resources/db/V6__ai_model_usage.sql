@@ -0,0 +1,30 @@
+-- ===============================================
+-- AI: Token usage per model
+-- Table: ai_model_usage
+-- ===============================================
+
+CREATE TABLE IF NOT EXISTS ai_model_usage (
+    id             BIGSERIAL PRIMARY KEY,
+    user_id        BIGINT NOT NULL,
+    model_name     VARCHAR(64) NOT NULL,
+    usage_date     DATE NOT NULL,
+    request_count  INT NOT NULL DEFAULT 0,
+    input_tokens   BIGINT NOT NULL DEFAULT 0,
+    output_tokens  BIGINT NOT NULL DEFAULT 0,
+    total_tokens   BIGINT NOT NULL DEFAULT 0,
+    created_at     TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at     TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_ai_model_usage_user_model_date UNIQUE (user_id, model_name, usage_date)
+);
+
+COMMENT ON TABLE ai_model_usage IS 'Daily token usage per user and model, for cost reporting';
+COMMENT ON COLUMN ai_model_usage.user_id IS 'User id';
+COMMENT ON COLUMN ai_model_usage.model_name IS 'Chat model name, e.g. qwen3-max';
+COMMENT ON COLUMN ai_model_usage.usage_date IS 'Day the usage was recorded (server local date)';
+COMMENT ON COLUMN ai_model_usage.request_count IS 'Completed model responses';
+COMMENT ON COLUMN ai_model_usage.input_tokens IS 'Prompt tokens';
+COMMENT ON COLUMN ai_model_usage.output_tokens IS 'Completion tokens';
+COMMENT ON COLUMN ai_model_usage.total_tokens IS 'Total tokens as reported by the model';
+
+CREATE INDEX IF NOT EXISTS idx_ai_model_usage_date_model
+    ON ai_model_usage (usage_date, model_name);
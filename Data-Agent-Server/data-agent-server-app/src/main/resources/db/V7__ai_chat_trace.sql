@@ -0,0 +1,35 @@
+-- ===============================================
+-- AI: Per-turn chat traces
+-- Table: ai_chat_trace
+-- ===============================================
+
+CREATE TABLE IF NOT EXISTS ai_chat_trace (
+    id               BIGSERIAL PRIMARY KEY,
+    conversation_id  BIGINT NOT NULL,
+    user_id          BIGINT,
+    model_name       VARCHAR(64),
+    status           VARCHAR(16) NOT NULL,
+    duration_ms      BIGINT NOT NULL,
+    span_count       INT NOT NULL DEFAULT 0,
+    dropped_spans    INT NOT NULL DEFAULT 0,
+    spans            TEXT,
+    started_at       TIMESTAMP NOT NULL,
+    created_at       TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE ai_chat_trace IS 'Timeline of one chat turn: memory preload, model, tool, database and chat memory spans';
+COMMENT ON COLUMN ai_chat_trace.conversation_id IS 'Conversation id';
+COMMENT ON COLUMN ai_chat_trace.user_id IS 'User id';
+COMMENT ON COLUMN ai_chat_trace.model_name IS 'Chat model name, e.g. qwen3-max';
+COMMENT ON COLUMN ai_chat_trace.status IS 'Turn outcome: ok, error or cancelled';
+COMMENT ON COLUMN ai_chat_trace.duration_ms IS 'Wall time of the turn in milliseconds';
+COMMENT ON COLUMN ai_chat_trace.span_count IS 'Spans recorded, including dropped ones';
+COMMENT ON COLUMN ai_chat_trace.dropped_spans IS 'Spans beyond chat.trace.max-spans-per-turn, not kept in spans';
+COMMENT ON COLUMN ai_chat_trace.spans IS 'JSON array of spans ordered by start offset';
+COMMENT ON COLUMN ai_chat_trace.started_at IS 'Turn start time';
+
+CREATE INDEX IF NOT EXISTS idx_ai_chat_trace_conversation_started
+    ON ai_chat_trace (conversation_id, started_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_ai_chat_trace_started
+    ON ai_chat_trace (started_at);
@@ -0,0 +1,10 @@
+-- ===============================================
+-- Database: Resolved plugin per connection
+-- Table: db_connections
+-- ===============================================
+
+ALTER TABLE db_connections ADD COLUMN IF NOT EXISTS resolved_plugin_id VARCHAR(100);
+ALTER TABLE db_connections ADD COLUMN IF NOT EXISTS server_version VARCHAR(100);
+
+COMMENT ON COLUMN db_connections.resolved_plugin_id IS 'Plugin that last opened this connection, tried first on the next open; cleared when connection settings change';
+COMMENT ON COLUMN db_connections.server_version IS 'Database server version reported when the plugin was resolved';
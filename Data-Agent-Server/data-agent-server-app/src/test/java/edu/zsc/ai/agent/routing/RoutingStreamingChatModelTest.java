@@ -0,0 +1,214 @@
+package edu.zsc.ai.agent.routing;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCallContext;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.chat.response.StreamingHandle;
+import edu.zsc.ai.config.ai.ModelRoutingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingStreamingChatModelTest {
+
+    private static final ToolExecutionRequest SEARCH = ToolExecutionRequest.builder()
+            .id("1").name("searchObjects").arguments("{}").build();
+
+    private static final ToolExecutionRequest EXECUTE = ToolExecutionRequest.builder()
+            .id("2").name("executeSelectSql").arguments("{}").build();
+
+    private final List<String> received = new ArrayList<>();
+
+    private ChatResponse completed;
+
+    private int premiumCalls;
+
+    @Test
+    void testFastAnswerEscalatesOnItsFirstChunk() {
+        FastModel fast = new FastModel((handler, handle) -> {
+            for (String chunk : List.of("The ", "answer ", "is")) {
+                if (handle.isCancelled()) {
+                    return;
+                }
+                handler.onPartialResponse(new PartialResponse(chunk), new PartialResponseContext(handle));
+            }
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("The answer is")).build());
+        });
+
+        chat(fast);
+
+        assertTrue(fast.handle.isCancelled());
+        assertEquals(1, fast.emitted);
+        assertEquals(1, premiumCalls);
+        assertEquals(List.of("premium"), received);
+        RoutedResponseMetadata metadata = (RoutedResponseMetadata) completed.metadata();
+        assertEquals("premium-model", metadata.modelName());
+        assertEquals("fast-model", metadata.discardedModelName());
+    }
+
+    @Test
+    void testFastCallOfAnotherToolEscalatesOnItsFirstChunk() {
+        FastModel fast = new FastModel((handler, handle) -> {
+            handler.onPartialToolCall(PartialToolCall.builder().index(0).id(EXECUTE.id()).name(EXECUTE.name())
+                    .partialArguments("{").build(), new PartialToolCallContext(handle));
+            if (!handle.isCancelled()) {
+                handler.onCompleteToolCall(new CompleteToolCall(0, EXECUTE));
+                handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from(List.of(EXECUTE))).build());
+            }
+        });
+
+        chat(fast);
+
+        assertTrue(fast.handle.isCancelled());
+        assertEquals(1, premiumCalls);
+        assertEquals(List.of("premium"), received);
+    }
+
+    @Test
+    void testFastToolCallIsReplayedAndAccepted() {
+        FastModel fast = new FastModel((handler, handle) -> {
+            handler.onPartialToolCall(PartialToolCall.builder().index(0).id(SEARCH.id()).name(SEARCH.name())
+                    .partialArguments("{}").build(), new PartialToolCallContext(handle));
+            handler.onCompleteToolCall(new CompleteToolCall(0, SEARCH));
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from(List.of(SEARCH))).build());
+        });
+
+        chat(fast);
+
+        assertFalse(fast.handle.isCancelled());
+        assertEquals(0, premiumCalls);
+        assertEquals(List.of("tool searchObjects", "call searchObjects"), received);
+        assertEquals("fast-model", completed.metadata().modelName());
+    }
+
+    private void chat(StreamingChatModel fast) {
+        ModelRoutingProperties properties = new ModelRoutingProperties();
+        properties.setEnabled(false);
+        ModelRouter router = new ModelRouter(properties, Map.of(), new SimpleMeterRegistry(), List.of());
+        RoutingStreamingChatModel model = new RoutingStreamingChatModel("premium-model", new PremiumModel(),
+                "fast-model", fast, Set.of(SEARCH.name()), router);
+
+        // A follow-up step of discovery: the request ends in the result of a fast tool
+        ChatRequest request = ChatRequest.builder().messages(List.of(
+                UserMessage.from("how many orders?"),
+                AiMessage.from(List.of(SEARCH)),
+                ToolExecutionResultMessage.from(SEARCH, "orders"))).build();
+        model.chat(request, new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                received.add(partialResponse);
+            }
+
+            @Override
+            public void onPartialToolCall(PartialToolCall partialToolCall) {
+                received.add("tool " + partialToolCall.name());
+            }
+
+            @Override
+            public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+                received.add("call " + completeToolCall.toolExecutionRequest().name());
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse response) {
+                completed = response;
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                fail(error);
+            }
+        });
+        assertNotNull(completed);
+    }
+
+    private class PremiumModel implements StreamingChatModel {
+
+        @Override
+        public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+            premiumCalls++;
+            handler.onPartialResponse("premium");
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("premium")).build());
+        }
+    }
+
+    /**
+     * Streams synchronously through {@code script}, counting the callbacks it delivers.
+     */
+    private static class FastModel implements StreamingChatModel {
+
+        private final BiConsumer<StreamingChatResponseHandler, StreamingHandle> script;
+
+        private final Handle handle = new Handle();
+
+        private int emitted;
+
+        private FastModel(BiConsumer<StreamingChatResponseHandler, StreamingHandle> script) {
+            this.script = script;
+        }
+
+        @Override
+        public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+            script.accept(new StreamingChatResponseHandler() {
+                @Override
+                public void onPartialResponse(PartialResponse partialResponse, PartialResponseContext context) {
+                    emitted++;
+                    handler.onPartialResponse(partialResponse, context);
+                }
+
+                @Override
+                public void onPartialToolCall(PartialToolCall partialToolCall, PartialToolCallContext context) {
+                    emitted++;
+                    handler.onPartialToolCall(partialToolCall, context);
+                }
+
+                @Override
+                public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+                    handler.onCompleteToolCall(completeToolCall);
+                }
+
+                @Override
+                public void onCompleteResponse(ChatResponse response) {
+                    handler.onCompleteResponse(response);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    handler.onError(error);
+                }
+            }, handle);
+        }
+    }
+
+    private static class Handle implements StreamingHandle {
+
+        private boolean cancelled;
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
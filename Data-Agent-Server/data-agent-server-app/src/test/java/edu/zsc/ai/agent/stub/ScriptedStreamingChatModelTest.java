@@ -0,0 +1,123 @@
+package edu.zsc.ai.agent.stub;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.service.AiServices;
+import dev.langchain4j.service.TokenStream;
+import edu.zsc.ai.config.ai.StubModelProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptedStreamingChatModelTest {
+
+    private ScriptedStreamingChatModel model;
+
+    @BeforeEach
+    void setUp() {
+        StubModelProperties.ToolCall toolCall = new StubModelProperties.ToolCall();
+        toolCall.setName("lookup");
+        toolCall.setArguments("{\"key\":\"orders-by-region\"}");
+        StubModelProperties properties = new StubModelProperties();
+        properties.setFirstTokenLatencyMs(0);
+        properties.setTokenLatencyMs(0);
+        properties.setAnswerTokens(3);
+        properties.setToolCalls(List.of(toolCall));
+        model = new ScriptedStreamingChatModel("stub", properties);
+    }
+
+    @Test
+    void testToolCallIsCompletedBeforeTheResponse() throws Exception {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<ChatResponse> done = new CompletableFuture<>();
+
+        model.chat(ChatRequest.builder().messages(UserMessage.from("go")).build(), new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                events.add("partial response");
+            }
+
+            @Override
+            public void onPartialToolCall(PartialToolCall partialToolCall) {
+                events.add("partial tool call");
+            }
+
+            @Override
+            public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+                events.add("complete tool call " + completeToolCall.index() + " "
+                        + completeToolCall.toolExecutionRequest().name());
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                events.add("complete response");
+                done.complete(completeResponse);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.completeExceptionally(error);
+            }
+        });
+
+        ChatResponse response = done.get(5, TimeUnit.SECONDS);
+        assertTrue(response.aiMessage().hasToolExecutionRequests());
+        assertEquals(List.of("complete tool call 0 lookup", "complete response"),
+                events.subList(events.size() - 2, events.size()));
+        assertTrue(events.subList(0, events.size() - 2).stream().allMatch("partial tool call"::equals));
+    }
+
+    @Test
+    void testScriptedToolRunsBeforeTheAnswer() throws Exception {
+        LookupTools tools = new LookupTools();
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .streamingChatModel(model)
+                .chatMemory(MessageWindowChatMemory.withMaxMessages(20))
+                .tools(tools)
+                .executeToolsConcurrently(Runnable::run)
+                .build();
+
+        CompletableFuture<String> answer = new CompletableFuture<>();
+        List<String> results = Collections.synchronizedList(new ArrayList<>());
+        assistant.chat("go")
+                .onPartialResponse(ignored -> {
+                })
+                .onToolExecuted(execution -> results.add(execution.result()))
+                .onCompleteResponse(response -> answer.complete(response.aiMessage().text()))
+                .onError(answer::completeExceptionally)
+                .start();
+
+        assertEquals("Stub token1 token2", answer.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("orders-by-region"), tools.keys);
+        assertEquals(List.of("found orders-by-region"), results);
+    }
+
+    interface Assistant {
+
+        TokenStream chat(String message);
+    }
+
+    public static class LookupTools {
+
+        private final List<String> keys = Collections.synchronizedList(new ArrayList<>());
+
+        @Tool("Looks a key up")
+        public String lookup(String key) {
+            keys.add(key);
+            return "found " + key;
+        }
+    }
+}
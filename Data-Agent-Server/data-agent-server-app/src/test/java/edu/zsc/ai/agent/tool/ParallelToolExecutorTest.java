@@ -0,0 +1,196 @@
+package edu.zsc.ai.agent.tool;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.service.AiServices;
+import dev.langchain4j.service.TokenStream;
+import edu.zsc.ai.agent.annotation.AgentTool;
+import edu.zsc.ai.config.ai.AgentToolProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs tool calls through the real LangChain4j streaming handler, which submits each call from
+ * {@code onCompleteToolCall} before the response completes.
+ */
+class ParallelToolExecutorTest {
+
+    private static final String CALLBACK_THREAD = "model-callback";
+
+    private final ReadTools readTools = new ReadTools();
+
+    private final WriteTools writeTools = new WriteTools();
+
+    private final List<String> results = Collections.synchronizedList(new ArrayList<>());
+
+    private ParallelToolExecutor executor;
+
+    private ExecutorService callbackThread;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ParallelToolExecutor(List.of(readTools, writeTools), new AgentToolProperties());
+        callbackThread = Executors.newSingleThreadExecutor(r -> new Thread(r, CALLBACK_THREAD));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+        callbackThread.shutdownNow();
+    }
+
+    @Test
+    void testParallelSafeCallsRunConcurrently() throws Exception {
+        String answer = chat(call("1", "pair", "a"), call("2", "pair", "b"));
+
+        assertEquals("done", answer);
+        assertEquals(Set.of("pair a concurrent", "pair b concurrent"), Set.copyOf(results));
+        assertTrue(readTools.threads.values().stream().allMatch(name -> name.startsWith("agent-tool-")));
+    }
+
+    @Test
+    void testUnsafeCallRunsInlineAndAlone() throws Exception {
+        chat(call("1", "peek", "a"), call("2", "write", "x"), call("3", "peek", "b"));
+
+        assertEquals(Set.of("peek a", "write x", "peek b"), Set.copyOf(results));
+        assertEquals(List.of("peek a start", "peek a end", "write x start", "write x end", "peek b start", "peek b end"),
+                readTools.events);
+        assertEquals(CALLBACK_THREAD, writeTools.thread);
+    }
+
+    @Test
+    void testNothingIsLeftOnTheCallbackThread() throws Exception {
+        chat(call("1", "pair", "a"), call("2", "pair", "b"));
+
+        String thread = CompletableFuture.supplyAsync(() -> {
+            String[] ranOn = new String[1];
+            executor.execute(() -> ranOn[0] = Thread.currentThread().getName());
+            return ranOn[0];
+        }, callbackThread).get(5, TimeUnit.SECONDS);
+        assertEquals(CALLBACK_THREAD, thread);
+    }
+
+    private String chat(ToolExecutionRequest... calls) throws Exception {
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .streamingChatModel(executor.decorate(new ScriptedModel(List.of(calls))))
+                .chatMemory(MessageWindowChatMemory.withMaxMessages(20))
+                .tools(readTools, writeTools)
+                .executeToolsConcurrently(executor)
+                .build();
+
+        CompletableFuture<String> answer = new CompletableFuture<>();
+        assistant.chat("go")
+                .onPartialResponse(ignored -> {
+                })
+                .onToolExecuted(execution -> results.add(execution.result()))
+                .onCompleteResponse(response -> answer.complete(response.aiMessage().text()))
+                .onError(answer::completeExceptionally)
+                .start();
+        return answer.get(10, TimeUnit.SECONDS);
+    }
+
+    private static ToolExecutionRequest call(String id, String name, String value) {
+        return ToolExecutionRequest.builder().id(id).name(name).arguments("{\"value\":\"" + value + "\"}").build();
+    }
+
+    interface Assistant {
+
+        TokenStream chat(String message);
+    }
+
+    /**
+     * Streams the scripted tool calls like a provider does, then answers once their results are in.
+     */
+    private class ScriptedModel implements StreamingChatModel {
+
+        private final List<ToolExecutionRequest> calls;
+
+        private ScriptedModel(List<ToolExecutionRequest> calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+            List<ChatMessage> messages = request.messages();
+            boolean answered = messages.get(messages.size() - 1) instanceof ToolExecutionResultMessage;
+            callbackThread.execute(() -> {
+                if (answered) {
+                    handler.onPartialResponse("done");
+                    handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("done")).build());
+                    return;
+                }
+                for (int i = 0; i < calls.size(); i++) {
+                    ToolExecutionRequest call = calls.get(i);
+                    handler.onPartialToolCall(PartialToolCall.builder()
+                            .index(i).id(call.id()).name(call.name()).partialArguments(call.arguments()).build());
+                    handler.onCompleteToolCall(new CompleteToolCall(i, call));
+                }
+                handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from(calls)).build());
+            });
+        }
+    }
+
+    @AgentTool(parallelSafe = true)
+    public static class ReadTools {
+
+        private final CountDownLatch pairRunning = new CountDownLatch(2);
+
+        private final Map<String, String> threads = new ConcurrentHashMap<>();
+
+        private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        @Tool("Waits until the other pair call runs as well")
+        public String pair(String value) throws InterruptedException {
+            threads.put(value, Thread.currentThread().getName());
+            pairRunning.countDown();
+            return "pair " + value + (pairRunning.await(5, TimeUnit.SECONDS) ? " concurrent" : " alone");
+        }
+
+        @Tool("Reads slowly")
+        public String peek(String value) throws InterruptedException {
+            events.add("peek " + value + " start");
+            Thread.sleep(100);
+            events.add("peek " + value + " end");
+            return "peek " + value;
+        }
+    }
+
+    @AgentTool
+    public class WriteTools {
+
+        private volatile String thread;
+
+        @Tool("Writes")
+        public String write(String value) {
+            thread = Thread.currentThread().getName();
+            readTools.events.add("write " + value + " start");
+            readTools.events.add("write " + value + " end");
+            return "write " + value;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package edu.zsc.ai.agent.tool.budget;
+
+import edu.zsc.ai.agent.tool.model.AgentToolResult;
+import edu.zsc.ai.agent.tool.sql.model.AgentSqlColumn;
+import edu.zsc.ai.agent.tool.sql.model.AgentSqlResult;
+import edu.zsc.ai.agent.tool.sql.model.ObjectDetail;
+import edu.zsc.ai.agent.tool.sql.model.ObjectSearchResponse;
+import edu.zsc.ai.agent.tool.sql.model.ObjectSearchResult;
+import edu.zsc.ai.common.enums.ai.ToolNameEnum;
+import edu.zsc.ai.config.ai.AgentToolProperties;
+import edu.zsc.ai.util.JsonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolOutputBudgetTest {
+
+    private AgentToolProperties properties;
+
+    private ToolOutputBudget budget;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AgentToolProperties();
+        budget = new ToolOutputBudget(properties);
+    }
+
+    @Test
+    void testResultWithinBudgetIsUntouched() {
+        AgentSqlResult result = sqlResult(0, 5);
+
+        budget.fit(result, ToolNameEnum.EXECUTE_SELECT_SQL, 50);
+
+        assertEquals(5, result.getRows().size());
+        assertNull(result.getElided());
+        assertNull(result.getColumnStats());
+    }
+
+    @Test
+    void testRowsAreSampledUntilTheResultFits() {
+        properties.getBudget().setDefaultChars(3_000);
+        AgentSqlResult result = sqlResult(0, 1_000);
+
+        budget.fit(result, ToolNameEnum.EXECUTE_SELECT_SQL, 200);
+
+        assertTrue(JsonUtil.object2json(result).length() <= 3_000);
+        int keep = result.getRows().size();
+        assertTrue(keep > 0 && keep < 200);
+        // Halving from 200 keeps the largest sample that fits, so twice as many rows would not have
+        assertTrue(JsonUtil.object2json(sqlResult(0, keep * 2)).length() > 3_000);
+        assertEquals(List.of("row-1", 1), result.getRows().get(0));
+        assertEquals(List.of("row-1000", 1000), result.getRows().get(keep - 1));
+        assertEquals(2, result.getColumnStats().size());
+        assertTrue(result.getElided().contains("of 1000 elided"));
+    }
+
+    @Test
+    void testPageRowsAreNamedByTheirPositionInTheWholeResult() {
+        properties.getBudget().setDefaultChars(3_000);
+        AgentSqlResult page = sqlResult(400, 200);
+
+        budget.fit(page, ToolNameEnum.READ_RESULT_ROWS, 200, 400);
+
+        int keep = page.getRows().size();
+        int tail = keep / 4;
+        int head = keep - tail;
+        assertEquals(List.of("row-401", 401), page.getRows().get(0));
+        assertTrue(page.getElided().startsWith(
+                "rows " + (401 + head) + "-" + (600 - tail) + " of this page (rows 401-600) elided"), page.getElided());
+    }
+
+    @Test
+    void testSearchMatchesAreCutToFit() {
+        properties.getBudget().setDefaultChars(2_000);
+        List<ObjectSearchResult> matches = IntStream.range(0, 100)
+                .mapToObj(i -> new ObjectSearchResult(1L, "local", "MYSQL", "shop", null, "table_" + i, "TABLE"))
+                .toList();
+        AgentToolResult result = AgentToolResult.success(new ObjectSearchResponse(matches, 100, false));
+
+        budget.fit(result, ToolNameEnum.SEARCH_OBJECTS);
+
+        ObjectSearchResponse response = (ObjectSearchResponse) result.getResult();
+        assertTrue(JsonUtil.object2json(response).length() <= 2_000);
+        assertTrue(response.truncated());
+        assertEquals(matches.subList(0, response.results().size()), response.results());
+        assertTrue(result.getMessage().contains((100 - response.results().size()) + " of 100 matches"));
+    }
+
+    @Test
+    void testDdlIsCutWhenTheOverflowIsMoreThanHalfOfIt() {
+        properties.getBudget().setDefaultChars(250);
+        String ddl = "CREATE TABLE t (" + "x".repeat(500) + ")";
+        AgentToolResult result = AgentToolResult.success(new ObjectDetail(ddl, 10L, List.of()));
+        int overflow = JsonUtil.object2json(result).length() - 250;
+        assertTrue(ddl.length() <= 2 * overflow);
+
+        budget.fit(result, ToolNameEnum.GET_OBJECT_DETAIL);
+
+        String shortened = ((ObjectDetail) result.getResult()).ddl();
+        assertTrue(ddl.length() - shortened.length() >= overflow);
+        assertTrue(shortened.startsWith("CREATE TABLE t ("));
+        assertTrue(shortened.contains("chars elided"));
+        assertTrue(result.getMessage().contains("DDL chars from the middle"));
+    }
+
+    @Test
+    void testDdlLongerThanTheBudgetAllowsIsDroppedWhole() {
+        properties.getBudget().setDefaultChars(120);
+        String ddl = "CREATE VIEW v AS SELECT " + "c".repeat(100);
+        AgentToolResult result = AgentToolResult.success(new ObjectDetail(ddl, null, List.of()));
+
+        budget.fit(result, ToolNameEnum.GET_OBJECT_DETAIL);
+
+        String shortened = ((ObjectDetail) result.getResult()).ddl();
+        assertFalse(shortened.contains("CREATE VIEW"));
+        assertTrue(result.getMessage().contains("the whole DDL (" + ddl.length() + " chars)"));
+    }
+
+    private static AgentSqlResult sqlResult(int offset, int rows) {
+        return AgentSqlResult.builder()
+                .success(true)
+                .type("RESULT_SET")
+                .columns(List.of(new AgentSqlColumn("name", "VARCHAR", true), new AgentSqlColumn("n", "INT", false)))
+                .rows(IntStream.rangeClosed(offset + 1, offset + rows)
+                        .mapToObj(i -> List.<Object>of("row-" + i, i))
+                        .toList())
+                .build();
+    }
+}
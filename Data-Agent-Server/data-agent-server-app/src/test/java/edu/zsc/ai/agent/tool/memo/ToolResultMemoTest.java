@@ -0,0 +1,55 @@
+package edu.zsc.ai.agent.tool.memo;
+
+import dev.langchain4j.invocation.InvocationParameters;
+import edu.zsc.ai.agent.tool.model.AgentToolResult;
+import edu.zsc.ai.common.constant.RequestContextConstant;
+import edu.zsc.ai.common.enums.ai.ToolNameEnum;
+import edu.zsc.ai.config.ai.AgentToolProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolResultMemoTest {
+
+    private final ToolResultMemo memo = new ToolResultMemo(new AgentToolProperties());
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testInvalidateDropsOnlyTheConversationsEntries() {
+        search(1L, 10L, "orders");
+        search(1L, 10L, "users");
+        search(1L, 11L, "orders");
+        assertEquals(3, loads.get());
+
+        memo.invalidate(1L, 10L);
+
+        assertTrue(search(1L, 11L, "orders").getMessage().endsWith("(cached)"));
+        assertFalse(search(1L, 10L, "orders").getMessage().endsWith("(cached)"));
+        assertFalse(search(1L, 10L, "users").getMessage().endsWith("(cached)"));
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void testEntriesMemoizedAfterInvalidationAreServed() {
+        search(1L, 10L, "orders");
+        memo.invalidate(1L, 10L);
+        memo.invalidate(1L, 10L);
+
+        search(1L, 10L, "orders");
+        assertTrue(search(1L, 10L, "orders").getMessage().endsWith("(cached)"));
+        assertEquals(2, loads.get());
+    }
+
+    private AgentToolResult search(Long userId, Long conversationId, String pattern) {
+        InvocationParameters parameters = new InvocationParameters();
+        parameters.put(RequestContextConstant.USER_ID, userId);
+        parameters.put(RequestContextConstant.CONVERSATION_ID, conversationId);
+        return memo.getOrLoad(parameters, ToolNameEnum.SEARCH_OBJECTS, () -> {
+            loads.incrementAndGet();
+            return AgentToolResult.builder().success(true).message("found").build();
+        }, pattern);
+    }
+}
@@ -0,0 +1,92 @@
+package edu.zsc.ai.agent.trace;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.invocation.InvocationParameters;
+import dev.langchain4j.service.tool.ToolExecutor;
+import dev.langchain4j.service.tool.ToolService;
+import edu.zsc.ai.common.constant.RequestContextConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingToolExecutorTest {
+
+    private final TraceProbe probe = new TraceProbe();
+
+    private final ToolExecutor executor = only(TracingToolExecutor.of(new ToolService(), List.of(probe)));
+
+    @AfterEach
+    void tearDown() {
+        ChatTraceContext.bind(null);
+    }
+
+    @Test
+    void testTraceIsBoundWhileTheToolRuns() {
+        ChatTurnTrace trace = new ChatTurnTrace(1L, 2L, "model", 10);
+
+        executor.executeWithContext(request(), context(trace));
+
+        assertSame(trace, probe.seen);
+        assertNull(ChatTraceContext.current());
+    }
+
+    @Test
+    void testPreviousBindingIsRestored() {
+        ChatTurnTrace otherTurn = new ChatTurnTrace(1L, 3L, "model", 10);
+        ChatTurnTrace trace = new ChatTurnTrace(1L, 2L, "model", 10);
+        ChatTraceContext.bind(otherTurn);
+
+        executor.executeWithContext(request(), context(trace));
+
+        assertSame(trace, probe.seen);
+        assertSame(otherTurn, ChatTraceContext.current());
+    }
+
+    @Test
+    void testUntracedTurnLeavesTheThreadAlone() {
+        ChatTurnTrace otherTurn = new ChatTurnTrace(1L, 3L, "model", 10);
+        ChatTraceContext.bind(otherTurn);
+
+        executor.executeWithContext(request(), context(null));
+
+        assertSame(otherTurn, probe.seen);
+        assertSame(otherTurn, ChatTraceContext.current());
+    }
+
+    private static ToolExecutor only(Map<ToolSpecification, ToolExecutor> executors) {
+        assertEquals(1, executors.size());
+        ToolExecutor executor = executors.values().iterator().next();
+        assertInstanceOf(TracingToolExecutor.class, executor);
+        return executor;
+    }
+
+    private static ToolExecutionRequest request() {
+        return ToolExecutionRequest.builder().id("1").name("probe").arguments("{}").build();
+    }
+
+    private static InvocationContext context(ChatTurnTrace trace) {
+        InvocationParameters parameters = new InvocationParameters();
+        if (trace != null) {
+            parameters.put(RequestContextConstant.CHAT_TRACE, trace);
+        }
+        return InvocationContext.builder().invocationParameters(parameters).build();
+    }
+
+    public static class TraceProbe {
+
+        private volatile ChatTurnTrace seen;
+
+        @Tool("Records the bound trace")
+        public String probe() {
+            seen = ChatTraceContext.current();
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package edu.zsc.ai.agent.turn;
+
+import edu.zsc.ai.common.constant.ChatErrorConstants;
+import edu.zsc.ai.config.ai.ChatTurnProperties;
+import edu.zsc.ai.domain.model.dto.response.agent.ChatResponseBlock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversationTurnGuardTest {
+
+    private static final int REPLAY_BLOCKS = 16;
+
+    private static final String TURN_KEY = "1\nmodel\nAgent\nhello";
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private ChatTurnProperties properties;
+
+    private ConversationTurnGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ChatTurnProperties();
+        properties.setReplayBlocks(REPLAY_BLOCKS);
+        guard = new ConversationTurnGuard(properties);
+    }
+
+    @Test
+    void testQueuedTurnStartsOnAnotherThreadOnceTheRunningTurnEnds() throws Exception {
+        Sinks.Many<ChatResponseBlock> running = Sinks.many().unicast().onBackpressureBuffer();
+        Recorder first = new Recorder(Long.MAX_VALUE);
+        guard.run(1L, TURN_KEY, running::asFlux).subscribe(first);
+
+        AtomicReference<String> startedOn = new AtomicReference<>();
+        Recorder queued = new Recorder(Long.MAX_VALUE);
+        guard.run(1L, "other", () -> {
+            startedOn.set(Thread.currentThread().getName());
+            return Flux.just(ChatResponseBlock.text("second"));
+        }).subscribe(queued);
+        assertNull(startedOn.get());
+
+        running.tryEmitNext(ChatResponseBlock.text("first"));
+        running.tryEmitComplete();
+
+        assertTrue(queued.done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first"), first.received);
+        assertEquals(List.of("second"), queued.received);
+        assertNotEquals(Thread.currentThread().getName(), startedOn.get());
+        assertTrue(startedOn.get().startsWith("boundedElastic"), startedOn.get());
+    }
+
+    @Test
+    void testRejectPolicyAnswersConflict() {
+        properties.setBusyPolicy(ChatTurnProperties.BusyPolicy.REJECT);
+        Recorder first = new Recorder(Long.MAX_VALUE);
+        guard.run(1L, TURN_KEY, Flux::never).subscribe(first);
+
+        assertConflict(guard.run(1L, "other", () -> fail("a rejected request must not start a turn")),
+                ChatErrorConstants.CONVERSATION_BUSY);
+        first.dispose();
+    }
+
+    @Test
+    void testRequestsBeyondMaxQueuedAreRejected() {
+        properties.setMaxQueued(1);
+        Recorder first = new Recorder(Long.MAX_VALUE);
+        guard.run(1L, TURN_KEY, Flux::never).subscribe(first);
+        Recorder waiting = new Recorder(Long.MAX_VALUE);
+        guard.run(1L, "second", Flux::never).subscribe(waiting);
+
+        assertConflict(guard.run(1L, "third", () -> fail("an overflowing request must not start a turn")),
+                ChatErrorConstants.CONVERSATION_BUSY);
+        first.dispose();
+        waiting.dispose();
+    }
+
+    @Test
+    void testQueuedRequestTimesOut() {
+        properties.setQueueTimeoutSeconds(1);
+        Recorder first = new Recorder(Long.MAX_VALUE);
+        guard.run(1L, TURN_KEY, Flux::never).subscribe(first);
+
+        assertConflict(guard.run(1L, "other", () -> fail("a timed out request must not start a turn")),
+                ChatErrorConstants.CONVERSATION_QUEUE_TIMEOUT);
+        first.dispose();
+    }
+
+    @Test
+    void testExpiredLeaseIsReplaced() {
+        properties.setLeaseTimeoutMinutes(0);
+        Recorder stuck = new Recorder(Long.MAX_VALUE);
+        guard.run(1L, TURN_KEY, Flux::never).subscribe(stuck);
+
+        Recorder next = new Recorder(Long.MAX_VALUE);
+        guard.run(1L, "other", () -> Flux.just(ChatResponseBlock.text("next"))).subscribe(next);
+
+        assertEquals(List.of("next"), next.received);
+        stuck.dispose();
+    }
+
+    @Test
+    void testSlowSubscriberPacesTheTurn() {
+        Recorder slow = new Recorder(1);
+        guard.run(1L, TURN_KEY, this::turn).subscribe(slow);
+
+        // Nothing caches the turn for the stalled client: the turn only produces what the replay holds.
+        assertEquals(1, slow.received.size());
+        assertTrue(requested.get() <= 2L * REPLAY_BLOCKS, "requested " + requested.get());
+        slow.dispose();
+    }
+
+    @Test
+    void testLateDuplicateGetsTheLatestBlocks() {
+        Recorder first = new Recorder(100);
+        guard.run(1L, TURN_KEY, this::turn).subscribe(first);
+        assertEquals(100, first.received.size());
+
+        Recorder late = new Recorder(Long.MAX_VALUE);
+        guard.run(1L, TURN_KEY, () -> fail("a duplicate must attach, not start a turn")).subscribe(late);
+
+        // The latest blocks the turn produced, which is at most the replay ahead of the first subscriber
+        assertEquals(REPLAY_BLOCKS, late.received.size());
+        int from = Integer.parseInt(late.received.get(0).substring("block ".length()));
+        assertTrue(from > 100 - REPLAY_BLOCKS && from < 100, "from " + from);
+        for (int i = 0; i < REPLAY_BLOCKS; i++) {
+            assertEquals("block " + (from + i), late.received.get(i));
+        }
+        first.dispose();
+        late.dispose();
+    }
+
+    private static void assertConflict(Flux<ChatResponseBlock> stream, String reason) {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> stream.blockLast(Duration.ofSeconds(5)));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        assertEquals(reason, e.getReason());
+    }
+
+    private Flux<ChatResponseBlock> turn() {
+        return Flux.range(0, 10_000)
+                .doOnRequest(requested::addAndGet)
+                .map(i -> ChatResponseBlock.text("block " + i));
+    }
+
+    /**
+     * Requests {@code initial} blocks and no more.
+     */
+    private static final class Recorder extends BaseSubscriber<ChatResponseBlock> {
+
+        private final long initial;
+
+        private final List<String> received = new ArrayList<>();
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private Recorder(long initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            subscription.request(initial);
+        }
+
+        @Override
+        protected void hookOnNext(ChatResponseBlock block) {
+            received.add(block.getData());
+        }
+
+        @Override
+        protected void hookFinally(SignalType type) {
+            done.countDown();
+        }
+    }
+}
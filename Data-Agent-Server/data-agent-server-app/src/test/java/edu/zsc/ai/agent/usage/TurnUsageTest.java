@@ -0,0 +1,56 @@
+package edu.zsc.ai.agent.usage;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.ChatResponseMetadata;
+import dev.langchain4j.model.output.TokenUsage;
+import edu.zsc.ai.agent.routing.RoutedResponseMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnUsageTest {
+
+    private final List<String> booked = new ArrayList<>();
+
+    private final TokenUsageTracker tracker = new TokenUsageTracker(null, null, null) {
+        @Override
+        public void recordModel(Long userId, String modelName, TokenUsage usage) {
+            booked.add(modelName + " " + usage.inputTokenCount() + "/" + usage.outputTokenCount()
+                    + "/" + usage.totalTokenCount());
+        }
+    };
+
+    @Test
+    void testStepsAreBookedToTheModelThatServedThem() {
+        TurnUsage turn = tracker.turn(1L, "premium");
+
+        turn.step(response(RoutedResponseMetadata.builder().modelName("fast")
+                .tokenUsage(new TokenUsage(100, 10)).build()));
+        turn.step(response(RoutedResponseMetadata.builder().modelName("premium")
+                .tokenUsage(new TokenUsage(200, 20)).discarded("fast", new TokenUsage(150, 5)).build()));
+        // The complete response carries the last step's metadata with the usage summed over the stream
+        turn.complete(response(RoutedResponseMetadata.builder().modelName("fast")
+                .tokenUsage(new TokenUsage(600, 60)).build()));
+
+        assertEquals(List.of("fast 100/10/110", "premium 200/20/220", "fast 150/5/155", "fast 300/30/330"), booked);
+    }
+
+    @Test
+    void testUnroutedStepsAreBookedToTheAgentModel() {
+        TurnUsage turn = tracker.turn(1L, "premium");
+
+        turn.step(response(ChatResponseMetadata.builder().modelName("provider-name")
+                .tokenUsage(new TokenUsage(100, 10)).build()));
+        turn.complete(response(ChatResponseMetadata.builder().tokenUsage(new TokenUsage(250, 30)).build()));
+
+        assertEquals(List.of("premium 100/10/110", "premium 150/20/170"), booked);
+    }
+
+    private static ChatResponse response(ChatResponseMetadata metadata) {
+        return ChatResponse.builder().aiMessage(AiMessage.from("ok")).metadata(metadata).build();
+    }
+}
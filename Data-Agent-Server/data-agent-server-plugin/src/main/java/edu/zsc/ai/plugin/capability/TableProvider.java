@@ -9,6 +9,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalLong;
 
 public interface TableProvider {
 
@@ -55,6 +56,15 @@ public interface TableProvider {
         throw new UnsupportedOperationException("Plugin does not support getting table data count");
     }
 
+    /**
+     * Cheap row count estimate, e.g. from planner statistics, for paging through a large table without scanning it.
+     * Only use it where an approximate total is acceptable; callers fall back to {@link #getTableDataCount} when empty.
+     * @return the estimate, or empty when the plugin has none or the table is small enough to count exactly
+     */
+    default OptionalLong estimateTableDataCount(Connection connection, String catalog, String schema, String tableName) {
+        return OptionalLong.empty();
+    }
+
     /**
      * Get table data with optional WHERE clause and single-column ORDER BY.
      * @param whereClause optional WHERE condition (without "WHERE"), e.g. "status = 1"
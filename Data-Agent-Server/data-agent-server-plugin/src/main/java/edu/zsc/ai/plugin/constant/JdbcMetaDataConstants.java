@@ -66,6 +66,16 @@ public final class JdbcMetaDataConstants {
      */
     public static final String COLUMN_DEF = "COLUMN_DEF";
 
+    /**
+     * Auto-increment flag ("YES", "NO" or "" when unknown) in ResultSet from getColumns.
+     */
+    public static final String IS_AUTOINCREMENT = "IS_AUTOINCREMENT";
+
+    /**
+     * Table type (e.g. "TABLE", "VIEW", "SYSTEM TABLE") in ResultSet from getTables.
+     */
+    public static final String TABLE_TYPE = "TABLE_TYPE";
+
     /**
      * Table type constant for base tables.
      */
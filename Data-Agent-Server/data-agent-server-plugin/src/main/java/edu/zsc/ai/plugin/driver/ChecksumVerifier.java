@@ -0,0 +1,108 @@
+package edu.zsc.ai.plugin.driver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Utility class for verifying downloaded files against Maven checksum files.
+ */
+public final class ChecksumVerifier {
+
+    /**
+     * Checksum algorithms in order of preference, with their Maven checksum file extension.
+     */
+    public static final List<Algorithm> ALGORITHMS = List.of(
+        new Algorithm("SHA-256", "sha256"),
+        new Algorithm("SHA-1", "sha1"));
+
+    private ChecksumVerifier() {
+        // Utility class
+    }
+
+    /**
+     * Digest algorithm and the extension of its checksum file (e.g. {@code .jar.sha1}).
+     */
+    public record Algorithm(String name, String extension) {
+    }
+
+    /**
+     * Expected checksum of a file.
+     */
+    public record Checksum(Algorithm algorithm, String hex) {
+    }
+
+    /**
+     * Parse the content of a checksum file. Besides the bare digest, the {@code <digest>  <file name>}
+     * format written by sha1sum and some repository managers is accepted.
+     *
+     * @param algorithm checksum algorithm
+     * @param content   checksum file content
+     * @return the checksum
+     * @throws IllegalArgumentException if the content is not a hex digest of the expected length
+     */
+    public static Checksum parse(Algorithm algorithm, String content) {
+        String hex = content == null ? "" : content.trim().split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+        int expectedLength = digestLength(algorithm) * 2;
+        if (hex.length() != expectedLength || !hex.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalArgumentException(
+                String.format("Invalid %s checksum: %s", algorithm.name(), content));
+        }
+        return new Checksum(algorithm, hex);
+    }
+
+    /**
+     * Compute the hex digest of a file.
+     *
+     * @param file      file to digest
+     * @param algorithm checksum algorithm
+     * @return lower-case hex digest
+     * @throws RuntimeException if the file cannot be read
+     */
+    public static String digest(Path file, Algorithm algorithm) {
+        MessageDigest digest = newDigest(algorithm);
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compute checksum of " + file, e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Verify a file against its expected checksum.
+     *
+     * @param file     file to verify
+     * @param checksum expected checksum
+     * @throws RuntimeException if the checksum does not match
+     */
+    public static void verify(Path file, Checksum checksum) {
+        String actual = digest(file, checksum.algorithm());
+        if (!actual.equals(checksum.hex())) {
+            throw new RuntimeException(String.format("%s checksum mismatch for %s: expected %s, got %s",
+                checksum.algorithm().name(), file.getFileName(), checksum.hex(), actual));
+        }
+    }
+
+    private static int digestLength(Algorithm algorithm) {
+        return newDigest(algorithm).getDigestLength();
+    }
+
+    private static MessageDigest newDigest(Algorithm algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm.name());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Checksum algorithm not available: " + algorithm.name(), e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package edu.zsc.ai.plugin.driver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class loader of one driver JAR. Besides loading the driver, it can deregister the drivers the JAR
+ * registered with DriverManager by itself, see {@link JdbcDriverDeregistrar}.
+ * <p>
+ * It also counts its references: connects in progress plus connections opened through it that are not
+ * closed yet. Connections are held weakly, so one that is dropped without being closed stops counting
+ * once the driver itself lets go of it. A loader without references that has been idle long enough can
+ * be retired; after that it takes no new connects and {@link DriverLoader} replaces it on the next load.
+ */
+final class DriverClassLoader extends URLClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final List<WeakReference<Connection>> connections = new ArrayList<>();
+
+    private int pendingConnects;
+
+    private boolean retired;
+
+    private volatile long lastUsedAt = System.currentTimeMillis();
+
+    DriverClassLoader(URL jarUrl, ClassLoader parent) {
+        super(new URL[]{jarUrl}, parent);
+    }
+
+    void touch() {
+        lastUsedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Count a connect in progress; must be followed by {@link #release(Connection)}.
+     *
+     * @return false if the loader is retired and must not be used any more
+     */
+    synchronized boolean retain() {
+        if (retired) {
+            return false;
+        }
+        pendingConnects++;
+        touch();
+        return true;
+    }
+
+    /**
+     * End a connect started with {@link #retain()}.
+     *
+     * @param connection the opened connection, tracked until closed, or null if the connect failed
+     */
+    synchronized void release(Connection connection) {
+        pendingConnects--;
+        if (connection != null) {
+            connections.add(new WeakReference<>(connection));
+        }
+        touch();
+    }
+
+    /**
+     * @return connects in progress plus tracked connections that are still open
+     */
+    int referenceCount() {
+        List<WeakReference<Connection>> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(connections);
+        }
+        // isClosed() may block inside the driver, so it is not called under the lock
+        List<WeakReference<Connection>> closed = new ArrayList<>();
+        for (WeakReference<Connection> reference : snapshot) {
+            if (!isOpen(reference.get())) {
+                closed.add(reference);
+            }
+        }
+        synchronized (this) {
+            connections.removeAll(closed);
+            return pendingConnects + connections.size();
+        }
+    }
+
+    /**
+     * Retire the loader if nothing references it and it has not been used for the given time.
+     *
+     * @return true if the loader is retired now
+     */
+    boolean retireIfIdle(long idleMillis) {
+        if (referenceCount() > 0) {
+            return false;
+        }
+        synchronized (this) {
+            if (retired || pendingConnects > 0 || !connections.isEmpty()
+                    || System.currentTimeMillis() - lastUsedAt < idleMillis) {
+                return false;
+            }
+            retired = true;
+            return true;
+        }
+    }
+
+    /**
+     * Retire the loader regardless of its references, e.g. because its JAR is removed.
+     */
+    synchronized void retire() {
+        retired = true;
+    }
+
+    synchronized boolean isRetired() {
+        return retired;
+    }
+
+    private static boolean isOpen(Connection connection) {
+        if (connection == null) {
+            return false;
+        }
+        try {
+            return !connection.isClosed();
+        } catch (Exception e) {
+            // A connection that cannot even say whether it is closed is not usable any more
+            return false;
+        }
+    }
+
+    /**
+     * Run {@link JdbcDriverDeregistrar} as a class defined by this loader.
+     *
+     * @return number of deregistered drivers
+     * @throws ReflectiveOperationException if the helper cannot be defined or invoked
+     */
+    int deregisterDrivers() throws ReflectiveOperationException {
+        String helperName = JdbcDriverDeregistrar.class.getName();
+        String resource = "/" + helperName.replace('.', '/') + ".class";
+        byte[] bytes;
+        try (InputStream in = JdbcDriverDeregistrar.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new ClassNotFoundException(helperName);
+            }
+            bytes = in.readAllBytes();
+        } catch (IOException e) {
+            throw new ClassNotFoundException(helperName, e);
+        }
+
+        Class<?> helper;
+        synchronized (getClassLoadingLock(helperName)) {
+            Class<?> defined = findLoadedClass(helperName);
+            helper = defined != null ? defined : defineClass(helperName, bytes, 0, bytes.length);
+        }
+        try {
+            return (Integer) helper.getMethod("deregister").invoke(null);
+        } catch (InvocationTargetException e) {
+            throw new ReflectiveOperationException(e.getCause());
+        }
+    }
+}
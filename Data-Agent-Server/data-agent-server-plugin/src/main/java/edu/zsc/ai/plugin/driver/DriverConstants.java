@@ -22,6 +22,17 @@ public final class DriverConstants {
     public static final String DEFAULT_STORAGE_DIR = 
         System.getProperty("user.home") + "/" + APP_DIR_NAME + "/" + DRIVERS_DIR_NAME;
     
+    /**
+     * Maven metadata cache subdirectory name
+     */
+    public static final String METADATA_CACHE_DIR_NAME = "maven-metadata";
+    
+    /**
+     * Default Maven metadata cache directory (in user home directory)
+     */
+    public static final String DEFAULT_METADATA_CACHE_DIR =
+        System.getProperty("user.home") + "/" + APP_DIR_NAME + "/" + METADATA_CACHE_DIR_NAME;
+    
     /**
      * Maven Central repository URL
      */
@@ -0,0 +1,115 @@
+package edu.zsc.ai.plugin.driver;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one driver acquisition, updated by the downloading thread and read by anyone polling.
+ */
+public final class DriverDownloadProgress {
+
+    /**
+     * Acquisition state
+     */
+    public enum State {
+        DOWNLOADING,
+        VERIFYING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String fileName;
+
+    private final String coordinates;
+
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicLong bytesDownloaded = new AtomicLong();
+
+    private volatile long totalBytes = -1;
+
+    private volatile String source;
+
+    private volatile State state = State.DOWNLOADING;
+
+    private volatile String error;
+
+    private volatile Instant finishedAt;
+
+    DriverDownloadProgress(String fileName, String coordinates) {
+        this.fileName = fileName;
+        this.coordinates = coordinates;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getCoordinates() {
+        return coordinates;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public long getBytesDownloaded() {
+        return bytesDownloaded.get();
+    }
+
+    /**
+     * @return total size in bytes, or -1 while unknown
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return name of the repository source currently tried
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void startSource(String source, long alreadyDownloaded, long totalBytes) {
+        this.source = source;
+        this.bytesDownloaded.set(alreadyDownloaded);
+        this.totalBytes = totalBytes;
+        this.state = State.DOWNLOADING;
+    }
+
+    void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    void addBytes(long bytes) {
+        bytesDownloaded.addAndGet(bytes);
+    }
+
+    void verifying() {
+        this.state = State.VERIFYING;
+    }
+
+    void completed() {
+        this.state = State.COMPLETED;
+        this.finishedAt = Instant.now();
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.state = State.FAILED;
+        this.finishedAt = Instant.now();
+    }
+}
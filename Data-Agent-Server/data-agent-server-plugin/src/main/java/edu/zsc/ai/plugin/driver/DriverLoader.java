@@ -3,24 +3,55 @@ package edu.zsc.ai.plugin.driver;
 import edu.zsc.ai.plugin.connection.ConnectionConfig;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
-import java.net.URLClassLoader;
+import java.nio.file.Path;
 import java.sql.*;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Utility class for loading JDBC drivers.
  * Handles loading drivers from external JAR files.
+ * <p>
+ * Each driver is instantiated once per (JAR path, driver class) and kept in a registry; connections are
+ * opened through {@link Driver#connect} directly, so nothing is added to {@link DriverManager} per connect
+ * and no DriverManager scan is needed. {@link #unloadDriver(String)} drops a JAR's drivers, deregisters
+ * what the JAR registered with DriverManager by itself, and closes its class loader.
+ * <p>
+ * Every loaded JAR keeps its classes in Metaspace until its class loader is collected. Class loaders count
+ * the connections opened through {@link #connect}, and {@link #unloadIdleDrivers(Duration)} unloads the
+ * JARs that have no open connection and have not been used for a while; they are loaded again on demand.
  */
 public final class DriverLoader {
 
+    private static final Logger logger = Logger.getLogger(DriverLoader.class.getName());
+
+    /**
+     * Class loader per driver JAR, keyed by normalized absolute path
+     */
+    private static final ConcurrentMap<String, DriverClassLoader> DRIVER_LOADERS = new ConcurrentHashMap<>();
+
     /**
-     * Cache for dynamically loaded driver class loaders
+     * Driver instance per (JAR path, driver class)
      */
-    private static final ConcurrentMap<String, URLClassLoader> DRIVER_LOADERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<DriverKey, Driver> DRIVERS = new ConcurrentHashMap<>();
+
+    /**
+     * Driver instance per class for drivers on the plugin class path
+     */
+    private static final ConcurrentMap<String, Driver> BUNDLED_DRIVERS = new ConcurrentHashMap<>();
+
+    /**
+     * Class loaders closed since startup
+     */
+    private static final AtomicLong UNLOADED_COUNT = new AtomicLong();
 
     /**
      * Private constructor to prevent instantiation.
@@ -30,52 +61,237 @@ public final class DriverLoader {
     }
 
     /**
-     * Load JDBC driver from external JAR file.
+     * Load JDBC driver from external JAR file, or return the instance loaded before.
      *
      * @param config connection configuration (must contain driverJarPath)
      * @param driverClassName JDBC driver class name
+     * @return the driver
      * @throws RuntimeException if driver loading fails
      */
-    public static void loadDriver(ConnectionConfig config, String driverClassName) {
-        loadDriverFromJar(config.getDriverJarPath(), driverClassName);
+    public static Driver loadDriver(ConnectionConfig config, String driverClassName) {
+        return loadDriverFromJar(config.getDriverJarPath(), driverClassName);
+    }
+
+    /**
+     * Open a connection with the driver of the given JAR, without going through DriverManager.
+     *
+     * @param config connection configuration (must contain driverJarPath)
+     * @param driverClassName JDBC driver class name
+     * @param jdbcUrl JDBC URL
+     * @param properties connection properties
+     * @return the connection
+     * @throws SQLException if the driver rejects the URL or the connection fails
+     */
+    public static Connection connect(ConnectionConfig config, String driverClassName,
+                                     String jdbcUrl, Properties properties) throws SQLException {
+        String jarKey = normalize(config.getDriverJarPath());
+        while (true) {
+            DriverProxy driver = (DriverProxy) loadDriver(config, driverClassName);
+            DriverClassLoader classLoader = driver.classLoader();
+            if (!classLoader.retain()) {
+                // Unloaded concurrently; the next load creates a fresh class loader
+                DRIVERS.remove(new DriverKey(jarKey, driverClassName), driver);
+                continue;
+            }
+            Connection connection = null;
+            try {
+                connection = driver.connect(jdbcUrl, properties);
+            } finally {
+                classLoader.release(connection);
+            }
+            if (connection == null) {
+                // Driver#connect returns null for URLs it does not handle
+                throw new SQLException(String.format("Driver %s does not accept URL: %s", driverClassName, jdbcUrl),
+                    "08001");
+            }
+            return connection;
+        }
+    }
+
+    /**
+     * Open a connection with a driver on the calling plugin's class path, e.g. an embedded database
+     * whose driver ships with the plugin. The driver is instantiated once per class.
+     *
+     * @param driverClassName JDBC driver class name
+     * @param jdbcUrl JDBC URL
+     * @param properties connection properties
+     * @return the connection
+     * @throws SQLException if the driver rejects the URL or the connection fails
+     */
+    public static Connection connectBundled(String driverClassName, String jdbcUrl,
+                                            Properties properties) throws SQLException {
+        Driver driver = BUNDLED_DRIVERS.computeIfAbsent(driverClassName, className -> {
+            try {
+                Class<?> driverClass = Class.forName(className, true, DriverLoader.class.getClassLoader());
+                logger.info(String.format("Loaded bundled JDBC driver %s", className));
+                return (Driver) driverClass.getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException(
+                    String.format("JDBC driver '%s' is not on the class path", className), e);
+            }
+        });
+        Connection connection = driver.connect(jdbcUrl, properties);
+        if (connection == null) {
+            throw new SQLException(String.format("Driver %s does not accept URL: %s", driverClassName, jdbcUrl),
+                "08001");
+        }
+        return connection;
+    }
+
+    /**
+     * Forget the drivers loaded from a JAR and close its class loader, e.g. before the JAR is deleted.
+     * Connections already open keep working as far as their classes are loaded.
+     *
+     * @param driverJarPath driver JAR path
+     * @return true if the JAR was loaded
+     */
+    public static boolean unloadDriver(String driverJarPath) {
+        String jarKey = normalize(driverJarPath);
+        DRIVERS.keySet().removeIf(key -> key.jarPath().equals(jarKey));
+        DriverClassLoader classLoader = DRIVER_LOADERS.remove(jarKey);
+        if (classLoader == null) {
+            return false;
+        }
+        classLoader.retire();
+        close(jarKey, classLoader);
+        return true;
+    }
+
+    /**
+     * Unload the driver JARs that have no open connection and have not been used for the given time,
+     * so their class loaders, and the classes in Metaspace, can be collected.
+     *
+     * @param idleTimeout time since the last load or connect
+     * @return number of unloaded JARs
+     */
+    public static int unloadIdleDrivers(Duration idleTimeout) {
+        int unloaded = 0;
+        for (Map.Entry<String, DriverClassLoader> entry : DRIVER_LOADERS.entrySet()) {
+            String jarKey = entry.getKey();
+            DriverClassLoader classLoader = entry.getValue();
+            if (!classLoader.retireIfIdle(idleTimeout.toMillis())) {
+                continue;
+            }
+            DRIVER_LOADERS.remove(jarKey, classLoader);
+            DRIVERS.values().removeIf(driver -> ((DriverProxy) driver).classLoader() == classLoader);
+            close(jarKey, classLoader);
+            logger.info(String.format("Unloaded idle JDBC driver JAR %s", jarKey));
+            unloaded++;
+        }
+        return unloaded;
+    }
+
+    /**
+     * @return number of driver JARs with a class loader
+     */
+    public static int getLoadedJarCount() {
+        return DRIVER_LOADERS.size();
+    }
+
+    /**
+     * @return connections opened through {@link #connect} that are still open, plus connects in progress
+     */
+    public static int getOpenConnectionCount() {
+        int count = 0;
+        for (DriverClassLoader classLoader : DRIVER_LOADERS.values()) {
+            count += classLoader.referenceCount();
+        }
+        return count;
+    }
+
+    /**
+     * @return number of driver class loaders closed since startup, by explicit or idle unloading
+     */
+    public static long getUnloadedJarCount() {
+        return UNLOADED_COUNT.get();
+    }
+
+    private static void close(String jarKey, DriverClassLoader classLoader) {
+        try {
+            int deregistered = classLoader.deregisterDrivers();
+            logger.info(String.format("Deregistered %d JDBC driver(s) of %s", deregistered, jarKey));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to deregister JDBC drivers of " + jarKey, e);
+        }
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close class loader of " + jarKey, e);
+        }
+        UNLOADED_COUNT.incrementAndGet();
     }
 
     /**
      * Load driver from external JAR file
      */
-    private static void loadDriverFromJar(String driverJarPath, String driverClassName) {
+    private static Driver loadDriverFromJar(String driverJarPath, String driverClassName) {
         File driverJar = new File(driverJarPath);
         if (!driverJar.exists() || !driverJar.isFile()) {
             throw new IllegalArgumentException(
                 String.format("Driver JAR file not found: %s", driverJarPath));
         }
 
-        // Use cached class loader if available
-        URLClassLoader classLoader = DRIVER_LOADERS.computeIfAbsent(driverJarPath, path -> {
+        String jarKey = normalize(driverJarPath);
+        DriverKey driverKey = new DriverKey(jarKey, driverClassName);
+        DriverProxy cached = (DriverProxy) DRIVERS.get(driverKey);
+        if (cached != null) {
+            if (!cached.classLoader().isRetired()) {
+                cached.classLoader().touch();
+                return cached;
+            }
+            DRIVERS.remove(driverKey, cached);
+        }
+
+        return DRIVERS.computeIfAbsent(driverKey, key -> {
+            // Use cached class loader if available; a retired one is being unloaded and is replaced
+            DriverClassLoader classLoader = DRIVER_LOADERS.compute(jarKey, (path, existing) -> {
+                if (existing != null && !existing.isRetired()) {
+                    existing.touch();
+                    return existing;
+                }
+                try {
+                    URL jarUrl = driverJar.toURI().toURL();
+                    return new DriverClassLoader(jarUrl, Thread.currentThread().getContextClassLoader());
+                } catch (Exception e) {
+                    throw new RuntimeException(
+                        String.format("Failed to create class loader for driver JAR: %s", driverJarPath), e);
+                }
+            });
+
+            Class<?> driverClass;
             try {
-                URL jarUrl = driverJar.toURI().toURL();
-                return new URLClassLoader(new URL[]{jarUrl}, Thread.currentThread().getContextClassLoader());
+                // Load driver class using the custom class loader, without running its static initializer yet
+                driverClass = Class.forName(driverClassName, false, classLoader);
             } catch (Exception e) {
                 throw new RuntimeException(
-                    String.format("Failed to create class loader for driver JAR: %s", driverJarPath), e);
+                    String.format("Failed to load JDBC driver '%s' from %s", driverClassName, driverJarPath), e);
+            }
+            if (!Driver.class.isAssignableFrom(driverClass)) {
+                throw new IllegalArgumentException(
+                    String.format("Class '%s' of %s is not a JDBC driver", driverClassName, driverJarPath));
+            }
+            try {
+                Driver driver = (Driver) driverClass.getDeclaredConstructor().newInstance();
+                logger.info(String.format("Loaded JDBC driver %s from %s", driverClassName, jarKey));
+                return new DriverProxy(driver, classLoader);
+            } catch (Exception e) {
+                throw new RuntimeException(
+                    String.format("Failed to load JDBC driver '%s' from %s", driverClassName, driverJarPath), e);
             }
         });
+    }
 
-        try {
-            // Load driver class using the custom class loader
-            Class<?> driverClass = Class.forName(driverClassName, true, classLoader);
-            Driver driver = (Driver) driverClass.getDeclaredConstructor().newInstance();
-            DriverManager.registerDriver(new DriverProxy(driver, classLoader));
-        } catch (Exception e) {
-            throw new RuntimeException(
-                String.format("Failed to load JDBC driver '%s' from %s", driverClassName, driverJarPath), e);
-        }
+    private static String normalize(String driverJarPath) {
+        return Path.of(driverJarPath).toAbsolutePath().normalize().toString();
+    }
+
+    private record DriverKey(String jarPath, String driverClassName) {
     }
 
     /**
          * Driver proxy to use custom class loader
          */
-        private record DriverProxy(Driver delegate, ClassLoader classLoader) implements Driver {
+        private record DriverProxy(Driver delegate, DriverClassLoader classLoader) implements Driver {
 
         @Override
             public Connection connect(String url, Properties info) throws SQLException {
@@ -120,4 +336,3 @@ public final class DriverLoader {
             }
         }
 }
-
@@ -0,0 +1,74 @@
+package edu.zsc.ai.plugin.driver;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A Maven repository that driver JARs are acquired from, identified by its base URL.
+ * {@code file:} URLs (local Maven repository, mirrored directory) are read from disk, anything
+ * else is fetched over HTTP. Both must use the Maven repository layout.
+ *
+ * @param name    name shown in logs and download progress, e.g. "local", "mirror", "remote"
+ * @param baseUrl repository base URL without trailing slash
+ */
+public record DriverRepositorySource(String name, String baseUrl) {
+
+    public DriverRepositorySource {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            throw new IllegalArgumentException("Repository base URL is required");
+        }
+        while (baseUrl.endsWith("/")) {
+            baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+        }
+    }
+
+    /**
+     * The local Maven repository: {@code maven.repo.local} if set, else {@code ~/.m2/repository}.
+     */
+    public static DriverRepositorySource localMaven() {
+        String repoLocal = System.getProperty("maven.repo.local");
+        Path path = repoLocal != null && !repoLocal.isBlank()
+            ? Path.of(repoLocal)
+            : Path.of(System.getProperty("user.home"), ".m2", "repository");
+        return new DriverRepositorySource("local", path.toAbsolutePath().toUri().toString());
+    }
+
+    /**
+     * A mirror of the remote repository, given as a directory path or a URL.
+     */
+    public static DriverRepositorySource mirror(String directoryOrUrl) {
+        return new DriverRepositorySource("mirror", toUrl(directoryOrUrl));
+    }
+
+    /**
+     * A remote repository; Maven Central if the URL is blank.
+     */
+    public static DriverRepositorySource remote(String url) {
+        return new DriverRepositorySource("remote",
+            url != null && !url.isBlank() ? url : DriverConstants.MAVEN_CENTRAL_URL);
+    }
+
+    /**
+     * The sources used when nothing is configured: the local Maven repository, then the remote one.
+     */
+    public static List<DriverRepositorySource> defaults(String remoteUrl) {
+        return List.of(localMaven(), remote(remoteUrl));
+    }
+
+    /**
+     * @return true if the repository is read from disk
+     */
+    public boolean isFile() {
+        return baseUrl.startsWith("file:");
+    }
+
+    private static String toUrl(String directoryOrUrl) {
+        if (directoryOrUrl == null || directoryOrUrl.isBlank()) {
+            throw new IllegalArgumentException("Mirror location is required");
+        }
+        if (directoryOrUrl.matches("^[a-zA-Z][a-zA-Z0-9+.-]*:.*") && !directoryOrUrl.matches("^[a-zA-Z]:[\\\\/].*")) {
+            return directoryOrUrl;
+        }
+        return Path.of(directoryOrUrl).toAbsolutePath().toUri().toString();
+    }
+}
@@ -3,11 +3,14 @@ package edu.zsc.ai.plugin.driver;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.logging.Logger;
 
 /**
@@ -89,5 +92,112 @@ public final class HttpDownloader {
             }
         }
     }
-}
 
+    /**
+     * Download a file into a partial file, resuming it if it already holds the start of the content.
+     * The partial file is kept when the transfer breaks off so that the next attempt can resume it;
+     * the caller verifies and moves it into place. A partial file the server refuses to resume is
+     * deleted and the download restarted without a range.
+     *
+     * @param url URL to download from
+     * @param partPath partial file to write
+     * @param progress progress to report transferred bytes to
+     * @throws RuntimeException if download fails
+     */
+    static void downloadResumable(URL url, Path partPath, DriverDownloadProgress progress) {
+        HttpURLConnection connection = null;
+        try {
+            long existing = Files.exists(partPath) ? Files.size(partPath) : 0;
+            connection = openConnection(url);
+            if (existing > 0) {
+                connection.setRequestProperty("Range", "bytes=" + existing + "-");
+            }
+
+            int responseCode = connection.getResponseCode();
+            if (existing > 0 && responseCode != HttpURLConnection.HTTP_PARTIAL
+                    && responseCode != HttpURLConnection.HTTP_OK) {
+                // 416 when the partial file is already complete (or longer than the content); the
+                // partial file cannot be resumed, so start over from byte 0 once
+                logger.warning(String.format("Cannot resume download of %s at byte %d: HTTP %d, restarting",
+                    url, existing, responseCode));
+                connection.disconnect();
+                connection = null;
+                Files.deleteIfExists(partPath);
+                downloadResumable(url, partPath, progress);
+                return;
+            }
+            boolean resumed = existing > 0 && responseCode == HttpURLConnection.HTTP_PARTIAL;
+            if (!resumed && responseCode != HttpURLConnection.HTTP_OK) {
+                throw new RuntimeException(
+                    String.format("Failed to download file from %s: HTTP %d", url, responseCode));
+            }
+
+            long offset = resumed ? existing : 0;
+            long length = connection.getContentLengthLong();
+            progress.startSource(progress.getSource(), offset, length >= 0 ? offset + length : -1);
+            if (resumed) {
+                logger.info(String.format("Resuming download of %s at byte %d", url, existing));
+            }
+
+            StandardOpenOption mode = resumed ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+            try (InputStream inputStream = connection.getInputStream();
+                 OutputStream outputStream = Files.newOutputStream(partPath, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, mode)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                    progress.addBytes(read);
+                }
+            }
+            logger.info(String.format("Successfully downloaded file from %s to %s", url, partPath));
+        } catch (IOException e) {
+            throw new RuntimeException(
+                String.format("Failed to download file from %s: %s", url, e.getMessage()), e);
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Fetch a small text resource, e.g. a checksum file.
+     *
+     * @param url URL to fetch
+     * @return the content, or null if the server answers 404
+     * @throws RuntimeException if the request fails otherwise
+     */
+    static String fetchText(URL url) {
+        HttpURLConnection connection = null;
+        try {
+            connection = openConnection(url);
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new RuntimeException(
+                    String.format("Failed to fetch %s: HTTP %d", url, responseCode));
+            }
+            try (InputStream inputStream = connection.getInputStream()) {
+                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to fetch %s: %s", url, e.getMessage()), e);
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static HttpURLConnection openConnection(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(CONNECTION_TIMEOUT);
+        connection.setReadTimeout(READ_TIMEOUT);
+        connection.setRequestMethod("GET");
+        connection.setRequestProperty("User-Agent", "Data-Agent/1.0");
+        return connection;
+    }
+}
@@ -0,0 +1,67 @@
+package edu.zsc.ai.plugin.driver;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Deregisters the JDBC drivers a driver JAR registered with {@link DriverManager} on its own, from the
+ * static initializer of its Driver class.
+ * <p>
+ * DriverManager only lets a class deregister drivers its own class loader can see, so this class is not
+ * called directly: {@link DriverClassLoader} defines a copy of it inside the driver JAR's class loader
+ * and invokes that copy.
+ * <p>
+ * Some drivers also start a background thread from their static initializer, which keeps the class loader
+ * reachable after everything else let go of it; the known ones are shut down as well.
+ */
+public final class JdbcDriverDeregistrar {
+
+    /**
+     * Classes with a static {@code checkedShutdown()} that stops the driver's own threads
+     */
+    private static final List<String> THREAD_SHUTDOWN_CLASSES = List.of(
+            "com.mysql.cj.jdbc.AbandonedConnectionCleanupThread",
+            "com.mysql.jdbc.AbandonedConnectionCleanupThread");
+
+    private JdbcDriverDeregistrar() {
+        // Utility class
+    }
+
+    /**
+     * Deregister every driver loaded by this class's own class loader.
+     *
+     * @return number of deregistered drivers
+     * @throws SQLException if deregistration fails
+     */
+    public static int deregister() throws SQLException {
+        ClassLoader ownLoader = JdbcDriverDeregistrar.class.getClassLoader();
+        List<Driver> drivers = new ArrayList<>(Collections.list(DriverManager.getDrivers()));
+        int count = 0;
+        for (Driver driver : drivers) {
+            if (driver.getClass().getClassLoader() == ownLoader) {
+                DriverManager.deregisterDriver(driver);
+                count++;
+            }
+        }
+        shutdownDriverThreads(ownLoader);
+        return count;
+    }
+
+    private static void shutdownDriverThreads(ClassLoader ownLoader) {
+        for (String className : THREAD_SHUTDOWN_CLASSES) {
+            try {
+                Class<?> threadClass = Class.forName(className, false, ownLoader);
+                // The parent may have its own copy of the driver, whose thread is not ours to stop
+                if (threadClass.getClassLoader() == ownLoader) {
+                    threadClass.getMethod("checkedShutdown").invoke(null);
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Not this driver, or a version without the method
+            }
+        }
+    }
+}
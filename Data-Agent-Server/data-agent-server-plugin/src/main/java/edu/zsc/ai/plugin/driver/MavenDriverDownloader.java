@@ -2,27 +2,71 @@ package edu.zsc.ai.plugin.driver;
 
 import edu.zsc.ai.plugin.enums.DbType;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 /**
- * Utility class for downloading JDBC drivers from Maven Central.
+ * Utility class for acquiring JDBC drivers from Maven repositories.
  * Combines multiple components to complete the download process:
+ * - DriverRepositorySource: Ordered repositories to try (local Maven repository, mirror, remote)
  * - MavenUrlBuilder: Builds download URLs
- * - HttpDownloader: Downloads files via HTTP
+ * - HttpDownloader: Downloads files via HTTP, resuming partial downloads
+ * - ChecksumVerifier: Verifies downloads against the repository's SHA-256 / SHA-1 files
  * - JarFileValidator: Validates downloaded JAR files
  * - DriverStorageManager: Manages storage directories and files
+ * <p>
+ * A driver is written to a {@code .part} file next to its target and only moved into place once
+ * verified, so a driver file that exists is always complete. Concurrent requests for the same
+ * driver file share one acquisition; different drivers are acquired in parallel.
  */
 public final class MavenDriverDownloader {
-    
+
     private static final Logger logger = Logger.getLogger(MavenDriverDownloader.class.getName());
-    
+
+    /**
+     * Suffix of the partial file a driver is downloaded into
+     */
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * How long finished acquisitions stay listed in {@link #getDownloads()}
+     */
+    private static final Duration FINISHED_RETENTION = Duration.ofMinutes(10);
+
+    /**
+     * Running acquisitions, keyed by target driver file
+     */
+    private static final ConcurrentMap<Path, CompletableFuture<Path>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    /**
+     * Progress of running and recently finished acquisitions, keyed by target driver file
+     */
+    private static final ConcurrentMap<Path, DriverDownloadProgress> PROGRESS = new ConcurrentHashMap<>();
+
     private MavenDriverDownloader() {
         // Utility class
     }
-    
+
     /**
-     * Download a driver from Maven Central.
+     * Download a driver from the local Maven repository or, failing that, a remote repository.
      *
      * @param coordinates Maven coordinates (groupId, artifactId, version)
      * @param dbType database type (for directory organization)
@@ -36,60 +80,69 @@ public final class MavenDriverDownloader {
             DbType dbType,
             String baseStorageDir,
             String mavenRepositoryUrl) {
-        
+        return downloadDriver(coordinates, dbType, baseStorageDir,
+            DriverRepositorySource.defaults(mavenRepositoryUrl), false);
+    }
+
+    /**
+     * Acquire a driver from the first repository source that has it.
+     *
+     * @param coordinates Maven coordinates (groupId, artifactId, version)
+     * @param dbType database type (for directory organization)
+     * @param baseStorageDir base storage directory (default: ./drivers)
+     * @param sources repository sources in the order to try
+     * @param requireChecksum reject a source that has no checksum file for the JAR
+     * @return path to the driver file
+     * @throws RuntimeException if no source provides a valid driver
+     */
+    public static Path downloadDriver(
+            MavenCoordinates coordinates,
+            DbType dbType,
+            String baseStorageDir,
+            List<DriverRepositorySource> sources,
+            boolean requireChecksum) {
+        if (sources == null || sources.isEmpty()) {
+            throw new IllegalArgumentException("At least one driver repository source is required");
+        }
+
         // Step 1: Determine storage directory and file path
         Path storageDir = DriverStorageManager.getStorageDirectory(baseStorageDir, dbType);
         Path driverFilePath = DriverStorageManager.getDriverFilePath(baseStorageDir, dbType, coordinates);
-        
+
         // Step 2: Check if driver already exists (cache check)
         if (DriverStorageManager.driverExists(driverFilePath)) {
             logger.info("Driver already exists, skipping download: " + driverFilePath);
             return driverFilePath;
         }
-        
-        // Step 3: Build download URL
-        String repoUrl = mavenRepositoryUrl != null && !mavenRepositoryUrl.isEmpty()
-            ? mavenRepositoryUrl
-            : DriverConstants.MAVEN_CENTRAL_URL;
-        
-        java.net.URL downloadUrl = MavenUrlBuilder.buildDownloadUrl(coordinates, repoUrl);
-        logger.info("Downloading driver from: " + downloadUrl);
-        
-        // Step 4: Ensure storage directory exists
-        DriverStorageManager.ensureDirectoryExists(storageDir);
-        
-        // Step 5: Download file via HTTP
-        try {
-            HttpDownloader.download(downloadUrl, driverFilePath);
-        } catch (RuntimeException e) {
-            // Clean up partial file if download failed
-            try {
-                if (java.nio.file.Files.exists(driverFilePath)) {
-                    java.nio.file.Files.delete(driverFilePath);
-                }
-            } catch (java.io.IOException deleteException) {
-                logger.warning("Failed to delete partial file: " + deleteException.getMessage());
-            }
-            throw e;
+
+        // Step 3: Join the acquisition of the same file if one is running
+        Path key = driverFilePath.toAbsolutePath().normalize();
+        CompletableFuture<Path> acquisition = new CompletableFuture<>();
+        CompletableFuture<Path> running = IN_FLIGHT.putIfAbsent(key, acquisition);
+        if (running != null) {
+            logger.info("Driver is already being downloaded, waiting for it: " + driverFilePath);
+            return await(running);
         }
-        
-        // Step 6: Validate downloaded JAR file
+
         try {
-            JarFileValidator.validate(driverFilePath);
-        } catch (RuntimeException e) {
-            // Clean up invalid file
-            try {
-                java.nio.file.Files.delete(driverFilePath);
-            } catch (java.io.IOException deleteException) {
-                logger.warning("Failed to delete invalid file: " + deleteException.getMessage());
+            // An acquisition that finished between the cache check and putIfAbsent has moved the file in
+            if (DriverStorageManager.driverExists(driverFilePath)) {
+                logger.info("Driver already exists, skipping download: " + driverFilePath);
+                acquisition.complete(driverFilePath);
+                return driverFilePath;
             }
-            throw new RuntimeException("Downloaded file is invalid or corrupted: " + e.getMessage(), e);
+
+            Path result = acquire(coordinates, storageDir, driverFilePath, key, sources, requireChecksum);
+            acquisition.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            acquisition.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, acquisition);
         }
-        
-        logger.info("Successfully downloaded and validated driver: " + driverFilePath);
-        return driverFilePath;
     }
-    
+
     /**
      * Download a driver using default settings.
      *
@@ -101,5 +154,182 @@ public final class MavenDriverDownloader {
     public static Path downloadDriver(MavenCoordinates coordinates, DbType dbType) {
         return downloadDriver(coordinates, dbType, null, null);
     }
-}
 
+    /**
+     * Get the progress of running and recently finished driver acquisitions, newest first.
+     *
+     * @return progress snapshot list
+     */
+    public static List<DriverDownloadProgress> getDownloads() {
+        evictFinished();
+        return PROGRESS.values().stream()
+            .sorted(Comparator.comparing(DriverDownloadProgress::getStartedAt).reversed())
+            .toList();
+    }
+
+    private static Path acquire(MavenCoordinates coordinates, Path storageDir, Path driverFilePath, Path key,
+                                List<DriverRepositorySource> sources, boolean requireChecksum) {
+        evictFinished();
+        DriverDownloadProgress progress = new DriverDownloadProgress(
+            driverFilePath.getFileName().toString(), coordinates.toCoordinateString());
+        PROGRESS.put(key, progress);
+
+        // Step 4: Ensure storage directory exists
+        DriverStorageManager.ensureDirectoryExists(storageDir);
+        Path partPath = driverFilePath.resolveSibling(driverFilePath.getFileName() + PART_SUFFIX);
+
+        // Step 5: Try each source in order
+        List<String> failures = new ArrayList<>();
+        for (DriverRepositorySource source : sources) {
+            try {
+                if (acquireFrom(source, coordinates, partPath, driverFilePath, requireChecksum, progress)) {
+                    progress.completed();
+                    logger.info(String.format("Successfully acquired and validated driver from %s: %s",
+                        source.name(), driverFilePath));
+                    return driverFilePath;
+                }
+                failures.add(source.name() + ": not found");
+            } catch (RuntimeException e) {
+                logger.warning(String.format("Failed to acquire driver %s from %s: %s",
+                    coordinates.toCoordinateString(), source.name(), e.getMessage()));
+                failures.add(source.name() + ": " + e.getMessage());
+            }
+        }
+
+        String message = String.format("Failed to acquire driver %s (%s)",
+            coordinates.toCoordinateString(), String.join("; ", failures));
+        progress.failed(message);
+        throw new RuntimeException(message);
+    }
+
+    /**
+     * @return false if the source does not have the artifact
+     */
+    private static boolean acquireFrom(DriverRepositorySource source, MavenCoordinates coordinates,
+                                       Path partPath, Path driverFilePath, boolean requireChecksum,
+                                       DriverDownloadProgress progress) {
+        URL jarUrl = MavenUrlBuilder.buildDownloadUrl(coordinates, source.baseUrl());
+        if (source.isFile() && !Files.isRegularFile(toPath(jarUrl))) {
+            return false;
+        }
+        progress.startSource(source.name(), 0, -1);
+
+        // Fetch the checksum first so that a source without one is rejected before transferring the JAR
+        ChecksumVerifier.Checksum checksum = fetchChecksum(source, jarUrl);
+        if (checksum == null && requireChecksum) {
+            throw new RuntimeException("No checksum file published for " + jarUrl);
+        }
+
+        if (source.isFile()) {
+            copyFile(toPath(jarUrl), partPath, progress);
+        } else {
+            HttpDownloader.downloadResumable(jarUrl, partPath, progress);
+        }
+
+        // Step 6: Verify checksum and validate the JAR, then move it into place
+        progress.verifying();
+        try {
+            if (checksum != null) {
+                ChecksumVerifier.verify(partPath, checksum);
+            } else {
+                logger.warning("No checksum file found for " + jarUrl + ", skipping checksum verification");
+            }
+            JarFileValidator.validate(partPath);
+        } catch (RuntimeException e) {
+            deleteQuietly(partPath);
+            throw new RuntimeException("Downloaded file is invalid or corrupted: " + e.getMessage(), e);
+        }
+        moveIntoPlace(partPath, driverFilePath);
+        return true;
+    }
+
+    /**
+     * @return the first checksum the source publishes for the JAR, or null if it has none
+     */
+    private static ChecksumVerifier.Checksum fetchChecksum(DriverRepositorySource source, URL jarUrl) {
+        for (ChecksumVerifier.Algorithm algorithm : ChecksumVerifier.ALGORITHMS) {
+            URL checksumUrl = MavenUrlBuilder.withExtension(jarUrl, algorithm.extension());
+            String content;
+            if (source.isFile()) {
+                Path checksumPath = toPath(checksumUrl);
+                try {
+                    content = Files.isRegularFile(checksumPath)
+                        ? Files.readString(checksumPath, StandardCharsets.UTF_8)
+                        : null;
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read checksum file: " + checksumPath, e);
+                }
+            } else {
+                content = HttpDownloader.fetchText(checksumUrl);
+            }
+            if (content != null) {
+                return ChecksumVerifier.parse(algorithm, content);
+            }
+        }
+        return null;
+    }
+
+    private static void copyFile(Path source, Path partPath, DriverDownloadProgress progress) {
+        try {
+            progress.setTotalBytes(Files.size(source));
+            try (InputStream inputStream = Files.newInputStream(source);
+                 OutputStream outputStream = Files.newOutputStream(partPath)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                    progress.addBytes(read);
+                }
+            }
+        } catch (IOException e) {
+            deleteQuietly(partPath);
+            throw new RuntimeException(String.format("Failed to copy %s: %s", source, e.getMessage()), e);
+        }
+    }
+
+    private static void moveIntoPlace(Path partPath, Path driverFilePath) {
+        try {
+            try {
+                Files.move(partPath, driverFilePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(partPath, driverFilePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            deleteQuietly(partPath);
+            throw new RuntimeException("Failed to move downloaded driver into place: " + driverFilePath, e);
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void evictFinished() {
+        Instant cutoff = Instant.now().minus(FINISHED_RETENTION);
+        PROGRESS.values().removeIf(progress ->
+            progress.getFinishedAt() != null && progress.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static Path toPath(URL fileUrl) {
+        try {
+            return Path.of(fileUrl.toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid file URL: " + fileUrl, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warning("Failed to delete partial file: " + e.getMessage());
+        }
+    }
+}
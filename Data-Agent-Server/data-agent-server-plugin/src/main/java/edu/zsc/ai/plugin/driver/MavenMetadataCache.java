@@ -0,0 +1,215 @@
+package edu.zsc.ai.plugin.driver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+/**
+ * In-memory and on-disk cache of the versions listed in Maven metadata files.
+ * <p>
+ * An entry younger than the requested max age is served without contacting the repository. An older
+ * one is revalidated with a conditional request (If-None-Match / If-Modified-Since), so an unchanged
+ * metadata file costs a 304 rather than a download and parse. If the repository cannot be reached,
+ * the stale entry is served, which keeps the driver page working offline. Entries are written to
+ * one properties file per metadata URL and survive restarts.
+ */
+public final class MavenMetadataCache {
+
+    private static final Logger logger = Logger.getLogger(MavenMetadataCache.class.getName());
+
+    private static final MavenMetadataCache DEFAULT = new MavenMetadataCache(Path.of(DriverConstants.DEFAULT_METADATA_CACHE_DIR));
+
+    private static final String KEY_URL = "url";
+    private static final String KEY_VERSIONS = "versions";
+    private static final String KEY_ETAG = "etag";
+    private static final String KEY_LAST_MODIFIED = "lastModified";
+    private static final String KEY_FETCHED_AT = "fetchedAt";
+
+    private final Path directory;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Per-URL locks, so that concurrent misses for one URL make a single request
+     */
+    private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory directory the cache files are kept in; created on first write
+     */
+    public MavenMetadataCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the cache under {@link DriverConstants#DEFAULT_METADATA_CACHE_DIR}
+     */
+    public static MavenMetadataCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the versions listed in a metadata file, newest first.
+     *
+     * @param metadataUrl metadata URL
+     * @param maxAge how long a cached entry is used without asking the repository
+     * @return list of versions
+     * @throws RuntimeException if the repository cannot be queried and nothing is cached
+     */
+    public List<String> getVersions(URL metadataUrl, Duration maxAge) {
+        String key = metadataUrl.toExternalForm();
+        Entry cached = lookup(key);
+        if (cached != null && cached.isFresh(maxAge)) {
+            return cached.versions();
+        }
+
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            // Another thread may have refreshed the entry while this one waited
+            cached = lookup(key);
+            if (cached != null && cached.isFresh(maxAge)) {
+                return cached.versions();
+            }
+
+            MavenMetadataClient.FetchResult result;
+            try {
+                result = cached != null
+                    ? MavenMetadataClient.fetch(metadataUrl, cached.etag(), cached.lastModified())
+                    : MavenMetadataClient.fetch(metadataUrl, null, null);
+            } catch (IOException | RuntimeException e) {
+                if (cached != null) {
+                    logger.warning(String.format("Failed to refresh Maven metadata from %s, serving versions cached at %s: %s",
+                        metadataUrl, cached.fetchedAt(), e.getMessage()));
+                    return cached.versions();
+                }
+                throw new RuntimeException(
+                    String.format("Failed to query Maven metadata from %s: %s", metadataUrl, e.getMessage()), e);
+            }
+
+            Entry refreshed = result.notModified()
+                ? new Entry(cached.versions(), cached.etag(), cached.lastModified(), Instant.now())
+                : new Entry(List.copyOf(result.versions()), result.etag(), result.lastModified(), Instant.now());
+            entries.put(key, refreshed);
+            save(key, refreshed);
+            return refreshed.versions();
+        }
+    }
+
+    /**
+     * Drop all cached entries, in memory and on disk.
+     */
+    public void clear() {
+        entries.clear();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (var files = Files.list(directory)) {
+            files.filter(path -> path.toString().endsWith(".properties")).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.warning("Failed to delete metadata cache file: " + path);
+                }
+            });
+        } catch (IOException e) {
+            logger.warning("Failed to list metadata cache directory: " + e.getMessage());
+        }
+    }
+
+    private Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        entry = load(key);
+        if (entry != null) {
+            entries.putIfAbsent(key, entry);
+        }
+        return entry;
+    }
+
+    private Entry load(String key) {
+        Path file = fileFor(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+            if (!key.equals(properties.getProperty(KEY_URL))) {
+                return null;
+            }
+            String versions = properties.getProperty(KEY_VERSIONS, "");
+            return new Entry(
+                versions.isEmpty() ? List.of() : List.of(versions.split(",")),
+                properties.getProperty(KEY_ETAG),
+                properties.getProperty(KEY_LAST_MODIFIED),
+                Instant.parse(properties.getProperty(KEY_FETCHED_AT)));
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Ignoring unreadable metadata cache file " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void save(String key, Entry entry) {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_URL, key);
+        properties.setProperty(KEY_VERSIONS, String.join(",", entry.versions()));
+        properties.setProperty(KEY_FETCHED_AT, entry.fetchedAt().toString());
+        if (entry.etag() != null) {
+            properties.setProperty(KEY_ETAG, entry.etag());
+        }
+        if (entry.lastModified() != null) {
+            properties.setProperty(KEY_LAST_MODIFIED, entry.lastModified());
+        }
+
+        Path file = fileFor(key);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(temp)) {
+                properties.store(outputStream, null);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // The in-memory entry still serves this process
+            logger.warning("Failed to write metadata cache file " + file + ": " + e.getMessage());
+        }
+    }
+
+    private Path fileFor(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(Arrays.copyOf(hash, 16)) + ".properties");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(List<String> versions, String etag, String lastModified, Instant fetchedAt) {
+
+        boolean isFresh(Duration maxAge) {
+            return fetchedAt.plus(maxAge).isAfter(Instant.now());
+        }
+    }
+}
@@ -1,27 +1,27 @@
 package edu.zsc.ai.plugin.driver;
 
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Client for querying Maven Central metadata API.
- * Retrieves available versions for a given artifact.
+ * Retrieves available versions for a given artifact, cached by {@link MavenMetadataCache}.
  */
 public final class MavenMetadataClient {
     
@@ -36,6 +36,16 @@ public final class MavenMetadataClient {
      * Read timeout in milliseconds (60 seconds)
      */
     private static final int READ_TIMEOUT = 60000;
+
+    /**
+     * How long cached versions are used without asking the repository
+     */
+    public static final Duration DEFAULT_CACHE_TTL = Duration.ofHours(6);
+
+    /**
+     * StAX factory with DTDs and external entities disabled; thread-safe once configured
+     */
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
     
     private MavenMetadataClient() {
         // Utility class
@@ -51,6 +61,22 @@ public final class MavenMetadataClient {
      * @throws RuntimeException if query fails
      */
     public static List<String> queryVersions(String groupId, String artifactId, String mavenRepositoryUrl) {
+        return queryVersions(groupId, artifactId, mavenRepositoryUrl, DEFAULT_CACHE_TTL);
+    }
+
+    /**
+     * Query available versions for a Maven artifact, served from {@link MavenMetadataCache} while
+     * younger than {@code maxAge}. Stale cached versions are served if the repository is unreachable.
+     *
+     * @param groupId Maven group ID
+     * @param artifactId Maven artifact ID
+     * @param mavenRepositoryUrl Maven repository URL (default: Maven Central)
+     * @param maxAge how long cached versions are used without asking the repository
+     * @return list of available versions, sorted by version number (newest first)
+     * @throws RuntimeException if query fails and nothing is cached
+     */
+    public static List<String> queryVersions(String groupId, String artifactId, String mavenRepositoryUrl,
+                                             Duration maxAge) {
         
         if (groupId == null || groupId.isEmpty() || artifactId == null || artifactId.isEmpty()) {
             throw new IllegalArgumentException("groupId and artifactId are required");
@@ -61,53 +87,7 @@ public final class MavenMetadataClient {
             : DriverConstants.MAVEN_CENTRAL_URL;
         
         URL metadataUrl = MavenUrlBuilder.buildMetadataUrl(groupId, artifactId, repoUrl);
-        
-        logger.info("Querying Maven metadata from: " + metadataUrl);
-        
-        HttpURLConnection connection = null;
-        InputStream inputStream = null;
-        
-        try {
-            connection = (HttpURLConnection) metadataUrl.openConnection();
-            connection.setConnectTimeout(CONNECTION_TIMEOUT);
-            connection.setReadTimeout(READ_TIMEOUT);
-            connection.setRequestMethod("GET");
-            connection.setRequestProperty("User-Agent", "Data-Agent/1.0");
-            
-            int responseCode = connection.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                throw new RuntimeException(
-                    String.format("Failed to query Maven metadata from %s: HTTP %d", metadataUrl, responseCode));
-            }
-            
-            inputStream = connection.getInputStream();
-            List<String> versions = parseVersionsFromMetadata(inputStream);
-            
-            // Sort versions (newest first) - simple string comparison for now
-            // In production, might want to use proper version comparison library
-            versions.sort((v1, v2) -> {
-                // Reverse order (newest first)
-                return compareVersions(v2, v1);
-            });
-            
-            logger.info(String.format("Found %d versions for %s:%s", versions.size(), groupId, artifactId));
-            return versions;
-            
-        } catch (IOException e) {
-            throw new RuntimeException(
-                String.format("Failed to query Maven metadata from %s: %s", metadataUrl, e.getMessage()), e);
-        } finally {
-            if (inputStream != null) {
-                try {
-                    inputStream.close();
-                } catch (IOException e) {
-                    logger.warning("Failed to close input stream: " + e.getMessage());
-                }
-            }
-            if (connection != null) {
-                connection.disconnect();
-            }
-        }
+        return MavenMetadataCache.getDefault().getVersions(metadataUrl, maxAge);
     }
     
     /**
@@ -121,36 +101,107 @@ public final class MavenMetadataClient {
     public static List<String> queryVersions(String groupId, String artifactId) {
         return queryVersions(groupId, artifactId, DriverConstants.MAVEN_CENTRAL_URL);
     }
+
+    /**
+     * Fetch Maven metadata, conditionally if validators of a cached copy are given.
+     *
+     * @param metadataUrl metadata URL (http(s) or file)
+     * @param etag ETag of the cached copy, or null
+     * @param lastModified Last-Modified of the cached copy, or null
+     * @return the fetched versions (newest first) and validators, or a not-modified result
+     * @throws IOException if the repository cannot be reached or answers with an error
+     */
+    static FetchResult fetch(URL metadataUrl, String etag, String lastModified) throws IOException {
+        logger.info("Querying Maven metadata from: " + metadataUrl);
+
+        URLConnection connection = metadataUrl.openConnection();
+        connection.setConnectTimeout(CONNECTION_TIMEOUT);
+        connection.setReadTimeout(READ_TIMEOUT);
+        try {
+            if (connection instanceof HttpURLConnection http) {
+                http.setRequestMethod("GET");
+                http.setRequestProperty("User-Agent", "Data-Agent/1.0");
+                if (etag != null) {
+                    http.setRequestProperty("If-None-Match", etag);
+                }
+                if (lastModified != null) {
+                    http.setRequestProperty("If-Modified-Since", lastModified);
+                }
+
+                int responseCode = http.getResponseCode();
+                if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    return FetchResult.NOT_MODIFIED;
+                }
+                if (responseCode != HttpURLConnection.HTTP_OK) {
+                    throw new IOException(
+                        String.format("Failed to query Maven metadata from %s: HTTP %d", metadataUrl, responseCode));
+                }
+            }
+
+            List<String> versions;
+            try (InputStream inputStream = connection.getInputStream()) {
+                versions = parseVersionsFromMetadata(inputStream);
+            }
+
+            // Sort versions (newest first)
+            versions.sort((v1, v2) -> compareVersions(v2, v1));
+
+            logger.info(String.format("Found %d versions in %s", versions.size(), metadataUrl));
+            return new FetchResult(false, versions,
+                connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"));
+        } finally {
+            if (connection instanceof HttpURLConnection http) {
+                http.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Result of {@link #fetch}.
+     *
+     * @param notModified true if the cached copy is still current
+     * @param versions fetched versions, newest first (empty if not modified)
+     * @param etag ETag response header, or null
+     * @param lastModified Last-Modified response header, or null
+     */
+    record FetchResult(boolean notModified, List<String> versions, String etag, String lastModified) {
+
+        static final FetchResult NOT_MODIFIED = new FetchResult(true, List.of(), null, null);
+    }
     
     /**
-     * Parse version list from Maven metadata XML.
+     * Parse version list from Maven metadata XML, streaming through it with StAX.
+     * Every {@code <version>} element is taken, in document order, without duplicates.
      *
      * @param inputStream input stream containing XML
      * @return list of versions
      * @throws RuntimeException if parsing fails
      */
-    private static List<String> parseVersionsFromMetadata(InputStream inputStream) {
+    static List<String> parseVersionsFromMetadata(InputStream inputStream) {
+        XMLStreamReader reader = null;
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(inputStream);
-            
-            Element root = document.getDocumentElement();
-            NodeList versionNodes = root.getElementsByTagName("version");
-            
-            List<String> versions = new ArrayList<>();
-            for (int i = 0; i < versionNodes.getLength(); i++) {
-                Element versionElement = (Element) versionNodes.item(i);
-                String version = versionElement.getTextContent().trim();
-                if (!version.isEmpty()) {
-                    versions.add(version);
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+            Set<String> versions = new LinkedHashSet<>();
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "version".equals(reader.getLocalName())) {
+                    String version = reader.getElementText().trim();
+                    if (!version.isEmpty()) {
+                        versions.add(version);
+                    }
                 }
             }
+            return new ArrayList<>(versions);
             
-            return versions;
-            
-        } catch (ParserConfigurationException | SAXException | IOException e) {
+        } catch (XMLStreamException e) {
             throw new RuntimeException("Failed to parse Maven metadata XML: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    logger.warning("Failed to close XML reader: " + e.getMessage());
+                }
+            }
         }
     }
     
@@ -199,5 +250,11 @@ public final class MavenMetadataClient {
         }
         return part.hashCode();
     }
-}
 
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -47,6 +47,23 @@ public final class MavenUrlBuilder {
         return buildDownloadUrl(coordinates, DriverConstants.MAVEN_CENTRAL_URL);
     }
     
+    /**
+     * Build the URL of a file published next to another, e.g. its checksum file.
+     *
+     * @param url artifact URL
+     * @param extension extension to append (e.g. "sha1")
+     * @return URL of {@code <url>.<extension>}
+     * @throws RuntimeException if URL construction fails
+     */
+    public static URL withExtension(URL url, String extension) {
+        String urlString = url.toExternalForm() + "." + extension;
+        try {
+            return new URL(urlString);
+        } catch (MalformedURLException e) {
+            throw new RuntimeException("Failed to build URL: " + urlString, e);
+        }
+    }
+    
     /**
      * Build Maven Central metadata URL for querying available versions.
      *
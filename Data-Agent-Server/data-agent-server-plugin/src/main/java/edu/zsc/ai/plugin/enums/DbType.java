@@ -8,7 +8,27 @@ public enum DbType {
     /**
      * MySQL
      */
-    MYSQL("mysql", "MySQL", PluginType.SQL);
+    MYSQL("mysql", "MySQL", PluginType.SQL),
+
+    /**
+     * PostgreSQL
+     */
+    POSTGRESQL("postgresql", "PostgreSQL", PluginType.SQL),
+
+    /**
+     * H2, embedded in-process
+     */
+    H2("h2", "H2", PluginType.SQL),
+
+    /**
+     * DuckDB, embedded analytical engine over database files and local CSV/Parquet files
+     */
+    DUCKDB("duckdb", "DuckDB", PluginType.SQL),
+
+    /**
+     * Any database reachable through a JDBC driver JAR, for sources without a dedicated plugin
+     */
+    GENERIC("generic", "Generic JDBC", PluginType.SQL);
     
     /**
      * Database type identifier (lowercase)
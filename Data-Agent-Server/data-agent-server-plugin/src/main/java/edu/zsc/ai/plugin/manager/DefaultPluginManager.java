@@ -24,16 +24,16 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 public class DefaultPluginManager implements PluginManager {
 
     private static final Logger logger = Logger.getLogger(DefaultPluginManager.class.getName());
 
-    private final Map<String, Plugin> pluginMap = new ConcurrentHashMap<>();
-
-    private final Map<String, List<Plugin>> pluginsByDbType = new ConcurrentHashMap<>();
+    /**
+     * Sorted plugin and capability lookups, built once by {@link #loadPlugins()}
+     */
+    private final PluginCapabilityIndex index;
 
     private static final DefaultPluginManager INSTANCE = new DefaultPluginManager();
 
@@ -42,22 +42,24 @@ public class DefaultPluginManager implements PluginManager {
     }
 
     private DefaultPluginManager() {
-        loadPlugins();
+        this.index = loadPlugins();
     }
 
-    private void loadPlugins() {
+    private PluginCapabilityIndex loadPlugins() {
         logger.info("Loading plugins using Java SPI...");
 
         ServiceLoader<Plugin> loader = ServiceLoader.load(Plugin.class);
         int successCount = 0;
         int failureCount = 0;
+        List<Plugin> plugins = new ArrayList<>();
 
         for (Plugin plugin : loader) {
             try {
-                String dbTypeCode = plugin.getDbType().getCode().toLowerCase();
-                pluginsByDbType.computeIfAbsent(dbTypeCode, k -> new ArrayList<>()).add(plugin);
-
-                pluginMap.put(plugin.getPluginId(), plugin);
+                // Checked here so that a broken plugin is skipped rather than failing the index build
+                Objects.requireNonNull(plugin.getDbType().getCode(), "Database type code cannot be null");
+                Objects.requireNonNull(plugin.getPluginId(), "Plugin ID cannot be null");
+                Objects.requireNonNull(plugin.getVersion(), "Plugin version cannot be null");
+                plugins.add(plugin);
 
                 logger.info(String.format("Loaded plugin: %s (ID: %s, Version: %s)", plugin.getDisplayName(), plugin.getPluginId(), plugin.getVersion()));
                 successCount++;
@@ -68,19 +70,13 @@ public class DefaultPluginManager implements PluginManager {
         }
 
         logger.info(String.format("Plugin loading completed. Success: %d, Failed: %d", successCount, failureCount));
+        return PluginCapabilityIndex.build(plugins);
     }
 
     @Override
     public MavenCoordinates getMavenCoordinatesByDbTypeAndVersion(@NotNull DbType dbType, String driverVersion) {
         Objects.requireNonNull(dbType, "Database type cannot be null");
-        List<Plugin> plugins = pluginsByDbType.get(dbType.getCode().toLowerCase());
-        if (plugins == null || plugins.isEmpty()) {
-            throw new IllegalArgumentException("No plugin available for database type: " + dbType.getCode());
-        }
-
-        List<Plugin> sortedPlugins = PluginVersionSorter.sortByVersionDesc(plugins);
-
-        for (Plugin plugin : sortedPlugins) {
+        for (Plugin plugin : index.getPlugins(dbType.getCode())) {
             try {
                 return plugin.getDriverMavenCoordinates(driverVersion);
             } catch (RuntimeException e) {
@@ -94,173 +90,165 @@ public class DefaultPluginManager implements PluginManager {
                         driverVersion != null ? driverVersion : "default", dbType.getCode()));
     }
 
-    private List<Plugin> getPluginsByDbTypeInternal(@NotBlank String dbTypeCode) {
-        List<Plugin> plugins = pluginsByDbType.get(dbTypeCode.toLowerCase());
-        if (plugins == null || plugins.isEmpty()) {
-            throw new IllegalArgumentException("No plugin available for database type: " + dbTypeCode);
-        }
-        return PluginVersionSorter.sortByVersionDesc(plugins);
-    }
-
     @Override
     public List<Plugin> getPluginsByDbType(@NotBlank String dbTypeCode) {
-        return getPluginsByDbTypeInternal(dbTypeCode);
+        return index.getPlugins(dbTypeCode);
     }
 
     @Override
     public Plugin getPluginByDbTypeAndVersion(@NotBlank String dbTypeCode, String databaseVersion) {
-        return PluginVersionSelector.select(getPluginsByDbTypeInternal(dbTypeCode), databaseVersion);
+        return index.select(dbTypeCode, databaseVersion);
     }
 
     @Override
     public List<ConnectionProvider> getConnectionProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), ConnectionProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, ConnectionProvider.class);
     }
 
     @Override
     public ConnectionProvider getConnectionProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, ConnectionProvider.class);
+        return index.getProvider(pluginId, ConnectionProvider.class);
     }
 
     @Override
     public ConnectionProvider getConnectionProviderByDbTypeAndVersion(@NotBlank String dbTypeCode, String databaseVersion) {
-        return PluginCapabilityResolver.getProviderByDbTypeAndVersion(getPluginsByDbTypeInternal(dbTypeCode), databaseVersion, ConnectionProvider.class);
+        return index.getProvider(dbTypeCode, databaseVersion, ConnectionProvider.class);
     }
 
     @Override
     public List<DatabaseProvider> getDatabaseProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), DatabaseProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, DatabaseProvider.class);
     }
 
     @Override
     public DatabaseProvider getDatabaseProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, DatabaseProvider.class);
+        return index.getProvider(pluginId, DatabaseProvider.class);
     }
 
     @Override
     public DatabaseProvider getDatabaseProviderByDbTypeAndVersion(@NotBlank String dbTypeCode, String databaseVersion) {
-        return PluginCapabilityResolver.getProviderByDbTypeAndVersion(getPluginsByDbTypeInternal(dbTypeCode), databaseVersion, DatabaseProvider.class);
+        return index.getProvider(dbTypeCode, databaseVersion, DatabaseProvider.class);
     }
 
     @Override
     public List<SchemaProvider> getSchemaProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), SchemaProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, SchemaProvider.class);
     }
 
     @Override
     public SchemaProvider getSchemaProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, SchemaProvider.class);
+        return index.getProvider(pluginId, SchemaProvider.class);
     }
 
     @Override
     public SchemaProvider getSchemaProviderByDbTypeAndVersion(@NotBlank String dbTypeCode, String databaseVersion) {
-        return PluginCapabilityResolver.getProviderByDbTypeAndVersion(getPluginsByDbTypeInternal(dbTypeCode), databaseVersion, SchemaProvider.class);
+        return index.getProvider(dbTypeCode, databaseVersion, SchemaProvider.class);
     }
 
     @Override
     public List<TableProvider> getTableProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), TableProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, TableProvider.class);
     }
 
     @Override
     public TableProvider getTableProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, TableProvider.class);
+        return index.getProvider(pluginId, TableProvider.class);
     }
 
     @Override
     public TableProvider getTableProviderByDbTypeAndVersion(@NotBlank String dbTypeCode, String databaseVersion) {
-        return PluginCapabilityResolver.getProviderByDbTypeAndVersion(getPluginsByDbTypeInternal(dbTypeCode), databaseVersion, TableProvider.class);
+        return index.getProvider(dbTypeCode, databaseVersion, TableProvider.class);
     }
 
     @Override
     public List<ViewProvider> getViewProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), ViewProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, ViewProvider.class);
     }
 
     @Override
     public ViewProvider getViewProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, ViewProvider.class);
+        return index.getProvider(pluginId, ViewProvider.class);
     }
 
     @Override
     public ViewProvider getViewProviderByDbTypeAndVersion(@NotBlank String dbTypeCode, String databaseVersion) {
-        return PluginCapabilityResolver.getProviderByDbTypeAndVersion(getPluginsByDbTypeInternal(dbTypeCode), databaseVersion, ViewProvider.class);
+        return index.getProvider(dbTypeCode, databaseVersion, ViewProvider.class);
     }
 
     @Override
     public List<ColumnProvider> getColumnProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), ColumnProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, ColumnProvider.class);
     }
 
     @Override
     public ColumnProvider getColumnProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, ColumnProvider.class);
+        return index.getProvider(pluginId, ColumnProvider.class);
     }
 
     @Override
     public ColumnProvider getColumnProviderByDbTypeAndVersion(@NotBlank String dbTypeCode, String databaseVersion) {
-        return PluginCapabilityResolver.getProviderByDbTypeAndVersion(getPluginsByDbTypeInternal(dbTypeCode), databaseVersion, ColumnProvider.class);
+        return index.getProvider(dbTypeCode, databaseVersion, ColumnProvider.class);
     }
 
     @Override
     public List<IndexProvider> getIndexProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), IndexProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, IndexProvider.class);
     }
 
     @Override
     public IndexProvider getIndexProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, IndexProvider.class);
+        return index.getProvider(pluginId, IndexProvider.class);
     }
 
     @Override
     public IndexProvider getIndexProviderByDbTypeAndVersion(@NotBlank String dbTypeCode, String databaseVersion) {
-        return PluginCapabilityResolver.getProviderByDbTypeAndVersion(getPluginsByDbTypeInternal(dbTypeCode), databaseVersion, IndexProvider.class);
+        return index.getProvider(dbTypeCode, databaseVersion, IndexProvider.class);
     }
 
     @Override
     public List<FunctionProvider> getFunctionProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), FunctionProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, FunctionProvider.class);
     }
 
     @Override
     public FunctionProvider getFunctionProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, FunctionProvider.class);
+        return index.getProvider(pluginId, FunctionProvider.class);
     }
 
     @Override
     public List<ProcedureProvider> getProcedureProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), ProcedureProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, ProcedureProvider.class);
     }
 
     @Override
     public ProcedureProvider getProcedureProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, ProcedureProvider.class);
+        return index.getProvider(pluginId, ProcedureProvider.class);
     }
 
     @Override
     public List<TriggerProvider> getTriggerProviderByDbType(@NotBlank String dbTypeCode) {
-        return PluginCapabilityResolver.getProviders(getPluginsByDbTypeInternal(dbTypeCode), TriggerProvider.class, dbTypeCode);
+        return index.getProviders(dbTypeCode, TriggerProvider.class);
     }
 
     @Override
     public TriggerProvider getTriggerProviderByPluginId(@NotBlank String pluginId) {
-        return PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, TriggerProvider.class);
+        return index.getProvider(pluginId, TriggerProvider.class);
     }
 
     @Override
     public CommandExecutor<SqlCommandRequest, SqlCommandResult> getSqlCommandExecutorByPluginId(@NotBlank String pluginId) {
-        return (CommandExecutor<SqlCommandRequest, SqlCommandResult>) PluginCapabilityResolver.getProviderByPluginId(pluginMap, pluginId, CommandExecutor.class);
+        return (CommandExecutor<SqlCommandRequest, SqlCommandResult>) index.getProvider(pluginId, CommandExecutor.class);
     }
 
     @Override
     public SqlSplitter getSqlSplitterByPluginId(@NotBlank String pluginId) {
-        Plugin plugin = pluginMap.get(pluginId);
+        Plugin plugin = index.getPlugin(pluginId);
         return (plugin instanceof SqlSplitter splitter) ? splitter : DefaultSqlSplitter.INSTANCE;
     }
 
     @Override
     public SqlValidator getSqlValidatorByPluginId(@NotBlank String pluginId) {
-        Plugin plugin = pluginMap.get(pluginId);
+        Plugin plugin = index.getPlugin(pluginId);
         return (plugin instanceof SqlValidator validator) ? validator : DefaultSqlValidator.INSTANCE;
     }
 }
@@ -0,0 +1,235 @@
+package edu.zsc.ai.plugin.manager;
+
+import edu.zsc.ai.plugin.Plugin;
+import edu.zsc.ai.plugin.capability.ColumnProvider;
+import edu.zsc.ai.plugin.capability.CommandExecutor;
+import edu.zsc.ai.plugin.capability.ConnectionProvider;
+import edu.zsc.ai.plugin.capability.DatabaseProvider;
+import edu.zsc.ai.plugin.capability.FunctionProvider;
+import edu.zsc.ai.plugin.capability.IndexProvider;
+import edu.zsc.ai.plugin.capability.ProcedureProvider;
+import edu.zsc.ai.plugin.capability.SchemaProvider;
+import edu.zsc.ai.plugin.capability.SqlSplitter;
+import edu.zsc.ai.plugin.capability.SqlValidator;
+import edu.zsc.ai.plugin.capability.TableProvider;
+import edu.zsc.ai.plugin.capability.TriggerProvider;
+import edu.zsc.ai.plugin.capability.ViewProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable lookup tables of the loaded plugins, built once when plugins are loaded.
+ * <p>
+ * Per database type it holds the plugins sorted by version (newest first) and, per capability, the
+ * plugins implementing it in that same order; per plugin ID it holds the capabilities the plugin
+ * implements. Lookups are plain map reads returning the precomputed unmodifiable lists, so the
+ * request path neither sorts nor filters and allocates nothing.
+ *
+ * @author Data-Agent
+ * @since 0.0.1
+ */
+final class PluginCapabilityIndex {
+
+    /**
+     * Capabilities resolved through the index; others fall back to filtering with {@code instanceof}.
+     */
+    static final List<Class<?>> CAPABILITIES = List.of(
+            ConnectionProvider.class,
+            DatabaseProvider.class,
+            SchemaProvider.class,
+            TableProvider.class,
+            ViewProvider.class,
+            ColumnProvider.class,
+            IndexProvider.class,
+            FunctionProvider.class,
+            ProcedureProvider.class,
+            TriggerProvider.class,
+            CommandExecutor.class,
+            SqlSplitter.class,
+            SqlValidator.class);
+
+    /**
+     * Plugins per lower-case database type code, newest version first
+     */
+    private final Map<String, List<Plugin>> pluginsByDbType;
+
+    /**
+     * Providers per lower-case database type code and capability, newest version first; only non-empty lists
+     */
+    private final Map<String, Map<Class<?>, List<?>>> providersByDbType;
+
+    /**
+     * Plugin per plugin ID
+     */
+    private final Map<String, Plugin> pluginsById;
+
+    /**
+     * Capabilities implemented per plugin ID, mapped to the plugin itself
+     */
+    private final Map<String, Map<Class<?>, Object>> capabilitiesByPluginId;
+
+    private PluginCapabilityIndex(Map<String, List<Plugin>> pluginsByDbType,
+                                  Map<String, Map<Class<?>, List<?>>> providersByDbType,
+                                  Map<String, Plugin> pluginsById,
+                                  Map<String, Map<Class<?>, Object>> capabilitiesByPluginId) {
+        this.pluginsByDbType = pluginsByDbType;
+        this.providersByDbType = providersByDbType;
+        this.pluginsById = pluginsById;
+        this.capabilitiesByPluginId = capabilitiesByPluginId;
+    }
+
+    /**
+     * Build the index of the given plugins. A later plugin with the same ID replaces the earlier one,
+     * as registration into a map would.
+     *
+     * @param plugins loaded plugins in load order
+     * @return the index
+     */
+    static PluginCapabilityIndex build(List<Plugin> plugins) {
+        Map<String, Plugin> pluginsById = new LinkedHashMap<>();
+        for (Plugin plugin : plugins) {
+            pluginsById.put(plugin.getPluginId(), plugin);
+        }
+
+        Map<String, List<Plugin>> grouped = new LinkedHashMap<>();
+        for (Plugin plugin : pluginsById.values()) {
+            grouped.computeIfAbsent(plugin.getDbType().getCode().toLowerCase(), k -> new ArrayList<>()).add(plugin);
+        }
+
+        Map<String, List<Plugin>> pluginsByDbType = new HashMap<>();
+        Map<String, Map<Class<?>, List<?>>> providersByDbType = new HashMap<>();
+        for (Map.Entry<String, List<Plugin>> entry : grouped.entrySet()) {
+            List<Plugin> sorted = List.copyOf(PluginVersionSorter.sortByVersionDesc(entry.getValue()));
+            pluginsByDbType.put(entry.getKey(), sorted);
+
+            Map<Class<?>, List<?>> providers = new HashMap<>();
+            for (Class<?> capability : CAPABILITIES) {
+                List<?> implementing = sorted.stream().filter(capability::isInstance).toList();
+                if (!implementing.isEmpty()) {
+                    providers.put(capability, implementing);
+                }
+            }
+            providersByDbType.put(entry.getKey(), Map.copyOf(providers));
+        }
+
+        Map<String, Map<Class<?>, Object>> capabilitiesByPluginId = new HashMap<>();
+        for (Plugin plugin : pluginsById.values()) {
+            Map<Class<?>, Object> capabilities = new HashMap<>();
+            for (Class<?> capability : CAPABILITIES) {
+                if (capability.isInstance(plugin)) {
+                    capabilities.put(capability, plugin);
+                }
+            }
+            capabilitiesByPluginId.put(plugin.getPluginId(), Map.copyOf(capabilities));
+        }
+
+        return new PluginCapabilityIndex(Map.copyOf(pluginsByDbType), Map.copyOf(providersByDbType),
+                Map.copyOf(pluginsById), Map.copyOf(capabilitiesByPluginId));
+    }
+
+    /**
+     * Get the plugins of a database type, newest version first.
+     *
+     * @param dbTypeCode database type code (any case)
+     * @return unmodifiable list of plugins
+     * @throws IllegalArgumentException if no plugin is available for the database type
+     */
+    List<Plugin> getPlugins(String dbTypeCode) {
+        List<Plugin> plugins = pluginsByDbType.get(dbTypeCode.toLowerCase());
+        if (plugins == null) {
+            throw new IllegalArgumentException("No plugin available for database type: " + dbTypeCode);
+        }
+        return plugins;
+    }
+
+    /**
+     * Get the plugins of a database type implementing a capability, newest version first.
+     *
+     * @param dbTypeCode      database type code (any case)
+     * @param capabilityClass the capability interface
+     * @param <T>             capability type
+     * @return unmodifiable list of providers
+     * @throws IllegalArgumentException if no plugin is available for the database type or none implements the capability
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<T> getProviders(String dbTypeCode, Class<T> capabilityClass) {
+        List<Plugin> plugins = getPlugins(dbTypeCode);
+        List<?> providers = providersByDbType.get(dbTypeCode.toLowerCase()).get(capabilityClass);
+        if (providers == null) {
+            if (!CAPABILITIES.contains(capabilityClass)) {
+                return PluginCapabilityResolver.getProviders(plugins, capabilityClass, dbTypeCode);
+            }
+            throw new IllegalArgumentException("No " + capabilityClass.getSimpleName() + " available for database type: " + dbTypeCode);
+        }
+        return (List<T>) providers;
+    }
+
+    /**
+     * Get the plugin of a database type matching a database version, see {@link PluginVersionSelector}.
+     *
+     * @param dbTypeCode      database type code (any case)
+     * @param databaseVersion database version (may be null for latest)
+     * @return selected plugin
+     * @throws IllegalArgumentException if no plugin is available for the database type
+     */
+    Plugin select(String dbTypeCode, String databaseVersion) {
+        return PluginVersionSelector.selectFromSorted(getPlugins(dbTypeCode), databaseVersion);
+    }
+
+    /**
+     * Get a plugin by ID.
+     *
+     * @param pluginId plugin ID
+     * @return the plugin, or null if not loaded
+     */
+    Plugin getPlugin(String pluginId) {
+        return pluginsById.get(pluginId);
+    }
+
+    /**
+     * Get a capability provider by plugin ID.
+     *
+     * @param pluginId        plugin ID
+     * @param capabilityClass the capability interface
+     * @param <T>             capability type
+     * @return the capability provider
+     * @throws NullPointerException     if plugin not found
+     * @throws IllegalArgumentException if plugin does not implement the capability
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getProvider(String pluginId, Class<T> capabilityClass) {
+        Map<Class<?>, Object> capabilities = Objects.requireNonNull(capabilitiesByPluginId.get(pluginId),
+                "No plugin found with ID: " + pluginId);
+        Object provider = capabilities.get(capabilityClass);
+        if (provider == null) {
+            if (!CAPABILITIES.contains(capabilityClass)) {
+                return PluginCapabilityResolver.getProviderByPluginId(pluginsById, pluginId, capabilityClass);
+            }
+            throw new IllegalArgumentException("Plugin " + pluginId + " does not implement " + capabilityClass.getSimpleName());
+        }
+        return (T) provider;
+    }
+
+    /**
+     * Get the capability provider of a database type matching a database version.
+     *
+     * @param dbTypeCode      database type code (any case)
+     * @param databaseVersion database version (may be null for latest)
+     * @param capabilityClass the capability interface
+     * @param <T>             capability type
+     * @return the capability provider
+     * @throws IllegalArgumentException if no plugin is available or the selected plugin does not implement the capability
+     */
+    <T> T getProvider(String dbTypeCode, String databaseVersion, Class<T> capabilityClass) {
+        Plugin plugin = select(dbTypeCode, databaseVersion);
+        if (!capabilityClass.isInstance(plugin)) {
+            throw new IllegalArgumentException("Plugin " + plugin.getPluginId() + " does not implement " + capabilityClass.getSimpleName());
+        }
+        return capabilityClass.cast(plugin);
+    }
+}
@@ -44,8 +44,18 @@ public class PluginVersionSelector {
         }
 
         // Sort by version (newest first)
-        List<Plugin> sortedPlugins = PluginVersionSorter.sortByVersionDesc(plugins);
+        return selectFromSorted(PluginVersionSorter.sortByVersionDesc(plugins), databaseVersion);
+    }
 
+    /**
+     * Same as {@link #select(List, String)} for a list already sorted by version (newest first),
+     * e.g. the lists precomputed by {@link PluginCapabilityIndex}.
+     *
+     * @param sortedPlugins   non-empty list of plugins, newest first
+     * @param databaseVersion database version to match (nullable)
+     * @return selected plugin
+     */
+    static Plugin selectFromSorted(List<Plugin> sortedPlugins, String databaseVersion) {
         // If no version specified, return first plugin
         if (databaseVersion == null || databaseVersion.isEmpty()) {
             return sortedPlugins.get(0);
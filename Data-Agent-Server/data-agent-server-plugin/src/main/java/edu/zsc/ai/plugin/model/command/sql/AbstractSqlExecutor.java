@@ -82,12 +82,27 @@ public abstract class AbstractSqlExecutor implements CommandExecutor<SqlCommandR
         }
     }
 
+    /**
+     * Configure the statement before it executes, e.g. its fetch size.
+     * Subclasses can override this method to apply driver-specific settings; the default does nothing.
+     *
+     * @param statement the statement about to execute
+     * @param command   the SQL command request
+     * @throws SQLException if a setting is rejected
+     */
+    protected void configureStatement(Statement statement, SqlCommandRequest command) throws SQLException {
+    }
+
     /**
      * Execute SQL statement and populate result
      */
     private void executeSqlStatement(Connection connection, SqlCommandRequest command, SqlCommandResult result)
             throws SQLException {
         try (Statement statement = connection.createStatement()) {
+            configureStatement(statement, command);
+            if (command.getStatementListener() != null) {
+                command.getStatementListener().accept(statement);
+            }
             String sql = command.getExecuteSql();
             long start = System.currentTimeMillis();
             result.setStartTime(start);
@@ -120,7 +135,7 @@ public abstract class AbstractSqlExecutor implements CommandExecutor<SqlCommandR
             if (!results.isEmpty()) {
                 applyFirstResult(result, results.get(0));
             }
-            addWarnings(statement.getWarnings(), result, null);
+            addWarnings(warnings(statement::getWarnings), result, null);
             long end = System.currentTimeMillis();
             result.setEndTime(end);
             result.setExecutionTime(end - start);
@@ -134,6 +149,22 @@ public abstract class AbstractSqlExecutor implements CommandExecutor<SqlCommandR
         sub.setAffectedRows(updateCount);
     }
 
+    /**
+     * Some drivers (e.g. DuckDB) do not implement getWarnings; they have no warnings to report.
+     */
+    private static SQLWarning warnings(WarningSource source) throws SQLException {
+        try {
+            return source.get();
+        } catch (SQLFeatureNotSupportedException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface WarningSource {
+        SQLWarning get() throws SQLException;
+    }
+
     private void addWarnings(SQLWarning warning, SqlCommandResult result, SqlCommandSubResult sub) {
         SQLWarning current = warning;
         while (current != null) {
@@ -293,7 +324,7 @@ public abstract class AbstractSqlExecutor implements CommandExecutor<SqlCommandR
             sub.setColumns(columns);
             sub.setFetchRows(rows.size());
             sub.setFetchingMs(fetchEnd - fetchStart);
-            addWarnings(resultSet.getWarnings(), result, sub);
+            addWarnings(warnings(resultSet::getWarnings), result, sub);
         }
     }
 
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.sql.Connection;
+import java.sql.Statement;
+import java.util.function.Consumer;
 
 @Data
 @AllArgsConstructor
@@ -27,6 +29,12 @@ public class SqlCommandRequest implements CommandRequest {
     /** PreparedStatement parameters, null or empty uses Statement */
     private Object[] params;
 
+    /**
+     * Optional callback receiving the live Statement before it executes, so the caller can
+     * {@link Statement#cancel()} it from another thread. Null when cancellation is not needed.
+     */
+    private Consumer<Statement> statementListener;
+
     @Override
     public String getCommand() {
         return originalSql;
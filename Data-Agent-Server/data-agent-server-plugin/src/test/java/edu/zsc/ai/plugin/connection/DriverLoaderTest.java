@@ -0,0 +1,183 @@
+package edu.zsc.ai.plugin.connection;
+
+import edu.zsc.ai.plugin.driver.DriverLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DriverLoader.
+ */
+class DriverLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionConfig config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // FakeDriver is found through the parent class loader; the JAR only has to exist
+        Path jarFile = tempDir.resolve("fake-driver.jar");
+        try (java.util.jar.JarOutputStream jos = new java.util.jar.JarOutputStream(
+                Files.newOutputStream(jarFile))) {
+            jos.putNextEntry(new java.util.jar.JarEntry("META-INF/MANIFEST.MF"));
+            jos.write("Manifest-Version: 1.0\n".getBytes());
+            jos.closeEntry();
+        }
+        config = new ConnectionConfig();
+        config.setDriverJarPath(jarFile.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        DriverLoader.unloadDriver(config.getDriverJarPath());
+    }
+
+    @Test
+    void testLoadDriver_ReusesInstance() {
+        Driver first = DriverLoader.loadDriver(config, FakeDriver.class.getName());
+        Driver second = DriverLoader.loadDriver(config, FakeDriver.class.getName());
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void testConnect_DoesNotRegisterWithDriverManager() throws SQLException {
+        int registeredBefore = Collections.list(DriverManager.getDrivers()).size();
+
+        for (int i = 0; i < 5; i++) {
+            Connection connection = DriverLoader.connect(config, FakeDriver.class.getName(),
+                    FakeDriver.URL, new Properties());
+            assertNotNull(connection);
+        }
+
+        assertEquals(registeredBefore, Collections.list(DriverManager.getDrivers()).size());
+    }
+
+    @Test
+    void testConnect_UrlNotAccepted() {
+        assertThrows(SQLException.class, () -> DriverLoader.connect(config, FakeDriver.class.getName(),
+                "jdbc:other://localhost", new Properties()));
+    }
+
+    @Test
+    void testUnloadDriver_LoadsFreshInstanceAfterwards() {
+        Driver before = DriverLoader.loadDriver(config, FakeDriver.class.getName());
+
+        assertTrue(DriverLoader.unloadDriver(config.getDriverJarPath()));
+        assertFalse(DriverLoader.unloadDriver(config.getDriverJarPath()));
+
+        Driver after = DriverLoader.loadDriver(config, FakeDriver.class.getName());
+        assertNotSame(before, after);
+    }
+
+    @Test
+    void testUnloadIdleDrivers_KeepsJarWithOpenConnection() throws SQLException {
+        Connection connection = DriverLoader.connect(config, FakeDriver.class.getName(), FakeDriver.URL, new Properties());
+        Driver before = DriverLoader.loadDriver(config, FakeDriver.class.getName());
+
+        assertEquals(0, DriverLoader.unloadIdleDrivers(Duration.ZERO));
+        assertSame(before, DriverLoader.loadDriver(config, FakeDriver.class.getName()));
+        assertTrue(DriverLoader.getOpenConnectionCount() >= 1);
+        assertNotNull(connection);
+    }
+
+    @Test
+    void testUnloadIdleDrivers_UnloadsJarWithClosedConnections() throws SQLException {
+        FakeDriver.closed = true;
+        try {
+            DriverLoader.connect(config, FakeDriver.class.getName(), FakeDriver.URL, new Properties());
+            Driver before = DriverLoader.loadDriver(config, FakeDriver.class.getName());
+            long unloadedBefore = DriverLoader.getUnloadedJarCount();
+
+            assertEquals(0, DriverLoader.unloadIdleDrivers(Duration.ofHours(1)));
+            assertEquals(1, DriverLoader.unloadIdleDrivers(Duration.ZERO));
+            assertEquals(unloadedBefore + 1, DriverLoader.getUnloadedJarCount());
+            assertFalse(DriverLoader.unloadDriver(config.getDriverJarPath()));
+
+            // Loaded again on demand
+            assertNotNull(DriverLoader.connect(config, FakeDriver.class.getName(), FakeDriver.URL, new Properties()));
+            assertNotSame(before, DriverLoader.loadDriver(config, FakeDriver.class.getName()));
+        } finally {
+            FakeDriver.closed = false;
+        }
+    }
+
+    @Test
+    void testLoadDriver_JarDoesNotExist() {
+        ConnectionConfig missing = new ConnectionConfig();
+        missing.setDriverJarPath(tempDir.resolve("missing.jar").toString());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DriverLoader.loadDriver(missing, FakeDriver.class.getName()));
+    }
+
+    /**
+     * Driver accepting {@link #URL} only; connections are inert proxies that report {@link #closed}.
+     */
+    public static class FakeDriver implements Driver {
+
+        static final String URL = "jdbc:fake://localhost";
+
+        static volatile boolean closed;
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> "isClosed".equals(method.getName()) ? closed : null);
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return URL.equals(url);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
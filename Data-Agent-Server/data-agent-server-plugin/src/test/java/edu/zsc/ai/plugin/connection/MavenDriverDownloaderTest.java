@@ -0,0 +1,128 @@
+package edu.zsc.ai.plugin.connection;
+
+import edu.zsc.ai.plugin.driver.ChecksumVerifier;
+import edu.zsc.ai.plugin.driver.DriverDownloadProgress;
+import edu.zsc.ai.plugin.driver.DriverRepositorySource;
+import edu.zsc.ai.plugin.driver.MavenCoordinates;
+import edu.zsc.ai.plugin.driver.MavenDriverDownloader;
+import edu.zsc.ai.plugin.enums.DbType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MavenDriverDownloader with file repository sources.
+ */
+class MavenDriverDownloaderTest {
+
+    private static final MavenCoordinates COORDINATES = new MavenCoordinates(
+        "com.example",
+        "example-jdbc",
+        "1.2.3"
+    );
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDownloadDriver_FromMirrorWithChecksum() throws IOException {
+        Path mirror = tempDir.resolve("mirror");
+        Path jar = publish(mirror, true);
+        Path storage = tempDir.resolve("storage");
+
+        Path driverPath = MavenDriverDownloader.downloadDriver(COORDINATES, DbType.MYSQL, storage.toString(),
+            List.of(DriverRepositorySource.mirror(mirror.toString())), true);
+
+        assertEquals(storage.resolve("MySQL/example-jdbc-1.2.3.jar"), driverPath);
+        assertArrayEquals(Files.readAllBytes(jar), Files.readAllBytes(driverPath));
+        assertFalse(Files.exists(driverPath.resolveSibling("example-jdbc-1.2.3.jar.part")));
+
+        DriverDownloadProgress progress = MavenDriverDownloader.getDownloads().stream()
+            .filter(p -> p.getCoordinates().equals(COORDINATES.toCoordinateString()))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(DriverDownloadProgress.State.COMPLETED, progress.getState());
+        assertEquals("mirror", progress.getSource());
+        assertEquals(Files.size(jar), progress.getBytesDownloaded());
+    }
+
+    @Test
+    void testDownloadDriver_FallsBackToNextSource() throws IOException {
+        Path empty = tempDir.resolve("local");
+        Files.createDirectories(empty);
+        Path mirror = tempDir.resolve("mirror");
+        publish(mirror, false);
+        Path storage = tempDir.resolve("storage");
+
+        Path driverPath = MavenDriverDownloader.downloadDriver(COORDINATES, DbType.MYSQL, storage.toString(),
+            List.of(new DriverRepositorySource("local", empty.toUri().toString()),
+                DriverRepositorySource.mirror(mirror.toString())), false);
+
+        assertTrue(Files.isRegularFile(driverPath));
+    }
+
+    @Test
+    void testDownloadDriver_ChecksumMismatch() throws IOException {
+        Path mirror = tempDir.resolve("mirror");
+        Path jar = publish(mirror, false);
+        Files.writeString(jar.resolveSibling(jar.getFileName() + ".sha1"), "0".repeat(40));
+        Path storage = tempDir.resolve("storage");
+
+        RuntimeException e = assertThrows(RuntimeException.class, () ->
+            MavenDriverDownloader.downloadDriver(COORDINATES, DbType.MYSQL, storage.toString(),
+                List.of(DriverRepositorySource.mirror(mirror.toString())), false));
+
+        assertTrue(e.getMessage().contains("checksum mismatch"));
+        assertFalse(Files.exists(storage.resolve("MySQL/example-jdbc-1.2.3.jar")));
+        assertFalse(Files.exists(storage.resolve("MySQL/example-jdbc-1.2.3.jar.part")));
+    }
+
+    @Test
+    void testDownloadDriver_RequireChecksum() throws IOException {
+        Path mirror = tempDir.resolve("mirror");
+        publish(mirror, false);
+        Path storage = tempDir.resolve("storage");
+
+        assertThrows(RuntimeException.class, () ->
+            MavenDriverDownloader.downloadDriver(COORDINATES, DbType.MYSQL, storage.toString(),
+                List.of(DriverRepositorySource.mirror(mirror.toString())), true));
+        assertFalse(Files.exists(storage.resolve("MySQL/example-jdbc-1.2.3.jar")));
+    }
+
+    @Test
+    void testChecksumParse_AcceptsFileNameSuffix() {
+        String hex = "a".repeat(64);
+        ChecksumVerifier.Checksum checksum = ChecksumVerifier.parse(
+            ChecksumVerifier.ALGORITHMS.get(0), hex.toUpperCase() + "  example-jdbc-1.2.3.jar\n");
+
+        assertEquals(hex, checksum.hex());
+        assertThrows(IllegalArgumentException.class,
+            () -> ChecksumVerifier.parse(ChecksumVerifier.ALGORITHMS.get(1), "not-a-checksum"));
+    }
+
+    /**
+     * Publish a minimal JAR for the test coordinates in Maven layout, optionally with its SHA-256 file.
+     */
+    private Path publish(Path repository, boolean withChecksum) throws IOException {
+        Path jar = repository.resolve("com/example/example-jdbc/1.2.3/example-jdbc-1.2.3.jar");
+        Files.createDirectories(jar.getParent());
+        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(jar))) {
+            jos.putNextEntry(new JarEntry("META-INF/MANIFEST.MF"));
+            jos.write("Manifest-Version: 1.0\n".getBytes());
+            jos.closeEntry();
+        }
+        if (withChecksum) {
+            ChecksumVerifier.Algorithm sha256 = ChecksumVerifier.ALGORITHMS.get(0);
+            Files.writeString(jar.resolveSibling(jar.getFileName() + ".sha256"), ChecksumVerifier.digest(jar, sha256));
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,87 @@
+package edu.zsc.ai.plugin.connection;
+
+import edu.zsc.ai.plugin.driver.MavenMetadataCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MavenMetadataCache with file repository URLs.
+ */
+class MavenMetadataCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testGetVersions_ParsesAndSortsNewestFirst() throws IOException {
+        URL url = writeMetadata("5.1.49", "8.0.9", "8.0.33");
+        MavenMetadataCache cache = new MavenMetadataCache(tempDir.resolve("cache"));
+
+        assertEquals(List.of("8.0.33", "8.0.9", "5.1.49"), cache.getVersions(url, Duration.ofHours(1)));
+    }
+
+    @Test
+    void testGetVersions_FreshEntryServedFromCache() throws IOException {
+        URL url = writeMetadata("8.0.33");
+        MavenMetadataCache cache = new MavenMetadataCache(tempDir.resolve("cache"));
+        cache.getVersions(url, Duration.ofHours(1));
+
+        writeMetadata("8.0.33", "9.0.0");
+
+        assertEquals(List.of("8.0.33"), cache.getVersions(url, Duration.ofHours(1)));
+        assertEquals(List.of("9.0.0", "8.0.33"), cache.getVersions(url, Duration.ZERO));
+    }
+
+    @Test
+    void testGetVersions_StaleEntryServedWhenUnreachable() throws IOException {
+        URL url = writeMetadata("8.0.33");
+        MavenMetadataCache cache = new MavenMetadataCache(tempDir.resolve("cache"));
+        cache.getVersions(url, Duration.ofHours(1));
+
+        Files.delete(tempDir.resolve("repo/maven-metadata.xml"));
+
+        assertEquals(List.of("8.0.33"), cache.getVersions(url, Duration.ZERO));
+    }
+
+    @Test
+    void testGetVersions_PersistedAcrossInstances() throws IOException {
+        URL url = writeMetadata("8.0.33", "8.4.0");
+        new MavenMetadataCache(tempDir.resolve("cache")).getVersions(url, Duration.ofHours(1));
+        Files.delete(tempDir.resolve("repo/maven-metadata.xml"));
+
+        MavenMetadataCache restarted = new MavenMetadataCache(tempDir.resolve("cache"));
+
+        assertEquals(List.of("8.4.0", "8.0.33"), restarted.getVersions(url, Duration.ofHours(1)));
+    }
+
+    @Test
+    void testGetVersions_UnreachableAndNotCached() throws IOException {
+        URL url = tempDir.resolve("missing/maven-metadata.xml").toUri().toURL();
+        MavenMetadataCache cache = new MavenMetadataCache(tempDir.resolve("cache"));
+
+        assertThrows(RuntimeException.class, () -> cache.getVersions(url, Duration.ofHours(1)));
+    }
+
+    private URL writeMetadata(String... versions) throws IOException {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<metadata>\n")
+            .append("  <groupId>com.mysql</groupId>\n  <artifactId>mysql-connector-j</artifactId>\n")
+            .append("  <versioning>\n    <versions>\n");
+        for (String version : versions) {
+            xml.append("      <version>").append(version).append("</version>\n");
+        }
+        xml.append("    </versions>\n  </versioning>\n</metadata>\n");
+        Path file = tempDir.resolve("repo/maven-metadata.xml");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, xml);
+        return file.toUri().toURL();
+    }
+}
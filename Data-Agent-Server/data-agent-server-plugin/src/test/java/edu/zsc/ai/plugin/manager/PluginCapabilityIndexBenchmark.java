@@ -0,0 +1,67 @@
+package edu.zsc.ai.plugin.manager;
+
+import edu.zsc.ai.plugin.Plugin;
+import edu.zsc.ai.plugin.capability.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Microbenchmark of provider lookups: sorting and filtering the plugins per call, as the plugin
+ * manager did before, against the precomputed {@link PluginCapabilityIndex}.
+ * <p>
+ * Not a unit test; run {@code main} from the IDE or with the test classpath, e.g.
+ * {@code java -cp target/classes:target/test-classes edu.zsc.ai.plugin.manager.PluginCapabilityIndexBenchmark}.
+ */
+public final class PluginCapabilityIndexBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int CALLS_PER_ROUND = 1_000_000;
+
+    private PluginCapabilityIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<Plugin> plugins = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            plugins.add(new PluginCapabilityIndexTest.FakeConnectionPlugin("mysql-" + i, "0.0." + i, "5." + i, ""));
+        }
+        PluginCapabilityIndex index = PluginCapabilityIndex.build(plugins);
+
+        IntSupplier sortAndFilter = () -> PluginCapabilityResolver.getProviders(
+                PluginVersionSorter.sortByVersionDesc(plugins), ConnectionProvider.class, "mysql").size();
+        IntSupplier indexed = () -> index.getProviders("mysql", ConnectionProvider.class).size();
+        IntSupplier sortAndSelect = () -> PluginCapabilityResolver.getProviderByDbTypeAndVersion(
+                PluginVersionSorter.sortByVersionDesc(plugins), null, ConnectionProvider.class).hashCode();
+        IntSupplier indexedSelect = () -> index.getProvider("mysql", null, ConnectionProvider.class).hashCode();
+
+        report("providers by db type, sort + filter", sortAndFilter);
+        report("providers by db type, index", indexed);
+        report("provider by version, sort + select", sortAndSelect);
+        report("provider by version, index", indexedSelect);
+    }
+
+    private static void report(String name, IntSupplier lookup) {
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += run(lookup);
+        }
+        long bestNanos = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += run(lookup);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        System.out.printf("%-40s %8.1f ns/op (sink %d)%n", name, (double) bestNanos / CALLS_PER_ROUND, sink);
+    }
+
+    private static long run(IntSupplier lookup) {
+        long sum = 0;
+        for (int i = 0; i < CALLS_PER_ROUND; i++) {
+            sum += lookup.getAsInt();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,189 @@
+package edu.zsc.ai.plugin.manager;
+
+import edu.zsc.ai.plugin.Plugin;
+import edu.zsc.ai.plugin.capability.ConnectionProvider;
+import edu.zsc.ai.plugin.capability.SqlSplitter;
+import edu.zsc.ai.plugin.capability.TableProvider;
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.driver.MavenCoordinates;
+import edu.zsc.ai.plugin.enums.DbType;
+import edu.zsc.ai.plugin.enums.PluginType;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PluginCapabilityIndex.
+ */
+class PluginCapabilityIndexTest {
+
+    private final FakePlugin legacy = new FakePlugin("mysql-5.7", "0.0.1", "5.7", "7.99");
+    private final FakeConnectionPlugin current = new FakeConnectionPlugin("mysql-8", "0.0.2", "8.0", "");
+    private final PluginCapabilityIndex index = PluginCapabilityIndex.build(List.of(legacy, current));
+
+    @Test
+    void testPluginsSortedNewestFirst() {
+        assertEquals(List.of(current, legacy), index.getPlugins("mysql"));
+        assertEquals(List.of(current, legacy), index.getPlugins("MySQL"));
+    }
+
+    @Test
+    void testLookupsReturnSameInstance() {
+        assertSame(index.getPlugins("mysql"), index.getPlugins("mysql"));
+        assertSame(index.getProviders("mysql", ConnectionProvider.class),
+                index.getProviders("mysql", ConnectionProvider.class));
+    }
+
+    @Test
+    void testListsAreUnmodifiable() {
+        assertThrows(UnsupportedOperationException.class, () -> index.getPlugins("mysql").clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> index.getProviders("mysql", ConnectionProvider.class).clear());
+    }
+
+    @Test
+    void testProvidersFilteredByCapability() {
+        assertEquals(List.of(current), index.getProviders("mysql", ConnectionProvider.class));
+        assertEquals(List.of(current), index.getProviders("mysql", SqlSplitter.class));
+    }
+
+    @Test
+    void testMissingCapabilityThrows() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> index.getProviders("mysql", TableProvider.class));
+        assertEquals("No TableProvider available for database type: mysql", e.getMessage());
+    }
+
+    @Test
+    void testUnknownDbTypeThrows() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> index.getPlugins("oracle"));
+        assertEquals("No plugin available for database type: oracle", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> index.getProviders("oracle", ConnectionProvider.class));
+    }
+
+    @Test
+    void testProviderByPluginId() {
+        assertSame(current, index.getProvider("mysql-8", ConnectionProvider.class));
+        assertThrows(IllegalArgumentException.class, () -> index.getProvider("mysql-5.7", ConnectionProvider.class));
+        assertThrows(NullPointerException.class, () -> index.getProvider("missing", ConnectionProvider.class));
+    }
+
+    @Test
+    void testSelectByVersion() {
+        assertSame(current, index.select("mysql", null));
+        assertSame(current, index.select("mysql", "8.0.36"));
+        assertSame(legacy, index.select("mysql", "5.7.44"));
+        assertSame(current, index.getProvider("mysql", "8.0.36", ConnectionProvider.class));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.getProvider("mysql", "5.7.44", ConnectionProvider.class));
+    }
+
+    @Test
+    void testSamePluginIdReplacesEarlier() {
+        FakePlugin replacement = new FakePlugin("mysql-5.7", "0.0.3", "5.7", "7.99");
+        PluginCapabilityIndex replaced = PluginCapabilityIndex.build(List.of(legacy, current, replacement));
+
+        assertEquals(List.of(replacement, current), replaced.getPlugins("mysql"));
+        assertSame(replacement, replaced.getPlugin("mysql-5.7"));
+    }
+
+    static class FakePlugin implements Plugin {
+
+        private final String pluginId;
+        private final String version;
+        private final String minVersion;
+        private final String maxVersion;
+
+        FakePlugin(String pluginId, String version, String minVersion, String maxVersion) {
+            this.pluginId = pluginId;
+            this.version = version;
+            this.minVersion = minVersion;
+            this.maxVersion = maxVersion;
+        }
+
+        @Override
+        public String getPluginId() {
+            return pluginId;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return pluginId;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+
+        @Override
+        public DbType getDbType() {
+            return DbType.MYSQL;
+        }
+
+        @Override
+        public PluginType getPluginType() {
+            return PluginType.SQL;
+        }
+
+        @Override
+        public String getDescription() {
+            return "";
+        }
+
+        @Override
+        public String getVendor() {
+            return "";
+        }
+
+        @Override
+        public String getWebsite() {
+            return "";
+        }
+
+        @Override
+        public String getSupportMinVersion() {
+            return minVersion;
+        }
+
+        @Override
+        public String getSupportMaxVersion() {
+            return maxVersion;
+        }
+
+        @Override
+        public MavenCoordinates getDriverMavenCoordinates(String driverVersion) {
+            return new MavenCoordinates("com.mysql", "mysql-connector-j", "8.0.33");
+        }
+    }
+
+    static class FakeConnectionPlugin extends FakePlugin implements ConnectionProvider, SqlSplitter {
+
+        FakeConnectionPlugin(String pluginId, String version, String minVersion, String maxVersion) {
+            super(pluginId, version, minVersion, maxVersion);
+        }
+
+        @Override
+        public Connection connect(ConnectionConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean testConnection(ConnectionConfig config) {
+            return false;
+        }
+
+        @Override
+        public void closeConnection(Connection connection) {
+        }
+
+        @Override
+        public List<String> split(String sql) {
+            return List.of(sql);
+        }
+    }
+}
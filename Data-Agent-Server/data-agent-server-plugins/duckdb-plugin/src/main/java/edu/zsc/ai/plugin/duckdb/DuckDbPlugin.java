@@ -0,0 +1,273 @@
+package edu.zsc.ai.plugin.duckdb;
+
+import edu.zsc.ai.plugin.annotation.PluginInfo;
+import edu.zsc.ai.plugin.base.AbstractDatabasePlugin;
+import edu.zsc.ai.plugin.capability.ColumnProvider;
+import edu.zsc.ai.plugin.capability.CommandExecutor;
+import edu.zsc.ai.plugin.capability.ConnectionProvider;
+import edu.zsc.ai.plugin.capability.TableProvider;
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.connection.JdbcConnectionBuilder;
+import edu.zsc.ai.plugin.driver.DriverLoader;
+import edu.zsc.ai.plugin.driver.MavenCoordinates;
+import edu.zsc.ai.plugin.duckdb.connection.DuckDbDatasets;
+import edu.zsc.ai.plugin.duckdb.connection.DuckDbJdbcConnectionBuilder;
+import edu.zsc.ai.plugin.duckdb.constant.DuckDbConstants;
+import edu.zsc.ai.plugin.duckdb.constant.DuckDbSqlConstants;
+import edu.zsc.ai.plugin.duckdb.executor.DuckDbSqlExecutor;
+import edu.zsc.ai.plugin.duckdb.util.DuckDbIdentifierBuilder;
+import edu.zsc.ai.plugin.enums.DbType;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandResult;
+import edu.zsc.ai.plugin.model.metadata.ColumnMetadata;
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Embedded DuckDB plugin for analyzing local data without loading it into a server database.
+ * <p>
+ * The connection's database setting selects what is opened: a DuckDB database file, or a directory
+ * of CSV/Parquet/JSON files (or one such file) mapped to views of an in-memory database, all below
+ * the dataset root, see {@link DuckDbDatasets}. Queries run on DuckDB's vectorized engine using all
+ * cores, and results are streamed. Tables and views are both listed as tables. Once the connection
+ * is set up, file access is limited to the dataset root, attached databases and extensions are
+ * disabled and the configuration locked.
+ */
+@PluginInfo(
+        id = "duckdb-1",
+        name = "DuckDB 1.x (embedded)",
+        version = "0.0.1",
+        dbType = DbType.DUCKDB,
+        description = "Embedded DuckDB for analytical queries over database files and local CSV/Parquet files",
+        supportMinVersion = "1.2.0"
+)
+public class DuckDbPlugin extends AbstractDatabasePlugin
+        implements ConnectionProvider, CommandExecutor<SqlCommandRequest, SqlCommandResult>,
+        TableProvider, ColumnProvider {
+
+    private static final Logger logger = Logger.getLogger(DuckDbPlugin.class.getName());
+
+    private final JdbcConnectionBuilder connectionBuilder = new DuckDbJdbcConnectionBuilder();
+
+    private final DuckDbSqlExecutor sqlExecutor = new DuckDbSqlExecutor();
+
+    @Override
+    public boolean supportDatabase() {
+        return false;
+    }
+
+    @Override
+    public Connection connect(ConnectionConfig config) {
+        String jdbcUrl = connectionBuilder.buildUrl(config, DuckDbConstants.JDBC_URL_PREFIX, 0);
+        Connection connection;
+        try {
+            Properties properties = connectionBuilder.buildProperties(config);
+
+            connection = StringUtils.isBlank(config.getDriverJarPath())
+                    ? DriverLoader.connectBundled(DuckDbConstants.DRIVER_CLASS_NAME, jdbcUrl, properties)
+                    : DriverLoader.connect(config, DuckDbConstants.DRIVER_CLASS_NAME, jdbcUrl, properties);
+
+        } catch (SQLException e) {
+            String errorMsg = String.format("Failed to open DuckDB database %s: %s", jdbcUrl, e.getMessage());
+            logger.severe(errorMsg);
+            throw new RuntimeException(errorMsg, e);
+        }
+
+        try {
+            if (DuckDbDatasets.isDatasetLocation(config.getDatabase())) {
+                DuckDbDatasets.register(connection, config.getDatabase());
+            }
+            // Queries run as the server process; keep them inside the dataset root from here on
+            DuckDbDatasets.restrict(connection);
+        } catch (SQLException e) {
+            closeConnection(connection);
+            throw new RuntimeException("Failed to restrict DuckDB database access: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            closeConnection(connection);
+            throw e;
+        }
+
+        logger.info(String.format("Successfully opened DuckDB database %s",
+                StringUtils.defaultIfBlank(config.getDatabase(), DuckDbConstants.MEMORY_DATABASE)));
+        return connection;
+    }
+
+    @Override
+    public boolean testConnection(ConnectionConfig config) {
+        try {
+            Connection connection = connect(config);
+            if (connection != null && !connection.isClosed()) {
+                closeConnection(connection);
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            logger.warning(String.format("Connection test failed: %s", e.getMessage()));
+            return false;
+        }
+    }
+
+    @Override
+    public void closeConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close database connection: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SqlCommandResult executeCommand(SqlCommandRequest command) {
+        return sqlExecutor.executeCommand(command);
+    }
+
+    @Override
+    public MavenCoordinates getDriverMavenCoordinates(String driverVersion) {
+        if (StringUtils.isBlank(driverVersion)) {
+            return new MavenCoordinates(DuckDbConstants.DRIVER_GROUP_ID, DuckDbConstants.DRIVER_ARTIFACT_ID,
+                    DuckDbConstants.DEFAULT_DRIVER_VERSION);
+        }
+        if (DuckDbConstants.SUPPORTED_DRIVER_VERSION.matcher(driverVersion).matches()) {
+            return new MavenCoordinates(DuckDbConstants.DRIVER_GROUP_ID, DuckDbConstants.DRIVER_ARTIFACT_ID, driverVersion);
+        }
+        throw new IllegalArgumentException(
+                String.format("Unsupported DuckDB driver version: %s. Supported versions: 1.2 and later 1.x", driverVersion));
+    }
+
+    @Override
+    public List<String> searchTables(Connection connection, String catalog, String schema, String tableNamePattern) {
+        String sql = StringUtils.isBlank(tableNamePattern)
+                ? DuckDbSqlConstants.SQL_LIST_TABLES
+                : DuckDbSqlConstants.SQL_SEARCH_TABLES;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, resolveSchema(connection, schema));
+            if (StringUtils.isNotBlank(tableNamePattern)) {
+                stmt.setString(2, tableNamePattern);
+            }
+            List<String> list = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(rs.getString(1));
+                }
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to search tables: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long countTables(Connection connection, String catalog, String schema, String tableNamePattern) {
+        String sql = StringUtils.isBlank(tableNamePattern)
+                ? DuckDbSqlConstants.SQL_COUNT_TABLES
+                : DuckDbSqlConstants.SQL_COUNT_TABLES_MATCHING;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, resolveSchema(connection, schema));
+            if (StringUtils.isNotBlank(tableNamePattern)) {
+                stmt.setString(2, tableNamePattern);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count tables: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SqlCommandResult getTableData(Connection connection, String catalog, String schema, String tableName, int offset, int pageSize) {
+        return getTableData(connection, catalog, schema, tableName, offset, pageSize, null, null, null);
+    }
+
+    @Override
+    public long getTableDataCount(Connection connection, String catalog, String schema, String tableName) {
+        return getTableDataCount(connection, catalog, schema, tableName, null);
+    }
+
+    @Override
+    public SqlCommandResult getTableData(Connection connection, String catalog, String schema, String tableName,
+            int offset, int pageSize, String whereClause, String orderByColumn, String orderByDirection) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            throw new IllegalArgumentException("Connection and table name must not be null or empty");
+        }
+
+        String fullTableName = DuckDbIdentifierBuilder.buildFullIdentifier(resolveSchema(connection, schema), tableName);
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(fullTableName);
+
+        if (StringUtils.isNotBlank(whereClause)) {
+            sql.append(" WHERE ").append(whereClause);
+        }
+        if (StringUtils.isNotBlank(orderByColumn)) {
+            String dir = "desc".equalsIgnoreCase(orderByDirection) ? "DESC" : "ASC";
+            sql.append(" ORDER BY ").append(DuckDbIdentifierBuilder.quoteIdentifier(orderByColumn.trim())).append(" ").append(dir);
+        }
+        sql.append(" LIMIT ").append(pageSize).append(" OFFSET ").append(offset);
+
+        String sqlStr = sql.toString();
+        SqlCommandResult result = sqlExecutor.executeCommand(
+                SqlCommandRequest.ofWithoutTransaction(connection, sqlStr, sqlStr, null, schema));
+
+        if (!result.isSuccess()) {
+            logger.severe(String.format("Failed to get table data for %s: %s", fullTableName, result.getErrorMessage()));
+            throw new RuntimeException("Failed to get table data: " + result.getErrorMessage());
+        }
+        return result;
+    }
+
+    @Override
+    public long getTableDataCount(Connection connection, String catalog, String schema, String tableName, String whereClause) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            throw new IllegalArgumentException("Connection and table name must not be null or empty");
+        }
+
+        String fullTableName = DuckDbIdentifierBuilder.buildFullIdentifier(resolveSchema(connection, schema), tableName);
+        String sql = StringUtils.isNotBlank(whereClause)
+                ? String.format(DuckDbSqlConstants.SQL_COUNT_TABLE_DATA, fullTableName) + " WHERE " + whereClause
+                : String.format(DuckDbSqlConstants.SQL_COUNT_TABLE_DATA, fullTableName);
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                return rs.getLong("total");
+            }
+            return 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get table data count: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<ColumnMetadata> getColumns(Connection connection, String catalog, String schema, String tableOrViewName) {
+        if (connection == null || StringUtils.isBlank(tableOrViewName)) {
+            return List.of();
+        }
+        return ColumnProvider.super.getColumns(connection, null, resolveSchema(connection, schema), tableOrViewName);
+    }
+
+    /**
+     * @return the given schema, or the connection's current schema when blank
+     */
+    private String resolveSchema(Connection connection, String schema) {
+        if (StringUtils.isNotBlank(schema)) {
+            return schema;
+        }
+        try {
+            return connection.getSchema();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get current schema: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package edu.zsc.ai.plugin.duckdb.connection;
+
+import edu.zsc.ai.plugin.duckdb.constant.DuckDbConstants;
+import edu.zsc.ai.plugin.duckdb.constant.DuckDbSqlConstants;
+import edu.zsc.ai.plugin.duckdb.util.DuckDbIdentifierBuilder;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Maps local CSV, Parquet and JSON files to views, so a directory of exported data behaves like a
+ * database; DuckDB reads the files through its vectorized and parallel table functions when a view
+ * is queried. Everything a connection touches on disk, data files and database files alike, must lie
+ * below the dataset root ({@value DuckDbConstants#DATASET_ROOT_PROPERTY} system property, default
+ * {@code ~/.data-agent/datasets}), and {@link #restrict(Connection)} keeps queries inside it.
+ */
+public final class DuckDbDatasets {
+
+    private static final Logger logger = Logger.getLogger(DuckDbDatasets.class.getName());
+
+    private DuckDbDatasets() {
+        // Utility class
+    }
+
+    /**
+     * @return true if the database setting names a directory or a supported data file below the
+     * dataset root; false for anything else, including every path outside the root
+     */
+    public static boolean isDatasetLocation(String database) {
+        if (StringUtils.isBlank(database) || DuckDbConstants.MEMORY_DATABASE.equals(database.trim())) {
+            return false;
+        }
+        Path location;
+        try {
+            location = resolve(database);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return Files.isDirectory(location) || (Files.isRegularFile(location) && readerFor(location) != null);
+    }
+
+    /**
+     * Resolve a database setting to its real path. The path need not exist yet, so a new database
+     * file can be created, but its directory must. A path outside the root fails with the same
+     * message whether it exists or not.
+     *
+     * @param database database file, directory or data file
+     * @return the real path, below the dataset root
+     * @throws IllegalArgumentException if the path does not lie below the dataset root
+     */
+    public static Path resolve(String database) {
+        Path root = datasetRoot();
+        Path path = Path.of(database.trim()).toAbsolutePath().normalize();
+        Path real;
+        try {
+            real = Files.exists(path) || path.getParent() == null
+                    ? path.toRealPath()
+                    : path.getParent().toRealPath().resolve(path.getFileName());
+        } catch (IOException e) {
+            throw outsideRoot(database, root);
+        }
+        if (!real.startsWith(root)) {
+            throw outsideRoot(database, root);
+        }
+        return real;
+    }
+
+    /**
+     * Create one view per data file of a directory (not recursive), or for a single data file,
+     * named after the file without its extension. Of files with the same name the first in name order wins.
+     *
+     * @param connection DuckDB connection
+     * @param database directory or data file below the dataset root
+     * @return names of the created views
+     * @throws IllegalArgumentException if the location or one of its files lies outside the dataset root
+     */
+    public static List<String> register(Connection connection, String database) {
+        Path location = resolve(database);
+        Map<String, Path> files = new LinkedHashMap<>();
+        for (Path file : listDataFiles(location)) {
+            // A symbolic link in the directory may point anywhere
+            resolve(file.toString());
+            String viewName = viewName(file);
+            Path existing = files.putIfAbsent(viewName, file);
+            if (existing != null) {
+                logger.warning(String.format("Skipping %s: view %s already reads %s", file, viewName, existing));
+            }
+        }
+
+        List<String> views = new ArrayList<>();
+        try (Statement stmt = connection.createStatement()) {
+            for (Map.Entry<String, Path> entry : files.entrySet()) {
+                stmt.execute(String.format(DuckDbSqlConstants.SQL_CREATE_DATASET_VIEW,
+                        DuckDbIdentifierBuilder.quoteIdentifier(entry.getKey()), readerFor(entry.getValue()),
+                        quoteLiteral(entry.getValue().toString())));
+                views.add(entry.getKey());
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(String.format("Failed to map data files of %s: %s", location, e.getMessage()), e);
+        }
+        logger.info(String.format("Mapped %d data file(s) of %s to views", views.size(), location));
+        return views;
+    }
+
+    /**
+     * Limit the connection's file access to the dataset root (no files at all when the root does not
+     * exist), then lock the configuration so queries cannot widen it again. Views keep reading their
+     * files, while reading other files, attaching databases and loading extensions fail.
+     *
+     * @param connection DuckDB connection, with its views already registered
+     * @throws SQLException if a setting is rejected
+     */
+    public static void restrict(Connection connection) throws SQLException {
+        Path root = configuredRoot();
+        try (Statement stmt = connection.createStatement()) {
+            if (Files.isDirectory(root)) {
+                // Trailing separator so a sibling sharing the root's name prefix is not allowed
+                String directory = datasetRoot().toString() + root.getFileSystem().getSeparator();
+                stmt.execute(String.format(DuckDbSqlConstants.SQL_SET_ALLOWED_DIRECTORIES, quoteLiteral(directory)));
+            }
+            stmt.execute(DuckDbSqlConstants.SQL_DISABLE_EXTERNAL_ACCESS);
+            stmt.execute(DuckDbSqlConstants.SQL_LOCK_CONFIGURATION);
+        }
+    }
+
+    private static Path configuredRoot() {
+        return Path.of(System.getProperty(DuckDbConstants.DATASET_ROOT_PROPERTY, DuckDbConstants.DEFAULT_DATASET_ROOT));
+    }
+
+    private static Path datasetRoot() {
+        Path root = configuredRoot();
+        try {
+            return root.toRealPath();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Dataset root does not exist: " + root, e);
+        }
+    }
+
+    private static IllegalArgumentException outsideRoot(String database, Path root) {
+        return new IllegalArgumentException(
+                String.format("Database location %s is not below the dataset root %s", database, root));
+    }
+
+    private static String quoteLiteral(String value) {
+        return StringUtils.replace(value, "'", "''");
+    }
+
+    private static List<Path> listDataFiles(Path location) {
+        if (!Files.isDirectory(location)) {
+            return List.of(location);
+        }
+        try (Stream<Path> entries = Files.list(location)) {
+            return entries.filter(Files::isRegularFile)
+                    .filter(file -> readerFor(file) != null)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list data files of " + location + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String viewName(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.length() - extensionOf(file).length());
+    }
+
+    private static String readerFor(Path file) {
+        String extension = extensionOf(file);
+        return extension != null ? DuckDbConstants.DATASET_READERS.get(extension) : null;
+    }
+
+    /**
+     * @return the longest supported extension the file name ends with, or null
+     */
+    private static String extensionOf(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        String match = null;
+        for (String extension : DuckDbConstants.DATASET_READERS.keySet()) {
+            if (fileName.endsWith(extension) && fileName.length() > extension.length()
+                    && (match == null || extension.length() > match.length())) {
+                match = extension;
+            }
+        }
+        return match;
+    }
+}
@@ -0,0 +1,42 @@
+package edu.zsc.ai.plugin.duckdb.connection;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.connection.JdbcConnectionBuilder;
+import edu.zsc.ai.plugin.duckdb.constant.DuckDbConstants;
+import org.apache.commons.collections4.MapUtils;
+
+import java.util.Properties;
+
+/**
+ * Builds DuckDB JDBC URLs. The database is opened in-process, so host and port are not used:
+ * a database file path below the dataset root opens (or creates) that file, while a blank database,
+ * {@code :memory:}, a directory of data files or a single data file opens an in-memory database,
+ * in which {@link DuckDbDatasets} maps the data files to views. Any other path is rejected.
+ */
+public class DuckDbJdbcConnectionBuilder implements JdbcConnectionBuilder {
+
+    @Override
+    public String buildUrl(ConnectionConfig config, String urlTemplate, int defaultPort) {
+        String database = config.getDatabase() != null ? config.getDatabase().trim() : "";
+        if (database.isEmpty() || DuckDbConstants.MEMORY_DATABASE.equals(database)
+                || DuckDbDatasets.isDatasetLocation(database)) {
+            return DuckDbConstants.JDBC_URL_PREFIX;
+        }
+        return DuckDbConstants.JDBC_URL_PREFIX + DuckDbDatasets.resolve(database);
+    }
+
+    @Override
+    public Properties buildProperties(ConnectionConfig config) {
+        Properties props = new Properties();
+
+        // Stream results chunk by chunk rather than materializing them; DuckDB has no user, password or timeout
+        props.setProperty(DuckDbConstants.PROP_STREAM_RESULTS, Boolean.TRUE.toString());
+
+        // Add additional properties, e.g. threads or memory_limit
+        if (MapUtils.isNotEmpty(config.getProperties())) {
+            props.putAll(config.getProperties());
+        }
+
+        return props;
+    }
+}
@@ -0,0 +1,58 @@
+package edu.zsc.ai.plugin.duckdb.constant;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * DuckDB driver and connection constants.
+ */
+public final class DuckDbConstants {
+
+    private DuckDbConstants() {
+        // Utility class
+    }
+
+    public static final String DRIVER_CLASS_NAME = "org.duckdb.DuckDBDriver";
+
+    public static final String JDBC_URL_PREFIX = "jdbc:duckdb:";
+
+    public static final String DRIVER_GROUP_ID = "org.duckdb";
+
+    public static final String DRIVER_ARTIFACT_ID = "duckdb_jdbc";
+
+    public static final String DEFAULT_DRIVER_VERSION = "1.4.4.0";
+
+    /**
+     * Driver versions 1.2 and later, the first with the allowed_directories setting
+     */
+    public static final Pattern SUPPORTED_DRIVER_VERSION = Pattern.compile("1\\.([2-9]|[1-9]\\d+)(\\..*)?");
+
+    public static final String MEMORY_DATABASE = ":memory:";
+
+    /**
+     * Driver property streaming query results in chunks instead of materializing them
+     */
+    public static final String PROP_STREAM_RESULTS = "jdbc_stream_results";
+
+    /**
+     * System property naming the directory that data and database files must lie in
+     */
+    public static final String DATASET_ROOT_PROPERTY = "data-agent.duckdb.dataset-root";
+
+    /**
+     * Default directory data and database files must lie in (in user home directory)
+     */
+    public static final String DEFAULT_DATASET_ROOT =
+            System.getProperty("user.home") + "/.data-agent/datasets";
+
+    /**
+     * Table function reading each supported data file extension
+     */
+    public static final Map<String, String> DATASET_READERS = Map.of(
+            ".parquet", "read_parquet",
+            ".csv", "read_csv_auto",
+            ".tsv", "read_csv_auto",
+            ".csv.gz", "read_csv_auto",
+            ".json", "read_json_auto",
+            ".ndjson", "read_json_auto");
+}
@@ -0,0 +1,48 @@
+package edu.zsc.ai.plugin.duckdb.constant;
+
+/**
+ * DuckDB SQL statements. Table listings include views, which is how data files are exposed.
+ */
+public final class DuckDbSqlConstants {
+
+    private DuckDbSqlConstants() {
+        // Utility class
+    }
+
+    public static final String SQL_LIST_TABLES =
+            "SELECT table_name FROM information_schema.tables " +
+            "WHERE table_schema = ? AND table_type IN ('BASE TABLE', 'VIEW') ORDER BY table_name";
+
+    public static final String SQL_SEARCH_TABLES =
+            "SELECT table_name FROM information_schema.tables " +
+            "WHERE table_schema = ? AND table_type IN ('BASE TABLE', 'VIEW') AND table_name LIKE ? ORDER BY table_name";
+
+    public static final String SQL_COUNT_TABLES =
+            "SELECT COUNT(*) FROM information_schema.tables " +
+            "WHERE table_schema = ? AND table_type IN ('BASE TABLE', 'VIEW')";
+
+    public static final String SQL_COUNT_TABLES_MATCHING =
+            "SELECT COUNT(*) FROM information_schema.tables " +
+            "WHERE table_schema = ? AND table_type IN ('BASE TABLE', 'VIEW') AND table_name LIKE ?";
+
+    public static final String SQL_CREATE_DATASET_VIEW =
+            "CREATE OR REPLACE VIEW %s AS SELECT * FROM %s('%s')";
+
+    /**
+     * Directories files may still be read from and written to once external access is disabled
+     */
+    public static final String SQL_SET_ALLOWED_DIRECTORIES = "SET allowed_directories = ['%s']";
+
+    /**
+     * Stops queries from reading or writing files outside the allowed directories, attaching databases and loading extensions
+     */
+    public static final String SQL_DISABLE_EXTERNAL_ACCESS = "SET enable_external_access = false";
+
+    /**
+     * Stops queries from changing settings, so external access cannot be enabled again
+     */
+    public static final String SQL_LOCK_CONFIGURATION = "SET lock_configuration = true";
+
+    public static final String SQL_COUNT_TABLE_DATA =
+            "SELECT COUNT(*) AS total FROM %s";
+}
@@ -0,0 +1,22 @@
+package edu.zsc.ai.plugin.duckdb.executor;
+
+import edu.zsc.ai.plugin.model.command.sql.AbstractSqlExecutor;
+import edu.zsc.ai.plugin.value.DefaultValueProcessor;
+import edu.zsc.ai.plugin.value.JdbcValueContext;
+import edu.zsc.ai.plugin.value.ValueProcessor;
+
+import java.sql.SQLException;
+
+/**
+ * DuckDB SQL executor. Nested types (LIST, STRUCT, MAP) are returned in their text form by the
+ * default value processor.
+ */
+public class DuckDbSqlExecutor extends AbstractSqlExecutor {
+
+    private static final ValueProcessor VALUE_PROCESSOR = new DefaultValueProcessor();
+
+    @Override
+    protected Object getJdbcValue(JdbcValueContext context) throws SQLException {
+        return VALUE_PROCESSOR.getJdbcValue(context);
+    }
+}
@@ -0,0 +1,179 @@
+package edu.zsc.ai.plugin.duckdb;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.duckdb.connection.DuckDbDatasets;
+import edu.zsc.ai.plugin.duckdb.constant.DuckDbConstants;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandResult;
+import edu.zsc.ai.plugin.model.metadata.ColumnMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the embedded DuckDB plugin with database files and directories of data files.
+ */
+public class DuckDbPluginTest {
+
+    private final DuckDbPlugin plugin = new DuckDbPlugin();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty(DuckDbConstants.DATASET_ROOT_PROPERTY, tempDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(DuckDbConstants.DATASET_ROOT_PROPERTY);
+    }
+
+    @Test
+    void testDirectoryOfDataFilesIsMappedAsViews() throws Exception {
+        Path data = Files.createDirectory(tempDir.resolve("exports"));
+        Files.writeString(data.resolve("orders.csv"), "id,amount\n1,10.5\n2,20\n3,30\n");
+        Files.writeString(data.resolve("notes.txt"), "ignored");
+        try (Connection connection = DriverManager.getConnection(DuckDbConstants.JDBC_URL_PREFIX);
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("COPY (SELECT range AS id, range % 7 AS bucket FROM range(1000)) TO '"
+                    + data.resolve("events.parquet") + "' (FORMAT PARQUET)");
+        }
+
+        Connection connection = plugin.connect(config(data.toString()));
+        try {
+            assertEquals(List.of("events", "orders"), plugin.getTableNames(connection, null, null));
+            assertEquals(2, plugin.countTables(connection, null, null, null));
+            assertEquals(3, plugin.getTableDataCount(connection, null, null, "orders"));
+            assertEquals(143, plugin.getTableDataCount(connection, null, null, "events", "bucket = 0"));
+
+            List<ColumnMetadata> columns = plugin.getColumns(connection, null, null, "orders");
+            assertEquals(List.of("id", "amount"), columns.stream().map(ColumnMetadata::name).toList());
+
+            String sql = "SELECT SUM(amount) AS total FROM orders";
+            SqlCommandResult result = plugin.executeCommand(
+                    SqlCommandRequest.ofWithoutTransaction(connection, sql, sql, null, null));
+            assertTrue(result.isSuccess(), result.getErrorMessage());
+            assertEquals("60.5", String.valueOf(result.getRows().get(0).get(0)));
+        } finally {
+            plugin.closeConnection(connection);
+        }
+    }
+
+    @Test
+    void testSingleDataFile() throws Exception {
+        Path file = tempDir.resolve("metrics.csv");
+        Files.writeString(file, "name,value\na,1\nb,2\n");
+
+        Connection connection = plugin.connect(config(file.toString()));
+        try {
+            assertEquals(List.of("metrics"), plugin.getTableNames(connection, null, null));
+            SqlCommandResult page = plugin.getTableData(connection, null, null, "metrics", 1, 10);
+            assertEquals(1, page.getRows().size());
+        } finally {
+            plugin.closeConnection(connection);
+        }
+    }
+
+    @Test
+    void testDataFilesOutsideTheRootAreRejected(@TempDir Path outside) throws Exception {
+        Path file = outside.resolve("secrets.csv");
+        Files.writeString(file, "key\nvalue\n");
+        assertThrows(IllegalArgumentException.class, () -> plugin.connect(config(file.toString())));
+
+        Path data = Files.createDirectory(tempDir.resolve("linked"));
+        Files.createSymbolicLink(data.resolve("secrets.csv"), file);
+        assertThrows(IllegalArgumentException.class, () -> plugin.connect(config(data.toString())));
+    }
+
+    @Test
+    void testDatabaseFilesOutsideTheRootAreRejected(@TempDir Path outside) throws Exception {
+        Path existing = Files.writeString(outside.resolve("existing.duckdb"), "");
+        String missing = outside.resolve("missing/analytics.duckdb").toString();
+        String escaping = tempDir.resolve("../analytics.duckdb").toString();
+
+        for (String database : List.of(existing.toString(), missing, escaping)) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> plugin.connect(config(database)));
+            // Same answer whether or not the path exists
+            assertTrue(e.getMessage().contains("is not below the dataset root"), e.getMessage());
+            assertFalse(DuckDbDatasets.isDatasetLocation(database));
+        }
+        assertFalse(DuckDbDatasets.isDatasetLocation(outside.toString()));
+    }
+
+    @Test
+    void testQueriesCannotLeaveTheDatasetRoot(@TempDir Path outside) throws Exception {
+        Files.writeString(tempDir.resolve("metrics.csv"), "name,value\na,1\n");
+        Path file = Files.writeString(outside.resolve("secrets.csv"), "key\nvalue\n");
+
+        Connection connection = plugin.connect(config(null));
+        try {
+            String allowed = "SELECT * FROM read_csv_auto('" + tempDir.resolve("metrics.csv") + "')";
+            SqlCommandResult inside = plugin.executeCommand(
+                    SqlCommandRequest.ofWithoutTransaction(connection, allowed, allowed, null, null));
+            assertTrue(inside.isSuccess(), inside.getErrorMessage());
+
+            for (String sql : List.of("SELECT * FROM read_csv_auto('" + file + "')",
+                    "SELECT * FROM read_csv_auto('" + tempDir.resolve("../" + outside.getFileName() + "/secrets.csv") + "')",
+                    "ATTACH '" + outside.resolve("other.duckdb") + "' AS other",
+                    "SET allowed_directories = ['/']",
+                    "SET enable_external_access = true")) {
+                SqlCommandResult result = plugin.executeCommand(
+                        SqlCommandRequest.ofWithoutTransaction(connection, sql, sql, null, null));
+                assertFalse(result.isSuccess(), sql);
+            }
+        } finally {
+            plugin.closeConnection(connection);
+        }
+    }
+
+    @Test
+    void testDatabaseFilePersists() throws Exception {
+        ConnectionConfig config = config(tempDir.resolve("analytics.duckdb").toString());
+        try (Connection connection = plugin.connect(config);
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE daily AS SELECT range AS day FROM range(30)");
+        }
+
+        Connection connection = plugin.connect(config);
+        try {
+            assertEquals(List.of("daily"), plugin.searchTables(connection, null, "main", "dai%"));
+            assertEquals(30, plugin.getTableDataCount(connection, null, "main", "daily"));
+        } finally {
+            plugin.closeConnection(connection);
+        }
+    }
+
+    @Test
+    void testInMemoryDatabase() {
+        assertTrue(plugin.testConnection(config(null)));
+        assertTrue(plugin.testConnection(config(":memory:")));
+    }
+
+    @Test
+    void testDriverCoordinates() {
+        assertEquals("duckdb_jdbc", plugin.getDriverMavenCoordinates(null).getArtifactId());
+        assertEquals("1.2.0", plugin.getDriverMavenCoordinates("1.2.0").getVersion());
+        assertEquals("1.10.1", plugin.getDriverMavenCoordinates("1.10.1").getVersion());
+        assertThrows(IllegalArgumentException.class, () -> plugin.getDriverMavenCoordinates("1.1.3"));
+        assertThrows(IllegalArgumentException.class, () -> plugin.getDriverMavenCoordinates("0.9.2"));
+    }
+
+    private static ConnectionConfig config(String database) {
+        ConnectionConfig config = new ConnectionConfig();
+        config.setDatabase(database);
+        return config;
+    }
+}
@@ -0,0 +1,422 @@
+package edu.zsc.ai.plugin.generic;
+
+import edu.zsc.ai.plugin.annotation.PluginInfo;
+import edu.zsc.ai.plugin.base.AbstractDatabasePlugin;
+import edu.zsc.ai.plugin.capability.*;
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.connection.JdbcConnectionBuilder;
+import edu.zsc.ai.plugin.constant.DatabaseObjectTypeEnum;
+import edu.zsc.ai.plugin.driver.DriverLoader;
+import edu.zsc.ai.plugin.driver.MavenCoordinates;
+import edu.zsc.ai.plugin.enums.DbType;
+import edu.zsc.ai.plugin.generic.connection.GenericDriverResolver;
+import edu.zsc.ai.plugin.generic.connection.GenericJdbcConnectionBuilder;
+import edu.zsc.ai.plugin.generic.constant.GenericJdbcConstants;
+import edu.zsc.ai.plugin.generic.executor.GenericSqlExecutor;
+import edu.zsc.ai.plugin.generic.metadata.GenericMetadataCache;
+import edu.zsc.ai.plugin.generic.metadata.SchemaMetadata;
+import edu.zsc.ai.plugin.generic.util.GenericIdentifierBuilder;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandResult;
+import edu.zsc.ai.plugin.model.metadata.ColumnMetadata;
+import edu.zsc.ai.plugin.model.metadata.IndexMetadata;
+import edu.zsc.ai.plugin.model.sql.SqlType;
+import edu.zsc.ai.plugin.model.sql.SqlValidationResult;
+import edu.zsc.ai.plugin.sql.DefaultSqlSplitter;
+import edu.zsc.ai.plugin.sql.DefaultSqlValidator;
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Fallback plugin for databases without a dedicated plugin, working with any JDBC driver JAR.
+ * <p>
+ * The JDBC URL is given in the {@value GenericJdbcConstants#PROP_JDBC_URL} connection property and
+ * the driver class is found in the JAR, which must lie in the driver directory; databases with a
+ * dedicated plugin are refused (see {@link GenericDriverResolver}). Everything else goes
+ * through {@link DatabaseMetaData} and portable SQL: tables, columns, primary keys and indexes are
+ * read for a whole catalog/schema at once and cached (see {@link GenericMetadataCache}), and pages of
+ * table data are cut with {@link Statement#setMaxRows} rather than a dialect's LIMIT syntax.
+ */
+@PluginInfo(
+        id = "generic-jdbc",
+        name = "Generic JDBC",
+        version = "0.0.1",
+        dbType = DbType.GENERIC,
+        description = "Any database with a JDBC driver, through DatabaseMetaData and portable SQL"
+)
+public class GenericJdbcPlugin extends AbstractDatabasePlugin
+        implements ConnectionProvider, CommandExecutor<SqlCommandRequest, SqlCommandResult>, DatabaseProvider,
+        SchemaProvider, TableProvider, ViewProvider, ColumnProvider, IndexProvider,
+        FunctionProvider, ProcedureProvider, SqlSplitter, SqlValidator {
+
+    private static final Logger logger = Logger.getLogger(GenericJdbcPlugin.class.getName());
+
+    private final JdbcConnectionBuilder connectionBuilder = new GenericJdbcConnectionBuilder();
+
+    private final GenericSqlExecutor sqlExecutor = new GenericSqlExecutor();
+
+    private final GenericMetadataCache metadataCache = new GenericMetadataCache(GenericJdbcConstants.METADATA_CACHE_TTL);
+
+    @Override
+    public Connection connect(ConnectionConfig config) {
+        String jdbcUrl = connectionBuilder.buildUrl(config, null, 0);
+        Connection connection;
+        try {
+            String driverClassName = GenericDriverResolver.resolveDriverClassName(config, jdbcUrl);
+            Properties properties = connectionBuilder.buildProperties(config);
+            connection = DriverLoader.connect(config, driverClassName, jdbcUrl, properties);
+        } catch (SQLException e) {
+            String errorMsg = String.format("Failed to connect to %s: %s", jdbcUrl, e.getMessage());
+            logger.severe(errorMsg);
+            throw new RuntimeException(errorMsg, e);
+        }
+
+        // Catalog and schema are switched where the driver allows it; a URL may already select them
+        try {
+            if (StringUtils.isNotBlank(config.getDatabase())) {
+                connection.setCatalog(config.getDatabase());
+            }
+            if (StringUtils.isNotBlank(config.getSchema())) {
+                connection.setSchema(config.getSchema());
+            }
+        } catch (SQLException | AbstractMethodError e) {
+            logger.warning(String.format("Failed to select catalog %s / schema %s: %s",
+                    config.getDatabase(), config.getSchema(), e.getMessage()));
+        }
+
+        logger.info(String.format("Successfully connected to %s", jdbcUrl));
+        return connection;
+    }
+
+    @Override
+    public boolean testConnection(ConnectionConfig config) {
+        try {
+            Connection connection = connect(config);
+            if (connection != null && !connection.isClosed()) {
+                closeConnection(connection);
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            logger.warning(String.format("Connection test failed: %s", e.getMessage()));
+            return false;
+        }
+    }
+
+    @Override
+    public void closeConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close database connection: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * DDL, and statements that cannot be classified, may change tables, so the cached metadata of the source
+     * is dropped after them; queries and data changes keep it.
+     */
+    @Override
+    public SqlCommandResult executeCommand(SqlCommandRequest command) {
+        SqlCommandResult result = sqlExecutor.executeCommand(command);
+        if (result.isSuccess()) {
+            SqlType type = classifySql(command.getExecuteSql());
+            if (type.isDdl() || type == SqlType.UNKNOWN) {
+                metadataCache.invalidate(command.getConnection());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> split(String sql) {
+        return DefaultSqlSplitter.INSTANCE.split(sql);
+    }
+
+    @Override
+    public SqlValidationResult validate(String sql) {
+        return DefaultSqlValidator.INSTANCE.validate(sql);
+    }
+
+    @Override
+    public SqlType classifySql(String sql) {
+        return DefaultSqlValidator.INSTANCE.classifySql(sql);
+    }
+
+    /**
+     * A generic source has no default driver; the version must be full Maven coordinates
+     * ({@code groupId:artifactId:version}) of the driver to download. Drivers of databases with a
+     * dedicated plugin are refused.
+     */
+    @Override
+    public MavenCoordinates getDriverMavenCoordinates(String driverVersion) {
+        String[] parts = StringUtils.split(StringUtils.trimToEmpty(driverVersion), ':');
+        if (parts.length != 3 || !Arrays.stream(parts).allMatch(part -> GenericJdbcConstants.MAVEN_COORDINATE_PART.matcher(part).matches())) {
+            throw new IllegalArgumentException(String.format(
+                    "Unsupported generic JDBC driver: %s. Expected Maven coordinates groupId:artifactId:version", driverVersion));
+        }
+        if (GenericJdbcConstants.DEDICATED_DRIVER_GROUP_IDS.contains(parts[0])) {
+            throw new IllegalArgumentException(String.format(
+                    "Drivers of %s have a dedicated plugin; use it instead of the generic JDBC plugin", parts[0]));
+        }
+        return new MavenCoordinates(parts[0], parts[1], parts[2]);
+    }
+
+    @Override
+    public List<String> searchTables(Connection connection, String catalog, String schema, String tableNamePattern) {
+        try {
+            return filterByPattern(metadata(connection, catalog, schema).getTables(connection.getMetaData()), tableNamePattern);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list tables: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long countTables(Connection connection, String catalog, String schema, String tableNamePattern) {
+        return searchTables(connection, catalog, schema, tableNamePattern).size();
+    }
+
+    @Override
+    public List<String> searchViews(Connection connection, String catalog, String schema, String viewNamePattern) {
+        try {
+            return filterByPattern(metadata(connection, catalog, schema).getViews(connection.getMetaData()), viewNamePattern);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list views: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long countViews(Connection connection, String catalog, String schema, String viewNamePattern) {
+        return searchViews(connection, catalog, schema, viewNamePattern).size();
+    }
+
+    @Override
+    public List<ColumnMetadata> getColumns(Connection connection, String catalog, String schema, String tableOrViewName) {
+        if (connection == null || StringUtils.isBlank(tableOrViewName)) {
+            return List.of();
+        }
+        try {
+            return metadata(connection, catalog, schema).getColumns(connection.getMetaData(), tableOrViewName);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list columns for " + tableOrViewName + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<IndexMetadata> getIndexes(Connection connection, String catalog, String schema, String tableName) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            return List.of();
+        }
+        try {
+            return metadata(connection, catalog, schema).getIndexes(connection.getMetaData(), tableName);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list indexes for " + tableName + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SqlCommandResult getTableData(Connection connection, String catalog, String schema, String tableName, int offset, int pageSize) {
+        return getTableData(connection, catalog, schema, tableName, offset, pageSize, null, null, null);
+    }
+
+    @Override
+    public long getTableDataCount(Connection connection, String catalog, String schema, String tableName) {
+        return getTableDataCount(connection, catalog, schema, tableName, null);
+    }
+
+    /**
+     * The driver stops reading after {@code offset + pageSize} rows and the first {@code offset}
+     * rows are dropped here, which works with any SQL dialect.
+     */
+    @Override
+    public SqlCommandResult getTableData(Connection connection, String catalog, String schema, String tableName,
+            int offset, int pageSize, String whereClause, String orderByColumn, String orderByDirection) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            throw new IllegalArgumentException("Connection and table name must not be null or empty");
+        }
+
+        String fullTableName;
+        StringBuilder sql;
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            fullTableName = fullTableName(connection, catalog, schema, tableName);
+            sql = new StringBuilder(String.format(GenericJdbcConstants.SQL_SELECT_TABLE_DATA, fullTableName));
+            if (StringUtils.isNotBlank(whereClause)) {
+                sql.append(" WHERE ").append(whereClause);
+            }
+            if (StringUtils.isNotBlank(orderByColumn)) {
+                String dir = "desc".equalsIgnoreCase(orderByDirection) ? "DESC" : "ASC";
+                sql.append(" ORDER BY ").append(GenericIdentifierBuilder.quoteIdentifier(metaData, orderByColumn.trim()))
+                        .append(" ").append(dir);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get table data: " + e.getMessage(), e);
+        }
+
+        String sqlStr = sql.toString();
+        int maxRows = offset + pageSize;
+        SqlCommandRequest request = SqlCommandRequest.ofWithoutTransaction(connection, sqlStr, sqlStr, catalog, schema);
+        request.setStatementListener(statement -> {
+            try {
+                statement.setMaxRows(maxRows);
+            } catch (SQLException e) {
+                logger.warning(String.format("Driver rejected max rows %d: %s", maxRows, e.getMessage()));
+            }
+        });
+        SqlCommandResult result = sqlExecutor.executeCommand(request);
+
+        if (!result.isSuccess()) {
+            logger.severe(String.format("Failed to get table data for %s: %s", fullTableName, result.getErrorMessage()));
+            throw new RuntimeException("Failed to get table data: " + result.getErrorMessage());
+        }
+        List<List<Object>> rows = result.getRows();
+        if (rows != null) {
+            int from = Math.min(offset, rows.size());
+            int to = Math.min(maxRows, rows.size());
+            result.setRows(new ArrayList<>(rows.subList(from, to)));
+        }
+        return result;
+    }
+
+    @Override
+    public long getTableDataCount(Connection connection, String catalog, String schema, String tableName, String whereClause) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            throw new IllegalArgumentException("Connection and table name must not be null or empty");
+        }
+
+        try {
+            String fullTableName = fullTableName(connection, catalog, schema, tableName);
+            String sql = StringUtils.isNotBlank(whereClause)
+                    ? String.format(GenericJdbcConstants.SQL_COUNT_TABLE_DATA, fullTableName) + " WHERE " + whereClause
+                    : String.format(GenericJdbcConstants.SQL_COUNT_TABLE_DATA, fullTableName);
+            try (PreparedStatement stmt = connection.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get table data count: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SqlCommandResult getViewData(Connection connection, String catalog, String schema, String viewName, int offset, int pageSize) {
+        return getTableData(connection, catalog, schema, viewName, offset, pageSize);
+    }
+
+    @Override
+    public long getViewDataCount(Connection connection, String catalog, String schema, String viewName) {
+        return getTableDataCount(connection, catalog, schema, viewName);
+    }
+
+    @Override
+    public SqlCommandResult getViewData(Connection connection, String catalog, String schema, String viewName,
+            int offset, int pageSize, String whereClause, String orderByColumn, String orderByDirection) {
+        return getTableData(connection, catalog, schema, viewName, offset, pageSize, whereClause, orderByColumn, orderByDirection);
+    }
+
+    @Override
+    public long getViewDataCount(Connection connection, String catalog, String schema, String viewName, String whereClause) {
+        return getTableDataCount(connection, catalog, schema, viewName, whereClause);
+    }
+
+    @Override
+    public void deleteTable(Connection connection, String catalog, String schema, String tableName) {
+        dropObject(connection, catalog, schema, tableName, GenericJdbcConstants.SQL_DROP_TABLE,
+                DatabaseObjectTypeEnum.TABLE.getValue());
+    }
+
+    @Override
+    public void deleteView(Connection connection, String catalog, String schema, String viewName) {
+        dropObject(connection, catalog, schema, viewName, GenericJdbcConstants.SQL_DROP_VIEW,
+                DatabaseObjectTypeEnum.VIEW.getValue());
+    }
+
+    private void dropObject(Connection connection, String catalog, String schema, String objectName,
+                            String sqlTemplate, String objectType) {
+        String sql;
+        try {
+            sql = String.format(sqlTemplate, fullTableName(connection, catalog, schema, objectName));
+        } catch (SQLException e) {
+            throw new RuntimeException(String.format("Failed to delete %s: %s", objectType, e.getMessage()), e);
+        }
+
+        SqlCommandResult result = executeCommand(
+                SqlCommandRequest.ofWithoutTransaction(connection, sql, sql, catalog, schema));
+        if (!result.isSuccess()) {
+            logger.severe(String.format("Failed to delete %s %s: %s", objectType, objectName, result.getErrorMessage()));
+            throw new RuntimeException(String.format("Failed to delete %s: %s", objectType, result.getErrorMessage()));
+        }
+        logger.info(String.format("Successfully deleted %s: %s", objectType, objectName));
+    }
+
+    private SchemaMetadata metadata(Connection connection, String catalog, String schema) {
+        return metadataCache.get(connection, resolveCatalog(connection, catalog), resolveSchema(connection, schema));
+    }
+
+    private String fullTableName(Connection connection, String catalog, String schema, String tableName) throws SQLException {
+        return GenericIdentifierBuilder.buildFullIdentifier(connection.getMetaData(),
+                resolveCatalog(connection, catalog), resolveSchema(connection, schema), tableName);
+    }
+
+    /**
+     * @return the given catalog, or the connection's current one when blank (null if the database has none)
+     */
+    private String resolveCatalog(Connection connection, String catalog) {
+        if (StringUtils.isNotBlank(catalog)) {
+            return catalog;
+        }
+        try {
+            return StringUtils.trimToNull(connection.getCatalog());
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the given schema, or the connection's current one when blank (null if the database has none)
+     */
+    private String resolveSchema(Connection connection, String schema) {
+        if (StringUtils.isNotBlank(schema)) {
+            return schema;
+        }
+        try {
+            return StringUtils.trimToNull(connection.getSchema());
+        } catch (SQLException | AbstractMethodError e) {
+            // Drivers before JDBC 4.1 do not implement getSchema
+            return null;
+        }
+    }
+
+    private static List<String> filterByPattern(List<String> names, String namePattern) {
+        if (StringUtils.isBlank(namePattern) || "%".equals(namePattern)) {
+            return names;
+        }
+        Pattern regex = Pattern.compile(toLikeRegex(namePattern), Pattern.CASE_INSENSITIVE);
+        return names.stream().filter(name -> regex.matcher(name).matches()).collect(Collectors.toList());
+    }
+
+    private static String toLikeRegex(String likePattern) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : likePattern.toCharArray()) {
+            switch (c) {
+                case '%' -> regex.append(".*");
+                case '_' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+}
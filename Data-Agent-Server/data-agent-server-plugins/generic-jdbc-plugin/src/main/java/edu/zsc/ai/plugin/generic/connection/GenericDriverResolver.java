@@ -0,0 +1,175 @@
+package edu.zsc.ai.plugin.generic.connection;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.driver.DriverLoader;
+import edu.zsc.ai.plugin.generic.constant.GenericJdbcConstants;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+
+/**
+ * Finds the driver class of a driver JAR. A class named in the {@value GenericJdbcConstants#PROP_DRIVER_CLASS}
+ * property wins; otherwise the classes the JAR declares in {@value GenericJdbcConstants#DRIVER_SERVICE_ENTRY}
+ * are tried in order, and the first one accepting the URL is used.
+ * <p>
+ * Loading a driver runs its code in the server, so only JARs below the driver directory
+ * ({@value GenericJdbcConstants#DRIVER_DIR_PROPERTY} system property, default the generic driver
+ * storage directory) are used, the class must be defined by the JAR itself rather than found on
+ * the server's class path, and databases with a dedicated plugin are refused.
+ */
+public final class GenericDriverResolver {
+
+    private static final Logger logger = Logger.getLogger(GenericDriverResolver.class.getName());
+
+    /**
+     * Driver class per (JAR path, JDBC URL prefix), so the JAR is read once
+     */
+    private static final ConcurrentMap<String, String> RESOLVED = new ConcurrentHashMap<>();
+
+    private GenericDriverResolver() {
+        // Utility class
+    }
+
+    /**
+     * @param config connection configuration (must contain driverJarPath)
+     * @param jdbcUrl JDBC URL the driver must accept
+     * @return driver class name
+     * @throws IllegalArgumentException if the JAR or URL is not allowed, or no driver of the JAR accepts the URL
+     */
+    public static String resolveDriverClassName(ConnectionConfig config, String jdbcUrl) {
+        requireNoDedicatedPlugin(jdbcUrl);
+        if (StringUtils.isBlank(config.getDriverJarPath())) {
+            throw new IllegalArgumentException("A driver JAR is required for a generic JDBC connection");
+        }
+        String driverJarPath = requireManagedJar(config.getDriverJarPath());
+
+        String configured = config.getProperties() != null
+                ? config.getProperties().get(GenericJdbcConstants.PROP_DRIVER_CLASS)
+                : null;
+        if (StringUtils.isNotBlank(configured)) {
+            String className = configured.trim();
+            requireDefinedByJar(driverJarPath, className);
+            return className;
+        }
+
+        String key = driverJarPath + "|" + urlPrefix(jdbcUrl);
+        String cached = RESOLVED.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<String> candidates = readDeclaredDrivers(driverJarPath);
+        for (String className : candidates) {
+            try {
+                requireDefinedByJar(driverJarPath, className);
+                if (DriverLoader.loadDriver(config, className).acceptsURL(jdbcUrl)) {
+                    logger.info(String.format("Using JDBC driver %s of %s", className, driverJarPath));
+                    RESOLVED.put(key, className);
+                    return className;
+                }
+            } catch (SQLException | RuntimeException e) {
+                logger.fine(String.format("Driver %s cannot be used: %s", className, e.getMessage()));
+            }
+        }
+        throw new IllegalArgumentException(String.format(
+                "No driver declared in %s accepts URL %s; set the '%s' connection property",
+                driverJarPath, jdbcUrl, GenericJdbcConstants.PROP_DRIVER_CLASS));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the URL belongs to a database with a dedicated plugin
+     */
+    private static void requireNoDedicatedPlugin(String jdbcUrl) {
+        String url = StringUtils.lowerCase(jdbcUrl, Locale.ROOT);
+        for (String prefix : GenericJdbcConstants.DEDICATED_URL_PREFIXES) {
+            if (url.startsWith(prefix)) {
+                throw new IllegalArgumentException(String.format(
+                        "URLs starting with %s have a dedicated plugin; use it instead of the generic JDBC plugin", prefix));
+            }
+        }
+    }
+
+    /**
+     * @return the real path of the JAR, after checking that it lies below the driver directory
+     */
+    private static String requireManagedJar(String driverJarPath) {
+        Path directory = Path.of(System.getProperty(GenericJdbcConstants.DRIVER_DIR_PROPERTY, GenericJdbcConstants.DEFAULT_DRIVER_DIR));
+        try {
+            Path jar = Path.of(driverJarPath).toRealPath();
+            if (jar.startsWith(directory.toRealPath()) && Files.isRegularFile(jar)) {
+                return jar.toString();
+            }
+        } catch (IOException e) {
+            // Reported below like any other JAR outside the directory
+        }
+        throw new IllegalArgumentException(String.format(
+                "Driver JAR %s is not a file below the driver directory %s", driverJarPath, directory));
+    }
+
+    /**
+     * Checks that the JAR contains the class and the server does not, since a class on the server's
+     * class path would be loaded from there instead of from the JAR.
+     */
+    private static void requireDefinedByJar(String driverJarPath, String className) {
+        String resource = className.replace('.', '/') + ".class";
+        if (GenericDriverResolver.class.getClassLoader().getResource(resource) != null) {
+            throw new IllegalArgumentException(String.format(
+                    "Driver class %s is on the server class path and cannot be loaded from %s", className, driverJarPath));
+        }
+        try (JarFile jar = new JarFile(driverJarPath)) {
+            if (jar.getJarEntry(resource) == null) {
+                throw new IllegalArgumentException(
+                        String.format("Driver JAR %s does not contain class %s", driverJarPath, className));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    String.format("Failed to read driver JAR %s: %s", driverJarPath, e.getMessage()), e);
+        }
+    }
+
+    private static List<String> readDeclaredDrivers(String driverJarPath) {
+        List<String> classNames = new ArrayList<>();
+        try (JarFile jar = new JarFile(driverJarPath)) {
+            JarEntry entry = jar.getJarEntry(GenericJdbcConstants.DRIVER_SERVICE_ENTRY);
+            if (entry == null) {
+                return classNames;
+            }
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(jar.getInputStream(entry), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String className = StringUtils.substringBefore(line, "#").trim();
+                    if (!className.isEmpty()) {
+                        classNames.add(className);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    String.format("Failed to read driver JAR %s: %s", driverJarPath, e.getMessage()), e);
+        }
+        return classNames;
+    }
+
+    /**
+     * @return "jdbc:subprotocol:" of the URL, which decides the driver
+     */
+    private static String urlPrefix(String jdbcUrl) {
+        int second = jdbcUrl.indexOf(':', jdbcUrl.indexOf(':') + 1);
+        return second == -1 ? jdbcUrl : jdbcUrl.substring(0, second + 1);
+    }
+}
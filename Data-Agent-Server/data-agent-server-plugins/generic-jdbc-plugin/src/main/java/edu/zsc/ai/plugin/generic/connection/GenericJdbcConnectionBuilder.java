@@ -0,0 +1,55 @@
+package edu.zsc.ai.plugin.generic.connection;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.connection.JdbcConnectionBuilder;
+import edu.zsc.ai.plugin.generic.constant.GenericJdbcConstants;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Connection builder for arbitrary JDBC drivers. The URL is taken as given from the
+ * {@value GenericJdbcConstants#PROP_JDBC_URL} property, since URL formats differ per driver.
+ */
+public class GenericJdbcConnectionBuilder implements JdbcConnectionBuilder {
+
+    @Override
+    public String buildUrl(ConnectionConfig config, String urlTemplate, int defaultPort) {
+        String jdbcUrl = config.getProperties() != null
+                ? config.getProperties().get(GenericJdbcConstants.PROP_JDBC_URL)
+                : null;
+        if (StringUtils.isBlank(jdbcUrl)) {
+            throw new IllegalArgumentException(String.format(
+                    "Connection property '%s' with the JDBC URL is required", GenericJdbcConstants.PROP_JDBC_URL));
+        }
+        return jdbcUrl.trim();
+    }
+
+    @Override
+    public Properties buildProperties(ConnectionConfig config) {
+        Properties props = new Properties();
+
+        // Set username and password
+        if (StringUtils.isNotBlank(config.getUsername())) {
+            props.setProperty(PROP_USER, config.getUsername());
+        }
+        if (StringUtils.isNotBlank(config.getPassword())) {
+            props.setProperty(PROP_PASSWORD, config.getPassword());
+        }
+
+        // Pass the remaining properties to the driver; there is no portable timeout property
+        if (MapUtils.isNotEmpty(config.getProperties())) {
+            for (Map.Entry<String, String> entry : config.getProperties().entrySet()) {
+                if (!GenericJdbcConstants.PROP_JDBC_URL.equals(entry.getKey())
+                        && !GenericJdbcConstants.PROP_DRIVER_CLASS.equals(entry.getKey())
+                        && entry.getValue() != null) {
+                    props.setProperty(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        return props;
+    }
+}
@@ -0,0 +1,74 @@
+package edu.zsc.ai.plugin.generic.constant;
+
+import edu.zsc.ai.plugin.driver.DriverStorageManager;
+import edu.zsc.ai.plugin.enums.DbType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Generic JDBC plugin constants.
+ */
+public final class GenericJdbcConstants {
+
+    private GenericJdbcConstants() {
+        // Utility class
+    }
+
+    /**
+     * Connection property holding the JDBC URL; a generic source has no URL template to fill in
+     */
+    public static final String PROP_JDBC_URL = "jdbcUrl";
+
+    /**
+     * Optional connection property naming the driver class; when absent it is read from the driver JAR
+     */
+    public static final String PROP_DRIVER_CLASS = "driverClass";
+
+    /**
+     * Service file through which JDBC 4 drivers declare their driver classes
+     */
+    public static final String DRIVER_SERVICE_ENTRY = "META-INF/services/java.sql.Driver";
+
+    /**
+     * System property naming the directory that generic driver JARs must lie in
+     */
+    public static final String DRIVER_DIR_PROPERTY = "data-agent.generic-jdbc.driver-dir";
+
+    /**
+     * Default directory generic driver JARs must lie in, where downloaded generic drivers are stored
+     */
+    public static final String DEFAULT_DRIVER_DIR = DriverStorageManager.getStorageDirectory(DbType.GENERIC).toString();
+
+    /**
+     * URL prefixes of databases with a dedicated plugin, which are refused here
+     */
+    public static final List<String> DEDICATED_URL_PREFIXES = List.of(
+            "jdbc:mysql:", "jdbc:postgresql:", "jdbc:h2:", "jdbc:duckdb:");
+
+    /**
+     * Maven group ids of the drivers the dedicated plugins use, which are refused here
+     */
+    public static final Set<String> DEDICATED_DRIVER_GROUP_IDS = Set.of(
+            "com.mysql", "mysql", "org.postgresql", "com.h2database", "org.duckdb");
+
+    /**
+     * One part of groupId:artifactId:version
+     */
+    public static final Pattern MAVEN_COORDINATE_PART = Pattern.compile("[A-Za-z0-9_.\\-]+");
+
+    /**
+     * How long the tables, columns, keys and indexes read for a catalog/schema are reused
+     */
+    public static final Duration METADATA_CACHE_TTL = Duration.ofMinutes(5);
+
+    public static final String SQL_SELECT_TABLE_DATA = "SELECT * FROM %s";
+
+    public static final String SQL_COUNT_TABLE_DATA = "SELECT COUNT(*) AS total FROM %s";
+
+    public static final String SQL_DROP_TABLE = "DROP TABLE %s";
+
+    public static final String SQL_DROP_VIEW = "DROP VIEW %s";
+}
@@ -0,0 +1,21 @@
+package edu.zsc.ai.plugin.generic.executor;
+
+import edu.zsc.ai.plugin.model.command.sql.AbstractSqlExecutor;
+import edu.zsc.ai.plugin.value.DefaultValueProcessor;
+import edu.zsc.ai.plugin.value.JdbcValueContext;
+import edu.zsc.ai.plugin.value.ValueProcessor;
+
+import java.sql.SQLException;
+
+/**
+ * SQL executor for arbitrary JDBC drivers, converting values with the default processor.
+ */
+public class GenericSqlExecutor extends AbstractSqlExecutor {
+
+    private static final ValueProcessor VALUE_PROCESSOR = new DefaultValueProcessor();
+
+    @Override
+    protected Object getJdbcValue(JdbcValueContext context) throws SQLException {
+        return VALUE_PROCESSOR.getJdbcValue(context);
+    }
+}
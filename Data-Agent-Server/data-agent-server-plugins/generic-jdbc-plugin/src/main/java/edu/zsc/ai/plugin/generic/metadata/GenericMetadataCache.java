@@ -0,0 +1,65 @@
+package edu.zsc.ai.plugin.generic.metadata;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link SchemaMetadata} per data source, catalog and schema. Entries are shared by all connections
+ * to the same URL and user, so reconnecting does not reload them, and are dropped after the TTL or
+ * when {@link #invalidate(Connection)} reports a possible schema change.
+ */
+public final class GenericMetadataCache {
+
+    private final Duration ttl;
+
+    private final ConcurrentMap<Key, SchemaMetadata> entries = new ConcurrentHashMap<>();
+
+    public GenericMetadataCache(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public SchemaMetadata get(Connection connection, String catalog, String schema) {
+        Key key = new Key(sourceOf(connection), catalog, schema);
+        SchemaMetadata metadata = entries.get(key);
+        if (metadata != null && !metadata.isExpired(ttl)) {
+            return metadata;
+        }
+        entries.values().removeIf(entry -> entry.isExpired(ttl));
+        return entries.compute(key, (k, existing) ->
+                existing == null || existing.isExpired(ttl) ? new SchemaMetadata(catalog, schema) : existing);
+    }
+
+    /**
+     * Forget everything cached for the connection's data source, e.g. after DDL.
+     */
+    public void invalidate(Connection connection) {
+        String source = sourceOf(connection);
+        entries.keySet().removeIf(key -> key.source().equals(source));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return URL and user of the connection, or the connection itself when the driver does not tell
+     */
+    private static String sourceOf(Connection connection) {
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (metaData.getURL() != null) {
+                return metaData.getURL() + "|" + metaData.getUserName();
+            }
+        } catch (SQLException e) {
+            // Fall through to identity
+        }
+        return "connection@" + System.identityHashCode(connection);
+    }
+
+    private record Key(String source, String catalog, String schema) {
+    }
+}
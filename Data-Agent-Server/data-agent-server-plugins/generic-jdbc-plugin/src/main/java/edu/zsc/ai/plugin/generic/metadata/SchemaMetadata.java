@@ -0,0 +1,305 @@
+package edu.zsc.ai.plugin.generic.metadata;
+
+import edu.zsc.ai.plugin.capability.IndexBuilder;
+import edu.zsc.ai.plugin.constant.IndexTypeEnum;
+import edu.zsc.ai.plugin.constant.JdbcMetaDataConstants;
+import edu.zsc.ai.plugin.model.metadata.ColumnMetadata;
+import edu.zsc.ai.plugin.model.metadata.IndexMetadata;
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Tables, views, columns, primary keys and indexes of one catalog/schema, each read with a single
+ * {@link DatabaseMetaData} call for all tables (null table pattern) the first time it is needed.
+ * <p>
+ * The JDBC specification requires a table name for {@code getPrimaryKeys} and {@code getIndexInfo},
+ * although most drivers accept null. When a bulk call fails or returns nothing, keys and indexes
+ * are read per table instead and kept as well.
+ * <p>
+ * Columns, keys and indexes are kept per (schema, table), since a scope without a schema (null)
+ * reads the tables of every schema. Looking a table up in such a scope fails when the name exists
+ * in more than one schema.
+ */
+public final class SchemaMetadata {
+
+    private static final Logger logger = Logger.getLogger(SchemaMetadata.class.getName());
+
+    private final String catalog;
+
+    private final String schema;
+
+    private final long createdAt = System.currentTimeMillis();
+
+    private List<String> tables;
+
+    private List<String> views;
+
+    private Map<TableKey, List<ColumnMetadata>> columnsByTable;
+
+    private final Map<TableKey, Set<String>> primaryKeysByTable = new HashMap<>();
+
+    /**
+     * Tables whose primary keys or indexes were read one by one
+     */
+    private final Set<String> primaryKeysReadFor = new HashSet<>();
+
+    private final Set<String> indexesReadFor = new HashSet<>();
+
+    /**
+     * Null until tried; true when all primary keys were read at once, false when they are read per table
+     */
+    private Boolean bulkPrimaryKeys;
+
+    private final Map<TableKey, List<IndexMetadata>> indexesByTable = new HashMap<>();
+
+    private Boolean bulkIndexes;
+
+    public SchemaMetadata(String catalog, String schema) {
+        this.catalog = catalog;
+        this.schema = schema;
+    }
+
+    public boolean isExpired(Duration ttl) {
+        return System.currentTimeMillis() - createdAt > ttl.toMillis();
+    }
+
+    public synchronized List<String> getTables(DatabaseMetaData metaData) throws SQLException {
+        loadTables(metaData);
+        return tables;
+    }
+
+    public synchronized List<String> getViews(DatabaseMetaData metaData) throws SQLException {
+        loadTables(metaData);
+        return views;
+    }
+
+    /**
+     * @return columns in ordinal order, with primary key parts flagged; empty for an unknown table
+     */
+    public synchronized List<ColumnMetadata> getColumns(DatabaseMetaData metaData, String tableName) throws SQLException {
+        if (columnsByTable == null) {
+            long start = System.currentTimeMillis();
+            columnsByTable = new HashMap<>();
+            int count = 0;
+            try (ResultSet rs = metaData.getColumns(catalog, schema, null, null)) {
+                while (rs.next()) {
+                    if (inScope(rs)) {
+                        columnsByTable.computeIfAbsent(TableKey.of(rs), k -> new ArrayList<>())
+                                .add(toColumn(rs));
+                        count++;
+                    }
+                }
+            }
+            columnsByTable.values().forEach(list -> list.sort(Comparator.comparingInt(ColumnMetadata::ordinalPosition)));
+            logger.info(String.format("Loaded %d columns of %d tables in %s in %d ms",
+                    count, columnsByTable.size(), describe(), System.currentTimeMillis() - start));
+        }
+
+        List<ColumnMetadata> columns = lookup(columnsByTable, tableName, List.of());
+        Set<String> primaryKey = getPrimaryKey(metaData, tableName);
+        if (primaryKey.isEmpty()) {
+            return columns;
+        }
+        List<ColumnMetadata> flagged = new ArrayList<>(columns.size());
+        for (ColumnMetadata c : columns) {
+            flagged.add(new ColumnMetadata(c.name(), c.dataType(), c.typeName(), c.columnSize(), c.decimalDigits(),
+                    c.nullable(), c.ordinalPosition(), c.remarks(), primaryKey.contains(c.name()),
+                    c.isAutoIncrement(), c.isUnsigned(), c.defaultValue()));
+        }
+        return flagged;
+    }
+
+    public synchronized List<IndexMetadata> getIndexes(DatabaseMetaData metaData, String tableName) throws SQLException {
+        if (bulkIndexes == null) {
+            bulkIndexes = readIndexes(metaData, null);
+        }
+        if (!bulkIndexes && !indexesReadFor.contains(tableName)) {
+            readIndexes(metaData, tableName);
+            indexesReadFor.add(tableName);
+        }
+        return lookup(indexesByTable, tableName, List.of());
+    }
+
+    private Set<String> getPrimaryKey(DatabaseMetaData metaData, String tableName) throws SQLException {
+        if (bulkPrimaryKeys == null) {
+            bulkPrimaryKeys = readPrimaryKeys(metaData, null);
+        }
+        if (!bulkPrimaryKeys && !primaryKeysReadFor.contains(tableName)) {
+            readPrimaryKeys(metaData, tableName);
+            primaryKeysReadFor.add(tableName);
+        }
+        return lookup(primaryKeysByTable, tableName, Set.of());
+    }
+
+    /**
+     * @return the value of the table in this scope's schema; without a schema, of the one schema that has the table
+     * @throws IllegalArgumentException if the scope has no schema and several schemas have the table
+     */
+    private <V> V lookup(Map<TableKey, V> byTable, String tableName, V absent) {
+        V value = byTable.get(new TableKey(schema, tableName));
+        if (value != null || schema != null) {
+            return value != null ? value : absent;
+        }
+        TableKey found = null;
+        for (Map.Entry<TableKey, V> entry : byTable.entrySet()) {
+            if (!entry.getKey().table().equals(tableName)) {
+                continue;
+            }
+            if (found != null) {
+                throw new IllegalArgumentException(String.format("Table %s exists in schemas %s and %s of %s; select a schema",
+                        tableName, found.schema(), entry.getKey().schema(), describe()));
+            }
+            found = entry.getKey();
+            value = entry.getValue();
+        }
+        return value != null ? value : absent;
+    }
+
+    private void loadTables(DatabaseMetaData metaData) throws SQLException {
+        if (tables != null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<String> tableList = new ArrayList<>();
+        List<String> viewList = new ArrayList<>();
+        try (ResultSet rs = metaData.getTables(catalog, schema, null, null)) {
+            while (rs.next()) {
+                if (!inScope(rs)) {
+                    continue;
+                }
+                String type = StringUtils.upperCase(rs.getString(JdbcMetaDataConstants.TABLE_TYPE));
+                String name = rs.getString(JdbcMetaDataConstants.TABLE_NAME);
+                if (StringUtils.isBlank(type) || StringUtils.isBlank(name)) {
+                    continue;
+                }
+                // Types vary per driver ("TABLE", "BASE TABLE", "MATERIALIZED VIEW", ...); system objects are skipped
+                if (type.contains(JdbcMetaDataConstants.TABLE_TYPE_VIEW)) {
+                    viewList.add(name);
+                } else if (type.contains(JdbcMetaDataConstants.TABLE_TYPE_TABLE) && !type.contains("SYSTEM")) {
+                    tableList.add(name);
+                }
+            }
+        }
+        Collections.sort(tableList);
+        Collections.sort(viewList);
+        tables = Collections.unmodifiableList(tableList);
+        views = Collections.unmodifiableList(viewList);
+        logger.info(String.format("Loaded %d tables and %d views in %s in %d ms",
+                tables.size(), views.size(), describe(), System.currentTimeMillis() - start));
+    }
+
+    /**
+     * @param tableName table to read, or null to read all tables at once
+     * @return whether a bulk read succeeded with results
+     */
+    private boolean readPrimaryKeys(DatabaseMetaData metaData, String tableName) throws SQLException {
+        Map<TableKey, Set<String>> read = new HashMap<>();
+        try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, tableName)) {
+            while (rs.next()) {
+                String column = rs.getString(JdbcMetaDataConstants.COLUMN_NAME);
+                if (column != null && inScope(rs)) {
+                    read.computeIfAbsent(TableKey.of(rs), k -> new HashSet<>()).add(column);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (tableName != null) {
+                throw e;
+            }
+            logger.fine(String.format("Driver cannot list primary keys of all tables in %s: %s", describe(), e.getMessage()));
+            return false;
+        }
+        primaryKeysByTable.putAll(read);
+        return tableName == null && !read.isEmpty();
+    }
+
+    /**
+     * @param tableName table to read, or null to read all tables at once
+     * @return whether a bulk read succeeded with results
+     */
+    private boolean readIndexes(DatabaseMetaData metaData, String tableName) throws SQLException {
+        Map<TableKey, Map<String, IndexBuilder>> read = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(catalog, schema, tableName, false, true)) {
+            while (rs.next()) {
+                short type = rs.getShort(JdbcMetaDataConstants.TYPE);
+                String indexName = rs.getString(JdbcMetaDataConstants.INDEX_NAME);
+                if (type == DatabaseMetaData.tableIndexStatistic || StringUtils.isBlank(indexName) || !inScope(rs)) {
+                    continue;
+                }
+                boolean nonUnique = rs.getBoolean(JdbcMetaDataConstants.NON_UNIQUE);
+                int ordinalPosition = rs.getInt(JdbcMetaDataConstants.ORDINAL_POSITION);
+                String columnName = StringUtils.defaultString(rs.getString(JdbcMetaDataConstants.COLUMN_NAME));
+                read.computeIfAbsent(TableKey.of(rs), k -> new LinkedHashMap<>())
+                        .computeIfAbsent(indexName, k -> new IndexBuilder(k, IndexTypeEnum.fromJdbcType(type), !nonUnique))
+                        .addColumn(ordinalPosition, columnName);
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (tableName != null) {
+                throw e;
+            }
+            logger.fine(String.format("Driver cannot list indexes of all tables in %s: %s", describe(), e.getMessage()));
+            return false;
+        }
+        read.forEach((table, builders) -> {
+            List<IndexMetadata> indexes = new ArrayList<>();
+            builders.values().forEach(b -> indexes.add(b.build()));
+            indexesByTable.put(table, indexes);
+        });
+        return tableName == null && !read.isEmpty();
+    }
+
+    /**
+     * Metadata calls take patterns, in which "_" matches any character, so rows of similarly named
+     * catalogs and schemas are dropped here.
+     */
+    private boolean inScope(ResultSet rs) throws SQLException {
+        if (schema != null && !schema.equals(rs.getString(JdbcMetaDataConstants.TABLE_SCHEM))) {
+            return false;
+        }
+        String rowCatalog = rs.getString(JdbcMetaDataConstants.TABLE_CAT);
+        return catalog == null || rowCatalog == null || catalog.equals(rowCatalog);
+    }
+
+    private static ColumnMetadata toColumn(ResultSet rs) throws SQLException {
+        String typeName = rs.getString(JdbcMetaDataConstants.TYPE_NAME);
+        String remarks = rs.getString(JdbcMetaDataConstants.REMARKS);
+        boolean autoIncrement;
+        try {
+            autoIncrement = "YES".equalsIgnoreCase(rs.getString(JdbcMetaDataConstants.IS_AUTOINCREMENT));
+        } catch (SQLException e) {
+            // Column added in JDBC 4.1; older drivers do not return it
+            autoIncrement = false;
+        }
+        return new ColumnMetadata(
+                rs.getString(JdbcMetaDataConstants.COLUMN_NAME),
+                rs.getInt(JdbcMetaDataConstants.DATA_TYPE),
+                typeName != null ? typeName : "",
+                rs.getInt(JdbcMetaDataConstants.COLUMN_SIZE),
+                rs.getInt(JdbcMetaDataConstants.DECIMAL_DIGITS),
+                rs.getInt(JdbcMetaDataConstants.NULLABLE) == ResultSetMetaData.columnNullable,
+                rs.getInt(JdbcMetaDataConstants.ORDINAL_POSITION),
+                remarks != null ? remarks : "",
+                false,
+                autoIncrement,
+                typeName != null && StringUtils.containsIgnoreCase(typeName, "UNSIGNED"),
+                rs.getString(JdbcMetaDataConstants.COLUMN_DEF)
+        );
+    }
+
+    private String describe() {
+        return Objects.toString(catalog, "-") + "/" + Objects.toString(schema, "-");
+    }
+
+    private record TableKey(String schema, String table) {
+
+        static TableKey of(ResultSet rs) throws SQLException {
+            return new TableKey(rs.getString(JdbcMetaDataConstants.TABLE_SCHEM), rs.getString(JdbcMetaDataConstants.TABLE_NAME));
+        }
+    }
+}
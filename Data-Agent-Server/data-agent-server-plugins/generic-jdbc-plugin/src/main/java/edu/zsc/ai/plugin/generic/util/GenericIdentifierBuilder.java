@@ -0,0 +1,49 @@
+package edu.zsc.ai.plugin.generic.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * Builds identifiers with the quote string and catalog placement the driver reports.
+ */
+public final class GenericIdentifierBuilder {
+
+    private GenericIdentifierBuilder() {
+    }
+
+    /**
+     * Quote an identifier; returned as is when the database does not support quoting.
+     */
+    public static String quoteIdentifier(DatabaseMetaData metaData, String identifier) throws SQLException {
+        String quote = metaData.getIdentifierQuoteString();
+        if (StringUtils.isBlank(quote)) {
+            return identifier;
+        }
+        return quote + StringUtils.replace(identifier, quote, quote + quote) + quote;
+    }
+
+    /**
+     * Build a qualified object name. The catalog is only included when the database supports it in
+     * data manipulation statements, at the start or end as the driver reports.
+     */
+    public static String buildFullIdentifier(DatabaseMetaData metaData, String catalog, String schema,
+                                             String objectName) throws SQLException {
+        if (StringUtils.isBlank(objectName)) {
+            throw new IllegalArgumentException("Object name must not be null or empty");
+        }
+
+        String name = quoteIdentifier(metaData, objectName);
+        if (StringUtils.isNotBlank(schema) && metaData.supportsSchemasInDataManipulation()) {
+            name = quoteIdentifier(metaData, schema) + "." + name;
+        }
+        if (StringUtils.isNotBlank(catalog) && metaData.supportsCatalogsInDataManipulation()) {
+            String separator = StringUtils.defaultIfEmpty(metaData.getCatalogSeparator(), ".");
+            name = metaData.isCatalogAtStart()
+                    ? quoteIdentifier(metaData, catalog) + separator + name
+                    : name + separator + quoteIdentifier(metaData, catalog);
+        }
+        return name;
+    }
+}
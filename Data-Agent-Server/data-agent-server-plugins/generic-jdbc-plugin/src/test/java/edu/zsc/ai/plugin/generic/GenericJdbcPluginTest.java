@@ -0,0 +1,193 @@
+package edu.zsc.ai.plugin.generic;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.generic.constant.GenericJdbcConstants;
+import edu.zsc.ai.plugin.generic.metadata.SchemaMetadata;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandResult;
+import edu.zsc.ai.plugin.model.metadata.ColumnMetadata;
+import edu.zsc.ai.plugin.model.metadata.IndexMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the generic JDBC plugin with the HSQLDB driver, loaded from its JAR file like a downloaded driver.
+ * The JAR is not on the test class path (see the surefire configuration).
+ */
+public class GenericJdbcPluginTest {
+
+    private final GenericJdbcPlugin plugin = new GenericJdbcPlugin();
+
+    private ConnectionConfig config;
+
+    private Connection connection;
+
+    @TempDir
+    Path driverDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        System.setProperty(GenericJdbcConstants.DRIVER_DIR_PROPERTY, driverDir.toString());
+        Path jar = Files.copy(hsqldbJar(), driverDir.resolve("hsqldb.jar"));
+
+        config = new ConnectionConfig();
+        config.setDriverJarPath(jar.toString());
+        config.addProperty(GenericJdbcConstants.PROP_JDBC_URL, "jdbc:hsqldb:mem:generic_" + UUID.randomUUID().toString().replace("-", ""));
+        config.setUsername("SA");
+
+        connection = plugin.connect(config);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE SCHEMA SALES");
+            stmt.execute("CREATE TABLE SALES.CUSTOMERS (ID INT PRIMARY KEY, NAME VARCHAR(50) NOT NULL)");
+            stmt.execute("CREATE TABLE SALES.ORDERS (ID BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1) PRIMARY KEY, CUSTOMER_ID INT, AMOUNT DECIMAL(10, 2))");
+            stmt.execute("CREATE INDEX IDX_ORDERS_CUSTOMER ON SALES.ORDERS (CUSTOMER_ID, AMOUNT)");
+            stmt.execute("CREATE VIEW SALES.BIG_ORDERS AS SELECT * FROM SALES.ORDERS WHERE AMOUNT > 50");
+            stmt.execute("INSERT INTO SALES.ORDERS (CUSTOMER_ID, AMOUNT) SELECT MOD(X, 10), X FROM UNNEST(SEQUENCE_ARRAY(1, 100, 1)) AS T(X)");
+            stmt.execute("CREATE SCHEMA ARCHIVE");
+            stmt.execute("CREATE TABLE ARCHIVE.ORDERS (ORDER_ID INT PRIMARY KEY, NOTE VARCHAR(20))");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } finally {
+            plugin.closeConnection(connection);
+            System.clearProperty(GenericJdbcConstants.DRIVER_DIR_PROPERTY);
+        }
+    }
+
+    @Test
+    void testDriverClassIsFoundInJar() {
+        assertTrue(plugin.testConnection(config));
+    }
+
+    @Test
+    void testOnlyDriversOfManagedJarsAreLoaded() {
+        ConnectionConfig outside = copyOf(config);
+        outside.setDriverJarPath(hsqldbJar().toString());
+        assertThrows(IllegalArgumentException.class, () -> plugin.connect(outside));
+
+        ConnectionConfig dedicated = copyOf(config);
+        dedicated.addProperty(GenericJdbcConstants.PROP_JDBC_URL, "jdbc:h2:mem:generic");
+        assertThrows(IllegalArgumentException.class, () -> plugin.connect(dedicated));
+
+        // A class of the server is refused before it is loaded; so is a class of the JAR that is not a driver
+        Map<String, String> refusals = Map.of(
+                "java.lang.Thread", "server class path",
+                "org.hsqldb.server.Server", "not a JDBC driver");
+        refusals.forEach((className, reason) -> {
+            ConnectionConfig named = copyOf(config);
+            named.addProperty(GenericJdbcConstants.PROP_DRIVER_CLASS, className);
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> plugin.connect(named), className);
+            assertTrue(e.getMessage().contains(reason), e.getMessage());
+        });
+    }
+
+    @Test
+    void testListsTablesAndViews() {
+        assertEquals(List.of("CUSTOMERS", "ORDERS"), plugin.getTableNames(connection, null, "SALES"));
+        assertEquals(List.of("ORDERS"), plugin.searchTables(connection, null, "SALES", "ord%"));
+        assertEquals(List.of("BIG_ORDERS"), plugin.getViews(connection, null, "SALES"));
+        assertEquals(1, plugin.countViews(connection, null, "SALES", null));
+    }
+
+    @Test
+    void testColumnsAndIndexes() {
+        List<ColumnMetadata> columns = plugin.getColumns(connection, null, "SALES", "ORDERS");
+        assertEquals(List.of("ID", "CUSTOMER_ID", "AMOUNT"), columns.stream().map(ColumnMetadata::name).toList());
+        assertTrue(columns.get(0).isPrimaryKeyPart());
+        assertTrue(columns.get(0).isAutoIncrement());
+        assertFalse(columns.get(1).isPrimaryKeyPart());
+
+        List<IndexMetadata> indexes = plugin.getIndexes(connection, null, "SALES", "ORDERS");
+        IndexMetadata index = indexes.stream().filter(i -> i.name().equals("IDX_ORDERS_CUSTOMER")).findFirst().orElseThrow();
+        assertEquals(List.of("CUSTOMER_ID", "AMOUNT"), index.columns());
+        assertFalse(index.unique());
+
+        assertTrue(plugin.getColumns(connection, null, "SALES", "CUSTOMERS").get(0).isPrimaryKeyPart());
+        assertTrue(plugin.getColumns(connection, null, "SALES", "MISSING").isEmpty());
+    }
+
+    @Test
+    void testTableDataPages() {
+        SqlCommandResult page = plugin.getTableData(connection, null, "SALES", "ORDERS", 20, 10, null, "ID", "asc");
+        assertEquals(10, page.getRows().size());
+        assertEquals("21", String.valueOf(page.getRows().get(0).get(0)));
+
+        SqlCommandResult last = plugin.getTableData(connection, null, "SALES", "ORDERS", 95, 10);
+        assertEquals(5, last.getRows().size());
+
+        assertEquals(100, plugin.getTableDataCount(connection, null, "SALES", "ORDERS"));
+        assertEquals(50, plugin.getViewDataCount(connection, null, "SALES", "BIG_ORDERS"));
+        assertEquals(10, plugin.getTableDataCount(connection, null, "SALES", "ORDERS", "CUSTOMER_ID = 3"));
+    }
+
+    @Test
+    void testSameTableNameInSeveralSchemas() throws Exception {
+        SchemaMetadata unscoped = new SchemaMetadata(null, null);
+        assertThrows(IllegalArgumentException.class, () -> unscoped.getColumns(connection.getMetaData(), "ORDERS"));
+        assertThrows(IllegalArgumentException.class, () -> unscoped.getIndexes(connection.getMetaData(), "ORDERS"));
+        assertTrue(unscoped.getColumns(connection.getMetaData(), "CUSTOMERS").get(0).isPrimaryKeyPart());
+
+        List<ColumnMetadata> archived = plugin.getColumns(connection, null, "ARCHIVE", "ORDERS");
+        assertEquals(List.of("ORDER_ID", "NOTE"), archived.stream().map(ColumnMetadata::name).toList());
+        assertTrue(archived.get(0).isPrimaryKeyPart());
+    }
+
+    @Test
+    void testDdlInvalidatesCachedMetadata() throws Exception {
+        assertEquals(2, plugin.countTables(connection, null, "SALES", null));
+
+        // Data changes keep the cached metadata, so a table created behind the plugin's back stays unseen
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE SALES.HIDDEN (ID INT)");
+        }
+        String insert = "INSERT INTO SALES.CUSTOMERS (ID, NAME) VALUES (1, 'a')";
+        SqlCommandResult inserted = plugin.executeCommand(SqlCommandRequest.ofWithoutTransaction(connection, insert, insert, null, "SALES"));
+        assertTrue(inserted.isSuccess(), inserted.getErrorMessage());
+        assertEquals(2, plugin.countTables(connection, null, "SALES", null));
+
+        String sql = "CREATE TABLE SALES.RETURNS (ID INT)";
+        SqlCommandResult result = plugin.executeCommand(SqlCommandRequest.ofWithoutTransaction(connection, sql, sql, null, "SALES"));
+        assertTrue(result.isSuccess(), result.getErrorMessage());
+        assertEquals(4, plugin.countTables(connection, null, "SALES", null));
+
+        plugin.deleteView(connection, null, "SALES", "BIG_ORDERS");
+        assertTrue(plugin.getViews(connection, null, "SALES").isEmpty());
+    }
+
+    @Test
+    void testDriverCoordinates() {
+        assertEquals("hsqldb", plugin.getDriverMavenCoordinates("org.hsqldb:hsqldb:2.7.3").getArtifactId());
+        assertThrows(IllegalArgumentException.class, () -> plugin.getDriverMavenCoordinates(null));
+        assertThrows(IllegalArgumentException.class, () -> plugin.getDriverMavenCoordinates("2.7.3"));
+        assertThrows(IllegalArgumentException.class, () -> plugin.getDriverMavenCoordinates("org.hsqldb:hsqldb:../2.7.3"));
+        assertThrows(IllegalArgumentException.class, () -> plugin.getDriverMavenCoordinates("com.h2database:h2:2.2.224"));
+    }
+
+    private static Path hsqldbJar() {
+        return Path.of(System.getProperty("hsqldb.jar"));
+    }
+
+    private static ConnectionConfig copyOf(ConnectionConfig source) {
+        ConnectionConfig copy = new ConnectionConfig();
+        copy.setDriverJarPath(source.getDriverJarPath());
+        copy.setUsername(source.getUsername());
+        source.getProperties().forEach(copy::addProperty);
+        return copy;
+    }
+}
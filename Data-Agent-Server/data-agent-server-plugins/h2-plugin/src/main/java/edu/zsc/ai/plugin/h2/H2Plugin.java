@@ -0,0 +1,279 @@
+package edu.zsc.ai.plugin.h2;
+
+import edu.zsc.ai.plugin.annotation.PluginInfo;
+import edu.zsc.ai.plugin.base.AbstractDatabasePlugin;
+import edu.zsc.ai.plugin.capability.*;
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.connection.JdbcConnectionBuilder;
+import edu.zsc.ai.plugin.driver.DriverLoader;
+import edu.zsc.ai.plugin.driver.MavenCoordinates;
+import edu.zsc.ai.plugin.enums.DbType;
+import edu.zsc.ai.plugin.h2.connection.H2JdbcConnectionBuilder;
+import edu.zsc.ai.plugin.h2.constant.H2Constants;
+import edu.zsc.ai.plugin.h2.constant.H2SqlConstants;
+import edu.zsc.ai.plugin.h2.executor.H2SqlExecutor;
+import edu.zsc.ai.plugin.h2.util.H2IdentifierBuilder;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandResult;
+import edu.zsc.ai.plugin.model.metadata.ColumnMetadata;
+import edu.zsc.ai.plugin.model.metadata.IndexMetadata;
+import edu.zsc.ai.plugin.sql.DefaultSqlSplitter;
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Embedded H2 plugin. Databases run in-process, so executor, metadata and discovery paths can be
+ * exercised and benchmarked without an external server.
+ * <p>
+ * The H2 driver ships with this plugin and is used when the connection has no driver JAR; a
+ * downloaded driver JAR is used when one is configured. Each connection sees a single catalog,
+ * so catalogs are ignored and a blank schema means the connection's current schema.
+ * <p>
+ * Only in-memory databases are opened (see {@link H2JdbcConnectionBuilder}). The plugin is not part
+ * of the default server build; it is added by the {@code h2-plugin} Maven profile.
+ */
+@PluginInfo(
+        id = "h2-2",
+        name = "H2 2.x (embedded)",
+        version = "0.0.1",
+        dbType = DbType.H2,
+        description = "Embedded in-process H2 database for local analysis, tests and benchmarks",
+        supportMinVersion = "2.0.0"
+)
+public class H2Plugin extends AbstractDatabasePlugin
+        implements ConnectionProvider, CommandExecutor<SqlCommandRequest, SqlCommandResult>,
+        TableProvider, ColumnProvider, IndexProvider, SqlSplitter {
+
+    private static final Logger logger = Logger.getLogger(H2Plugin.class.getName());
+
+    private final JdbcConnectionBuilder connectionBuilder = new H2JdbcConnectionBuilder();
+
+    private final H2SqlExecutor sqlExecutor = new H2SqlExecutor();
+
+    @Override
+    public boolean supportDatabase() {
+        return false;
+    }
+
+    @Override
+    public Connection connect(ConnectionConfig config) {
+        String jdbcUrl = connectionBuilder.buildUrl(config, H2Constants.JDBC_URL_TEMPLATE, 0);
+        try {
+            Properties properties = connectionBuilder.buildProperties(config);
+
+            Connection connection = StringUtils.isBlank(config.getDriverJarPath())
+                    ? DriverLoader.connectBundled(H2Constants.DRIVER_CLASS_NAME, jdbcUrl, properties)
+                    : DriverLoader.connect(config, H2Constants.DRIVER_CLASS_NAME, jdbcUrl, properties);
+
+            logger.info(String.format("Successfully connected to H2 database %s", jdbcUrl));
+            return connection;
+
+        } catch (SQLException e) {
+            String errorMsg = String.format("Failed to connect to H2 database %s: %s", jdbcUrl, e.getMessage());
+            logger.severe(errorMsg);
+            throw new RuntimeException(errorMsg, e);
+        }
+    }
+
+    @Override
+    public boolean testConnection(ConnectionConfig config) {
+        try {
+            Connection connection = connect(config);
+            if (connection != null && !connection.isClosed()) {
+                closeConnection(connection);
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            logger.warning(String.format("Connection test failed: %s", e.getMessage()));
+            return false;
+        }
+    }
+
+    @Override
+    public void closeConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close database connection: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SqlCommandResult executeCommand(SqlCommandRequest command) {
+        return sqlExecutor.executeCommand(command);
+    }
+
+    @Override
+    public List<String> split(String sql) {
+        return DefaultSqlSplitter.INSTANCE.split(sql);
+    }
+
+    @Override
+    public MavenCoordinates getDriverMavenCoordinates(String driverVersion) {
+        if (StringUtils.isBlank(driverVersion)) {
+            return new MavenCoordinates(H2Constants.DRIVER_GROUP_ID, H2Constants.DRIVER_ARTIFACT_ID,
+                    H2Constants.DEFAULT_DRIVER_VERSION);
+        }
+        if (driverVersion.startsWith("2.")) {
+            return new MavenCoordinates(H2Constants.DRIVER_GROUP_ID, H2Constants.DRIVER_ARTIFACT_ID, driverVersion);
+        }
+        throw new IllegalArgumentException(
+                String.format("Unsupported H2 driver version: %s. Supported versions: 2.x", driverVersion));
+    }
+
+    @Override
+    public List<String> searchTables(Connection connection, String catalog, String schema, String tableNamePattern) {
+        String sql = StringUtils.isBlank(tableNamePattern)
+                ? H2SqlConstants.SQL_LIST_TABLES
+                : H2SqlConstants.SQL_SEARCH_TABLES;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, resolveSchema(connection, schema));
+            if (StringUtils.isNotBlank(tableNamePattern)) {
+                stmt.setString(2, tableNamePattern);
+            }
+            List<String> list = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(rs.getString(1));
+                }
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to search tables: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long countTables(Connection connection, String catalog, String schema, String tableNamePattern) {
+        String sql = StringUtils.isBlank(tableNamePattern)
+                ? H2SqlConstants.SQL_COUNT_TABLES
+                : H2SqlConstants.SQL_COUNT_TABLES_MATCHING;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, resolveSchema(connection, schema));
+            if (StringUtils.isNotBlank(tableNamePattern)) {
+                stmt.setString(2, tableNamePattern);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count tables: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void deleteTable(Connection connection, String catalog, String schema, String tableName) {
+        String sql = "DROP TABLE " + H2IdentifierBuilder.buildFullIdentifier(resolveSchema(connection, schema), tableName);
+        SqlCommandResult result = sqlExecutor.executeCommand(
+                SqlCommandRequest.ofWithoutTransaction(connection, sql, sql, null, schema));
+        if (!result.isSuccess()) {
+            throw new RuntimeException("Failed to delete table: " + result.getErrorMessage());
+        }
+    }
+
+    @Override
+    public SqlCommandResult getTableData(Connection connection, String catalog, String schema, String tableName, int offset, int pageSize) {
+        return getTableData(connection, catalog, schema, tableName, offset, pageSize, null, null, null);
+    }
+
+    @Override
+    public long getTableDataCount(Connection connection, String catalog, String schema, String tableName) {
+        return getTableDataCount(connection, catalog, schema, tableName, null);
+    }
+
+    @Override
+    public SqlCommandResult getTableData(Connection connection, String catalog, String schema, String tableName,
+            int offset, int pageSize, String whereClause, String orderByColumn, String orderByDirection) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            throw new IllegalArgumentException("Connection and table name must not be null or empty");
+        }
+
+        String fullTableName = H2IdentifierBuilder.buildFullIdentifier(resolveSchema(connection, schema), tableName);
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(fullTableName);
+
+        if (StringUtils.isNotBlank(whereClause)) {
+            sql.append(" WHERE ").append(whereClause);
+        }
+        if (StringUtils.isNotBlank(orderByColumn)) {
+            String dir = "desc".equalsIgnoreCase(orderByDirection) ? "DESC" : "ASC";
+            sql.append(" ORDER BY ").append(H2IdentifierBuilder.quoteIdentifier(orderByColumn.trim())).append(" ").append(dir);
+        }
+        sql.append(" LIMIT ").append(pageSize).append(" OFFSET ").append(offset);
+
+        String sqlStr = sql.toString();
+        SqlCommandResult result = sqlExecutor.executeCommand(
+                SqlCommandRequest.ofWithoutTransaction(connection, sqlStr, sqlStr, null, schema));
+
+        if (!result.isSuccess()) {
+            logger.severe(String.format("Failed to get table data for %s: %s", fullTableName, result.getErrorMessage()));
+            throw new RuntimeException("Failed to get table data: " + result.getErrorMessage());
+        }
+        return result;
+    }
+
+    @Override
+    public long getTableDataCount(Connection connection, String catalog, String schema, String tableName, String whereClause) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            throw new IllegalArgumentException("Connection and table name must not be null or empty");
+        }
+
+        String fullTableName = H2IdentifierBuilder.buildFullIdentifier(resolveSchema(connection, schema), tableName);
+        String sql = StringUtils.isNotBlank(whereClause)
+                ? String.format(H2SqlConstants.SQL_COUNT_TABLE_DATA, fullTableName) + " WHERE " + whereClause
+                : String.format(H2SqlConstants.SQL_COUNT_TABLE_DATA, fullTableName);
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                return rs.getLong("total");
+            }
+            return 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get table data count: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<ColumnMetadata> getColumns(Connection connection, String catalog, String schema, String tableOrViewName) {
+        if (connection == null || StringUtils.isBlank(tableOrViewName)) {
+            return List.of();
+        }
+        return ColumnProvider.super.getColumns(connection, null, resolveSchema(connection, schema), tableOrViewName);
+    }
+
+    @Override
+    public List<IndexMetadata> getIndexes(Connection connection, String catalog, String schema, String tableName) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            return List.of();
+        }
+        return IndexProvider.super.getIndexes(connection, null, resolveSchema(connection, schema), tableName);
+    }
+
+    /**
+     * @return the given schema, or the connection's current schema when blank
+     */
+    private String resolveSchema(Connection connection, String schema) {
+        if (StringUtils.isNotBlank(schema)) {
+            return schema;
+        }
+        try {
+            return connection.getSchema();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get current schema: " + e.getMessage(), e);
+        }
+    }
+}
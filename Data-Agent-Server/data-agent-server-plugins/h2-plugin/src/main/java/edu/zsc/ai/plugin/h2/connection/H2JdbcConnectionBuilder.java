@@ -0,0 +1,57 @@
+package edu.zsc.ai.plugin.h2.connection;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.connection.JdbcConnectionBuilder;
+import edu.zsc.ai.plugin.h2.constant.H2Constants;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Properties;
+
+/**
+ * Builds H2 JDBC URLs. The database is opened in-process, so host and port are not used. Only
+ * in-memory databases can be opened: the database name and user must be plain names, never URL
+ * parts or settings, because H2 URLs can reach the file system or run scripts ({@code file:},
+ * {@code INIT=RUNSCRIPT ...}). The database is namespaced by the user and kept alive until the JVM
+ * exits (e.g. {@code bench} for user {@code sa} becomes {@code jdbc:h2:mem:sa.bench;DB_CLOSE_DELAY=-1}).
+ */
+public class H2JdbcConnectionBuilder implements JdbcConnectionBuilder {
+
+    @Override
+    public String buildUrl(ConnectionConfig config, String urlTemplate, int defaultPort) {
+        String database = requirePlainName("database",
+                StringUtils.defaultIfBlank(config.getDatabase(), H2Constants.DEFAULT_DATABASE).trim());
+        String user = requirePlainName("user", user(config));
+        return String.format(urlTemplate,
+                H2Constants.MEM_PREFIX + user + H2Constants.NAMESPACE_SEPARATOR + database + H2Constants.KEEP_OPEN_SETTING);
+    }
+
+    @Override
+    public Properties buildProperties(ConnectionConfig config) {
+        Properties props = new Properties();
+
+        // Set username and password; H2 rejects unknown settings, so no timeout or database property
+        props.setProperty(PROP_USER, user(config));
+        props.setProperty(PROP_PASSWORD, StringUtils.defaultString(config.getPassword()));
+
+        // H2 reads settings such as INIT from the properties as well, so none are passed through
+        if (MapUtils.isNotEmpty(config.getProperties())) {
+            throw new IllegalArgumentException("H2 connections do not accept connection properties: "
+                    + config.getProperties().keySet());
+        }
+
+        return props;
+    }
+
+    private static String user(ConnectionConfig config) {
+        return StringUtils.defaultIfBlank(config.getUsername(), H2Constants.DEFAULT_USER).trim();
+    }
+
+    private static String requirePlainName(String kind, String name) {
+        if (!H2Constants.PLAIN_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException(String.format(
+                    "H2 %s name must consist of letters, digits, '_' and '-': %s", kind, name));
+        }
+        return name;
+    }
+}
@@ -0,0 +1,44 @@
+package edu.zsc.ai.plugin.h2.constant;
+
+import java.util.regex.Pattern;
+
+/**
+ * H2 driver and connection constants.
+ */
+public final class H2Constants {
+
+    private H2Constants() {
+        // Utility class
+    }
+
+    public static final String DRIVER_CLASS_NAME = "org.h2.Driver";
+
+    public static final String JDBC_URL_TEMPLATE = "jdbc:h2:%s";
+
+    public static final String DRIVER_GROUP_ID = "com.h2database";
+
+    public static final String DRIVER_ARTIFACT_ID = "h2";
+
+    public static final String DEFAULT_DRIVER_VERSION = "2.3.232";
+
+    public static final String DEFAULT_DATABASE = "data-agent";
+
+    public static final String DEFAULT_USER = "sa";
+
+    public static final String MEM_PREFIX = "mem:";
+
+    /**
+     * Keeps an in-memory database alive after its last connection closes
+     */
+    public static final String KEEP_OPEN_SETTING = ";DB_CLOSE_DELAY=-1";
+
+    /**
+     * Separates the user namespace from the database name; not allowed in either
+     */
+    public static final String NAMESPACE_SEPARATOR = ".";
+
+    /**
+     * Allowed database and user names; anything else could carry an H2 URL prefix or setting
+     */
+    public static final Pattern PLAIN_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+}
@@ -0,0 +1,31 @@
+package edu.zsc.ai.plugin.h2.constant;
+
+/**
+ * H2 SQL statements. Table listings read INFORMATION_SCHEMA directly so that a count over a large
+ * schema is a single aggregate instead of a materialized name list.
+ */
+public final class H2SqlConstants {
+
+    private H2SqlConstants() {
+        // Utility class
+    }
+
+    public static final String SQL_LIST_TABLES =
+            "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES " +
+            "WHERE TABLE_SCHEMA = ? AND TABLE_TYPE = 'BASE TABLE' ORDER BY TABLE_NAME";
+
+    public static final String SQL_SEARCH_TABLES =
+            "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES " +
+            "WHERE TABLE_SCHEMA = ? AND TABLE_TYPE = 'BASE TABLE' AND TABLE_NAME LIKE ? ORDER BY TABLE_NAME";
+
+    public static final String SQL_COUNT_TABLES =
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES " +
+            "WHERE TABLE_SCHEMA = ? AND TABLE_TYPE = 'BASE TABLE'";
+
+    public static final String SQL_COUNT_TABLES_MATCHING =
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES " +
+            "WHERE TABLE_SCHEMA = ? AND TABLE_TYPE = 'BASE TABLE' AND TABLE_NAME LIKE ?";
+
+    public static final String SQL_COUNT_TABLE_DATA =
+            "SELECT COUNT(*) AS total FROM %s";
+}
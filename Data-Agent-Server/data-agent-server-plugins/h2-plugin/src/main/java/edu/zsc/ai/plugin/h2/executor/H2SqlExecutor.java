@@ -0,0 +1,21 @@
+package edu.zsc.ai.plugin.h2.executor;
+
+import edu.zsc.ai.plugin.model.command.sql.AbstractSqlExecutor;
+import edu.zsc.ai.plugin.value.DefaultValueProcessor;
+import edu.zsc.ai.plugin.value.JdbcValueContext;
+import edu.zsc.ai.plugin.value.ValueProcessor;
+
+import java.sql.SQLException;
+
+/**
+ * H2 SQL executor. H2 returns standard JDBC types, so the default value processor is used.
+ */
+public class H2SqlExecutor extends AbstractSqlExecutor {
+
+    private static final ValueProcessor VALUE_PROCESSOR = new DefaultValueProcessor();
+
+    @Override
+    protected Object getJdbcValue(JdbcValueContext context) throws SQLException {
+        return VALUE_PROCESSOR.getJdbcValue(context);
+    }
+}
@@ -0,0 +1,32 @@
+package edu.zsc.ai.plugin.h2.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Builds H2 identifiers. Names are always double-quoted, so they are matched exactly as stored
+ * (H2 stores unquoted identifiers upper-case) and as returned by the metadata listings.
+ */
+public final class H2IdentifierBuilder {
+
+    private static final String DOUBLE_QUOTE = "\"";
+    private static final String DOUBLE_DOUBLE_QUOTE = "\"\"";
+
+    private H2IdentifierBuilder() {
+    }
+
+    public static String quoteIdentifier(String identifier) {
+        return DOUBLE_QUOTE + StringUtils.replace(identifier, DOUBLE_QUOTE, DOUBLE_DOUBLE_QUOTE) + DOUBLE_QUOTE;
+    }
+
+    public static String buildFullIdentifier(String schema, String objectName) {
+        if (StringUtils.isBlank(objectName)) {
+            throw new IllegalArgumentException("Object name must not be null or empty");
+        }
+
+        if (StringUtils.isNotBlank(schema)) {
+            return String.format("%s.%s", quoteIdentifier(schema), quoteIdentifier(objectName));
+        } else {
+            return quoteIdentifier(objectName);
+        }
+    }
+}
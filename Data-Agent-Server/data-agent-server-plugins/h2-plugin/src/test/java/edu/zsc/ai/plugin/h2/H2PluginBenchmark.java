@@ -0,0 +1,75 @@
+package edu.zsc.ai.plugin.h2;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.h2.fixture.H2SchemaFixture;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+
+import java.sql.Connection;
+import java.util.concurrent.Callable;
+
+/**
+ * Throughput benchmark of the executor and metadata paths against an in-process H2 database
+ * filled by {@link H2SchemaFixture}, so the numbers are repeatable without an external server.
+ * <p>
+ * Not a unit test; run {@code main} from the IDE or with the test classpath, e.g.
+ * {@code java -cp target/classes:target/test-classes:<deps> edu.zsc.ai.plugin.h2.H2PluginBenchmark}.
+ */
+public final class H2PluginBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int CALLS_PER_ROUND = 200;
+
+    private H2PluginBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        H2Plugin plugin = new H2Plugin();
+        ConnectionConfig config = new ConnectionConfig();
+        config.setDatabase("benchmark");
+
+        try (Connection connection = plugin.connect(config)) {
+            long start = System.nanoTime();
+            H2SchemaFixture.builder().schemas(2).tablesPerSchema(1_000).columnsPerTable(20).indexesPerTable(2)
+                    .build().create(connection);
+            H2SchemaFixture.builder().schemas(1).tablesPerSchema(1).columnsPerTable(12).rowsPerTable(1_000_000)
+                    .build().create(connection);
+            System.out.printf("fixture created in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+            String wide = H2SchemaFixture.schemaName(1);
+            String rows = H2SchemaFixture.schemaName(0);
+            String table = H2SchemaFixture.tableName(0);
+            String page = "SELECT * FROM " + rows + "." + table + " WHERE C01 < 500 LIMIT 200";
+
+            report("list 1000 tables", () -> plugin.getTableNames(connection, null, wide).size());
+            report("count 1000 tables", () -> plugin.countTables(connection, null, wide, null));
+            report("columns of one 20-column table", () -> plugin.getColumns(connection, null, wide, table).size());
+            report("indexes of one table", () -> plugin.getIndexes(connection, null, wide, table).size());
+            report("execute 200-row page query", () -> plugin.executeCommand(
+                    SqlCommandRequest.ofWithoutTransaction(connection, page, page, null, rows)).getRows().size());
+            report("count 1M rows", () -> plugin.getTableDataCount(connection, null, rows, table));
+        }
+    }
+
+    private static void report(String name, Callable<? extends Number> call) throws Exception {
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += run(call);
+        }
+        long bestNanos = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += run(call);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        System.out.printf("%-35s %10.1f us/op (sink %d)%n", name, bestNanos / 1_000.0 / CALLS_PER_ROUND, sink);
+    }
+
+    private static long run(Callable<? extends Number> call) throws Exception {
+        long sum = 0;
+        for (int i = 0; i < CALLS_PER_ROUND; i++) {
+            sum += call.call().longValue();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,161 @@
+package edu.zsc.ai.plugin.h2;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.h2.fixture.H2SchemaFixture;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandResult;
+import edu.zsc.ai.plugin.model.metadata.ColumnMetadata;
+import edu.zsc.ai.plugin.model.metadata.IndexMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the embedded H2 plugin against in-memory databases generated by {@link H2SchemaFixture}.
+ */
+public class H2PluginTest {
+
+    private final H2Plugin plugin = new H2Plugin();
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() {
+        connection = plugin.connect(config("test-" + UUID.randomUUID()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.closeConnection(connection);
+    }
+
+    @Test
+    void testConnectWithBundledDriver() throws Exception {
+        assertFalse(connection.isClosed());
+        assertTrue(plugin.getDatabaseProductVersion(connection).startsWith("2."));
+        assertTrue(plugin.testConnection(config("test-" + UUID.randomUUID())));
+    }
+
+    @Test
+    void testInMemoryDatabaseOutlivesConnection() throws Exception {
+        ConnectionConfig config = config("test-" + UUID.randomUUID());
+        try (Connection first = plugin.connect(config)) {
+            first.createStatement().execute("CREATE TABLE KEPT (ID INT)");
+        }
+        try (Connection second = plugin.connect(config)) {
+            assertEquals(List.of("KEPT"), plugin.getTableNames(second, null, null));
+        }
+    }
+
+    @Test
+    void testExecuteCommand() {
+        String sql = "SELECT X AS N FROM SYSTEM_RANGE(1, 3)";
+        SqlCommandResult result = plugin.executeCommand(
+                SqlCommandRequest.ofWithoutTransaction(connection, sql, sql, null, null));
+
+        assertTrue(result.isSuccess(), result.getErrorMessage());
+        assertEquals(3, result.getRows().size());
+
+        String invalid = "SELECT * FROM MISSING_TABLE";
+        SqlCommandResult failed = plugin.executeCommand(
+                SqlCommandRequest.ofWithoutTransaction(connection, invalid, invalid, null, null));
+        assertFalse(failed.isSuccess());
+    }
+
+    @Test
+    void testSplit() {
+        assertEquals(List.of("SELECT 1", "SELECT 'a;b'"), plugin.split("SELECT 1; SELECT 'a;b';"));
+    }
+
+    @Test
+    void testTableDiscovery() throws Exception {
+        H2SchemaFixture.builder().schemas(2).tablesPerSchema(120).columnsPerTable(4).build().create(connection);
+
+        String schema = H2SchemaFixture.schemaName(1);
+        List<String> tables = plugin.getTableNames(connection, null, schema);
+        assertEquals(120, tables.size());
+        assertEquals(H2SchemaFixture.tableName(0), tables.get(0));
+        assertEquals(120, plugin.countTables(connection, null, schema, null));
+        assertEquals(10, plugin.countTables(connection, null, schema, "T000%"));
+        assertEquals(List.of("T0007"), plugin.searchTables(connection, null, schema, "T0007"));
+        assertEquals(0, plugin.countTables(connection, null, null, null));
+    }
+
+    @Test
+    void testColumnsAndIndexes() throws Exception {
+        H2SchemaFixture.builder().tablesPerSchema(1).columnsPerTable(8).indexesPerTable(2).build().create(connection);
+
+        String schema = H2SchemaFixture.schemaName(0);
+        String table = H2SchemaFixture.tableName(0);
+        List<ColumnMetadata> columns = plugin.getColumns(connection, null, schema, table);
+        assertEquals(9, columns.size());
+        assertEquals("ID", columns.get(0).name());
+        assertTrue(columns.get(0).isPrimaryKeyPart());
+        assertEquals(H2SchemaFixture.columnName(8), columns.get(8).name());
+
+        List<IndexMetadata> indexes = plugin.getIndexes(connection, null, schema, table);
+        List<String> indexedColumns = indexes.stream().flatMap(index -> index.columns().stream()).toList();
+        assertTrue(indexedColumns.containsAll(List.of("ID", "C01", "C02")), indexedColumns.toString());
+    }
+
+    @Test
+    void testTableData() throws Exception {
+        H2SchemaFixture.builder().tablesPerSchema(1).columnsPerTable(6).rowsPerTable(10_000).build().create(connection);
+
+        String schema = H2SchemaFixture.schemaName(0);
+        String table = H2SchemaFixture.tableName(0);
+        assertEquals(10_000, plugin.getTableDataCount(connection, null, schema, table));
+        assertEquals(5_000, plugin.getTableDataCount(connection, null, schema, table, "C05"));
+
+        SqlCommandResult page = plugin.getTableData(connection, null, schema, table, 100, 50);
+        assertEquals(50, page.getRows().size());
+
+        SqlCommandResult sorted = plugin.getTableData(connection, null, schema, table, 0, 1, null, "ID", "desc");
+        assertEquals("10000", String.valueOf(sorted.getRows().get(0).get(0)));
+
+        plugin.deleteTable(connection, null, schema, table);
+        assertEquals(0, plugin.countTables(connection, null, schema, null));
+    }
+
+    @Test
+    void testOnlyPlainInMemoryDatabasesAreOpened() {
+        assertThrows(IllegalArgumentException.class, () -> plugin.connect(config("file:./escape")));
+        assertThrows(IllegalArgumentException.class, () -> plugin.connect(config("x;INIT=RUNSCRIPT FROM 'a.sql'")));
+
+        ConnectionConfig withInit = config("test-" + UUID.randomUUID());
+        withInit.addProperty("INIT", "RUNSCRIPT FROM 'a.sql'");
+        assertThrows(IllegalArgumentException.class, () -> plugin.connect(withInit));
+    }
+
+    @Test
+    void testInMemoryDatabasesAreNamespacedByUser() throws Exception {
+        String database = "test-" + UUID.randomUUID();
+        try (Connection owner = plugin.connect(config(database))) {
+            owner.createStatement().execute("CREATE TABLE OWNED (ID INT)");
+        }
+        ConnectionConfig other = config(database);
+        other.setUsername("other");
+        try (Connection second = plugin.connect(other)) {
+            assertEquals(List.of(), plugin.getTableNames(second, null, null));
+        }
+    }
+
+    @Test
+    void testDriverCoordinates() {
+        assertEquals("com.h2database", plugin.getDriverMavenCoordinates(null).getGroupId());
+        assertEquals("2.2.224", plugin.getDriverMavenCoordinates("2.2.224").getVersion());
+        assertThrows(IllegalArgumentException.class, () -> plugin.getDriverMavenCoordinates("1.4.200"));
+    }
+
+    private static ConnectionConfig config(String database) {
+        ConnectionConfig config = new ConnectionConfig();
+        config.setDatabase(database);
+        return config;
+    }
+}
@@ -0,0 +1,158 @@
+package edu.zsc.ai.plugin.h2.fixture;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Generates large, deterministic schemas in an H2 database for metadata, discovery and executor
+ * load tests. Rows are produced inside H2 with {@code SYSTEM_RANGE}, so millions of rows cost one
+ * statement per table and no client-side round trips.
+ * <p>
+ * Schemas are named {@code S000}, {@code S001}, ...; tables {@code T0000}, {@code T0001}, ...;
+ * columns {@code ID} (primary key) followed by {@code C01}, {@code C02}, ... cycling through
+ * {@link #COLUMN_TYPES}. Index {@code Ixx} of a table covers column {@code Cxx}.
+ *
+ * <pre>{@code
+ * H2SchemaFixture.builder().schemas(2).tablesPerSchema(500).columnsPerTable(20).rowsPerTable(1_000)
+ *         .build().create(connection);
+ * }</pre>
+ */
+public final class H2SchemaFixture {
+
+    /**
+     * Column types of {@code C01..} in order, with the expression generating the value from row number {@code X}
+     */
+    static final List<ColumnType> COLUMN_TYPES = List.of(
+            new ColumnType("INTEGER", "CAST(MOD(X, 100000) AS INTEGER)"),
+            new ColumnType("VARCHAR(64)", "CONCAT('value-', X)"),
+            new ColumnType("DECIMAL(12, 2)", "CAST(X AS DECIMAL(12, 2)) / 100"),
+            new ColumnType("TIMESTAMP", "DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00')"),
+            new ColumnType("BOOLEAN", "MOD(X, 2) = 0"),
+            new ColumnType("BIGINT", "X * 31"));
+
+    private final int schemas;
+    private final int tablesPerSchema;
+    private final int columnsPerTable;
+    private final int indexesPerTable;
+    private final long rowsPerTable;
+
+    private H2SchemaFixture(Builder builder) {
+        this.schemas = builder.schemas;
+        this.tablesPerSchema = builder.tablesPerSchema;
+        this.columnsPerTable = builder.columnsPerTable;
+        this.indexesPerTable = Math.min(builder.indexesPerTable, builder.columnsPerTable);
+        this.rowsPerTable = builder.rowsPerTable;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static String schemaName(int schema) {
+        return String.format("S%03d", schema);
+    }
+
+    public static String tableName(int table) {
+        return String.format("T%04d", table);
+    }
+
+    public static String columnName(int column) {
+        return String.format("C%02d", column);
+    }
+
+    /**
+     * Create the schemas, tables, indexes and rows. Existing schemas of the same name are replaced.
+     *
+     * @param connection H2 connection
+     * @return names of the created schemas
+     */
+    public List<String> create(Connection connection) throws SQLException {
+        List<String> created = new ArrayList<>();
+        try (Statement stmt = connection.createStatement()) {
+            for (int s = 0; s < schemas; s++) {
+                String schema = schemaName(s);
+                stmt.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+                stmt.execute("CREATE SCHEMA " + schema);
+                for (int t = 0; t < tablesPerSchema; t++) {
+                    createTable(stmt, schema, tableName(t));
+                }
+                created.add(schema);
+            }
+        }
+        return created;
+    }
+
+    private void createTable(Statement stmt, String schema, String table) throws SQLException {
+        String qualified = schema + "." + table;
+        StringJoiner definitions = new StringJoiner(", ", "CREATE TABLE " + qualified + " (", ")");
+        StringJoiner names = new StringJoiner(", ", "(", ")");
+        StringJoiner values = new StringJoiner(", ");
+        definitions.add("ID BIGINT PRIMARY KEY");
+        names.add("ID");
+        values.add("X");
+        for (int c = 1; c <= columnsPerTable; c++) {
+            ColumnType type = COLUMN_TYPES.get((c - 1) % COLUMN_TYPES.size());
+            definitions.add(columnName(c) + " " + type.definition());
+            names.add(columnName(c));
+            values.add(type.valueExpression());
+        }
+        stmt.execute(definitions.toString());
+
+        for (int i = 1; i <= indexesPerTable; i++) {
+            stmt.execute(String.format("CREATE INDEX %s_I%02d ON %s (%s)", table, i, qualified, columnName(i)));
+        }
+
+        if (rowsPerTable > 0) {
+            stmt.execute(String.format("INSERT INTO %s %s SELECT %s FROM SYSTEM_RANGE(1, %d)",
+                    qualified, names, values, rowsPerTable));
+        }
+    }
+
+    record ColumnType(String definition, String valueExpression) {
+    }
+
+    public static final class Builder {
+
+        private int schemas = 1;
+        private int tablesPerSchema = 10;
+        private int columnsPerTable = 10;
+        private int indexesPerTable = 1;
+        private long rowsPerTable = 0;
+
+        private Builder() {
+        }
+
+        public Builder schemas(int schemas) {
+            this.schemas = schemas;
+            return this;
+        }
+
+        public Builder tablesPerSchema(int tablesPerSchema) {
+            this.tablesPerSchema = tablesPerSchema;
+            return this;
+        }
+
+        public Builder columnsPerTable(int columnsPerTable) {
+            this.columnsPerTable = columnsPerTable;
+            return this;
+        }
+
+        public Builder indexesPerTable(int indexesPerTable) {
+            this.indexesPerTable = indexesPerTable;
+            return this;
+        }
+
+        public Builder rowsPerTable(long rowsPerTable) {
+            this.rowsPerTable = rowsPerTable;
+            return this;
+        }
+
+        public H2SchemaFixture build() {
+            return new H2SchemaFixture(this);
+        }
+    }
+}
@@ -57,13 +57,11 @@ public abstract class DefaultMysqlPlugin extends AbstractDatabasePlugin
     @Override
     public Connection connect(ConnectionConfig config) {
         try {
-            DriverLoader.loadDriver(config, getDriverClassName());
-
             String jdbcUrl = connectionBuilder.buildUrl(config, getJdbcUrlTemplate(), getDefaultPort());
 
             Properties properties = connectionBuilder.buildProperties(config);
 
-            Connection connection = DriverManager.getConnection(jdbcUrl, properties);
+            Connection connection = DriverLoader.connect(config, getDriverClassName(), jdbcUrl, properties);
 
             logger.info(String.format("Successfully connected to MySQL database at %s:%d/%s",
                     config.getHost(),
@@ -0,0 +1,742 @@
+package edu.zsc.ai.plugin.postgresql;
+
+import edu.zsc.ai.plugin.annotation.PluginInfo;
+import edu.zsc.ai.plugin.base.AbstractDatabasePlugin;
+import edu.zsc.ai.plugin.capability.*;
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.connection.JdbcConnectionBuilder;
+import edu.zsc.ai.plugin.constant.DatabaseObjectTypeEnum;
+import edu.zsc.ai.plugin.driver.DriverLoader;
+import edu.zsc.ai.plugin.driver.MavenCoordinates;
+import edu.zsc.ai.plugin.enums.DbType;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandResult;
+import edu.zsc.ai.plugin.model.metadata.*;
+import edu.zsc.ai.plugin.model.sql.SqlType;
+import edu.zsc.ai.plugin.model.sql.SqlValidationResult;
+import edu.zsc.ai.plugin.postgresql.connection.PostgresqlJdbcConnectionBuilder;
+import edu.zsc.ai.plugin.postgresql.constant.PostgresqlConstants;
+import edu.zsc.ai.plugin.postgresql.constant.PostgresqlSqlConstants;
+import edu.zsc.ai.plugin.postgresql.executor.PostgresqlSqlExecutor;
+import edu.zsc.ai.plugin.postgresql.export.PostgresqlCopyExporter;
+import edu.zsc.ai.plugin.postgresql.sql.PostgresqlSqlSplitter;
+import edu.zsc.ai.plugin.postgresql.util.PostgresqlIdentifierBuilder;
+import edu.zsc.ai.plugin.sql.DefaultSqlValidator;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.OutputStream;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * PostgreSQL 12+ plugin with catalogs as databases and schemas inside them.
+ * <p>
+ * Queries are read through server-side cursors (see {@link PostgresqlSqlExecutor}), large tables are
+ * paged with row count estimates from the planner statistics, and tables or query results can be exported as CSV
+ * with {@code COPY ... TO STDOUT} (see {@link PostgresqlCopyExporter}).
+ */
+@PluginInfo(
+        id = "postgresql-12",
+        name = "PostgreSQL 12+",
+        version = "0.0.1",
+        dbType = DbType.POSTGRESQL,
+        description = "PostgreSQL plugin supporting versions 12 and above",
+        supportMinVersion = "12.0.0"
+)
+public class PostgresqlPlugin extends AbstractDatabasePlugin
+        implements ConnectionProvider, CommandExecutor<SqlCommandRequest, SqlCommandResult>, DatabaseProvider,
+        SchemaProvider, TableProvider, ViewProvider, ColumnProvider, IndexProvider,
+        FunctionProvider, ProcedureProvider, TriggerProvider, SqlSplitter, SqlValidator {
+
+    private static final Logger logger = Logger.getLogger(PostgresqlPlugin.class.getName());
+
+    private static final String PROKIND_FUNCTION = "f";
+
+    private static final String PROKIND_PROCEDURE = "p";
+
+    private static final String RELKIND_MATERIALIZED_VIEW = "m";
+
+    private static final String RELKIND_PARTITIONED_TABLE = "p";
+
+    private final JdbcConnectionBuilder connectionBuilder = new PostgresqlJdbcConnectionBuilder();
+
+    private final PostgresqlSqlExecutor sqlExecutor = new PostgresqlSqlExecutor();
+
+    @Override
+    public Connection connect(ConnectionConfig config) {
+        try {
+            String jdbcUrl = connectionBuilder.buildUrl(config, PostgresqlConstants.JDBC_URL_TEMPLATE,
+                    PostgresqlConstants.DEFAULT_PORT);
+            Properties properties = connectionBuilder.buildProperties(config);
+
+            Connection connection = StringUtils.isBlank(config.getDriverJarPath())
+                    ? DriverLoader.connectBundled(PostgresqlConstants.DRIVER_CLASS_NAME, jdbcUrl, properties)
+                    : DriverLoader.connect(config, PostgresqlConstants.DRIVER_CLASS_NAME, jdbcUrl, properties);
+
+            logger.info(String.format("Successfully connected to PostgreSQL database at %s:%d",
+                    config.getHost(), config.getPort() != null ? config.getPort() : PostgresqlConstants.DEFAULT_PORT));
+            return connection;
+        } catch (SQLException e) {
+            String errorMsg = String.format("Failed to connect to PostgreSQL database at %s:%d: %s",
+                    config.getHost(), config.getPort() != null ? config.getPort() : PostgresqlConstants.DEFAULT_PORT,
+                    e.getMessage());
+            logger.severe(errorMsg);
+            throw new RuntimeException(errorMsg, e);
+        }
+    }
+
+    @Override
+    public boolean testConnection(ConnectionConfig config) {
+        try {
+            Connection connection = connect(config);
+            if (connection != null && !connection.isClosed()) {
+                closeConnection(connection);
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            logger.warning(String.format("Connection test failed: %s", e.getMessage()));
+            return false;
+        }
+    }
+
+    @Override
+    public void closeConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close database connection: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SqlCommandResult executeCommand(SqlCommandRequest command) {
+        return sqlExecutor.executeCommand(command);
+    }
+
+    @Override
+    public List<String> split(String sql) {
+        return PostgresqlSqlSplitter.INSTANCE.split(sql);
+    }
+
+    @Override
+    public SqlValidationResult validate(String sql) {
+        return DefaultSqlValidator.INSTANCE.validate(sql);
+    }
+
+    @Override
+    public SqlType classifySql(String sql) {
+        return DefaultSqlValidator.INSTANCE.classifySql(sql);
+    }
+
+    @Override
+    public MavenCoordinates getDriverMavenCoordinates(String driverVersion) {
+        if (StringUtils.isBlank(driverVersion)) {
+            return new MavenCoordinates(PostgresqlConstants.DRIVER_GROUP_ID, PostgresqlConstants.DRIVER_ARTIFACT_ID,
+                    PostgresqlConstants.DEFAULT_DRIVER_VERSION);
+        }
+        if (driverVersion.startsWith("42.")) {
+            return new MavenCoordinates(PostgresqlConstants.DRIVER_GROUP_ID, PostgresqlConstants.DRIVER_ARTIFACT_ID,
+                    driverVersion);
+        }
+        throw new IllegalArgumentException(
+                String.format("Unsupported PostgreSQL driver version: %s. Supported versions: 42.x", driverVersion));
+    }
+
+    /**
+     * Write a table as CSV with a header row using {@code COPY ... TO STDOUT}.
+     *
+     * @return number of rows written
+     */
+    public long exportTableCsv(Connection connection, String schema, String tableName, OutputStream out) {
+        return PostgresqlCopyExporter.exportTable(connection, resolveSchema(connection, schema), tableName, out);
+    }
+
+    /**
+     * Write the result of a query as CSV with a header row using {@code COPY ... TO STDOUT}.
+     *
+     * @return number of rows written
+     */
+    public long exportQueryCsv(Connection connection, String query, OutputStream out) {
+        return PostgresqlCopyExporter.exportQuery(connection, query, out);
+    }
+
+    @Override
+    public List<String> getDatabases(Connection connection) {
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_LIST_DATABASES);
+             ResultSet rs = stmt.executeQuery()) {
+            List<String> list = new ArrayList<>();
+            while (rs.next()) {
+                list.add(rs.getString(1));
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list databases: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> getSchemas(Connection connection, String catalog) {
+        // A connection only sees the schemas of the database it is connected to
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_LIST_SCHEMAS);
+             ResultSet rs = stmt.executeQuery()) {
+            List<String> list = new ArrayList<>();
+            while (rs.next()) {
+                list.add(rs.getString(1));
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list schemas: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> searchTables(Connection connection, String catalog, String schema, String tableNamePattern) {
+        return searchRelations(connection, schema, PostgresqlSqlConstants.RELKINDS_TABLE, tableNamePattern);
+    }
+
+    @Override
+    public long countTables(Connection connection, String catalog, String schema, String tableNamePattern) {
+        return countRelations(connection, schema, PostgresqlSqlConstants.RELKINDS_TABLE, tableNamePattern);
+    }
+
+    @Override
+    public List<String> searchViews(Connection connection, String catalog, String schema, String viewNamePattern) {
+        return searchRelations(connection, schema, PostgresqlSqlConstants.RELKINDS_VIEW, viewNamePattern);
+    }
+
+    @Override
+    public long countViews(Connection connection, String catalog, String schema, String viewNamePattern) {
+        return countRelations(connection, schema, PostgresqlSqlConstants.RELKINDS_VIEW, viewNamePattern);
+    }
+
+    @Override
+    public String getTableDdl(Connection connection, String catalog, String schema, String tableName) {
+        String resolvedSchema = resolveSchema(connection, schema);
+        Relation relation = findRelation(connection, resolvedSchema, tableName, DatabaseObjectTypeEnum.TABLE.getValue());
+        String fullTableName = PostgresqlIdentifierBuilder.buildFullIdentifier(resolvedSchema, tableName);
+
+        try {
+            List<String> definitions = new ArrayList<>();
+            try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_TABLE_COLUMNS_DDL)) {
+                stmt.setLong(1, relation.oid());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        definitions.add(buildColumnDefinition(rs));
+                    }
+                }
+            }
+            try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_TABLE_CONSTRAINTS_DDL)) {
+                stmt.setLong(1, relation.oid());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        definitions.add("CONSTRAINT " + PostgresqlIdentifierBuilder.quoteIdentifier(rs.getString(1))
+                                + " " + rs.getString(2));
+                    }
+                }
+            }
+
+            StringBuilder ddl = new StringBuilder("CREATE TABLE ").append(fullTableName).append(" (\n    ")
+                    .append(String.join(",\n    ", definitions)).append("\n)");
+            if (RELKIND_PARTITIONED_TABLE.equals(relation.kind())) {
+                try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_PARTITION_KEY)) {
+                    stmt.setLong(1, relation.oid());
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            ddl.append(" PARTITION BY ").append(rs.getString(1));
+                        }
+                    }
+                }
+            }
+            ddl.append(";");
+
+            try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_TABLE_INDEXES_DDL)) {
+                stmt.setLong(1, relation.oid());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ddl.append("\n").append(rs.getString(1)).append(";");
+                    }
+                }
+            }
+            return ddl.toString();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get table DDL: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getViewDdl(Connection connection, String catalog, String schema, String viewName) {
+        String resolvedSchema = resolveSchema(connection, schema);
+        Relation relation = findRelation(connection, resolvedSchema, viewName, DatabaseObjectTypeEnum.VIEW.getValue());
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_VIEW_DEFINITION)) {
+            stmt.setString(1, resolvedSchema);
+            stmt.setString(2, viewName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new RuntimeException(String.format("View %s not found", viewName));
+                }
+                String keyword = RELKIND_MATERIALIZED_VIEW.equals(relation.kind()) ? "MATERIALIZED VIEW" : "VIEW";
+                return String.format("CREATE %s %s AS\n%s", keyword,
+                        PostgresqlIdentifierBuilder.buildFullIdentifier(resolvedSchema, viewName), rs.getString(1));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get view DDL: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SqlCommandResult getTableData(Connection connection, String catalog, String schema, String tableName, int offset, int pageSize) {
+        return getTableData(connection, catalog, schema, tableName, offset, pageSize, null, null, null);
+    }
+
+    @Override
+    public long getTableDataCount(Connection connection, String catalog, String schema, String tableName) {
+        return getTableDataCount(connection, catalog, schema, tableName, null);
+    }
+
+    @Override
+    public SqlCommandResult getTableData(Connection connection, String catalog, String schema, String tableName,
+            int offset, int pageSize, String whereClause, String orderByColumn, String orderByDirection) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            throw new IllegalArgumentException("Connection and table name must not be null or empty");
+        }
+
+        String fullTableName = PostgresqlIdentifierBuilder.buildFullIdentifier(resolveSchema(connection, schema), tableName);
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(fullTableName);
+
+        if (StringUtils.isNotBlank(whereClause)) {
+            sql.append(" WHERE ").append(whereClause);
+        }
+        if (StringUtils.isNotBlank(orderByColumn)) {
+            String dir = "desc".equalsIgnoreCase(orderByDirection) ? "DESC" : "ASC";
+            sql.append(" ORDER BY ").append(PostgresqlIdentifierBuilder.quoteIdentifier(orderByColumn.trim())).append(" ").append(dir);
+        }
+        sql.append(" LIMIT ").append(pageSize).append(" OFFSET ").append(offset);
+
+        String sqlStr = sql.toString();
+        SqlCommandResult result = sqlExecutor.executeCommand(
+                SqlCommandRequest.ofWithoutTransaction(connection, sqlStr, sqlStr, catalog, schema));
+
+        if (!result.isSuccess()) {
+            logger.severe(String.format("Failed to get table data for %s: %s", fullTableName, result.getErrorMessage()));
+            throw new RuntimeException("Failed to get table data: " + result.getErrorMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Tables whose planner estimate reaches {@link PostgresqlConstants#APPROXIMATE_COUNT_THRESHOLD}
+     * return the estimate; smaller or never analyzed tables and views return empty.
+     */
+    @Override
+    public OptionalLong estimateTableDataCount(Connection connection, String catalog, String schema, String tableName) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            throw new IllegalArgumentException("Connection and table name must not be null or empty");
+        }
+        long estimate = estimateRows(connection, resolveSchema(connection, schema), tableName);
+        return estimate >= PostgresqlConstants.APPROXIMATE_COUNT_THRESHOLD ? OptionalLong.of(estimate) : OptionalLong.empty();
+    }
+
+    @Override
+    public long getTableDataCount(Connection connection, String catalog, String schema, String tableName, String whereClause) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            throw new IllegalArgumentException("Connection and table name must not be null or empty");
+        }
+
+        String resolvedSchema = resolveSchema(connection, schema);
+        String fullTableName = PostgresqlIdentifierBuilder.buildFullIdentifier(resolvedSchema, tableName);
+        String sql = StringUtils.isNotBlank(whereClause)
+                ? String.format(PostgresqlSqlConstants.SQL_COUNT_TABLE_DATA, fullTableName) + " WHERE " + whereClause
+                : String.format(PostgresqlSqlConstants.SQL_COUNT_TABLE_DATA, fullTableName);
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                return rs.getLong("total");
+            }
+            return 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get table data count: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SqlCommandResult getViewData(Connection connection, String catalog, String schema, String viewName, int offset, int pageSize) {
+        return getTableData(connection, catalog, schema, viewName, offset, pageSize);
+    }
+
+    @Override
+    public long getViewDataCount(Connection connection, String catalog, String schema, String viewName) {
+        return getTableDataCount(connection, catalog, schema, viewName);
+    }
+
+    @Override
+    public SqlCommandResult getViewData(Connection connection, String catalog, String schema, String viewName,
+            int offset, int pageSize, String whereClause, String orderByColumn, String orderByDirection) {
+        return getTableData(connection, catalog, schema, viewName, offset, pageSize, whereClause, orderByColumn, orderByDirection);
+    }
+
+    @Override
+    public long getViewDataCount(Connection connection, String catalog, String schema, String viewName, String whereClause) {
+        return getTableDataCount(connection, catalog, schema, viewName, whereClause);
+    }
+
+    @Override
+    public List<ColumnMetadata> getColumns(Connection connection, String catalog, String schema, String tableOrViewName) {
+        if (connection == null || StringUtils.isBlank(tableOrViewName)) {
+            return List.of();
+        }
+        return ColumnProvider.super.getColumns(connection, null, resolveSchema(connection, schema), tableOrViewName);
+    }
+
+    @Override
+    public List<IndexMetadata> getIndexes(Connection connection, String catalog, String schema, String tableName) {
+        if (connection == null || StringUtils.isBlank(tableName)) {
+            return List.of();
+        }
+        return IndexProvider.super.getIndexes(connection, null, resolveSchema(connection, schema), tableName);
+    }
+
+    @Override
+    public List<FunctionMetadata> searchFunctions(Connection connection, String catalog, String schema, String functionNamePattern) {
+        String resolvedSchema = resolveSchema(connection, schema);
+        List<FunctionMetadata> list = new ArrayList<>();
+        Map<String, List<ParameterInfo>> params = getRoutineParameters(connection, resolvedSchema);
+        for (String[] routine : listRoutines(connection, resolvedSchema, PROKIND_FUNCTION, functionNamePattern)) {
+            list.add(new FunctionMetadata(routine[0], params.get(routine[1]), routine[2]));
+        }
+        return list;
+    }
+
+    @Override
+    public long countFunctions(Connection connection, String catalog, String schema, String functionNamePattern) {
+        return countRoutines(connection, resolveSchema(connection, schema), PROKIND_FUNCTION, functionNamePattern);
+    }
+
+    @Override
+    public String getFunctionDdl(Connection connection, String catalog, String schema, String functionName) {
+        return getRoutineDdl(connection, resolveSchema(connection, schema), functionName, PROKIND_FUNCTION,
+                DatabaseObjectTypeEnum.FUNCTION.getValue());
+    }
+
+    @Override
+    public List<ProcedureMetadata> searchProcedures(Connection connection, String catalog, String schema, String procedureNamePattern) {
+        String resolvedSchema = resolveSchema(connection, schema);
+        List<ProcedureMetadata> list = new ArrayList<>();
+        Map<String, List<ParameterInfo>> params = getRoutineParameters(connection, resolvedSchema);
+        for (String[] routine : listRoutines(connection, resolvedSchema, PROKIND_PROCEDURE, procedureNamePattern)) {
+            list.add(new ProcedureMetadata(routine[0], params.get(routine[1])));
+        }
+        return list;
+    }
+
+    @Override
+    public long countProcedures(Connection connection, String catalog, String schema, String procedureNamePattern) {
+        return countRoutines(connection, resolveSchema(connection, schema), PROKIND_PROCEDURE, procedureNamePattern);
+    }
+
+    @Override
+    public String getProcedureDdl(Connection connection, String catalog, String schema, String procedureName) {
+        return getRoutineDdl(connection, resolveSchema(connection, schema), procedureName, PROKIND_PROCEDURE,
+                DatabaseObjectTypeEnum.PROCEDURE.getValue());
+    }
+
+    @Override
+    public List<TriggerMetadata> getTriggers(Connection connection, String catalog, String schema, String tableName) {
+        if (connection == null) {
+            return List.of();
+        }
+        String table = StringUtils.isBlank(tableName) ? null : tableName;
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_LIST_TRIGGERS)) {
+            stmt.setString(1, resolveSchema(connection, schema));
+            stmt.setString(2, table);
+            stmt.setString(3, table);
+            List<TriggerMetadata> list = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new TriggerMetadata(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+                }
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list triggers: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getTriggerDdl(Connection connection, String catalog, String schema, String triggerName) {
+        return findTrigger(connection, resolveSchema(connection, schema), triggerName)[0] + ";";
+    }
+
+    @Override
+    public void deleteDatabase(Connection connection, String catalog) {
+        dropObject(connection, String.format(PostgresqlSqlConstants.SQL_DROP_DATABASE,
+                PostgresqlIdentifierBuilder.quoteIdentifier(catalog)), DatabaseObjectTypeEnum.DATABASE.getValue());
+    }
+
+    @Override
+    public void deleteTable(Connection connection, String catalog, String schema, String tableName) {
+        dropObject(connection, String.format(PostgresqlSqlConstants.SQL_DROP_TABLE,
+                PostgresqlIdentifierBuilder.buildFullIdentifier(resolveSchema(connection, schema), tableName)),
+                DatabaseObjectTypeEnum.TABLE.getValue());
+    }
+
+    @Override
+    public void deleteView(Connection connection, String catalog, String schema, String viewName) {
+        String resolvedSchema = resolveSchema(connection, schema);
+        Relation relation = findRelation(connection, resolvedSchema, viewName, DatabaseObjectTypeEnum.VIEW.getValue());
+        String template = RELKIND_MATERIALIZED_VIEW.equals(relation.kind())
+                ? PostgresqlSqlConstants.SQL_DROP_MATERIALIZED_VIEW
+                : PostgresqlSqlConstants.SQL_DROP_VIEW;
+        dropObject(connection, String.format(template,
+                PostgresqlIdentifierBuilder.buildFullIdentifier(resolvedSchema, viewName)),
+                DatabaseObjectTypeEnum.VIEW.getValue());
+    }
+
+    @Override
+    public void deleteFunction(Connection connection, String catalog, String schema, String functionName) {
+        dropObject(connection, String.format(PostgresqlSqlConstants.SQL_DROP_FUNCTION,
+                PostgresqlIdentifierBuilder.buildFullIdentifier(resolveSchema(connection, schema), functionName)),
+                DatabaseObjectTypeEnum.FUNCTION.getValue());
+    }
+
+    @Override
+    public void deleteProcedure(Connection connection, String catalog, String schema, String procedureName) {
+        dropObject(connection, String.format(PostgresqlSqlConstants.SQL_DROP_PROCEDURE,
+                PostgresqlIdentifierBuilder.buildFullIdentifier(resolveSchema(connection, schema), procedureName)),
+                DatabaseObjectTypeEnum.PROCEDURE.getValue());
+    }
+
+    /**
+     * Triggers belong to a table in PostgreSQL; the table is looked up by trigger name.
+     */
+    @Override
+    public void deleteTrigger(Connection connection, String catalog, String schema, String triggerName) {
+        String resolvedSchema = resolveSchema(connection, schema);
+        String tableName = findTrigger(connection, resolvedSchema, triggerName)[1];
+        dropObject(connection, String.format(PostgresqlSqlConstants.SQL_DROP_TRIGGER,
+                PostgresqlIdentifierBuilder.quoteIdentifier(triggerName),
+                PostgresqlIdentifierBuilder.buildFullIdentifier(resolvedSchema, tableName)),
+                DatabaseObjectTypeEnum.TRIGGER.getValue());
+    }
+
+    private List<String> searchRelations(Connection connection, String schema, String relkinds, String namePattern) {
+        String sql = String.format(PostgresqlSqlConstants.SQL_LIST_RELATIONS, relkinds);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            bindSchemaAndPattern(stmt, resolveSchema(connection, schema), namePattern);
+            List<String> list = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(rs.getString(1));
+                }
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to search relations: " + e.getMessage(), e);
+        }
+    }
+
+    private long countRelations(Connection connection, String schema, String relkinds, String namePattern) {
+        String sql = String.format(PostgresqlSqlConstants.SQL_COUNT_RELATIONS, relkinds);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            bindSchemaAndPattern(stmt, resolveSchema(connection, schema), namePattern);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count relations: " + e.getMessage(), e);
+        }
+    }
+
+    private static void bindSchemaAndPattern(PreparedStatement stmt, String schema, String namePattern) throws SQLException {
+        String pattern = StringUtils.isBlank(namePattern) ? null : namePattern;
+        stmt.setString(1, schema);
+        stmt.setString(2, pattern);
+        stmt.setString(3, pattern);
+    }
+
+    private Relation findRelation(Connection connection, String schema, String name, String objectType) {
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_RELATION_KIND)) {
+            stmt.setString(1, schema);
+            stmt.setString(2, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new RuntimeException(String.format("%s %s not found in schema %s",
+                            StringUtils.capitalize(objectType), name, schema));
+                }
+                return new Relation(rs.getLong(1), rs.getString(2));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(String.format("Failed to look up %s: %s", objectType, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * @return the planner estimate, or -1 when the table has no statistics or is not a table
+     */
+    private long estimateRows(Connection connection, String schema, String tableName) {
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_ESTIMATE_ROWS)) {
+            stmt.setString(1, schema);
+            stmt.setString(2, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : -1;
+            }
+        } catch (SQLException e) {
+            logger.warning(String.format("Failed to read row estimate for %s: %s", tableName, e.getMessage()));
+            return -1;
+        }
+    }
+
+    private static String buildColumnDefinition(ResultSet rs) throws SQLException {
+        StringBuilder column = new StringBuilder(PostgresqlIdentifierBuilder.quoteIdentifier(rs.getString(1)))
+                .append(" ").append(rs.getString(2));
+        String defaultExpr = rs.getString(4);
+        String identity = rs.getString(5);
+        String generated = rs.getString(6);
+        if ("a".equals(identity)) {
+            column.append(" GENERATED ALWAYS AS IDENTITY");
+        } else if ("d".equals(identity)) {
+            column.append(" GENERATED BY DEFAULT AS IDENTITY");
+        } else if ("s".equals(generated)) {
+            column.append(" GENERATED ALWAYS AS (").append(defaultExpr).append(") STORED");
+        } else if (defaultExpr != null) {
+            column.append(" DEFAULT ").append(defaultExpr);
+        }
+        if (rs.getBoolean(3)) {
+            column.append(" NOT NULL");
+        }
+        return column.toString();
+    }
+
+    /**
+     * @return name, specific name and return type (null for procedures) of each matching routine
+     */
+    private List<String[]> listRoutines(Connection connection, String schema, String prokind, String namePattern) {
+        String pattern = StringUtils.isBlank(namePattern) ? null : namePattern;
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_LIST_ROUTINES)) {
+            stmt.setString(1, schema);
+            stmt.setString(2, prokind);
+            stmt.setString(3, pattern);
+            stmt.setString(4, pattern);
+            List<String[]> list = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new String[]{rs.getString(1), rs.getString(2), rs.getString(3)});
+                }
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list routines: " + e.getMessage(), e);
+        }
+    }
+
+    private long countRoutines(Connection connection, String schema, String prokind, String namePattern) {
+        String pattern = StringUtils.isBlank(namePattern) ? null : namePattern;
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_COUNT_ROUTINES)) {
+            stmt.setString(1, schema);
+            stmt.setString(2, prokind);
+            stmt.setString(3, pattern);
+            stmt.setString(4, pattern);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count routines: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Input parameters of all routines in a schema, read in one query and keyed by specific name.
+     */
+    private Map<String, List<ParameterInfo>> getRoutineParameters(Connection connection, String schema) {
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_LIST_ROUTINE_PARAMETERS)) {
+            stmt.setString(1, schema);
+            Map<String, List<ParameterInfo>> params = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    params.computeIfAbsent(rs.getString(1), k -> new ArrayList<>())
+                            .add(new ParameterInfo(StringUtils.defaultString(rs.getString(2)), rs.getString(3)));
+                }
+            }
+            return params;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list routine parameters: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Overloaded routines share a name, so the DDL of every overload is returned.
+     */
+    private String getRoutineDdl(Connection connection, String schema, String name, String prokind, String objectType) {
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_ROUTINE_DEFINITIONS)) {
+            stmt.setString(1, schema);
+            stmt.setString(2, name);
+            stmt.setString(3, prokind);
+            List<String> definitions = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    definitions.add(rs.getString(1).trim() + ";");
+                }
+            }
+            if (definitions.isEmpty()) {
+                throw new RuntimeException(String.format("%s %s not found in schema %s",
+                        StringUtils.capitalize(objectType), name, schema));
+            }
+            return String.join("\n\n", definitions);
+        } catch (SQLException e) {
+            throw new RuntimeException(String.format("Failed to get %s DDL: %s", objectType, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * @return trigger definition and the name of its table
+     */
+    private String[] findTrigger(Connection connection, String schema, String triggerName) {
+        try (PreparedStatement stmt = connection.prepareStatement(PostgresqlSqlConstants.SQL_TRIGGER_DEFINITION)) {
+            stmt.setString(1, schema);
+            stmt.setString(2, triggerName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new RuntimeException(String.format("Trigger %s not found in schema %s", triggerName, schema));
+                }
+                return new String[]{rs.getString(1), rs.getString(2)};
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get trigger: " + e.getMessage(), e);
+        }
+    }
+
+    private void dropObject(Connection connection, String sql, String objectType) {
+        SqlCommandResult result = sqlExecutor.executeCommand(
+                SqlCommandRequest.ofWithoutTransaction(connection, sql, sql, null, null));
+
+        if (!result.isSuccess()) {
+            logger.severe(String.format("Failed to delete %s with [%s]: %s", objectType, sql, result.getErrorMessage()));
+            throw new RuntimeException(String.format("Failed to delete %s: %s", objectType, result.getErrorMessage()));
+        }
+        logger.info(String.format("Successfully deleted %s: %s", objectType, sql));
+    }
+
+    /**
+     * @return the given schema, or the connection's current schema when blank
+     */
+    private String resolveSchema(Connection connection, String schema) {
+        if (StringUtils.isNotBlank(schema)) {
+            return schema;
+        }
+        try {
+            return connection.getSchema();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get current schema: " + e.getMessage(), e);
+        }
+    }
+
+    private record Relation(long oid, String kind) {
+    }
+}
@@ -0,0 +1,55 @@
+package edu.zsc.ai.plugin.postgresql.connection;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.connection.JdbcConnectionBuilder;
+import edu.zsc.ai.plugin.postgresql.constant.PostgresqlConstants;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Properties;
+
+public class PostgresqlJdbcConnectionBuilder implements JdbcConnectionBuilder {
+
+    @Override
+    public String buildUrl(ConnectionConfig config, String urlTemplate, int defaultPort) {
+        String host = config.getHost();
+        int port = config.getPort() != null ? config.getPort() : defaultPort;
+        // A PostgreSQL connection is bound to one database, so one is always named
+        String database = StringUtils.defaultIfBlank(config.getDatabase(), PostgresqlConstants.DEFAULT_DATABASE);
+
+        // Build base JDBC URL (e.g., jdbc:postgresql://localhost:5432/postgres)
+        return String.format(urlTemplate, host, port, database);
+    }
+
+    @Override
+    public Properties buildProperties(ConnectionConfig config) {
+        Properties props = new Properties();
+
+        // Set username and password
+        if (StringUtils.isNotBlank(config.getUsername())) {
+            props.setProperty(PROP_USER, config.getUsername());
+        }
+        if (StringUtils.isNotBlank(config.getPassword())) {
+            props.setProperty(PROP_PASSWORD, config.getPassword());
+        }
+
+        // Set connection timeout (the PostgreSQL driver takes seconds)
+        if (config.getTimeout() != null) {
+            props.setProperty(PostgresqlConstants.PROP_CONNECT_TIMEOUT, String.valueOf(config.getTimeout()));
+        }
+
+        props.setProperty(PostgresqlConstants.PROP_APPLICATION_NAME, PostgresqlConstants.APPLICATION_NAME);
+
+        // Start in the selected schema
+        if (StringUtils.isNotBlank(config.getSchema())) {
+            props.setProperty(PostgresqlConstants.PROP_CURRENT_SCHEMA, config.getSchema());
+        }
+
+        // Add additional properties
+        if (MapUtils.isNotEmpty(config.getProperties())) {
+            props.putAll(config.getProperties());
+        }
+
+        return props;
+    }
+}
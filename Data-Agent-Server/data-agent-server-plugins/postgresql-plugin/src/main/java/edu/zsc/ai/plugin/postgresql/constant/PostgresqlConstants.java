@@ -0,0 +1,50 @@
+package edu.zsc.ai.plugin.postgresql.constant;
+
+/**
+ * PostgreSQL driver and connection constants.
+ */
+public final class PostgresqlConstants {
+
+    private PostgresqlConstants() {
+        // Utility class
+    }
+
+    public static final String DRIVER_CLASS_NAME = "org.postgresql.Driver";
+
+    public static final String JDBC_URL_TEMPLATE = "jdbc:postgresql://%s:%d/%s";
+
+    public static final int DEFAULT_PORT = 5432;
+
+    public static final String DEFAULT_DATABASE = "postgres";
+
+    public static final String DRIVER_GROUP_ID = "org.postgresql";
+
+    public static final String DRIVER_ARTIFACT_ID = "postgresql";
+
+    public static final String DEFAULT_DRIVER_VERSION = "42.7.7";
+
+    /**
+     * Driver property for the connect timeout, in seconds
+     */
+    public static final String PROP_CONNECT_TIMEOUT = "connectTimeout";
+
+    /**
+     * Driver property for the initial search_path
+     */
+    public static final String PROP_CURRENT_SCHEMA = "currentSchema";
+
+    public static final String PROP_APPLICATION_NAME = "ApplicationName";
+
+    public static final String APPLICATION_NAME = "Data-Agent";
+
+    /**
+     * Rows per round trip when a query result is read through a server-side cursor
+     */
+    public static final int FETCH_SIZE = 1000;
+
+    /**
+     * Tables whose planner estimate reaches this many rows are paged with the pg_class.reltuples
+     * estimate instead of a full scan
+     */
+    public static final long APPROXIMATE_COUNT_THRESHOLD = 100_000L;
+}
@@ -0,0 +1,145 @@
+package edu.zsc.ai.plugin.postgresql.constant;
+
+/**
+ * PostgreSQL catalog queries. Object listings read pg_catalog directly and filter by schema name,
+ * with {@code ?} parameters bound by the caller.
+ */
+public final class PostgresqlSqlConstants {
+
+    private PostgresqlSqlConstants() {
+        // Utility class
+    }
+
+    public static final String SQL_LIST_DATABASES =
+            "SELECT datname FROM pg_catalog.pg_database WHERE datallowconn AND NOT datistemplate ORDER BY datname";
+
+    public static final String SQL_LIST_SCHEMAS =
+            "SELECT nspname FROM pg_catalog.pg_namespace " +
+            "WHERE nspname NOT LIKE 'pg\\_%' AND nspname <> 'information_schema' ORDER BY nspname";
+
+    /**
+     * pg_class.relkind values listed as tables: ordinary and partitioned tables
+     */
+    public static final String RELKINDS_TABLE = "'r', 'p'";
+
+    /**
+     * pg_class.relkind values listed as views: views and materialized views
+     */
+    public static final String RELKINDS_VIEW = "'v', 'm'";
+
+    /**
+     * Relations of the kinds filled in for %s in a schema; partitions are listed under their parent only
+     */
+    public static final String SQL_LIST_RELATIONS =
+            "SELECT c.relname FROM pg_catalog.pg_class c " +
+            "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = ? AND c.relkind IN (%s) AND NOT c.relispartition " +
+            "AND (?::text IS NULL OR c.relname LIKE ?) ORDER BY c.relname";
+
+    public static final String SQL_COUNT_RELATIONS =
+            "SELECT COUNT(*) FROM pg_catalog.pg_class c " +
+            "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = ? AND c.relkind IN (%s) AND NOT c.relispartition " +
+            "AND (?::text IS NULL OR c.relname LIKE ?)";
+
+    public static final String SQL_RELATION_KIND =
+            "SELECT c.oid, c.relkind FROM pg_catalog.pg_class c " +
+            "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = ? AND c.relname = ?";
+
+    /**
+     * Planner estimate of a table's rows; -1 (PostgreSQL 14+) or 0 when never analyzed
+     */
+    public static final String SQL_ESTIMATE_ROWS =
+            "SELECT c.reltuples::bigint FROM pg_catalog.pg_class c " +
+            "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = ? AND c.relname = ? AND c.relkind IN ('r', 'p', 'm')";
+
+    public static final String SQL_VIEW_DEFINITION =
+            "SELECT pg_catalog.pg_get_viewdef(c.oid, true) FROM pg_catalog.pg_class c " +
+            "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = ? AND c.relname = ? AND c.relkind IN ('v', 'm')";
+
+    public static final String SQL_TABLE_COLUMNS_DDL =
+            "SELECT a.attname, pg_catalog.format_type(a.atttypid, a.atttypmod), a.attnotnull, " +
+            "pg_catalog.pg_get_expr(d.adbin, d.adrelid), a.attidentity, a.attgenerated " +
+            "FROM pg_catalog.pg_attribute a " +
+            "LEFT JOIN pg_catalog.pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum " +
+            "WHERE a.attrelid = ?::oid AND a.attnum > 0 AND NOT a.attisdropped ORDER BY a.attnum";
+
+    public static final String SQL_TABLE_CONSTRAINTS_DDL =
+            "SELECT conname, pg_catalog.pg_get_constraintdef(oid, true) FROM pg_catalog.pg_constraint " +
+            "WHERE conrelid = ?::oid AND contype IN ('p', 'u', 'f', 'c', 'x') " +
+            "ORDER BY CASE contype WHEN 'p' THEN 0 WHEN 'u' THEN 1 ELSE 2 END, conname";
+
+    /**
+     * Indexes not created by a constraint
+     */
+    public static final String SQL_TABLE_INDEXES_DDL =
+            "SELECT pg_catalog.pg_get_indexdef(i.indexrelid) FROM pg_catalog.pg_index i " +
+            "WHERE i.indrelid = ?::oid AND NOT EXISTS (SELECT 1 FROM pg_catalog.pg_constraint c WHERE c.conindid = i.indexrelid) " +
+            "ORDER BY i.indexrelid";
+
+    /**
+     * Routines of a kind ('f' function, 'p' procedure) in a schema; specific_name matches information_schema
+     */
+    public static final String SQL_LIST_ROUTINES =
+            "SELECT p.proname, p.proname || '_' || p.oid AS specific_name, " +
+            "CASE WHEN p.prokind = 'f' THEN pg_catalog.pg_get_function_result(p.oid) END AS return_type " +
+            "FROM pg_catalog.pg_proc p JOIN pg_catalog.pg_namespace n ON n.oid = p.pronamespace " +
+            "WHERE n.nspname = ? AND p.prokind = ? AND (?::text IS NULL OR p.proname LIKE ?) " +
+            "ORDER BY p.proname, p.oid";
+
+    public static final String SQL_COUNT_ROUTINES =
+            "SELECT COUNT(*) FROM pg_catalog.pg_proc p JOIN pg_catalog.pg_namespace n ON n.oid = p.pronamespace " +
+            "WHERE n.nspname = ? AND p.prokind = ? AND (?::text IS NULL OR p.proname LIKE ?)";
+
+    public static final String SQL_LIST_ROUTINE_PARAMETERS =
+            "SELECT specific_name, parameter_name, data_type FROM information_schema.parameters " +
+            "WHERE specific_schema = ? AND parameter_mode IN ('IN', 'INOUT') " +
+            "ORDER BY specific_name, ordinal_position";
+
+    public static final String SQL_ROUTINE_DEFINITIONS =
+            "SELECT pg_catalog.pg_get_functiondef(p.oid) FROM pg_catalog.pg_proc p " +
+            "JOIN pg_catalog.pg_namespace n ON n.oid = p.pronamespace " +
+            "WHERE n.nspname = ? AND p.proname = ? AND p.prokind = ? ORDER BY p.oid";
+
+    public static final String SQL_LIST_TRIGGERS =
+            "SELECT trigger_name, event_object_table, action_timing, " +
+            "string_agg(event_manipulation, ' OR ' ORDER BY event_manipulation) AS events " +
+            "FROM information_schema.triggers " +
+            "WHERE trigger_schema = ? AND (?::text IS NULL OR event_object_table = ?) " +
+            "GROUP BY trigger_name, event_object_table, action_timing ORDER BY trigger_name";
+
+    public static final String SQL_TRIGGER_DEFINITION =
+            "SELECT pg_catalog.pg_get_triggerdef(t.oid, true), c.relname FROM pg_catalog.pg_trigger t " +
+            "JOIN pg_catalog.pg_class c ON c.oid = t.tgrelid " +
+            "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = ? AND t.tgname = ? AND NOT t.tgisinternal";
+
+    public static final String SQL_PARTITION_KEY =
+            "SELECT pg_catalog.pg_get_partkeydef(?::oid)";
+
+    public static final String SQL_COUNT_TABLE_DATA =
+            "SELECT COUNT(*) AS total FROM %s";
+
+    public static final String SQL_COPY_QUERY_TO_STDOUT =
+            "COPY (%s) TO STDOUT WITH (FORMAT csv, HEADER true)";
+
+    public static final String SQL_COPY_TABLE_TO_STDOUT =
+            "COPY %s TO STDOUT WITH (FORMAT csv, HEADER true)";
+
+    public static final String SQL_DROP_DATABASE = "DROP DATABASE %s";
+
+    public static final String SQL_DROP_TABLE = "DROP TABLE %s";
+
+    public static final String SQL_DROP_VIEW = "DROP VIEW %s";
+
+    public static final String SQL_DROP_MATERIALIZED_VIEW = "DROP MATERIALIZED VIEW %s";
+
+    public static final String SQL_DROP_FUNCTION = "DROP FUNCTION %s";
+
+    public static final String SQL_DROP_PROCEDURE = "DROP PROCEDURE %s";
+
+    public static final String SQL_DROP_TRIGGER = "DROP TRIGGER %s ON %s";
+}
@@ -0,0 +1,94 @@
+package edu.zsc.ai.plugin.postgresql.executor;
+
+import edu.zsc.ai.plugin.model.command.sql.AbstractSqlExecutor;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandResult;
+import edu.zsc.ai.plugin.model.sql.SqlType;
+import edu.zsc.ai.plugin.postgresql.constant.PostgresqlConstants;
+import edu.zsc.ai.plugin.sql.DefaultSqlValidator;
+import edu.zsc.ai.plugin.value.DefaultValueProcessor;
+import edu.zsc.ai.plugin.value.JdbcValueContext;
+import edu.zsc.ai.plugin.value.ValueProcessor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+/**
+ * PostgreSQL SQL executor that reads query results through a server-side cursor.
+ *
+ * <p>The PostgreSQL driver only uses a cursor when the statement has a fetch size and runs outside
+ * autocommit; otherwise it buffers the whole result in memory before returning the first row.
+ * A query on an autocommit connection therefore runs in a short transaction of its own, committed
+ * (or rolled back on failure) before autocommit is restored, which is what autocommit would have done.
+ */
+public class PostgresqlSqlExecutor extends AbstractSqlExecutor {
+
+    private static final Logger logger = Logger.getLogger(PostgresqlSqlExecutor.class.getName());
+
+    private static final ValueProcessor VALUE_PROCESSOR = new DefaultValueProcessor();
+
+    @Override
+    protected Object getJdbcValue(JdbcValueContext context) throws SQLException {
+        return VALUE_PROCESSOR.getJdbcValue(context);
+    }
+
+    @Override
+    public SqlCommandResult executeCommand(SqlCommandRequest command) {
+        Connection connection = command.getConnection();
+        if (!isQuery(command) || !getOriginalAutoCommit(connection)) {
+            // Writes keep their own transaction handling; inside a transaction the cursor works as is
+            return super.executeCommand(command);
+        }
+
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            logger.warning("Failed to disable autoCommit, reading without cursor: " + e.getMessage());
+            return super.executeCommand(command);
+        }
+        try {
+            SqlCommandResult result = super.executeCommand(command);
+            endCursorTransaction(connection, result);
+            return result;
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.warning("Failed to restore autoCommit: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    protected void configureStatement(Statement statement, SqlCommandRequest command) throws SQLException {
+        if (isQuery(command)) {
+            statement.setFetchSize(PostgresqlConstants.FETCH_SIZE);
+        }
+    }
+
+    private void endCursorTransaction(Connection connection, SqlCommandResult result) {
+        if (!result.isSuccess()) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                logger.warning("Failed to roll back cursor transaction: " + e.getMessage());
+            }
+            return;
+        }
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            // A data-modifying WITH query is not persisted if the commit fails
+            result.setSuccess(false);
+            result.setErrorMessage(e.getClass().getSimpleName() + ": " + e.getMessage());
+            result.setSqlState(e.getSQLState());
+        }
+    }
+
+    private boolean isQuery(SqlCommandRequest command) {
+        return !command.isNeedTransaction()
+                && DefaultSqlValidator.INSTANCE.classifySql(command.getExecuteSql()) == SqlType.SELECT;
+    }
+}
@@ -0,0 +1,139 @@
+package edu.zsc.ai.plugin.postgresql.sql;
+
+import edu.zsc.ai.plugin.capability.SqlSplitter;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits PostgreSQL scripts on semicolons outside of literals and comments. Besides what
+ * {@link edu.zsc.ai.plugin.sql.DefaultSqlSplitter} handles, it understands dollar-quoted bodies
+ * ({@code $$ ... $$}, {@code $fn$ ... $fn$}) of functions and DO blocks, E'' strings with
+ * backslash escapes, quoted identifiers and nested block comments.
+ */
+public class PostgresqlSqlSplitter implements SqlSplitter {
+
+    public static final PostgresqlSqlSplitter INSTANCE = new PostgresqlSqlSplitter();
+
+    @Override
+    public List<String> split(String sql) {
+        List<String> statements = new ArrayList<>();
+        if (StringUtils.isBlank(sql)) {
+            return statements;
+        }
+
+        int len = sql.length();
+        int statementStart = 0;
+        int i = 0;
+        while (i < len) {
+            char c = sql.charAt(i);
+            char next = (i + 1 < len) ? sql.charAt(i + 1) : 0;
+
+            if (c == '-' && next == '-') {
+                int nl = sql.indexOf('\n', i);
+                i = nl == -1 ? len : nl + 1;
+            } else if (c == '/' && next == '*') {
+                i = skipBlockComment(sql, i);
+            } else if (c == '\'') {
+                boolean backslashEscapes = i > 0 && (sql.charAt(i - 1) == 'E' || sql.charAt(i - 1) == 'e')
+                        && (i < 2 || !isIdentifierPart(sql.charAt(i - 2)));
+                i = skipQuoted(sql, i, '\'', backslashEscapes);
+            } else if (c == '"') {
+                i = skipQuoted(sql, i, '"', false);
+            } else if (c == '$' && (i == 0 || !isIdentifierPart(sql.charAt(i - 1)))) {
+                String tag = dollarTag(sql, i);
+                if (tag != null) {
+                    int end = sql.indexOf(tag, i + tag.length());
+                    i = end == -1 ? len : end + tag.length();
+                } else {
+                    i++;
+                }
+            } else if (c == ';') {
+                addStatement(statements, sql.substring(statementStart, i));
+                statementStart = ++i;
+            } else {
+                i++;
+            }
+        }
+        addStatement(statements, sql.substring(statementStart));
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, String statement) {
+        String trimmed = statement.trim();
+        if (!trimmed.isEmpty()) {
+            statements.add(trimmed);
+        }
+    }
+
+    /**
+     * @return index after the comment; block comments nest in PostgreSQL
+     */
+    private static int skipBlockComment(String sql, int start) {
+        int depth = 0;
+        int i = start;
+        int len = sql.length();
+        while (i < len) {
+            if (sql.startsWith("/*", i)) {
+                depth++;
+                i += 2;
+            } else if (sql.startsWith("*/", i)) {
+                depth--;
+                i += 2;
+                if (depth == 0) {
+                    return i;
+                }
+            } else {
+                i++;
+            }
+        }
+        return len;
+    }
+
+    /**
+     * @return index after the closing quote; a doubled quote is part of the literal
+     */
+    private static int skipQuoted(String sql, int start, char quote, boolean backslashEscapes) {
+        int i = start + 1;
+        int len = sql.length();
+        while (i < len) {
+            char c = sql.charAt(i);
+            if (backslashEscapes && c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < len && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return len;
+    }
+
+    /**
+     * @return the dollar-quote tag starting at {@code start} (e.g. {@code $$} or {@code $body$}), or null
+     */
+    private static String dollarTag(String sql, int start) {
+        int i = start + 1;
+        int len = sql.length();
+        if (i < len && Character.isDigit(sql.charAt(i))) {
+            // Positional parameter such as $1
+            return null;
+        }
+        while (i < len && isIdentifierPart(sql.charAt(i)) && sql.charAt(i) != '$') {
+            i++;
+        }
+        if (i < len && sql.charAt(i) == '$') {
+            return sql.substring(start, i + 1);
+        }
+        return null;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
@@ -0,0 +1,32 @@
+package edu.zsc.ai.plugin.postgresql.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Builds PostgreSQL identifiers. Names are always double-quoted so they match exactly as stored
+ * (unquoted identifiers fold to lower case) and as returned by the catalog listings.
+ */
+public final class PostgresqlIdentifierBuilder {
+
+    private static final String DOUBLE_QUOTE = "\"";
+    private static final String DOUBLE_DOUBLE_QUOTE = "\"\"";
+
+    private PostgresqlIdentifierBuilder() {
+    }
+
+    public static String quoteIdentifier(String identifier) {
+        return DOUBLE_QUOTE + StringUtils.replace(identifier, DOUBLE_QUOTE, DOUBLE_DOUBLE_QUOTE) + DOUBLE_QUOTE;
+    }
+
+    public static String buildFullIdentifier(String schema, String objectName) {
+        if (StringUtils.isBlank(objectName)) {
+            throw new IllegalArgumentException("Object name must not be null or empty");
+        }
+
+        if (StringUtils.isNotBlank(schema)) {
+            return String.format("%s.%s", quoteIdentifier(schema), quoteIdentifier(objectName));
+        } else {
+            return quoteIdentifier(objectName);
+        }
+    }
+}
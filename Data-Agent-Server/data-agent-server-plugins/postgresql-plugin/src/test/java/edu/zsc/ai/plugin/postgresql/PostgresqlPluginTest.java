@@ -0,0 +1,154 @@
+package edu.zsc.ai.plugin.postgresql;
+
+import edu.zsc.ai.plugin.connection.ConnectionConfig;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandRequest;
+import edu.zsc.ai.plugin.model.command.sql.SqlCommandResult;
+import edu.zsc.ai.plugin.model.metadata.FunctionMetadata;
+import edu.zsc.ai.plugin.model.metadata.TriggerMetadata;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test the PostgreSQL plugin against a local server. Connection settings come from the
+ * PG_HOST, PG_PORT, PG_DATABASE, PG_USERNAME and PG_PASSWORD environment variables; the tests
+ * are skipped when no server is reachable.
+ */
+public class PostgresqlPluginTest {
+
+    private static final String SCHEMA = "data_agent_plugin_test";
+
+    private final PostgresqlPlugin plugin = new PostgresqlPlugin();
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ConnectionConfig config = config();
+        assumeTrue(plugin.testConnection(config), "PostgreSQL is not reachable");
+
+        connection = plugin.connect(config);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            stmt.execute("CREATE SCHEMA " + SCHEMA);
+            stmt.execute("SET search_path TO " + SCHEMA);
+            stmt.execute("CREATE TABLE orders (id integer GENERATED ALWAYS AS IDENTITY PRIMARY KEY, "
+                    + "amount numeric(10, 2) NOT NULL DEFAULT 0, note text)");
+            stmt.execute("CREATE INDEX idx_orders_amount ON orders (amount)");
+            stmt.execute("INSERT INTO orders (amount) SELECT g FROM generate_series(1, 2500) g");
+            stmt.execute("CREATE VIEW big_orders AS SELECT * FROM orders WHERE amount > 2000");
+            stmt.execute("CREATE FUNCTION double_it(x integer) RETURNS integer AS $$ SELECT x * 2 $$ LANGUAGE sql");
+            stmt.execute("CREATE FUNCTION touch() RETURNS trigger AS $$ BEGIN RETURN NEW; END $$ LANGUAGE plpgsql");
+            stmt.execute("CREATE TRIGGER orders_touch BEFORE INSERT OR UPDATE ON orders FOR EACH ROW EXECUTE FUNCTION touch()");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (connection == null) {
+            return;
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        } finally {
+            plugin.closeConnection(connection);
+        }
+    }
+
+    @Test
+    void testListsObjects() {
+        assertTrue(plugin.getSchemas(connection, null).contains(SCHEMA));
+        assertEquals(List.of("orders"), plugin.getTableNames(connection, null, SCHEMA));
+        assertEquals(List.of("big_orders"), plugin.getViews(connection, null, SCHEMA));
+        assertEquals(1, plugin.countTables(connection, null, SCHEMA, "ord%"));
+        assertEquals(0, plugin.countViews(connection, null, SCHEMA, "ord%"));
+
+        List<FunctionMetadata> functions = plugin.searchFunctions(connection, null, SCHEMA, "double%");
+        assertEquals(1, functions.size());
+        assertEquals("integer", functions.get(0).returnType());
+        assertEquals("x", functions.get(0).parameters().get(0).name());
+
+        List<TriggerMetadata> triggers = plugin.getTriggers(connection, null, SCHEMA, "orders");
+        assertEquals(1, triggers.size());
+        assertEquals("BEFORE", triggers.get(0).timing());
+        assertEquals("INSERT OR UPDATE", triggers.get(0).event());
+    }
+
+    @Test
+    void testDdl() {
+        String tableDdl = plugin.getTableDdl(connection, null, SCHEMA, "orders");
+        assertTrue(tableDdl.contains("\"id\" integer GENERATED ALWAYS AS IDENTITY NOT NULL"), tableDdl);
+        assertTrue(tableDdl.contains("PRIMARY KEY (id)"), tableDdl);
+        assertTrue(tableDdl.contains("CREATE INDEX idx_orders_amount"), tableDdl);
+
+        assertTrue(plugin.getViewDdl(connection, null, SCHEMA, "big_orders").startsWith("CREATE VIEW"));
+        assertTrue(plugin.getFunctionDdl(connection, null, SCHEMA, "double_it").contains("x * 2"));
+        assertTrue(plugin.getTriggerDdl(connection, null, SCHEMA, "orders_touch").startsWith("CREATE TRIGGER orders_touch"));
+    }
+
+    @Test
+    void testQueryReadsThroughCursor() throws Exception {
+        String sql = "SELECT id FROM " + SCHEMA + ".orders ORDER BY id";
+        SqlCommandResult result = plugin.executeCommand(
+                SqlCommandRequest.ofWithoutTransaction(connection, sql, sql, null, SCHEMA));
+        assertTrue(result.isSuccess(), result.getErrorMessage());
+        assertEquals(2500, result.getRows().size());
+        assertTrue(connection.getAutoCommit(), "autoCommit should be restored");
+
+        SqlCommandResult page = plugin.getTableData(connection, null, SCHEMA, "orders", 10, 5, "amount > 100", "id", "desc");
+        assertEquals(5, page.getRows().size());
+        assertEquals(2500, plugin.getTableDataCount(connection, null, SCHEMA, "orders"));
+        assertTrue(plugin.estimateTableDataCount(connection, null, SCHEMA, "orders").isEmpty(), "small tables are counted exactly");
+        assertEquals(400, plugin.getViewDataCount(connection, null, SCHEMA, "big_orders", "amount > 2100"));
+    }
+
+    @Test
+    void testCopyExport() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = plugin.exportQueryCsv(connection,
+                "SELECT id, amount FROM " + SCHEMA + ".orders WHERE id <= 3 ORDER BY id;", out);
+        assertEquals(3, rows);
+        assertEquals("id,amount\n1,1.00\n2,2.00\n3,3.00\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testDeleteObjects() {
+        plugin.deleteTrigger(connection, null, SCHEMA, "orders_touch");
+        plugin.deleteView(connection, null, SCHEMA, "big_orders");
+        plugin.deleteFunction(connection, null, SCHEMA, "double_it");
+        assertTrue(plugin.getTriggers(connection, null, SCHEMA, null).isEmpty());
+        assertEquals(0, plugin.countViews(connection, null, SCHEMA, null));
+        assertEquals(1, plugin.countFunctions(connection, null, SCHEMA, null));
+    }
+
+    @Test
+    void testDriverCoordinates() {
+        assertEquals("42.7.7", plugin.getDriverMavenCoordinates(null).getVersion());
+        assertThrows(IllegalArgumentException.class, () -> plugin.getDriverMavenCoordinates("9.4.1212"));
+    }
+
+    private static ConnectionConfig config() {
+        ConnectionConfig config = new ConnectionConfig();
+        config.setHost(env("PG_HOST", "localhost"));
+        config.setPort(Integer.parseInt(env("PG_PORT", "5432")));
+        config.setDatabase(env("PG_DATABASE", "data_agent"));
+        config.setUsername(env("PG_USERNAME", "postgres"));
+        config.setPassword(env("PG_PASSWORD", "postgres"));
+        config.setTimeout(3);
+        return config;
+    }
+
+    private static String env(String name, String defaultValue) {
+        return StringUtils.defaultIfBlank(System.getenv(name), defaultValue);
+    }
+}
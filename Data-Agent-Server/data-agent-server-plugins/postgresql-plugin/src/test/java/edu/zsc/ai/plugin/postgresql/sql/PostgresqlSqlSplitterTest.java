@@ -0,0 +1,55 @@
+package edu.zsc.ai.plugin.postgresql.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresqlSqlSplitterTest {
+
+    private final PostgresqlSqlSplitter splitter = PostgresqlSqlSplitter.INSTANCE;
+
+    @Test
+    void testSplit_Simple() {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), splitter.split("SELECT 1; SELECT 2;"));
+    }
+
+    @Test
+    void testSplit_Blank() {
+        assertTrue(splitter.split("  ").isEmpty());
+        assertTrue(splitter.split(null).isEmpty());
+    }
+
+    @Test
+    void testSplit_DollarQuotedFunctionBody() {
+        String function = "CREATE FUNCTION inc(i integer) RETURNS integer AS $$ BEGIN RETURN i + 1; END; $$ LANGUAGE plpgsql";
+        String block = "DO $body$ BEGIN PERFORM 1; END $body$";
+        List<String> statements = splitter.split(function + ";\n" + block + ";\nSELECT inc(1)");
+        assertEquals(List.of(function, block, "SELECT inc(1)"), statements);
+    }
+
+    @Test
+    void testSplit_TaggedDollarQuoteContainingPlainDollarQuote() {
+        String sql = "SELECT $a$ x $$; $$ y $a$";
+        assertEquals(List.of(sql, "SELECT 2"), splitter.split(sql + "; SELECT 2"));
+    }
+
+    @Test
+    void testSplit_PositionalParameterIsNotDollarQuote() {
+        String sql = "PREPARE q(int) AS SELECT $1";
+        assertEquals(List.of(sql, "EXECUTE q(1)"), splitter.split(sql + "; EXECUTE q(1);"));
+    }
+
+    @Test
+    void testSplit_Literals() {
+        String quoted = "SELECT 'a;''b', E'c\\';d', \"col;\"\"x\" FROM t";
+        assertEquals(List.of(quoted, "SELECT 2"), splitter.split(quoted + "; SELECT 2"));
+    }
+
+    @Test
+    void testSplit_Comments() {
+        String sql = "SELECT 1 -- not; split\n/* outer /* inner; */ still; comment */ FROM t";
+        assertEquals(List.of(sql, "SELECT 2"), splitter.split(sql + "; SELECT 2"));
+    }
+}